@@ -0,0 +1,117 @@
+package redis.clients.jedis.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import redis.clients.jedis.BuilderFactory;
+import redis.clients.jedis.Protocol;
+import redis.clients.jedis.util.KeyValue;
+import redis.clients.jedis.util.SafeEncoder;
+
+/**
+ * Decoding of already parsed replies by {@link BuilderFactory} builders, for RESP2 (flat lists)
+ * and RESP3 (maps) shapes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BuilderFactoryBenchmark {
+
+  @Param({ "10", "1000" })
+  public int size;
+
+  private byte[] bulk;
+  private Long integer;
+  private List<byte[]> list;
+  private List<byte[]> flatPairs;
+  private List<KeyValue> map;
+  private List<byte[]> flatTuples;
+  private List<List<Object>> tuplesResp3;
+
+  @Setup
+  public void setup() {
+    bulk = SafeEncoder.encode("some-value-of-moderate-length");
+    integer = 1234567890L;
+    list = new ArrayList<>(size);
+    flatPairs = new ArrayList<>(2 * size);
+    map = new ArrayList<>(size);
+    flatTuples = new ArrayList<>(2 * size);
+    tuplesResp3 = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      byte[] field = SafeEncoder.encode("field:" + i);
+      byte[] value = SafeEncoder.encode("value:" + i);
+      byte[] score = Protocol.toByteArray(i * 1.5);
+      list.add(value);
+      flatPairs.add(field);
+      flatPairs.add(value);
+      map.add(new KeyValue<>(field, value));
+      flatTuples.add(field);
+      flatTuples.add(score);
+      List<Object> tuple = new ArrayList<>(2);
+      tuple.add(field);
+      tuple.add(i * 1.5);
+      tuplesResp3.add(tuple);
+    }
+  }
+
+  @Benchmark
+  public Object string() {
+    return BuilderFactory.STRING.build(bulk);
+  }
+
+  @Benchmark
+  public Object integer() {
+    return BuilderFactory.LONG.build(integer);
+  }
+
+  @Benchmark
+  public Object stringList() {
+    return BuilderFactory.STRING_LIST.build(list);
+  }
+
+  @Benchmark
+  public Object binaryList() {
+    return BuilderFactory.BINARY_LIST.build(list);
+  }
+
+  @Benchmark
+  public Object stringMapResp2() {
+    return BuilderFactory.STRING_MAP.build(flatPairs);
+  }
+
+  @Benchmark
+  public Object stringMapResp3() {
+    return BuilderFactory.STRING_MAP.build(map);
+  }
+
+  @Benchmark
+  public Object binaryMapResp2() {
+    return BuilderFactory.BINARY_MAP.build(flatPairs);
+  }
+
+  @Benchmark
+  public Object tupleListResp2() {
+    return BuilderFactory.TUPLE_LIST.build(flatTuples);
+  }
+
+  @Benchmark
+  public Object tupleListResp3() {
+    return BuilderFactory.TUPLE_LIST_RESP3.build(tuplesResp3);
+  }
+}
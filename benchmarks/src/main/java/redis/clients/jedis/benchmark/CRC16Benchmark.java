@@ -0,0 +1,53 @@
+package redis.clients.jedis.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import redis.clients.jedis.util.JedisClusterCRC16;
+import redis.clients.jedis.util.SafeEncoder;
+
+/**
+ * Cluster slot calculation by {@link JedisClusterCRC16}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CRC16Benchmark {
+
+  private final String key = "benchmark:key:123456789";
+  private final String hashTagKey = "benchmark:{user1000}:following";
+  private final byte[] binaryKey = SafeEncoder.encode(key);
+  private final byte[] binaryHashTagKey = SafeEncoder.encode(hashTagKey);
+
+  @Benchmark
+  public int stringKey() {
+    return JedisClusterCRC16.getSlot(key);
+  }
+
+  @Benchmark
+  public int stringHashTagKey() {
+    return JedisClusterCRC16.getSlot(hashTagKey);
+  }
+
+  @Benchmark
+  public int binaryKey() {
+    return JedisClusterCRC16.getSlot(binaryKey);
+  }
+
+  @Benchmark
+  public int binaryHashTagKey() {
+    return JedisClusterCRC16.getSlot(binaryHashTagKey);
+  }
+}
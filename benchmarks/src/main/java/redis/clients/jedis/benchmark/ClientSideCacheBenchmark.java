@@ -0,0 +1,98 @@
+package redis.clients.jedis.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import redis.clients.jedis.DefaultJedisClientConfig;
+import redis.clients.jedis.JedisClientConfig;
+import redis.clients.jedis.UnifiedJedis;
+import redis.clients.jedis.csc.CacheConfig;
+
+/**
+ * Client side cache hits of a pooled client, against a {@link StubRedisServer}; the uncached GET
+ * over loopback is given as a baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClientSideCacheBenchmark {
+
+  private static final int KEYS = 1000;
+
+  @Param({ "100", "10000" })
+  public int valueSize;
+
+  private StubRedisServer server;
+  private UnifiedJedis cached;
+  private UnifiedJedis uncached;
+
+  @State(Scope.Thread)
+  public static class Cursor {
+    int next;
+
+    String key() {
+      next = (next + 1) % KEYS;
+      return "key:" + next;
+    }
+  }
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    server = new StubRedisServer();
+    JedisClientConfig config = DefaultJedisClientConfig.builder().resp3().build();
+    cached = new UnifiedJedis(server.getHostAndPort(), config, CacheConfig.builder().maxSize(2 * KEYS).build());
+    uncached = new UnifiedJedis(server.getHostAndPort(), config);
+
+    StringBuilder value = new StringBuilder(valueSize);
+    for (int i = 0; i < valueSize; i++) {
+      value.append((char) ('a' + i % 26));
+    }
+    for (int i = 0; i < KEYS; i++) {
+      uncached.set("key:" + i, value.toString());
+      cached.get("key:" + i);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    cached.close();
+    uncached.close();
+    server.close();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public String cacheHit(Cursor cursor) {
+    return cached.get(cursor.key());
+  }
+
+  @Benchmark
+  @Threads(4)
+  public String cacheHitContended(Cursor cursor) {
+    return cached.get(cursor.key());
+  }
+
+  @Benchmark
+  @Threads(1)
+  public String uncachedGet(Cursor cursor) {
+    return uncached.get(cursor.key());
+  }
+}
@@ -0,0 +1,69 @@
+package redis.clients.jedis.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import redis.clients.jedis.CommandObject;
+import redis.clients.jedis.CommandObjects;
+
+/**
+ * Building of {@link CommandObject}s and their {@link CommandObject#hashCode()} and
+ * {@link CommandObject#equals(Object)}, which are on the path of every client side cache lookup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandObjectBenchmark {
+
+  private final CommandObjects commandObjects = new CommandObjects();
+
+  private CommandObject<String> get;
+  private CommandObject<String> otherGet;
+  private CommandObject<?> hmget;
+
+  @Setup
+  public void setup() {
+    get = commandObjects.get("benchmark:key:123456789");
+    otherGet = commandObjects.get("benchmark:key:123456789");
+    hmget = commandObjects.hmget("benchmark:hash:123456789", "field1", "field2", "field3", "field4",
+        "field5", "field6", "field7", "field8");
+  }
+
+  @Benchmark
+  public Object buildGet() {
+    return commandObjects.get("benchmark:key:123456789");
+  }
+
+  @Benchmark
+  public int hashCodeGet() {
+    return get.hashCode();
+  }
+
+  @Benchmark
+  public int hashCodeHmget() {
+    return hmget.hashCode();
+  }
+
+  @Benchmark
+  public boolean equalsGet() {
+    return get.equals(otherGet);
+  }
+
+  @Benchmark
+  public int buildAndHashGet() {
+    return commandObjects.get("benchmark:key:123456789").hashCode();
+  }
+}
@@ -0,0 +1,37 @@
+package redis.clients.jedis.benchmark;
+
+import java.io.InputStream;
+
+/**
+ * Endlessly replays the same bytes, e.g. one encoded reply, so that a
+ * {@link redis.clients.jedis.util.RedisInputStream} can read it again and again without being reset.
+ */
+public class CyclicInputStream extends InputStream {
+
+  private final byte[] data;
+  private int position;
+
+  public CyclicInputStream(byte[] data) {
+    this.data = data;
+  }
+
+  @Override
+  public int read() {
+    int b = data[position++] & 0xff;
+    if (position == data.length) {
+      position = 0;
+    }
+    return b;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) {
+    int length = Math.min(len, data.length - position);
+    System.arraycopy(data, position, b, off, length);
+    position += length;
+    if (position == data.length) {
+      position = 0;
+    }
+    return length;
+  }
+}
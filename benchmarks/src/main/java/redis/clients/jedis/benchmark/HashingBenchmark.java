@@ -0,0 +1,50 @@
+package redis.clients.jedis.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import redis.clients.jedis.util.Hashing;
+
+/**
+ * Sharding of keys by {@link Hashing#MD5} and {@link Hashing#MURMUR_HASH}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashingBenchmark {
+
+  private final String[] keys = new String[1024];
+  private int index;
+
+  public HashingBenchmark() {
+    for (int i = 0; i < keys.length; i++) {
+      keys[i] = "foo" + i;
+    }
+  }
+
+  private String nextKey() {
+    return keys[index++ & (keys.length - 1)];
+  }
+
+  @Benchmark
+  public long md5() {
+    return Hashing.MD5.hash(nextKey());
+  }
+
+  @Benchmark
+  public long murmurHash() {
+    return Hashing.MURMUR_HASH.hash(nextKey());
+  }
+}
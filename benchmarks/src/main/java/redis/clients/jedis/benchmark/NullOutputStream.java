@@ -0,0 +1,17 @@
+package redis.clients.jedis.benchmark;
+
+import java.io.OutputStream;
+
+/**
+ * Discards everything.
+ */
+public class NullOutputStream extends OutputStream {
+
+  @Override
+  public void write(int b) {
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) {
+  }
+}
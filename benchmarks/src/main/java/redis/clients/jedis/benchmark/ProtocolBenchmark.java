@@ -0,0 +1,120 @@
+package redis.clients.jedis.benchmark;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import redis.clients.jedis.CommandArguments;
+import redis.clients.jedis.Protocol;
+import redis.clients.jedis.util.RedisInputStream;
+import redis.clients.jedis.util.RedisOutputStream;
+import redis.clients.jedis.util.SafeEncoder;
+
+/**
+ * Encoding of commands by {@link Protocol#sendCommand(RedisOutputStream, CommandArguments)} and
+ * parsing of replies by {@link Protocol#read(RedisInputStream)}, over in-memory streams.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProtocolBenchmark {
+
+  private static final String KEY = "benchmark:key:123456789";
+
+  @State(Scope.Thread)
+  public static class Values {
+
+    @Param({ "16", "1024", "65536" })
+    public int valueSize;
+
+    byte[] key;
+    byte[] value;
+    String stringValue;
+    RedisOutputStream out;
+
+    RedisInputStream bulkReply;
+    RedisInputStream mapReply;
+
+    @Setup
+    public void setup() {
+      key = SafeEncoder.encode(KEY);
+      value = new byte[valueSize];
+      Arrays.fill(value, (byte) 'x');
+      stringValue = SafeEncoder.encode(value);
+      out = new RedisOutputStream(new NullOutputStream());
+
+      bulkReply = replay("$" + valueSize + "\r\n" + stringValue + "\r\n");
+      mapReply = replay("%2\r\n+first\r\n:1\r\n+second\r\n$" + valueSize + "\r\n" + stringValue + "\r\n");
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Replies {
+
+    RedisInputStream statusReply;
+    RedisInputStream integerReply;
+    RedisInputStream multiBulkReply;
+
+    @Setup
+    public void setup() {
+      statusReply = replay("+OK\r\n");
+      integerReply = replay(":1234567890\r\n");
+      multiBulkReply = replay("*4\r\n$3\r\nfoo\r\n$13\r\nbarbarbarfooz\r\n$5\r\nHello\r\n$5\r\nWorld\r\n");
+    }
+  }
+
+  static RedisInputStream replay(String reply) {
+    return new RedisInputStream(new CyclicInputStream(SafeEncoder.encode(reply)));
+  }
+
+  @Benchmark
+  public void sendBinaryCommand(Values values) throws IOException {
+    Protocol.sendCommand(values.out, new CommandArguments(Protocol.Command.SET).key(values.key).add(values.value));
+    values.out.flush();
+  }
+
+  @Benchmark
+  public void sendStringCommand(Values values) throws IOException {
+    Protocol.sendCommand(values.out, new CommandArguments(Protocol.Command.SET).key(KEY).add(values.stringValue));
+    values.out.flush();
+  }
+
+  @Benchmark
+  public Object readBulk(Values values) {
+    return Protocol.read(values.bulkReply);
+  }
+
+  @Benchmark
+  public Object readMap(Values values) {
+    return Protocol.read(values.mapReply);
+  }
+
+  @Benchmark
+  public Object readStatus(Replies replies) {
+    return Protocol.read(replies.statusReply);
+  }
+
+  @Benchmark
+  public Object readInteger(Replies replies) {
+    return Protocol.read(replies.integerReply);
+  }
+
+  @Benchmark
+  public Object readMultiBulk(Replies replies) {
+    return Protocol.read(replies.multiBulkReply);
+  }
+}
@@ -0,0 +1,59 @@
+package redis.clients.jedis.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import redis.clients.jedis.util.SafeEncoder;
+
+/**
+ * String encoding and decoding by {@link SafeEncoder}, for ASCII and non-ASCII text.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SafeEncoderBenchmark {
+
+  @Param({ "16", "1024" })
+  public int length;
+
+  @Param({ "ascii", "utf8" })
+  public String text;
+
+  private String string;
+  private byte[] bytes;
+
+  @Setup
+  public void setup() {
+    StringBuilder sb = new StringBuilder(length);
+    String alphabet = "ascii".equals(text) ? "abcdefghijklmnopqrstuvwxyz0123456789" : "abcdéèêαβγδ中文字";
+    for (int i = 0; i < length; i++) {
+      sb.append(alphabet.charAt(i % alphabet.length()));
+    }
+    string = sb.toString();
+    bytes = SafeEncoder.encode(string);
+  }
+
+  @Benchmark
+  public byte[] encode() {
+    return SafeEncoder.encode(string);
+  }
+
+  @Benchmark
+  public String decode() {
+    return SafeEncoder.encode(bytes);
+  }
+}
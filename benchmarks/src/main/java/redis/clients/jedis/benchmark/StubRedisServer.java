@@ -0,0 +1,118 @@
+package redis.clients.jedis.benchmark;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Protocol;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.util.IOUtils;
+import redis.clients.jedis.util.RedisInputStream;
+import redis.clients.jedis.util.SafeEncoder;
+
+/**
+ * A minimal in-process server speaking just enough RESP2/RESP3 (HELLO, AUTH, CLIENT, PING, GET and
+ * SET) for benchmarks to drive real connections without a Redis server. It claims to be Redis 7.4,
+ * so that client side caching can be enabled.
+ */
+public class StubRedisServer implements Closeable {
+
+  private static final byte[] HELLO_RESP3 = SafeEncoder.encode("%7\r\n"
+      + "+server\r\n+redis\r\n+version\r\n+7.4.0\r\n+proto\r\n:3\r\n+id\r\n:1\r\n"
+      + "+mode\r\n+standalone\r\n+role\r\n+master\r\n+modules\r\n*0\r\n");
+  private static final byte[] HELLO_RESP2 = SafeEncoder.encode("*14\r\n"
+      + "$6\r\nserver\r\n$5\r\nredis\r\n$7\r\nversion\r\n$5\r\n7.4.0\r\n$5\r\nproto\r\n:2\r\n$2\r\nid\r\n:1\r\n"
+      + "$4\r\nmode\r\n$10\r\nstandalone\r\n$4\r\nrole\r\n$6\r\nmaster\r\n$7\r\nmodules\r\n*0\r\n");
+  private static final byte[] OK = SafeEncoder.encode("+OK\r\n");
+  private static final byte[] PONG = SafeEncoder.encode("+PONG\r\n");
+  private static final byte[] NIL = SafeEncoder.encode("$-1\r\n");
+  private static final byte[] CRLF = SafeEncoder.encode("\r\n");
+
+  private final Map<ByteBuffer, byte[]> data = new ConcurrentHashMap<>();
+  private final ServerSocket serverSocket;
+
+  public StubRedisServer() throws IOException {
+    serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+    Thread acceptor = new Thread(this::accept, "stub-redis-acceptor");
+    acceptor.setDaemon(true);
+    acceptor.start();
+  }
+
+  public HostAndPort getHostAndPort() {
+    return new HostAndPort(serverSocket.getInetAddress().getHostAddress(), serverSocket.getLocalPort());
+  }
+
+  private void accept() {
+    while (!serverSocket.isClosed()) {
+      try {
+        Socket socket = serverSocket.accept();
+        socket.setTcpNoDelay(true);
+        Thread handler = new Thread(() -> serve(socket), "stub-redis-connection");
+        handler.setDaemon(true);
+        handler.start();
+      } catch (IOException e) {
+        // closed
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void serve(Socket socket) {
+    try {
+      RedisInputStream in = new RedisInputStream(socket.getInputStream());
+      OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+      while (true) {
+        List<byte[]> command = (List<byte[]>) Protocol.read(in);
+        reply(command, out);
+        if (in.available() == 0) {
+          out.flush();
+        }
+      }
+    } catch (IOException | JedisConnectionException e) {
+      // disconnected
+    } finally {
+      IOUtils.closeQuietly(socket);
+    }
+  }
+
+  private void reply(List<byte[]> command, OutputStream out) throws IOException {
+    switch (SafeEncoder.encode(command.get(0)).toUpperCase()) {
+      case "HELLO":
+        out.write(command.size() > 1 && "3".equals(SafeEncoder.encode(command.get(1))) ? HELLO_RESP3 : HELLO_RESP2);
+        break;
+      case "PING":
+        out.write(PONG);
+        break;
+      case "SET":
+        data.put(ByteBuffer.wrap(command.get(1)), command.get(2));
+        out.write(OK);
+        break;
+      case "GET":
+        byte[] value = data.get(ByteBuffer.wrap(command.get(1)));
+        if (value == null) {
+          out.write(NIL);
+        } else {
+          out.write(SafeEncoder.encode("$" + value.length + "\r\n"));
+          out.write(value);
+          out.write(CRLF);
+        }
+        break;
+      default: // AUTH, CLIENT, SELECT, ...
+        out.write(OK);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    serverSocket.close();
+  }
+}
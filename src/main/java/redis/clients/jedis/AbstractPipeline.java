@@ -1,6 +1,10 @@
 package redis.clients.jedis;
 
 import java.io.Closeable;
+import java.util.Collection;
+import java.util.Iterator;
+
+import redis.clients.jedis.csc.CacheConnection;
 
 public abstract class AbstractPipeline extends PipeliningBase implements Closeable {
 
@@ -16,6 +20,35 @@ public abstract class AbstractPipeline extends PipeliningBase implements Closeab
    */
   public abstract void sync();
 
+  /**
+   * Sends a command of a pipeline, unless its value is cached by the connection.
+   */
+  static <T> Response<T> sendCommand(Connection connection, CommandObject<T> commandObject) {
+    if (connection instanceof CacheConnection) {
+      return ((CacheConnection) connection).sendPipelinedCommand(commandObject);
+    }
+    connection.sendCommand(commandObject.getArguments());
+    return new Response<>(commandObject.getBuilder());
+  }
+
+  /**
+   * Reads the replies of the responses which are not set with cached values.
+   */
+  static void readReplies(Connection connection, Collection<Response<?>> responses) {
+    int count = 0;
+    for (Response<?> response : responses) {
+      if (!response.isSet()) {
+        count++;
+      }
+    }
+    Iterator<Object> replies = connection.getMany(count).iterator();
+    for (Response<?> response : responses) {
+      if (!response.isSet()) {
+        response.set(replies.next());
+      }
+    }
+  }
+
   public Response<Long> publish(String channel, String message) {
     return appendCommand(commandObjects.publish(channel, message));
   }
@@ -0,0 +1,169 @@
+package redis.clients.jedis;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import redis.clients.jedis.annots.Experimental;
+import redis.clients.jedis.executors.AsyncCommandExecutor;
+import redis.clients.jedis.executors.CommandExecutor;
+import redis.clients.jedis.params.SetParams;
+
+/**
+ * Asynchronous view of a {@link UnifiedJedis}; get one by {@link UnifiedJedis#async()} or
+ * {@link UnifiedJedis#async(Executor)}.
+ * <p>
+ * Any command built by {@link CommandObjects} can be executed with
+ * {@link #command(java.util.function.Function)}, e.g.
+ * <pre>
+ * CompletableFuture&lt;List&lt;String&gt;&gt; range = jedis.async().command(c -&gt; c.lrange("list", 0, -1));
+ * </pre>
+ * If the client is driven by an {@link AsyncCommandExecutor} (e.g. a
+ * {@link redis.clients.jedis.providers.MultiplexedConnectionProvider multiplexed} client), commands
+ * are written without blocking any thread and the futures are completed by the I/O thread, so
+ * dependent actions should not block. Otherwise, and for blocking commands, each command is executed
+ * on the fallback {@link Executor} given to {@link UnifiedJedis#async(Executor)}; without one, they
+ * fail with an {@link IllegalStateException}.
+ */
+@Experimental
+public class AsyncUnifiedJedis {
+
+  private final CommandExecutor executor;
+  private final CommandObjects commandObjects;
+  private final Executor fallbackExecutor;
+
+  AsyncUnifiedJedis(CommandExecutor executor, CommandObjects commandObjects, Executor fallbackExecutor) {
+    this.executor = executor;
+    this.commandObjects = commandObjects;
+    this.fallbackExecutor = fallbackExecutor;
+  }
+
+  public final <T> CompletableFuture<T> executeCommand(CommandObject<T> commandObject) {
+    if (executor instanceof AsyncCommandExecutor && !commandObject.getArguments().isBlocking()) {
+      return ((AsyncCommandExecutor) executor).executeCommandAsync(commandObject);
+    }
+    if (fallbackExecutor == null) {
+      CompletableFuture<T> failed = new CompletableFuture<>();
+      failed.completeExceptionally(new IllegalStateException(
+          "Blocking commands need an executor, see UnifiedJedis.async(Executor)."));
+      return failed;
+    }
+    return CompletableFuture.supplyAsync(() -> executor.executeCommand(commandObject), fallbackExecutor);
+  }
+
+  /**
+   * Executes the command built by the given function.
+   * @param command function to build the command from {@link CommandObjects}
+   */
+  public final <T> CompletableFuture<T> command(Function<CommandObjects, CommandObject<T>> command) {
+    return executeCommand(command.apply(commandObjects));
+  }
+
+  public final CompletableFuture<Object> sendCommand(CommandArguments args) {
+    return executeCommand(new CommandObject<>(args, BuilderFactory.RAW_OBJECT));
+  }
+
+  // Key commands
+  public CompletableFuture<Boolean> exists(String key) {
+    return executeCommand(commandObjects.exists(key));
+  }
+
+  public CompletableFuture<Boolean> exists(byte[] key) {
+    return executeCommand(commandObjects.exists(key));
+  }
+
+  public CompletableFuture<Long> del(String... keys) {
+    return executeCommand(commandObjects.del(keys));
+  }
+
+  public CompletableFuture<Long> del(byte[]... keys) {
+    return executeCommand(commandObjects.del(keys));
+  }
+
+  public CompletableFuture<Long> expire(String key, long seconds) {
+    return executeCommand(commandObjects.expire(key, seconds));
+  }
+
+  public CompletableFuture<Long> expire(byte[] key, long seconds) {
+    return executeCommand(commandObjects.expire(key, seconds));
+  }
+  // Key commands
+
+  // String commands
+  public CompletableFuture<String> get(String key) {
+    return executeCommand(commandObjects.get(key));
+  }
+
+  public CompletableFuture<byte[]> get(byte[] key) {
+    return executeCommand(commandObjects.get(key));
+  }
+
+  public CompletableFuture<String> set(String key, String value) {
+    return executeCommand(commandObjects.set(key, value));
+  }
+
+  public CompletableFuture<String> set(String key, String value, SetParams params) {
+    return executeCommand(commandObjects.set(key, value, params));
+  }
+
+  public CompletableFuture<String> set(byte[] key, byte[] value) {
+    return executeCommand(commandObjects.set(key, value));
+  }
+
+  public CompletableFuture<String> set(byte[] key, byte[] value, SetParams params) {
+    return executeCommand(commandObjects.set(key, value, params));
+  }
+
+  public CompletableFuture<List<String>> mget(String... keys) {
+    return executeCommand(commandObjects.mget(keys));
+  }
+
+  public CompletableFuture<List<byte[]>> mget(byte[]... keys) {
+    return executeCommand(commandObjects.mget(keys));
+  }
+
+  public CompletableFuture<Long> incr(String key) {
+    return executeCommand(commandObjects.incr(key));
+  }
+
+  public CompletableFuture<Long> incrBy(String key, long increment) {
+    return executeCommand(commandObjects.incrBy(key, increment));
+  }
+  // String commands
+
+  // Hash commands
+  public CompletableFuture<String> hget(String key, String field) {
+    return executeCommand(commandObjects.hget(key, field));
+  }
+
+  public CompletableFuture<byte[]> hget(byte[] key, byte[] field) {
+    return executeCommand(commandObjects.hget(key, field));
+  }
+
+  public CompletableFuture<Long> hset(String key, String field, String value) {
+    return executeCommand(commandObjects.hset(key, field, value));
+  }
+
+  public CompletableFuture<Long> hset(String key, Map<String, String> hash) {
+    return executeCommand(commandObjects.hset(key, hash));
+  }
+
+  public CompletableFuture<Long> hset(byte[] key, byte[] field, byte[] value) {
+    return executeCommand(commandObjects.hset(key, field, value));
+  }
+
+  public CompletableFuture<Map<String, String>> hgetAll(String key) {
+    return executeCommand(commandObjects.hgetAll(key));
+  }
+
+  public CompletableFuture<Map<byte[], byte[]>> hgetAll(byte[] key) {
+    return executeCommand(commandObjects.hgetAll(key));
+  }
+
+  public CompletableFuture<Long> hdel(String key, String... fields) {
+    return executeCommand(commandObjects.hdel(key, fields));
+  }
+  // Hash commands
+}
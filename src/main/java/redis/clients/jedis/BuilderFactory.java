@@ -4,6 +4,7 @@ import java.io.Serializable;
 import java.util.*;
 import java.util.stream.Collectors;
 
+import redis.clients.jedis.annots.Experimental;
 import redis.clients.jedis.exceptions.JedisDataException;
 import redis.clients.jedis.resps.*;
 import redis.clients.jedis.resps.LCSMatchResult.MatchedPosition;
@@ -11,6 +12,8 @@ import redis.clients.jedis.resps.LCSMatchResult.Position;
 import redis.clients.jedis.util.DoublePrecision;
 import redis.clients.jedis.util.JedisByteHashMap;
 import redis.clients.jedis.util.KeyValue;
+import redis.clients.jedis.util.LazyDecodedList;
+import redis.clients.jedis.util.LazyDecodedMap;
 import redis.clients.jedis.util.SafeEncoder;
 
 public final class BuilderFactory {
@@ -121,6 +124,91 @@ public final class BuilderFactory {
     }
   };
 
+  /**
+   * Builds the elements of an array of integers, decoding the reply through a {@link ReplyCursor}.
+   * Nil elements can not be represented, so a {@link JedisDataException} is thrown for them once
+   * the whole reply has been read.
+   */
+  @Experimental
+  public static final Builder<long[]> LONG_ARRAY = new CursorBuilder<long[]>(new Builder<long[]>() {
+    @Override
+    public long[] build(Object data) {
+      final List<Long> list = LONG_LIST.build(data);
+      if (list == null) return null;
+      final long[] result = new long[list.size()];
+      for (int i = 0; i < result.length; i++) {
+        final Long value = list.get(i);
+        if (value == null) {
+          throw new JedisDataException("Nil element at index " + i + ".");
+        }
+        result[i] = value;
+      }
+      return result;
+    }
+
+    @Override
+    public String toString() {
+      return "long[]";
+    }
+  }) {
+    @Override
+    public long[] read(ReplyCursor cursor) {
+      final int num = cursor.readAggregateLength();
+      if (num == -1) return null;
+
+      final long[] result = new long[num];
+      int nil = -1;
+      for (int i = 0; i < num; i++) {
+        if (cursor.isNull()) {
+          cursor.skip();
+          if (nil == -1) nil = i;
+        } else {
+          result[i] = cursor.readLong();
+        }
+      }
+      if (nil != -1) {
+        throw new JedisDataException("Nil element at index " + nil + ".");
+      }
+      return result;
+    }
+  };
+
+  /**
+   * Builds the elements of an array of numbers, decoding the reply through a {@link ReplyCursor}.
+   * Nil elements are {@link Double#NaN}.
+   */
+  @Experimental
+  public static final Builder<double[]> DOUBLE_ARRAY = new CursorBuilder<double[]>(new Builder<double[]>() {
+    @Override
+    public double[] build(Object data) {
+      final List<Double> list = DOUBLE_LIST.build(data);
+      if (list == null) return null;
+      final double[] result = new double[list.size()];
+      for (int i = 0; i < result.length; i++) {
+        final Double value = list.get(i);
+        result[i] = value == null ? Double.NaN : value;
+      }
+      return result;
+    }
+
+    @Override
+    public String toString() {
+      return "double[]";
+    }
+  }) {
+    @Override
+    public double[] read(ReplyCursor cursor) {
+      final int num = cursor.readAggregateLength();
+      if (num == -1) return null;
+
+      final double[] result = new double[num];
+      for (int i = 0; i < num; i++) {
+        result[i] = cursor.readDouble();
+      }
+      return result;
+    }
+  };
+
   public static final Builder<Boolean> BOOLEAN = new Builder<Boolean>() {
     @Override
     public Boolean build(Object data) {
@@ -149,6 +237,40 @@ public final class BuilderFactory {
     }
   };
 
+  /**
+   * Builds the elements of an array of booleans, decoding the reply through a {@link ReplyCursor}.
+   */
+  @Experimental
+  public static final Builder<boolean[]> BOOLEAN_ARRAY = new CursorBuilder<boolean[]>(new Builder<boolean[]>() {
+    @Override
+    public boolean[] build(Object data) {
+      final List<Boolean> list = BOOLEAN_LIST.build(data);
+      if (list == null) return null;
+      final boolean[] result = new boolean[list.size()];
+      for (int i = 0; i < result.length; i++) {
+        result[i] = list.get(i);
+      }
+      return result;
+    }
+
+    @Override
+    public String toString() {
+      return "boolean[]";
+    }
+  }) {
+    @Override
+    public boolean[] read(ReplyCursor cursor) {
+      final int num = cursor.readAggregateLength();
+      if (num == -1) return null;
+
+      final boolean[] result = new boolean[num];
+      for (int i = 0; i < num; i++) {
+        result[i] = cursor.readBoolean();
+      }
+      return result;
+    }
+  };
+
   public static final Builder<List<Boolean>> BOOLEAN_WITH_ERROR_LIST = new Builder<List<Boolean>>() {
     @Override
     @SuppressWarnings("unchecked")
@@ -267,7 +389,7 @@ public final class BuilderFactory {
     @SuppressWarnings("unchecked")
     public List<String> build(Object data) {
       if (null == data) return null;
-      return ((List<Object>) data).stream().map(STRING::build).collect(Collectors.toList());
+      return new LazyDecodedList<>((List<Object>) data, STRING::build);
     }
 
     @Override
@@ -329,18 +451,18 @@ public final class BuilderFactory {
       if (list.isEmpty()) return Collections.emptyMap();
 
       if (list.get(0) instanceof KeyValue) {
-        final Map<String, String> map = new HashMap<>(list.size(), 1f);
+        final LazyDecodedMap<String> map = new LazyDecodedMap<>(list.size());
         final Iterator iterator = list.iterator();
         while (iterator.hasNext()) {
           KeyValue kv = (KeyValue) iterator.next();
-          map.put(STRING.build(kv.getKey()), STRING.build(kv.getValue()));
+          map.putLazily(STRING.build(kv.getKey()), kv.getValue(), STRING::build);
         }
         return map;
       } else {
-        final Map<String, String> map = new HashMap<>(list.size() / 2, 1f);
+        final LazyDecodedMap<String> map = new LazyDecodedMap<>(list.size() / 2);
         final Iterator iterator = list.iterator();
         while (iterator.hasNext()) {
-          map.put(STRING.build(iterator.next()), STRING.build(iterator.next()));
+          map.putLazily(STRING.build(iterator.next()), iterator.next(), STRING::build);
         }
         return map;
       }
@@ -352,6 +474,44 @@ public final class BuilderFactory {
     }
   };
 
+  /**
+   * Builds the same result as {@link #BINARY_MAP}, decoding the reply through a {@link ReplyCursor}.
+   */
+  @Experimental
+  public static final Builder<Map<byte[], byte[]>> CURSOR_BINARY_MAP = new CursorBuilder<Map<byte[], byte[]>>(BINARY_MAP) {
+    @Override
+    public Map<byte[], byte[]> read(ReplyCursor cursor) {
+      final int num = cursor.readAggregateLength();
+      if (num == -1) return null;
+      if (num == 0) return Collections.emptyMap();
+
+      final Map<byte[], byte[]> map = new JedisByteHashMap();
+      for (int i = 0; i < num; i += 2) {
+        map.put(cursor.readBytes(), cursor.readBytes());
+      }
+      return map;
+    }
+  };
+
+  /**
+   * Builds the same result as {@link #STRING_MAP}, decoding the reply through a {@link ReplyCursor}.
+   */
+  @Experimental
+  public static final Builder<Map<String, String>> CURSOR_STRING_MAP = new CursorBuilder<Map<String, String>>(STRING_MAP) {
+    @Override
+    public Map<String, String> read(ReplyCursor cursor) {
+      final int num = cursor.readAggregateLength();
+      if (num == -1) return null;
+      if (num == 0) return Collections.emptyMap();
+
+      final Map<String, String> map = new HashMap<>(num / 2, 1f);
+      for (int i = 0; i < num; i += 2) {
+        map.put(cursor.readString(), cursor.readString());
+      }
+      return map;
+    }
+  };
+
   public static final Builder<Map<String, Object>> ENCODED_OBJECT_MAP = new Builder<Map<String, Object>>() {
     @Override
     public Map<String, Object> build(Object data) {
@@ -360,18 +520,18 @@ public final class BuilderFactory {
       if (list.isEmpty()) return Collections.emptyMap();
 
       if (list.get(0) instanceof KeyValue) {
-        final Map<String, Object> map = new HashMap<>(list.size(), 1f);
+        final LazyDecodedMap<Object> map = new LazyDecodedMap<>(list.size());
         final Iterator iterator = list.iterator();
         while (iterator.hasNext()) {
           KeyValue kv = (KeyValue) iterator.next();
-          map.put(STRING.build(kv.getKey()), ENCODED_OBJECT.build(kv.getValue()));
+          map.putLazily(STRING.build(kv.getKey()), kv.getValue(), ENCODED_OBJECT::build);
         }
         return map;
       } else {
-        final Map<String, Object> map = new HashMap<>(list.size() / 2, 1f);
+        final LazyDecodedMap<Object> map = new LazyDecodedMap<>(list.size() / 2);
         final Iterator iterator = list.iterator();
         while (iterator.hasNext()) {
-          map.put(STRING.build(iterator.next()), ENCODED_OBJECT.build(iterator.next()));
+          map.putLazily(STRING.build(iterator.next()), iterator.next(), ENCODED_OBJECT::build);
         }
         return map;
       }
@@ -662,6 +822,104 @@ public final class BuilderFactory {
     }
   };
 
+  /**
+   * Builds the same result as {@link #TUPLE_LIST} for a flat reply, or as {@link #TUPLE_LIST_RESP3}
+   * for a reply of pairs, decoding the reply through a {@link ReplyCursor}.
+   */
+  @Experimental
+  public static final Builder<List<Tuple>> CURSOR_TUPLE_LIST = new CursorBuilder<List<Tuple>>(new Builder<List<Tuple>>() {
+    @Override
+    public List<Tuple> build(Object data) {
+      if (data instanceof List && !((List) data).isEmpty() && ((List) data).get(0) instanceof List) {
+        return TUPLE_LIST_RESP3.build(data);
+      }
+      return TUPLE_LIST.build(data);
+    }
+
+    @Override
+    public String toString() {
+      return "List<Tuple>";
+    }
+  }) {
+    @Override
+    public List<Tuple> read(ReplyCursor cursor) {
+      final int num = cursor.readAggregateLength();
+      if (num == -1) return null;
+      if (num == 0) return new ArrayList<>(0);
+
+      if (cursor.isAggregate()) {
+        final List<Tuple> result = new ArrayList<>(num);
+        for (int i = 0; i < num; i++) {
+          final int size = cursor.readAggregateLength();
+          if (size <= 0) {
+            result.add(null);
+            continue;
+          }
+          result.add(new Tuple(cursor.readBytes(), cursor.readDouble()));
+          for (int j = 2; j < size; j++) {
+            cursor.skip();
+          }
+        }
+        return result;
+      } else {
+        final List<Tuple> result = new ArrayList<>(num / 2);
+        for (int i = 0; i < num; i += 2) {
+          result.add(new Tuple(cursor.readBytes(), cursor.readDouble()));
+        }
+        return result;
+      }
+    }
+  };
+
+  /**
+   * Builds the same members and scores as {@link #CURSOR_TUPLE_LIST}, as parallel arrays.
+   */
+  @Experimental
+  public static final Builder<ScoredMembers> SCORED_MEMBERS = new CursorBuilder<ScoredMembers>(new Builder<ScoredMembers>() {
+    @Override
+    public ScoredMembers build(Object data) {
+      final List<Tuple> list = CURSOR_TUPLE_LIST.build(data);
+      if (list == null) return null;
+      final byte[][] members = new byte[list.size()][];
+      final double[] scores = new double[list.size()];
+      for (int i = 0; i < members.length; i++) {
+        members[i] = list.get(i).getBinaryElement();
+        scores[i] = list.get(i).getScore();
+      }
+      return new ScoredMembers(members, scores);
+    }
+
+    @Override
+    public String toString() {
+      return "ScoredMembers";
+    }
+  }) {
+    @Override
+    public ScoredMembers read(ReplyCursor cursor) {
+      final int num = cursor.readAggregateLength();
+      if (num == -1) return null;
+
+      final boolean pairs = num > 0 && cursor.isAggregate();
+      final int size = pairs ? num : num / 2;
+      final byte[][] members = new byte[size][];
+      final double[] scores = new double[size];
+      for (int i = 0; i < size; i++) {
+        if (pairs) {
+          final int length = cursor.readAggregateLength();
+          members[i] = cursor.readBytes();
+          scores[i] = cursor.readDouble();
+          for (int j = 2; j < length; j++) {
+            cursor.skip();
+          }
+        } else {
+          members[i] = cursor.readBytes();
+          scores[i] = cursor.readDouble();
+        }
+      }
+      return new ScoredMembers(members, scores);
+    }
+  };
+
   @Deprecated
   public static final Builder<Set<Tuple>> TUPLE_ZSET = new Builder<Set<Tuple>>() {
     @Override
@@ -891,6 +1149,53 @@ public final class BuilderFactory {
     }
   };
 
+  /**
+   * Builds the longitude and latitude of each member, one after the other, decoding the reply
+   * through a {@link ReplyCursor}. Both are {@link Double#NaN} for a missing member.
+   */
+  @Experimental
+  public static final Builder<double[]> GEO_COORDINATE_ARRAY = new CursorBuilder<double[]>(new Builder<double[]>() {
+    @Override
+    public double[] build(Object data) {
+      final List<GeoCoordinate> list = GEO_COORDINATE_LIST.build(data);
+      if (list == null) return null;
+      final double[] result = new double[2 * list.size()];
+      for (int i = 0; i < list.size(); i++) {
+        final GeoCoordinate coordinate = list.get(i);
+        result[2 * i] = coordinate == null ? Double.NaN : coordinate.getLongitude();
+        result[2 * i + 1] = coordinate == null ? Double.NaN : coordinate.getLatitude();
+      }
+      return result;
+    }
+
+    @Override
+    public String toString() {
+      return "double[]";
+    }
+  }) {
+    @Override
+    public double[] read(ReplyCursor cursor) {
+      final int num = cursor.readAggregateLength();
+      if (num == -1) return null;
+
+      final double[] result = new double[2 * num];
+      for (int i = 0; i < num; i++) {
+        final int length = cursor.readAggregateLength();
+        if (length == -1) {
+          result[2 * i] = Double.NaN;
+          result[2 * i + 1] = Double.NaN;
+          continue;
+        }
+        result[2 * i] = cursor.readDouble();
+        result[2 * i + 1] = cursor.readDouble();
+        for (int j = 2; j < length; j++) {
+          cursor.skip();
+        }
+      }
+      return result;
+    }
+  };
+
   public static final Builder<List<GeoRadiusResponse>> GEORADIUS_WITH_PARAMS_RESULT = new Builder<List<GeoRadiusResponse>>() {
     @Override
     public List<GeoRadiusResponse> build(Object data) {
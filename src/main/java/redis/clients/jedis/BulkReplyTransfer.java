@@ -0,0 +1,132 @@
+package redis.clients.jedis;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+import redis.clients.jedis.annots.Experimental;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.exceptions.JedisException;
+import redis.clients.jedis.util.RedisInputStream;
+
+/**
+ * Transfers a bulk string reply (e.g. of GET, HGET, DUMP or JSON.GET) into a caller supplied
+ * target, chunk by chunk through the input buffer of the connection, so that memory usage does not
+ * depend on the size of the value. The built reply is the length of the value, or {@code -1} if it
+ * is nil.
+ */
+@Experimental
+public abstract class BulkReplyTransfer extends StreamingBuilder<Long> {
+
+  /**
+   * The value must fit in the remaining space of the buffer, otherwise it is discarded and a
+   * {@link JedisDataException} is thrown.
+   */
+  public static BulkReplyTransfer to(ByteBuffer dst) {
+    return new BulkReplyTransfer() {
+      @Override
+      protected void transfer(RedisInputStream is, int length) {
+        if (dst.remaining() < length) {
+          is.readInto(DISCARD, length);
+          throw new JedisDataException("Bulk reply of " + length + " bytes does not fit in "
+              + dst.remaining() + " remaining bytes.");
+        }
+        is.readInto(dst, length);
+      }
+
+      @Override
+      protected void transfer(byte[] value) {
+        if (dst.remaining() < value.length) {
+          throw new JedisDataException("Bulk reply of " + value.length + " bytes does not fit in "
+              + dst.remaining() + " remaining bytes.");
+        }
+        dst.put(value);
+      }
+    };
+  }
+
+  public static BulkReplyTransfer to(OutputStream out) {
+    return new BulkReplyTransfer() {
+      @Override
+      protected void transfer(RedisInputStream is, int length) {
+        is.readInto(out, length);
+      }
+
+      @Override
+      protected void transfer(byte[] value) throws IOException {
+        out.write(value);
+      }
+    };
+  }
+
+  public static BulkReplyTransfer to(WritableByteChannel channel) {
+    return new BulkReplyTransfer() {
+      @Override
+      protected void transfer(RedisInputStream is, int length) {
+        is.readInto(channel, length);
+      }
+
+      @Override
+      protected void transfer(byte[] value) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(value);
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+      }
+    };
+  }
+
+  private static final OutputStream DISCARD = new OutputStream() {
+    @Override
+    public void write(int b) {
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+    }
+  };
+
+  /**
+   * Transfers exactly {@code length} bytes from the stream.
+   */
+  protected abstract void transfer(RedisInputStream is, int length);
+
+  /**
+   * Transfers a value which has already been read.
+   */
+  protected abstract void transfer(byte[] value) throws IOException;
+
+  @Override
+  public final Long read(RedisInputStream is) {
+    if (is.peek(Protocol.DOLLAR_BYTE)) {
+      return (long) Protocol.readBulkReply(is, this::transfer);
+    }
+    return build(Protocol.read(is));
+  }
+
+  @Override
+  public final Long build(Object data) {
+    if (data == null) {
+      return -1L;
+    }
+    if (data instanceof JedisDataException) {
+      throw (JedisDataException) data;
+    }
+    if (!(data instanceof byte[])) {
+      throw new JedisDataException("Unexpected reply type: " + data.getClass().getSimpleName());
+    }
+    byte[] value = (byte[]) data;
+    try {
+      transfer(value);
+    } catch (IOException e) {
+      throw new JedisException(e);
+    }
+    return (long) value.length;
+  }
+
+  @Override
+  public String toString() {
+    return "BulkReplyTransfer";
+  }
+}
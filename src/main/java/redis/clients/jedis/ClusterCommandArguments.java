@@ -1,5 +1,6 @@
 package redis.clients.jedis;
 
+import redis.clients.jedis.annots.Experimental;
 import redis.clients.jedis.commands.ProtocolCommand;
 import redis.clients.jedis.exceptions.JedisClusterOperationException;
 import redis.clients.jedis.util.JedisClusterCRC16;
@@ -12,6 +13,11 @@ public class ClusterCommandArguments extends CommandArguments {
     super(command);
   }
 
+  @Experimental
+  public ClusterCommandArguments(ProtocolCommand command, boolean encoded) {
+    super(command, encoded);
+  }
+
   public int getCommandHashSlot() {
     return commandHashSlot;
   }
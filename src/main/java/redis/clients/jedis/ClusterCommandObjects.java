@@ -16,7 +16,12 @@ public class ClusterCommandObjects extends CommandObjects {
 
   @Override
   protected ClusterCommandArguments commandArguments(ProtocolCommand command) {
-    ClusterCommandArguments comArgs = new ClusterCommandArguments(command);
+    return commandArguments(command, encodedArguments);
+  }
+
+  @Override
+  protected ClusterCommandArguments commandArguments(ProtocolCommand command, boolean encoded) {
+    ClusterCommandArguments comArgs = new ClusterCommandArguments(command, encoded);
     if (keyPreProcessor != null) comArgs.setKeyArgumentPreProcessor(keyPreProcessor);
     return comArgs;
   }
@@ -11,14 +11,19 @@ import redis.clients.jedis.annots.Experimental;
 import redis.clients.jedis.annots.Internal;
 import redis.clients.jedis.args.Rawable;
 import redis.clients.jedis.args.RawableFactory;
+import redis.clients.jedis.args.StreamingRawable;
 import redis.clients.jedis.commands.ProtocolCommand;
 import redis.clients.jedis.params.IParams;
 import redis.clients.jedis.search.RediSearchUtil;
+import redis.clients.jedis.util.LazyRawable;
 
 public class CommandArguments implements Iterable<Rawable> {
 
   private CommandKeyArgumentPreProcessor keyPreProc = null;
-  private final ArrayList<Rawable> args;
+  private final ProtocolCommand command;
+  // either of them
+  private ArrayList<Rawable> args;
+  private EncodedArguments encoded;
 
   private List<Object> keys;
 
@@ -29,14 +34,31 @@ public class CommandArguments implements Iterable<Rawable> {
   }
 
   public CommandArguments(ProtocolCommand command) {
-    args = new ArrayList<>();
-    args.add(command);
+    this(command, false);
+  }
+
+  /**
+   * @param encoded whether each argument is encoded as it is added, into a single buffer, rather than
+   * kept as a {@link Rawable}; it is then written by a single copy, and its arguments are iterated as
+   * byte arrays. An argument whose value is only known when it is written, e.g. a
+   * {@link StreamingRawable}, makes the arguments be kept as {@link Rawable}s again.
+   */
+  @Experimental
+  public CommandArguments(ProtocolCommand command, boolean encoded) {
+    this.command = command;
+    if (encoded) {
+      this.encoded = new EncodedArguments();
+      this.encoded.add(command.getRaw());
+    } else {
+      args = new ArrayList<>();
+      args.add(command);
+    }
 
     keys = Collections.emptyList();
   }
 
   public ProtocolCommand getCommand() {
-    return (ProtocolCommand) args.get(0);
+    return command;
   }
 
   @Experimental
@@ -45,11 +67,47 @@ public class CommandArguments implements Iterable<Rawable> {
   }
 
   public CommandArguments add(Rawable arg) {
+    if (encoded != null) {
+      if (!(arg instanceof StreamingRawable) && !(arg instanceof LazyRawable)) {
+        encoded.add(arg.getRaw());
+        return this;
+      }
+      decode();
+    }
     args.add(arg);
     return this;
   }
 
+  /**
+   * Adds arguments which are already encoded, for an encoded instance.
+   * @param encodedArgs the arguments encoded by {@link EncodedArguments}
+   * @param rawables the same arguments
+   */
+  CommandArguments addEncoded(byte[] encodedArgs, Rawable[] rawables) {
+    if (encoded != null) {
+      encoded.addEncoded(encodedArgs, rawables.length);
+    } else {
+      Collections.addAll(args, rawables);
+    }
+    return this;
+  }
+
+  /**
+   * Sets the multi bulk header and the command, encoded beforehand, of an encoded instance.
+   * @param prefix see {@link EncodedArguments#setPrefix(byte[], int)}
+   * @param argCount the number of arguments, including the command, the header is encoded for
+   */
+  void setEncodedPrefix(byte[] prefix, int argCount) {
+    if (encoded != null) {
+      encoded.setPrefix(prefix, argCount);
+    }
+  }
+
   public CommandArguments add(byte[] arg) {
+    if (encoded != null) {
+      encoded.add(arg);
+      return this;
+    }
     return add(RawableFactory.from(arg));
   }
 
@@ -58,10 +116,14 @@ public class CommandArguments implements Iterable<Rawable> {
   }
 
   public CommandArguments add(int arg) {
-    return add(RawableFactory.from(arg));
+    return add((long) arg);
   }
 
   public CommandArguments add(long arg) {
+    if (encoded != null) {
+      encoded.add(arg);
+      return this;
+    }
     return add(RawableFactory.from(arg));
   }
 
@@ -70,6 +132,10 @@ public class CommandArguments implements Iterable<Rawable> {
   }
 
   public CommandArguments add(String arg) {
+    if (encoded != null) {
+      encoded.add(arg);
+      return this;
+    }
     return add(RawableFactory.from(arg));
   }
 
@@ -77,26 +143,26 @@ public class CommandArguments implements Iterable<Rawable> {
     if (arg == null) {
       throw new IllegalArgumentException("null is not a valid argument.");
     } else if (arg instanceof Rawable) {
-      args.add((Rawable) arg);
+      add((Rawable) arg);
     } else if (arg instanceof byte[]) {
-      args.add(RawableFactory.from((byte[]) arg));
+      add((byte[]) arg);
     } else if (arg instanceof Boolean) {
-      args.add(RawableFactory.from((Boolean) arg));
+      add(RawableFactory.from((Boolean) arg));
     } else if (arg instanceof Integer) {
-      args.add(RawableFactory.from((Integer) arg));
+      add((int) (Integer) arg);
     } else if (arg instanceof Long) {
-      args.add(RawableFactory.from((Long) arg));
+      add((long) (Long) arg);
     } else if (arg instanceof Double) {
-      args.add(RawableFactory.from((Double) arg));
+      add(RawableFactory.from((Double) arg));
     } else if (arg instanceof float[]) {
-      args.add(RawableFactory.from(RediSearchUtil.toByteArray((float[]) arg)));
+      add(RediSearchUtil.toByteArray((float[]) arg));
     } else if (arg instanceof String) {
-      args.add(RawableFactory.from((String) arg));
+      add((String) arg);
     } else if (arg instanceof GeoCoordinate) {
       GeoCoordinate geo = (GeoCoordinate) arg;
-      args.add(RawableFactory.from(geo.getLongitude() + "," + geo.getLatitude()));
+      add(geo.getLongitude() + "," + geo.getLatitude());
     } else {
-      args.add(RawableFactory.from(String.valueOf(arg)));
+      add(String.valueOf(arg));
     }
     return this;
   }
@@ -121,15 +187,15 @@ public class CommandArguments implements Iterable<Rawable> {
     if (key instanceof Rawable) {
       Rawable raw = (Rawable) key;
       processKey(raw.getRaw());
-      args.add(raw);
+      add(raw);
     } else if (key instanceof byte[]) {
       byte[] raw = (byte[]) key;
       processKey(raw);
-      args.add(RawableFactory.from(raw));
+      add(raw);
     } else if (key instanceof String) {
       String raw = (String) key;
       processKey(raw);
-      args.add(RawableFactory.from(raw));
+      add(raw);
     } else {
       throw new IllegalArgumentException("\"" + key.toString() + "\" is not a valid argument.");
     }
@@ -192,12 +258,91 @@ public class CommandArguments implements Iterable<Rawable> {
   }
 
   public int size() {
-    return args.size();
+    return encoded != null ? encoded.count() : args.size();
   }
 
   @Override
   public Iterator<Rawable> iterator() {
-    return args.iterator();
+    return encoded != null ? encoded.iterator(command) : args.iterator();
+  }
+
+  /**
+   * @return the encoded arguments, or {@code null} if they are kept as {@link Rawable}s
+   */
+  EncodedArguments getEncoded() {
+    return encoded;
+  }
+
+  /**
+   * @return the hash code of the arguments, each one hashed by its bytes, so that encoded and plain
+   * arguments hash alike, see {@link #contentEquals(CommandArguments)}
+   */
+  int contentHashCode() {
+    if (encoded != null) {
+      return encoded.hashCode(31 + contentHashCode(command));
+    }
+    int hashCode = 1;
+    for (Rawable arg : args) {
+      hashCode = 31 * hashCode + contentHashCode(arg);
+    }
+    return hashCode;
+  }
+
+  /**
+   * @return whether the arguments have the same bytes, whether they are encoded or not; an argument
+   * whose value is only known when it is written only equals itself
+   */
+  boolean contentEquals(CommandArguments other) {
+    if (size() != other.size() || !contentEquals(command, other.command)) {
+      return false;
+    }
+    if (encoded != null && other.encoded != null) {
+      return encoded.contentEquals(other.encoded);
+    }
+    if (encoded == null && other.encoded == null) {
+      for (int i = 1; i < args.size(); i++) {
+        if (!contentEquals(args.get(i), other.args.get(i))) {
+          return false;
+        }
+      }
+      return true;
+    }
+    final List<Rawable> plainArgs = encoded == null ? args : other.args;
+    for (int i = 1; i < plainArgs.size(); i++) {
+      if (!hasContent(plainArgs.get(i))) {
+        return false;
+      }
+    }
+    return (encoded == null ? other.encoded : encoded).contentEquals(plainArgs.listIterator(1));
+  }
+
+  private static boolean hasContent(Rawable arg) {
+    return !(arg instanceof StreamingRawable) && !(arg instanceof LazyRawable);
+  }
+
+  private static int contentHashCode(Rawable arg) {
+    if (!hasContent(arg)) {
+      return arg.hashCode();
+    }
+    // the hash code of the bytes, see RawableFactory.Raw
+    return arg instanceof RawableFactory.Raw ? arg.hashCode() : Arrays.hashCode(arg.getRaw());
+  }
+
+  private static boolean contentEquals(Rawable arg, Rawable other) {
+    if (arg == other) {
+      return true;
+    }
+    if (!hasContent(arg) || !hasContent(other)) {
+      return false;
+    }
+    return arg instanceof RawableFactory.Raw && other instanceof RawableFactory.Raw ? arg.equals(other)
+        : Arrays.equals(arg.getRaw(), other.getRaw());
+  }
+
+  private void decode() {
+    args = new ArrayList<>(encoded.count() + 1);
+    encoded.iterator(command).forEachRemaining(args::add);
+    encoded = null;
   }
 
   @Internal
@@ -1,8 +1,5 @@
 package redis.clients.jedis;
 
-import java.util.Iterator;
-import redis.clients.jedis.args.Rawable;
-
 public class CommandObject<T> {
 
   private final CommandArguments arguments;
@@ -21,14 +18,14 @@ public class CommandObject<T> {
     return builder;
   }
 
+  /**
+   * Arguments are compared by their bytes, so that a command equals the same one whether its
+   * arguments are encoded or not, see {@link CommandArguments#CommandArguments(
+   * redis.clients.jedis.commands.ProtocolCommand, boolean)}.
+   */
   @Override
   public int hashCode() {
-    int hashCode = 1;
-    for (Rawable e : arguments) {
-      hashCode = 31 * hashCode + e.hashCode();
-    }
-    hashCode = 31 * hashCode + builder.hashCode();
-    return hashCode;
+    return 31 * arguments.contentHashCode() + builder.hashCode();
   }
 
   @Override
@@ -39,20 +36,7 @@ public class CommandObject<T> {
     if (!(o instanceof CommandObject)) {
       return false;
     }
-
-    Iterator<Rawable> e1 = arguments.iterator();
-    Iterator<Rawable> e2 = ((CommandObject) o).arguments.iterator();
-    while (e1.hasNext() && e2.hasNext()) {
-      Rawable o1 = e1.next();
-      Rawable o2 = e2.next();
-      if (!(o1 == null ? o2 == null : o1.equals(o2))) {
-        return false;
-      }
-    }
-    if (e1.hasNext() || e2.hasNext()) {
-      return false;
-    }
-
-    return builder == ((CommandObject) o).builder;
+    CommandObject<?> other = (CommandObject<?>) o;
+    return builder == other.builder && arguments.contentEquals(other.arguments);
   }
 }
@@ -48,6 +48,8 @@ public class CommandObjects {
   }
 
   protected volatile CommandKeyArgumentPreProcessor keyPreProcessor = null;
+  protected volatile boolean encodedArguments = false;
+  protected volatile boolean replyCursors = false;
   private JedisBroadcastAndRoundRobinConfig broadcastAndRoundRobinConfig = null;
   private Lock mapperLock = new ReentrantLock(true);    
   private volatile JsonObjectMapper jsonObjectMapper;
@@ -58,16 +60,38 @@ public class CommandObjects {
     this.keyPreProcessor = keyPreProcessor;
   }
 
+  @Experimental
+  void setEncodedArguments(boolean encodedArguments) {
+    this.encodedArguments = encodedArguments;
+  }
+
+  @Experimental
+  void setReplyCursors(boolean replyCursors) {
+    this.replyCursors = replyCursors;
+  }
+
   void setBroadcastAndRoundRobinConfig(JedisBroadcastAndRoundRobinConfig config) {
     this.broadcastAndRoundRobinConfig = config;
   }
 
   protected CommandArguments commandArguments(ProtocolCommand command) {
-    CommandArguments comArgs = new CommandArguments(command);
+    return commandArguments(command, encodedArguments);
+  }
+
+  protected CommandArguments commandArguments(ProtocolCommand command, boolean encoded) {
+    CommandArguments comArgs = new CommandArguments(command, encoded);
     if (keyPreProcessor != null) comArgs.setKeyArgumentPreProcessor(keyPreProcessor);
     return comArgs;
   }
 
+  /**
+   * @param arguments the variable arguments of the prepared command
+   */
+  @Experimental
+  public final <T> CommandObject<T> prepared(PreparedCommand<T> preparedCommand, Object... arguments) {
+    return preparedCommand.bind(commandArguments(preparedCommand.getCommand(), true), arguments);
+  }
+
   private final CommandObject<String> PING_COMMAND_OBJECT = new CommandObject<>(commandArguments(PING), BuilderFactory.STRING);
 
   public final CommandObject<String> ping() {
@@ -142,6 +166,16 @@ public class CommandObjects {
     return new CommandObject<>(commandArguments(Command.DUMP).key(key), BuilderFactory.BINARY);
   }
 
+  @Experimental
+  public final CommandObject<Long> dumpInto(String key, BulkReplyTransfer transfer) {
+    return new CommandObject<>(commandArguments(Command.DUMP).key(key), transfer);
+  }
+
+  @Experimental
+  public final CommandObject<Long> dumpInto(byte[] key, BulkReplyTransfer transfer) {
+    return new CommandObject<>(commandArguments(Command.DUMP).key(key), transfer);
+  }
+
   public final CommandObject<String> restore(String key, long ttl, byte[] serializedValue) {
     return new CommandObject<>(commandArguments(RESTORE).key(key).add(ttl)
         .add(serializedValue), BuilderFactory.STRING);
@@ -454,6 +488,26 @@ public class CommandObjects {
     return new CommandObject<>(commandArguments(Command.SET).key(key).add(value).addParams(params), BuilderFactory.STRING);
   }
 
+  @Experimental
+  public final CommandObject<String> set(String key, StreamingRawable value) {
+    return new CommandObject<>(commandArguments(Command.SET).key(key).add(value), BuilderFactory.STRING);
+  }
+
+  @Experimental
+  public final CommandObject<String> set(String key, StreamingRawable value, SetParams params) {
+    return new CommandObject<>(commandArguments(Command.SET).key(key).add(value).addParams(params), BuilderFactory.STRING);
+  }
+
+  @Experimental
+  public final CommandObject<String> set(byte[] key, StreamingRawable value) {
+    return new CommandObject<>(commandArguments(Command.SET).key(key).add(value), BuilderFactory.STRING);
+  }
+
+  @Experimental
+  public final CommandObject<String> set(byte[] key, StreamingRawable value, SetParams params) {
+    return new CommandObject<>(commandArguments(Command.SET).key(key).add(value).addParams(params), BuilderFactory.STRING);
+  }
+
   public final CommandObject<String> get(String key) {
     return new CommandObject<>(commandArguments(Command.GET).key(key), BuilderFactory.STRING);
   }
@@ -479,6 +533,16 @@ public class CommandObjects {
     return new CommandObject<>(commandArguments(Command.GET).key(key), BuilderFactory.BINARY);
   }
 
+  @Experimental
+  public final CommandObject<Long> getInto(String key, BulkReplyTransfer transfer) {
+    return new CommandObject<>(commandArguments(Command.GET).key(key), transfer);
+  }
+
+  @Experimental
+  public final CommandObject<Long> getInto(byte[] key, BulkReplyTransfer transfer) {
+    return new CommandObject<>(commandArguments(Command.GET).key(key), transfer);
+  }
+
   public final CommandObject<byte[]> setGet(byte[] key, byte[] value) {
     return new CommandObject<>(commandArguments(Command.SET).key(key).add(value).add(Keyword.GET), BuilderFactory.BINARY);
   }
@@ -700,6 +764,11 @@ public class CommandObjects {
     return new CommandObject<>(commandArguments(BITFIELD).key(key).addObjects((Object[]) arguments), BuilderFactory.LONG_LIST);
   }
 
+  @Experimental
+  public final CommandObject<long[]> bitfieldArray(String key, String... arguments) {
+    return new CommandObject<>(commandArguments(BITFIELD).key(key).addObjects((Object[]) arguments), BuilderFactory.LONG_ARRAY);
+  }
+
   public final CommandObject<List<Long>> bitfieldReadonly(String key, String... arguments) {
     return new CommandObject<>(commandArguments(BITFIELD_RO).key(key).addObjects((Object[]) arguments), BuilderFactory.LONG_LIST);
   }
@@ -708,6 +777,11 @@ public class CommandObjects {
     return new CommandObject<>(commandArguments(BITFIELD).key(key).addObjects((Object[]) arguments), BuilderFactory.LONG_LIST);
   }
 
+  @Experimental
+  public final CommandObject<long[]> bitfieldArray(byte[] key, byte[]... arguments) {
+    return new CommandObject<>(commandArguments(BITFIELD).key(key).addObjects((Object[]) arguments), BuilderFactory.LONG_ARRAY);
+  }
+
   public final CommandObject<List<Long>> bitfieldReadonly(byte[] key, byte[]... arguments) {
     return new CommandObject<>(commandArguments(BITFIELD_RO).key(key).addObjects((Object[]) arguments), BuilderFactory.LONG_LIST);
   }
@@ -1058,6 +1132,16 @@ public class CommandObjects {
     return new CommandObject<>(commandArguments(HSET).key(key).add(field).add(value), BuilderFactory.LONG);
   }
 
+  @Experimental
+  public final CommandObject<Long> hset(String key, String field, StreamingRawable value) {
+    return new CommandObject<>(commandArguments(HSET).key(key).add(field).add(value), BuilderFactory.LONG);
+  }
+
+  @Experimental
+  public final CommandObject<Long> hset(byte[] key, byte[] field, StreamingRawable value) {
+    return new CommandObject<>(commandArguments(HSET).key(key).add(field).add(value), BuilderFactory.LONG);
+  }
+
   public final CommandObject<Long> hset(byte[] key, Map<byte[], byte[]> hash) {
     return new CommandObject<>(addFlatMapArgs(commandArguments(HSET).key(key), hash), BuilderFactory.LONG);
   }
@@ -1076,6 +1160,16 @@ public class CommandObjects {
     return new CommandObject<>(commandArguments(HGET).key(key).add(field), BuilderFactory.BINARY);
   }
 
+  @Experimental
+  public final CommandObject<Long> hgetInto(String key, String field, BulkReplyTransfer transfer) {
+    return new CommandObject<>(commandArguments(HGET).key(key).add(field), transfer);
+  }
+
+  @Experimental
+  public final CommandObject<Long> hgetInto(byte[] key, byte[] field, BulkReplyTransfer transfer) {
+    return new CommandObject<>(commandArguments(HGET).key(key).add(field), transfer);
+  }
+
   public final CommandObject<List<byte[]>> hgetex(byte[] key, HGetExParams params, byte[]... fields) {
     return new CommandObject<>(commandArguments(Command.HGETEX).key(key)
       .addParams(params).add(FIELDS).add(fields.length).addObjects((Object[]) fields), BuilderFactory.BINARY_LIST);
@@ -1155,7 +1249,8 @@ public class CommandObjects {
   }
 
   public final CommandObject<Map<String, String>> hgetAll(String key) {
-    return new CommandObject<>(commandArguments(HGETALL).key(key), BuilderFactory.STRING_MAP);
+    return new CommandObject<>(commandArguments(HGETALL).key(key),
+        replyCursors ? BuilderFactory.CURSOR_STRING_MAP : BuilderFactory.STRING_MAP);
   }
 
   public final CommandObject<String> hrandfield(String key) {
@@ -1172,7 +1267,8 @@ public class CommandObjects {
   }
 
   public final CommandObject<Map<byte[], byte[]>> hgetAll(byte[] key) {
-    return new CommandObject<>(commandArguments(HGETALL).key(key), BuilderFactory.BINARY_MAP);
+    return new CommandObject<>(commandArguments(HGETALL).key(key),
+        replyCursors ? BuilderFactory.CURSOR_BINARY_MAP : BuilderFactory.BINARY_MAP);
   }
 
   public final CommandObject<byte[]> hrandfield(byte[] key) {
@@ -1404,10 +1500,20 @@ public class CommandObjects {
     return new CommandObject<>(commandArguments(SMISMEMBER).key(key).addObjects((Object[]) members), BuilderFactory.BOOLEAN_LIST);
   }
 
+  @Experimental
+  public final CommandObject<boolean[]> smismemberArray(String key, String... members) {
+    return new CommandObject<>(commandArguments(SMISMEMBER).key(key).addObjects((Object[]) members), BuilderFactory.BOOLEAN_ARRAY);
+  }
+
   public final CommandObject<List<Boolean>> smismember(byte[] key, byte[]... members) {
     return new CommandObject<>(commandArguments(SMISMEMBER).key(key).addObjects((Object[]) members), BuilderFactory.BOOLEAN_LIST);
   }
 
+  @Experimental
+  public final CommandObject<boolean[]> smismemberArray(byte[] key, byte[]... members) {
+    return new CommandObject<>(commandArguments(SMISMEMBER).key(key).addObjects((Object[]) members), BuilderFactory.BOOLEAN_ARRAY);
+  }
+
   public final CommandObject<String> srandmember(String key) {
     return new CommandObject<>(commandArguments(SRANDMEMBER).key(key), BuilderFactory.STRING);
   }
@@ -1642,6 +1748,11 @@ public class CommandObjects {
     return new CommandObject<>(commandArguments(ZMSCORE).key(key).addObjects((Object[]) members), BuilderFactory.DOUBLE_LIST);
   }
 
+  @Experimental
+  public final CommandObject<double[]> zmscoreArray(String key, String... members) {
+    return new CommandObject<>(commandArguments(ZMSCORE).key(key).addObjects((Object[]) members), BuilderFactory.DOUBLE_ARRAY);
+  }
+
   public final CommandObject<Long> zcard(byte[] key) {
     return new CommandObject<>(commandArguments(ZCARD).key(key), BuilderFactory.LONG);
   }
@@ -1654,6 +1765,11 @@ public class CommandObjects {
     return new CommandObject<>(commandArguments(ZMSCORE).key(key).addObjects((Object[]) members), BuilderFactory.DOUBLE_LIST);
   }
 
+  @Experimental
+  public final CommandObject<double[]> zmscoreArray(byte[] key, byte[]... members) {
+    return new CommandObject<>(commandArguments(ZMSCORE).key(key).addObjects((Object[]) members), BuilderFactory.DOUBLE_ARRAY);
+  }
+
   public final CommandObject<Tuple> zpopmax(String key) {
     return new CommandObject<>(commandArguments(ZPOPMAX).key(key), BuilderFactory.TUPLE);
   }
@@ -1735,11 +1851,23 @@ public class CommandObjects {
         .add(start).add(stop).add(WITHSCORES), getTupleListBuilder());
   }
 
+  @Experimental
+  public final CommandObject<ScoredMembers> zrangeWithScoresArrays(String key, long start, long stop) {
+    return new CommandObject<>(commandArguments(ZRANGE).key(key)
+        .add(start).add(stop).add(WITHSCORES), BuilderFactory.SCORED_MEMBERS);
+  }
+
   public final CommandObject<List<Tuple>> zrevrangeWithScores(String key, long start, long stop) {
     return new CommandObject<>(commandArguments(ZREVRANGE).key(key)
         .add(start).add(stop).add(WITHSCORES), getTupleListBuilder());
   }
 
+  @Experimental
+  public final CommandObject<ScoredMembers> zrevrangeWithScoresArrays(String key, long start, long stop) {
+    return new CommandObject<>(commandArguments(ZREVRANGE).key(key)
+        .add(start).add(stop).add(WITHSCORES), BuilderFactory.SCORED_MEMBERS);
+  }
+
   public final CommandObject<List<String>> zrange(String key, ZRangeParams zRangeParams) {
     return new CommandObject<>(commandArguments(ZRANGE).key(key).addParams(zRangeParams), BuilderFactory.STRING_LIST);
   }
@@ -1748,6 +1876,11 @@ public class CommandObjects {
     return new CommandObject<>(commandArguments(ZRANGE).key(key).addParams(zRangeParams).add(WITHSCORES), getTupleListBuilder());
   }
 
+  @Experimental
+  public final CommandObject<ScoredMembers> zrangeWithScoresArrays(String key, ZRangeParams zRangeParams) {
+    return new CommandObject<>(commandArguments(ZRANGE).key(key).addParams(zRangeParams).add(WITHSCORES), BuilderFactory.SCORED_MEMBERS);
+  }
+
   public final CommandObject<Long> zrangestore(String dest, String src, ZRangeParams zRangeParams) {
     return new CommandObject<>(commandArguments(ZRANGESTORE).key(dest).add(src).addParams(zRangeParams), BuilderFactory.LONG);
   }
@@ -1841,11 +1974,23 @@ public class CommandObjects {
         .add(start).add(stop).add(WITHSCORES), getTupleListBuilder());
   }
 
+  @Experimental
+  public final CommandObject<ScoredMembers> zrangeWithScoresArrays(byte[] key, long start, long stop) {
+    return new CommandObject<>(commandArguments(ZRANGE).key(key)
+        .add(start).add(stop).add(WITHSCORES), BuilderFactory.SCORED_MEMBERS);
+  }
+
   public final CommandObject<List<Tuple>> zrevrangeWithScores(byte[] key, long start, long stop) {
     return new CommandObject<>(commandArguments(ZREVRANGE).key(key)
         .add(start).add(stop).add(WITHSCORES), getTupleListBuilder());
   }
 
+  @Experimental
+  public final CommandObject<ScoredMembers> zrevrangeWithScoresArrays(byte[] key, long start, long stop) {
+    return new CommandObject<>(commandArguments(ZREVRANGE).key(key)
+        .add(start).add(stop).add(WITHSCORES), BuilderFactory.SCORED_MEMBERS);
+  }
+
   public final CommandObject<List<byte[]>> zrange(byte[] key, ZRangeParams zRangeParams) {
     return new CommandObject<>(commandArguments(ZRANGE).key(key).addParams(zRangeParams), BuilderFactory.BINARY_LIST);
   }
@@ -1854,6 +1999,11 @@ public class CommandObjects {
     return new CommandObject<>(commandArguments(ZRANGE).key(key).addParams(zRangeParams).add(WITHSCORES), getTupleListBuilder());
   }
 
+  @Experimental
+  public final CommandObject<ScoredMembers> zrangeWithScoresArrays(byte[] key, ZRangeParams zRangeParams) {
+    return new CommandObject<>(commandArguments(ZRANGE).key(key).addParams(zRangeParams).add(WITHSCORES), BuilderFactory.SCORED_MEMBERS);
+  }
+
   public final CommandObject<Long> zrangestore(byte[] dest, byte[] src, ZRangeParams zRangeParams) {
     return new CommandObject<>(commandArguments(ZRANGESTORE).key(dest).add(src).addParams(zRangeParams), BuilderFactory.LONG);
   }
@@ -2204,6 +2354,9 @@ public class CommandObjects {
   }
 
   private Builder<List<Tuple>> getTupleListBuilder() {
+    if (replyCursors) {
+      return BuilderFactory.CURSOR_TUPLE_LIST;
+    }
     return protocol == RedisProtocol.RESP3 ? BuilderFactory.TUPLE_LIST_RESP3 : BuilderFactory.TUPLE_LIST;
   }
   // Sorted Set commands
@@ -2238,6 +2391,12 @@ public class CommandObjects {
         BuilderFactory.GEO_COORDINATE_LIST);
   }
 
+  @Experimental
+  public final CommandObject<double[]> geoposArray(String key, String... members) {
+    return new CommandObject<>(commandArguments(GEOPOS).key(key).addObjects((Object[]) members),
+        BuilderFactory.GEO_COORDINATE_ARRAY);
+  }
+
   public final CommandObject<Long> geoadd(byte[] key, double longitude, double latitude, byte[] member) {
     return new CommandObject<>(commandArguments(GEOADD).key(key).add(longitude).add(latitude).add(member), BuilderFactory.LONG);
   }
@@ -2267,6 +2426,12 @@ public class CommandObjects {
         BuilderFactory.GEO_COORDINATE_LIST);
   }
 
+  @Experimental
+  public final CommandObject<double[]> geoposArray(byte[] key, byte[]... members) {
+    return new CommandObject<>(commandArguments(GEOPOS).key(key).addObjects((Object[]) members),
+        BuilderFactory.GEO_COORDINATE_ARRAY);
+  }
+
   public final CommandObject<List<GeoRadiusResponse>> georadius(String key, double longitude, double latitude, double radius, GeoUnit unit) {
     return new CommandObject<>(commandArguments(GEORADIUS).key(key).add(longitude).add(latitude)
         .add(radius).add(unit), BuilderFactory.GEORADIUS_WITH_PARAMS_RESULT);
@@ -3701,6 +3866,11 @@ public class CommandObjects {
     return new CommandObject<>(commandArguments(JsonCommand.GET).key(key).addObjects((Object[]) paths), JsonBuilderFactory.JSON_OBJECT);
   }
 
+  @Experimental
+  public final CommandObject<Long> jsonGetInto(String key, BulkReplyTransfer transfer, Path2... paths) {
+    return new CommandObject<>(commandArguments(JsonCommand.GET).key(key).addObjects((Object[]) paths), transfer);
+  }
+
   @Deprecated
   public final CommandObject<Object> jsonGet(String key, Path... paths) {
     return new CommandObject<>(commandArguments(JsonCommand.GET).key(key).addObjects((Object[]) paths), JSON_GENERIC_OBJECT);
@@ -4066,21 +4236,45 @@ public class CommandObjects {
         .add(fromTimestamp).add(toTimestamp), TimeSeriesBuilderFactory.TIMESERIES_ELEMENT_LIST);
   }
 
+  @Experimental
+  public final CommandObject<TSElementArrays> tsRangeArrays(String key, long fromTimestamp, long toTimestamp) {
+    return new CommandObject<>(commandArguments(TimeSeriesCommand.RANGE).key(key)
+        .add(fromTimestamp).add(toTimestamp), TimeSeriesBuilderFactory.TIMESERIES_ELEMENT_ARRAYS);
+  }
+
   public final CommandObject<List<TSElement>> tsRange(String key, TSRangeParams rangeParams) {
     return new CommandObject<>(commandArguments(TimeSeriesCommand.RANGE).key(key)
         .addParams(rangeParams), TimeSeriesBuilderFactory.TIMESERIES_ELEMENT_LIST);
   }
 
+  @Experimental
+  public final CommandObject<TSElementArrays> tsRangeArrays(String key, TSRangeParams rangeParams) {
+    return new CommandObject<>(commandArguments(TimeSeriesCommand.RANGE).key(key)
+        .addParams(rangeParams), TimeSeriesBuilderFactory.TIMESERIES_ELEMENT_ARRAYS);
+  }
+
   public final CommandObject<List<TSElement>> tsRevRange(String key, long fromTimestamp, long toTimestamp) {
     return new CommandObject<>(commandArguments(TimeSeriesCommand.REVRANGE).key(key)
         .add(fromTimestamp).add(toTimestamp), TimeSeriesBuilderFactory.TIMESERIES_ELEMENT_LIST);
   }
 
+  @Experimental
+  public final CommandObject<TSElementArrays> tsRevRangeArrays(String key, long fromTimestamp, long toTimestamp) {
+    return new CommandObject<>(commandArguments(TimeSeriesCommand.REVRANGE).key(key)
+        .add(fromTimestamp).add(toTimestamp), TimeSeriesBuilderFactory.TIMESERIES_ELEMENT_ARRAYS);
+  }
+
   public final CommandObject<List<TSElement>> tsRevRange(String key, TSRangeParams rangeParams) {
     return new CommandObject<>(commandArguments(TimeSeriesCommand.REVRANGE).key(key)
         .addParams(rangeParams), TimeSeriesBuilderFactory.TIMESERIES_ELEMENT_LIST);
   }
 
+  @Experimental
+  public final CommandObject<TSElementArrays> tsRevRangeArrays(String key, TSRangeParams rangeParams) {
+    return new CommandObject<>(commandArguments(TimeSeriesCommand.REVRANGE).key(key)
+        .addParams(rangeParams), TimeSeriesBuilderFactory.TIMESERIES_ELEMENT_ARRAYS);
+  }
+
   public final CommandObject<Map<String, TSMRangeElements>> tsMRange(long fromTimestamp, long toTimestamp, String... filters) {
     return new CommandObject<>(commandArguments(TimeSeriesCommand.MRANGE).add(fromTimestamp)
         .add(toTimestamp).add(TimeSeriesKeyword.FILTER).addObjects((Object[]) filters),
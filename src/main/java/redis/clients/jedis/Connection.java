@@ -19,6 +19,7 @@ import java.util.concurrent.atomic.AtomicReference;
 import redis.clients.jedis.Protocol.Command;
 import redis.clients.jedis.Protocol.Keyword;
 import redis.clients.jedis.annots.Experimental;
+import redis.clients.jedis.annots.Internal;
 import redis.clients.jedis.args.ClientAttributeOption;
 import redis.clients.jedis.args.Rawable;
 import redis.clients.jedis.authentication.AuthXManager;
@@ -62,7 +63,7 @@ public class Connection implements Closeable {
   }
 
   public Connection(final HostAndPort hostAndPort, final JedisClientConfig clientConfig) {
-    this(new DefaultJedisSocketFactory(hostAndPort, clientConfig), clientConfig);
+    this(DefaultJedisSocketFactory.create(hostAndPort, clientConfig), clientConfig);
   }
 
   public Connection(final JedisSocketFactory socketFactory) {
@@ -172,17 +173,25 @@ public class Connection implements Closeable {
     final CommandArguments args = commandObject.getArguments();
     sendCommand(args);
     if (!args.isBlocking()) {
-      return commandObject.getBuilder().build(getOne());
+      return getReply(commandObject.getBuilder());
     } else {
       try {
         setTimeoutInfinite();
-        return commandObject.getBuilder().build(getOne());
+        return getReply(commandObject.getBuilder());
       } finally {
         rollbackTimeout();
       }
     }
   }
 
+  private <T> T getReply(final Builder<T> builder) {
+    if (builder instanceof StreamingBuilder) {
+      flush();
+      return readStreamingWithCheckingBroken((StreamingBuilder<T>) builder);
+    }
+    return builder.build(getOne());
+  }
+
   public void sendCommand(final ProtocolCommand cmd) {
     sendCommand(new CommandArguments(cmd));
   }
@@ -226,6 +235,30 @@ public class Connection implements Closeable {
     }
   }
 
+  /**
+   * Sends a command like {@link #sendCommand(CommandArguments)}, without reading the error Redis may
+   * have replied if it fails, for a connection whose replies are read by another thread.
+   */
+  void writeCommand(final CommandArguments args) {
+    try {
+      connect();
+      Protocol.sendCommand(outputStream, args);
+    } catch (JedisConnectionException ex) {
+      setBroken();
+      throw ex;
+    }
+  }
+
+  /**
+   * Sends and flushes a command, without reading the error Redis may have replied if it fails, e.g.
+   * to check the health of a connection whose replies are read by another thread.
+   */
+  @Internal
+  public void writeAndFlushCommand(final CommandArguments args) {
+    writeCommand(args);
+    flush();
+  }
+
   public void connect() throws JedisConnectionException {
     if (!isConnected()) {
       try {
@@ -271,6 +304,20 @@ public class Connection implements Closeable {
     }
   }
 
+  /**
+   * Releases the I/O buffers while the connection is idle in its pool, see
+   * {@link redis.clients.jedis.util.BufferPool}.
+   */
+  @Internal
+  protected void releaseBuffers() {
+    if (outputStream != null) {
+      outputStream.releaseBuffer();
+    }
+    if (inputStream != null) {
+      inputStream.releaseBuffer();
+    }
+  }
+
   /**
    * Close the socket and disconnect the server.
    */
@@ -354,6 +401,24 @@ public class Connection implements Closeable {
     return readProtocolWithCheckingBroken();
   }
 
+  /**
+   * Reads a reply, skipping the RESP3 push messages before it, which are not replies to commands.
+   */
+  Object readReplySkippingPushes() {
+    if (broken) {
+      throw new JedisConnectionException("Attempting to read from a broken connection.");
+    }
+    try {
+      while (inputStream.peek(Protocol.GREATER_THAN_BYTE)) {
+        Protocol.read(inputStream);
+      }
+    } catch (JedisConnectionException exc) {
+      broken = true;
+      throw exc;
+    }
+    return readProtocolWithCheckingBroken();
+  }
+
   public List<Object> getObjectMultiBulkReply() {
     flush();
     return (List<Object>) readProtocolWithCheckingBroken();
@@ -379,15 +444,29 @@ public class Connection implements Closeable {
     }
   }
 
+  /**
+   * Reads a reply, and then shrinks the buffer of the stream, see
+   * {@link RedisInputStream#shrinkBuffer()}. An override which reads the stream while another thread
+   * may read it must shrink it under the same lock.
+   */
   @Experimental
   protected Object protocolRead(RedisInputStream is) {
-    return Protocol.read(is);
+    final Object reply = Protocol.read(is);
+    is.shrinkBuffer();
+    return reply;
   }
 
   @Experimental
   protected void protocolReadPushes(RedisInputStream is) {
   }
 
+  @Experimental
+  protected <T> T protocolRead(RedisInputStream is, StreamingBuilder<T> builder) {
+    final T reply = builder.read(is);
+    is.shrinkBuffer();
+    return reply;
+  }
+
   protected Object readProtocolWithCheckingBroken() {
     if (broken) {
       throw new JedisConnectionException("Attempting to read from a broken connection.");
@@ -401,6 +480,19 @@ public class Connection implements Closeable {
     }
   }
 
+  private <T> T readStreamingWithCheckingBroken(StreamingBuilder<T> builder) {
+    if (broken) {
+      throw new JedisConnectionException("Attempting to read from a broken connection.");
+    }
+
+    try {
+      return protocolRead(inputStream, builder);
+    } catch (JedisConnectionException exc) {
+      broken = true;
+      throw exc;
+    }
+  }
+
   protected void readPushesWithCheckingBroken() {
     if (broken) {
       throw new JedisConnectionException("Attempting to read from a broken connection.");
@@ -41,7 +41,7 @@ public class ConnectionFactory implements PooledObjectFactory<Connection> {
   @Experimental
   public ConnectionFactory(final HostAndPort hostAndPort, final JedisClientConfig clientConfig,
       Cache csCache) {
-    this(new DefaultJedisSocketFactory(hostAndPort, clientConfig), clientConfig, csCache);
+    this(DefaultJedisSocketFactory.create(hostAndPort, clientConfig), clientConfig, csCache);
   }
 
   public ConnectionFactory(final JedisSocketFactory jedisSocketFactory,
@@ -106,6 +106,7 @@ public class ConnectionFactory implements PooledObjectFactory<Connection> {
     // TODO maybe should select db 0? Not sure right now.
     Connection jedis = pooledConnection.getObject();
     reAuthenticate(jedis);
+    jedis.releaseBuffers();
   }
 
   @Override
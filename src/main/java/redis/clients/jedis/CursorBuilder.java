@@ -0,0 +1,39 @@
+package redis.clients.jedis;
+
+import redis.clients.jedis.annots.Experimental;
+import redis.clients.jedis.util.RedisInputStream;
+
+/**
+ * A {@link StreamingBuilder} which decodes its reply element by element through a
+ * {@link ReplyCursor}. Replies which have already been read, e.g. in pipelines, are built by the
+ * given fallback builder, which must build the same result.
+ */
+@Experimental
+public abstract class CursorBuilder<T> extends StreamingBuilder<T> {
+
+  private final Builder<T> fallback;
+
+  protected CursorBuilder(Builder<T> fallback) {
+    this.fallback = fallback;
+  }
+
+  /**
+   * Reads exactly one reply through the cursor.
+   */
+  public abstract T read(ReplyCursor cursor);
+
+  @Override
+  public final T read(RedisInputStream is) {
+    return read(new ReplyCursor(is));
+  }
+
+  @Override
+  public final T build(Object data) {
+    return fallback.build(data);
+  }
+
+  @Override
+  public String toString() {
+    return fallback.toString();
+  }
+}
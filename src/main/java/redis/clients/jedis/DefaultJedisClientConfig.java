@@ -27,6 +27,8 @@ public final class DefaultJedisClientConfig implements JedisClientConfig {
 
   private final HostAndPortMapper hostAndPortMapper;
 
+  private final boolean nioTransport;
+
   private final ClientSetInfoConfig clientSetInfoConfig;
 
   private final boolean readOnlyForRedisClusterReplicas;
@@ -47,6 +49,7 @@ public final class DefaultJedisClientConfig implements JedisClientConfig {
     this.sslOptions = builder.sslOptions;
     this.hostnameVerifier = builder.hostnameVerifier;
     this.hostAndPortMapper = builder.hostAndPortMapper;
+    this.nioTransport = builder.nioTransport;
     this.clientSetInfoConfig = builder.clientSetInfoConfig;
     this.readOnlyForRedisClusterReplicas = builder.readOnlyForRedisClusterReplicas;
     this.authXManager = builder.authXManager;
@@ -133,6 +136,11 @@ public final class DefaultJedisClientConfig implements JedisClientConfig {
     return hostAndPortMapper;
   }
 
+  @Override
+  public boolean isNioTransport() {
+    return nioTransport;
+  }
+
   @Override
   public ClientSetInfoConfig getClientSetInfoConfig() {
     return clientSetInfoConfig;
@@ -169,6 +177,8 @@ public final class DefaultJedisClientConfig implements JedisClientConfig {
 
     private HostAndPortMapper hostAndPortMapper = null;
 
+    private boolean nioTransport = false;
+
     private ClientSetInfoConfig clientSetInfoConfig = ClientSetInfoConfig.DEFAULT;
 
     private boolean readOnlyForRedisClusterReplicas = false;
@@ -282,6 +292,11 @@ public final class DefaultJedisClientConfig implements JedisClientConfig {
       return this;
     }
 
+    public Builder nioTransport(boolean nioTransport) {
+      this.nioTransport = nioTransport;
+      return this;
+    }
+
     public Builder clientSetInfoConfig(ClientSetInfoConfig setInfoConfig) {
       this.clientSetInfoConfig = setInfoConfig;
       return this;
@@ -311,6 +326,7 @@ public final class DefaultJedisClientConfig implements JedisClientConfig {
       this.sslOptions = instance.getSslOptions();
       this.hostnameVerifier = instance.getHostnameVerifier();
       this.hostAndPortMapper = instance.getHostAndPortMapper();
+      this.nioTransport = instance.isNioTransport();
       this.clientSetInfoConfig = instance.getClientSetInfoConfig();
       this.readOnlyForRedisClusterReplicas = instance.isReadOnlyForRedisClusterReplicas();
       this.authXManager = instance.getAuthXManager();
@@ -368,6 +384,7 @@ public final class DefaultJedisClientConfig implements JedisClientConfig {
     builder.hostnameVerifier(copy.getHostnameVerifier());
     builder.sslOptions(copy.getSslOptions());
     builder.hostAndPortMapper(copy.getHostAndPortMapper());
+    builder.nioTransport(copy.isNioTransport());
 
     builder.clientSetInfoConfig(copy.getClientSetInfoConfig());
     if (copy.isReadOnlyForRedisClusterReplicas()) {
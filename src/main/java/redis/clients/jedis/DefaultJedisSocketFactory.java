@@ -59,7 +59,25 @@ public class DefaultJedisSocketFactory implements JedisSocketFactory {
     }
   }
 
-  private Socket connectToFirstSuccessfulHost(HostAndPort hostAndPort) throws Exception {
+  /**
+   * @return a {@link NioJedisSocketFactory} if {@link JedisClientConfig#isNioTransport()}, a
+   * {@link DefaultJedisSocketFactory} otherwise
+   */
+  static DefaultJedisSocketFactory create(HostAndPort hostAndPort, JedisClientConfig config) {
+    if (config != null && config.isNioTransport()) {
+      return new NioJedisSocketFactory(hostAndPort, config);
+    }
+    return new DefaultJedisSocketFactory(hostAndPort, config);
+  }
+
+  /**
+   * @return an unconnected socket
+   */
+  Socket openSocket() throws IOException {
+    return new Socket();
+  }
+
+  Socket connectToFirstSuccessfulHost(HostAndPort hostAndPort) throws Exception {
     List<InetAddress> hosts = Arrays.asList(InetAddress.getAllByName(hostAndPort.getHost()));
     if (hosts.size() > 1) {
       Collections.shuffle(hosts);
@@ -67,8 +85,9 @@ public class DefaultJedisSocketFactory implements JedisSocketFactory {
 
     JedisConnectionException jce = new JedisConnectionException("Failed to connect to " + hostAndPort + ".");
     for (InetAddress host : hosts) {
+      Socket socket = null;
       try {
-        Socket socket = new Socket();
+        socket = openSocket();
 
         socket.setReuseAddress(true);
         socket.setKeepAlive(true); // Will monitor the TCP connection is valid
@@ -80,6 +99,7 @@ public class DefaultJedisSocketFactory implements JedisSocketFactory {
         socket.connect(new InetSocketAddress(host, hostAndPort.getPort()), connectionTimeout);
         return socket;
       } catch (Exception e) {
+        IOUtils.closeQuietly(socket);
         jce.addSuppressed(e);
       }
     }
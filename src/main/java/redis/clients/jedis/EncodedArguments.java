@@ -0,0 +1,275 @@
+package redis.clients.jedis;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import redis.clients.jedis.args.Rawable;
+import redis.clients.jedis.args.RawableFactory;
+import redis.clients.jedis.util.RedisOutputStream;
+import redis.clients.jedis.util.SafeEncoder;
+
+/**
+ * The arguments of a command encoded as RESP bulk strings, one after another in a single growable
+ * buffer, so that they are written by a single copy, without an object per argument.
+ */
+final class EncodedArguments {
+
+  private static final int INITIAL_CAPACITY = 64;
+  // the longest decimal of a long, with its sign
+  private static final int MAX_DECIMAL_LENGTH = 20;
+
+  private byte[] buffer = new byte[INITIAL_CAPACITY];
+  private int length;
+  private int count;
+  // the multi bulk header and the first argument, encoded beforehand for a number of arguments
+  private byte[] prefix;
+  private int prefixCount;
+
+  /**
+   * @return the number of arguments
+   */
+  int count() {
+    return count;
+  }
+
+  void add(byte[] arg) {
+    ensureCapacity(arg.length + MAX_DECIMAL_LENGTH + 5);
+    buffer[length++] = Protocol.DOLLAR_BYTE;
+    appendDecimal(arg.length);
+    appendCrLf();
+    System.arraycopy(arg, 0, buffer, length, arg.length);
+    length += arg.length;
+    appendCrLf();
+    count++;
+  }
+
+  void add(String arg) {
+    final int size = arg.length();
+    if (SafeEncoder.DEFAULT_CHARSET != StandardCharsets.UTF_8) {
+      add(SafeEncoder.encode(arg));
+      return;
+    }
+    for (int i = 0; i < size; i++) {
+      if (arg.charAt(i) >= 0x80) {
+        add(SafeEncoder.encode(arg));
+        return;
+      }
+    }
+    // ASCII, one byte per char
+    ensureCapacity(size + MAX_DECIMAL_LENGTH + 5);
+    buffer[length++] = Protocol.DOLLAR_BYTE;
+    appendDecimal(size);
+    appendCrLf();
+    for (int i = 0; i < size; i++) {
+      buffer[length++] = (byte) arg.charAt(i);
+    }
+    appendCrLf();
+    count++;
+  }
+
+  void add(long arg) {
+    if (arg == Long.MIN_VALUE) {
+      add(String.valueOf(arg));
+      return;
+    }
+    ensureCapacity(2 * MAX_DECIMAL_LENGTH + 5);
+    buffer[length++] = Protocol.DOLLAR_BYTE;
+    appendDecimal(decimalLength(arg));
+    appendCrLf();
+    appendDecimal(arg);
+    appendCrLf();
+    count++;
+  }
+
+  /**
+   * @param bytes arguments encoded by another instance, see {@link #toByteArray()}
+   * @param argCount the number of arguments
+   */
+  void addEncoded(byte[] bytes, int argCount) {
+    ensureCapacity(bytes.length);
+    System.arraycopy(bytes, 0, buffer, length, bytes.length);
+    length += bytes.length;
+    count += argCount;
+  }
+
+  /**
+   * @param prefix the {@code *N} header followed by the first argument, encoded beforehand
+   * @param argCount N, the number of arguments the header is written for; the header is written
+   * again if other arguments are added
+   */
+  void setPrefix(byte[] prefix, int argCount) {
+    this.prefix = prefix;
+    this.prefixCount = argCount;
+  }
+
+  byte[] toByteArray() {
+    return Arrays.copyOf(buffer, length);
+  }
+
+  /**
+   * Writes the arguments, preceded by their multi bulk header.
+   */
+  void writeTo(RedisOutputStream out) throws IOException {
+    if (prefix != null && count == prefixCount) {
+      out.write(prefix);
+      final int from = skip(0);
+      out.write(buffer, from, length - from);
+      return;
+    }
+    out.write(Protocol.ASTERISK_BYTE);
+    out.writeIntCrLf(count);
+    out.write(buffer, 0, length);
+  }
+
+  /**
+   * @param command the first argument, which is not decoded
+   * @return the arguments, decoded
+   */
+  Iterator<Rawable> iterator(Rawable command) {
+    return new Iterator<Rawable>() {
+
+      private int index = 0;
+      private int position = skip(0);
+
+      @Override
+      public boolean hasNext() {
+        return index < count;
+      }
+
+      @Override
+      public Rawable next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        if (index++ == 0) {
+          return command;
+        }
+        int start = position;
+        position = skip(position);
+        int argLength = readDecimal(start + 1);
+        int dataStart = position - 2 - argLength;
+        return RawableFactory.from(Arrays.copyOfRange(buffer, dataStart, dataStart + argLength));
+      }
+    };
+  }
+
+  /**
+   * @param hashCode the hash code of the first argument, combined as by {@link java.util.List#hashCode()}
+   * @return the hash code of the arguments, each one hashed as its bytes, as by
+   * {@link Arrays#hashCode(byte[])}
+   */
+  int hashCode(int hashCode) {
+    for (int position = skip(0); position < length; ) {
+      int start = position;
+      position = skip(position);
+      int end = position - 2;
+      int argHashCode = 1;
+      for (int i = end - readDecimal(start + 1); i < end; i++) {
+        argHashCode = 31 * argHashCode + buffer[i];
+      }
+      hashCode = 31 * hashCode + argHashCode;
+    }
+    return hashCode;
+  }
+
+  /**
+   * @return whether the arguments but the first have the same bytes
+   */
+  boolean contentEquals(EncodedArguments other) {
+    if (count != other.count) {
+      return false;
+    }
+    final int from = skip(0);
+    if (length - from != other.length - other.skip(0)) {
+      return false;
+    }
+    for (int i = from, j = other.skip(0); i < length; i++, j++) {
+      if (buffer[i] != other.buffer[j]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @param args the arguments but the first, as many as this instance has
+   * @return whether the arguments but the first have the same bytes
+   */
+  boolean contentEquals(Iterator<Rawable> args) {
+    for (int position = skip(0); position < length; ) {
+      final byte[] arg = args.next().getRaw();
+      int start = position;
+      position = skip(position);
+      int end = position - 2;
+      int argLength = readDecimal(start + 1);
+      if (arg.length != argLength) {
+        return false;
+      }
+      for (int i = 0, j = end - argLength; i < argLength; i++, j++) {
+        if (arg[i] != buffer[j]) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return the position of the bulk string following the one at the given position
+   */
+  private int skip(int position) {
+    if (position >= length) {
+      return position;
+    }
+    int argLength = readDecimal(position + 1);
+    int p = position + 1;
+    while (buffer[p] != '\r') {
+      p++;
+    }
+    return p + 2 + argLength + 2;
+  }
+
+  private int readDecimal(int position) {
+    int value = 0;
+    while (buffer[position] != '\r') {
+      value = value * 10 + (buffer[position++] - '0');
+    }
+    return value;
+  }
+
+  private void appendDecimal(long value) {
+    if (value < 0) {
+      buffer[length++] = '-';
+      value = -value;
+    }
+    int end = length + decimalLength(value);
+    int p = end;
+    do {
+      buffer[--p] = (byte) ('0' + value % 10);
+      value /= 10;
+    } while (value != 0);
+    length = end;
+  }
+
+  private static int decimalLength(long value) {
+    int digits = value < 0 ? 2 : 1;
+    for (long v = Math.abs(value); v >= 10; v /= 10) {
+      digits++;
+    }
+    return digits;
+  }
+
+  private void appendCrLf() {
+    buffer[length++] = '\r';
+    buffer[length++] = '\n';
+  }
+
+  private void ensureCapacity(int extra) {
+    if (length + extra > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+    }
+  }
+}
@@ -5,6 +5,7 @@ import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLParameters;
 import javax.net.ssl.SSLSocketFactory;
 
+import redis.clients.jedis.annots.Experimental;
 import redis.clients.jedis.authentication.AuthXManager;
 
 public interface JedisClientConfig {
@@ -97,6 +98,16 @@ public interface JedisClientConfig {
     return null;
   }
 
+  /**
+   * Create connection(s) over {@link java.nio.channels.SocketChannel} by
+   * {@link NioJedisSocketFactory}. Not supported with TLS.
+   * @return {@code true} - to use the NIO transport. {@code false} - otherwise.
+   */
+  @Experimental
+  default boolean isNioTransport() {
+    return false;
+  }
+
   /**
    * Execute READONLY command to connections.
    * <p>
@@ -1,5 +1,10 @@
 package redis.clients.jedis;
 
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -29,6 +34,7 @@ import redis.clients.jedis.csc.Cache;
 import redis.clients.jedis.exceptions.JedisClusterOperationException;
 import redis.clients.jedis.exceptions.JedisException;
 import redis.clients.jedis.util.SafeEncoder;
+import redis.clients.jedis.util.SnapshotFiles;
 
 import static redis.clients.jedis.JedisCluster.INIT_NO_ERROR_PROPERTY;
 
@@ -51,8 +57,12 @@ public class JedisClusterInfoCache {
   private final JedisClientConfig clientConfig;
   private final Cache clientSideCache;
   private final Set<HostAndPort> startNodes;
+  // the reply of the last discovery, kept for the snapshots of the topology
+  private List<Object> slotsInfo;
 
   private static final int MASTER_NODE_INDEX = 2;
+  // "JCTS"
+  private static final int TOPOLOGY_SNAPSHOT_MAGIC = 0x4A435453;
 
   /**
    * The single thread executor for the topology refresh task.
@@ -143,7 +153,13 @@ public class JedisClusterInfoCache {
   }
 
   public void discoverClusterNodesAndSlots(Connection jedis) {
-    List<Object> slotsInfo = executeClusterSlots(jedis);
+    initializeNodesAndSlots(executeClusterSlots(jedis));
+  }
+
+  /**
+   * @param slotsInfo the cluster topology, in the form of the reply of {@code CLUSTER SLOTS}
+   */
+  void initializeNodesAndSlots(List<Object> slotsInfo) {
     if (System.getProperty(INIT_NO_ERROR_PROPERTY) == null) {
       if (slotsInfo.isEmpty()) {
         throw new JedisClusterOperationException("Cluster slots list is empty.");
@@ -181,6 +197,7 @@ public class JedisClusterInfoCache {
           }
         }
       }
+      this.slotsInfo = slotsInfo;
     } finally {
       w.unlock();
     }
@@ -245,11 +262,9 @@ public class JedisClusterInfoCache {
     }
     w.lock();
     try {
+      final HostAndPort[] previousSlotNodes = clientSideCache != null ? slotNodes.clone() : null;
       Arrays.fill(slots, null);
       Arrays.fill(slotNodes, null);
-      if (clientSideCache != null) {
-        clientSideCache.flush();
-      }
       Set<String> hostAndPortKeys = new HashSet<>();
 
       for (Object slotInfoObj : slotsInfo) {
@@ -279,6 +294,12 @@ public class JedisClusterInfoCache {
         }
       }
 
+      this.slotsInfo = slotsInfo;
+
+      if (clientSideCache != null) {
+        invalidateMovedSlots(previousSlotNodes);
+      }
+
       // Remove dead nodes according to the latest query
       Iterator<Entry<String, ConnectionPool>> entryIt = nodes.entrySet().iterator();
       while (entryIt.hasNext()) {
@@ -300,6 +321,108 @@ public class JedisClusterInfoCache {
     }
   }
 
+  /**
+   * Deletes the cached entries of the slots served by another node than before, as their keys are
+   * not tracked by the new node. The entries read from the nodes which are removed are deleted as
+   * their connections are closed.
+   */
+  private void invalidateMovedSlots(HostAndPort[] previousSlotNodes) {
+    List<Integer> movedSlots = new ArrayList<>();
+    for (int slot = 0; slot < previousSlotNodes.length; slot++) {
+      if (previousSlotNodes[slot] != null && !previousSlotNodes[slot].equals(slotNodes[slot])) {
+        movedSlots.add(slot);
+      }
+    }
+    if (!movedSlots.isEmpty()) {
+      clientSideCache.deleteBySlots(movedSlots);
+    }
+  }
+
+  /**
+   * Writes the topology last discovered to the file, so that the next run of the application can
+   * start from it with {@link #loadTopologySnapshot(Path)} rather than asking a node.
+   * @return {@code false} if no topology is known
+   */
+  @Experimental
+  public boolean saveTopologySnapshot(Path file) {
+    final List<Object> topology;
+    r.lock();
+    try {
+      topology = slotsInfo;
+    } finally {
+      r.unlock();
+    }
+    if (topology == null) {
+      return false;
+    }
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    final DataOutputStream out = new DataOutputStream(bytes);
+    try {
+      out.writeInt(topology.size());
+      for (Object slotInfoObj : topology) {
+        List<Object> slotInfo = (List<Object>) slotInfoObj;
+        out.writeInt(slotInfo.size());
+        out.writeLong((Long) slotInfo.get(0));
+        out.writeLong((Long) slotInfo.get(1));
+        for (int i = MASTER_NODE_INDEX; i < slotInfo.size(); i++) {
+          List<Object> hostInfos = (List<Object>) slotInfo.get(i);
+          if (hostInfos.isEmpty()) {
+            out.writeInt(-1);
+            continue;
+          }
+          byte[] host = (byte[]) hostInfos.get(0);
+          out.writeInt(host.length);
+          out.write(host);
+          out.writeLong((Long) hostInfos.get(1));
+        }
+      }
+    } catch (IOException e) {
+      throw new JedisException("Failed to encode cluster topology", e);
+    }
+    SnapshotFiles.write(file, TOPOLOGY_SNAPSHOT_MAGIC, bytes.toByteArray());
+    return true;
+  }
+
+  /**
+   * Starts from the topology of a snapshot written by {@link #saveTopologySnapshot(Path)}, instead of
+   * discovering it. The slots which have moved since are discovered again on the first redirection
+   * to another node, as with any change of the topology.
+   * @return {@code false} if there is no file, or if it can not be used
+   */
+  @Experimental
+  public boolean loadTopologySnapshot(Path file) {
+    final List<Object> topology = new ArrayList<>();
+    try {
+      final ByteBuffer in = SnapshotFiles.read(file, TOPOLOGY_SNAPSHOT_MAGIC);
+      if (in == null) {
+        return false;
+      }
+      final int ranges = in.getInt();
+      for (int range = 0; range < ranges; range++) {
+        final int size = in.getInt();
+        List<Object> slotInfo = new ArrayList<>(size);
+        slotInfo.add(in.getLong());
+        slotInfo.add(in.getLong());
+        for (int i = MASTER_NODE_INDEX; i < size; i++) {
+          final int hostLength = in.getInt();
+          if (hostLength < 0) {
+            slotInfo.add(Collections.emptyList());
+            continue;
+          }
+          byte[] host = new byte[hostLength];
+          in.get(host);
+          slotInfo.add(Arrays.asList(host, in.getLong()));
+        }
+        topology.add(slotInfo);
+      }
+      initializeNodesAndSlots(topology);
+      return true;
+    } catch (JedisException e) {
+      logger.warn("Cluster topology snapshot {} is ignored", file, e);
+      return false;
+    }
+  }
+
   private HostAndPort generateHostAndPort(List<Object> hostInfos) {
     String host = SafeEncoder.encode((byte[]) hostInfos.get(0));
     int port = ((Long) hostInfos.get(1)).intValue();
@@ -454,6 +577,7 @@ public class JedisClusterInfoCache {
       nodes.clear();
       Arrays.fill(slots, null);
       Arrays.fill(slotNodes, null);
+      slotsInfo = null;
     } finally {
       w.unlock();
     }
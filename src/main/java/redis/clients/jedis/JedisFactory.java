@@ -67,7 +67,7 @@ public class JedisFactory implements PooledObjectFactory<Jedis> {
 
   protected JedisFactory(final HostAndPort hostAndPort, final JedisClientConfig clientConfig) {
     this.clientConfig = clientConfig;
-    this.jedisSocketFactory = new DefaultJedisSocketFactory(hostAndPort, this.clientConfig);
+    this.jedisSocketFactory = DefaultJedisSocketFactory.create(hostAndPort, this.clientConfig);
   }
 
   protected JedisFactory(final String host, final int port, final int connectionTimeout, final int soTimeout,
@@ -105,7 +105,7 @@ public class JedisFactory implements PooledObjectFactory<Jedis> {
    */
   JedisFactory(final JedisClientConfig clientConfig) {
     this.clientConfig = clientConfig;
-    this.jedisSocketFactory = new DefaultJedisSocketFactory(clientConfig);
+    this.jedisSocketFactory = DefaultJedisSocketFactory.create(null, clientConfig);
   }
 
   protected JedisFactory(final URI uri, final int connectionTimeout, final int soTimeout,
@@ -178,6 +178,7 @@ public class JedisFactory implements PooledObjectFactory<Jedis> {
   @Override
   public void passivateObject(PooledObject<Jedis> pooledJedis) throws Exception {
     // TODO maybe should select db 0? Not sure right now.
+    pooledJedis.getObject().getConnection().releaseBuffers();
   }
 
   @Override
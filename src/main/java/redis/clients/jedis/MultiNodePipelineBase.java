@@ -63,8 +63,7 @@ public abstract class MultiNodePipelineBase extends PipelineBase {
       queue = pipelinedResponses.get(nodeKey);
     }
 
-    connection.sendCommand(commandObject.getArguments());
-    Response<T> response = new Response<>(commandObject.getBuilder());
+    Response<T> response = sendCommand(connection, commandObject);
     queue.add(response);
     return response;
   }
@@ -97,10 +96,8 @@ public abstract class MultiNodePipelineBase extends PipelineBase {
       Connection connection = connections.get(nodeKey);
       executorService.submit(() -> {
         try {
-          List<Object> unformatted = connection.getMany(queue.size());
-          for (Object o : unformatted) {
-            queue.poll().set(o);
-          }
+          readReplies(connection, queue);
+          queue.clear();
         } catch (JedisConnectionException jce) {
           log.error("Error with connection to " + nodeKey, jce);
           // cleanup the connection
@@ -0,0 +1,270 @@
+package redis.clients.jedis;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import redis.clients.jedis.Protocol.Command;
+import redis.clients.jedis.annots.Experimental;
+import redis.clients.jedis.args.Rawable;
+import redis.clients.jedis.commands.ProtocolCommand;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.exceptions.JedisException;
+import redis.clients.jedis.util.SafeEncoder;
+
+/**
+ * A {@link Connection} shared by many threads at the same time.
+ * <p>
+ * Commands submitted by concurrent callers are queued, written by a single writer thread and
+ * flushed together. Replies are read by a single reader thread and handed over to the callers'
+ * {@link CompletableFuture}s in FIFO order, which is the order Redis replies in.
+ * <p>
+ * Only stateless commands can be sent through this connection. Blocking commands, and commands
+ * that change the connection state (e.g. SELECT, MULTI, WATCH, SUBSCRIBE, CLIENT TRACKING) as they
+ * would affect every caller, are rejected. With RESP3, push messages are skipped, as they are not
+ * replies to the commands.
+ * <p>
+ * The futures are completed by the reader thread, so dependent actions should not block.
+ */
+@Experimental
+public class MultiplexedConnection implements Closeable {
+
+  private static final Logger log = LoggerFactory.getLogger(MultiplexedConnection.class);
+
+  public static final int DEFAULT_MAX_BATCH_SIZE = 1024;
+
+  private static final Set<ProtocolCommand> STATEFUL_COMMANDS = new HashSet<>(Arrays.asList(
+      Command.SELECT, Command.SWAPDB, Command.MULTI, Command.EXEC, Command.DISCARD, Command.WATCH,
+      Command.UNWATCH, Command.SUBSCRIBE, Command.PSUBSCRIBE, Command.SSUBSCRIBE, Command.UNSUBSCRIBE,
+      Command.PUNSUBSCRIBE, Command.SUNSUBSCRIBE, Command.MONITOR, Command.RESET, Command.HELLO,
+      Command.AUTH, Command.READONLY, Command.READWRITE, Command.ASKING));
+
+  // the subcommands of CLIENT which change the replies of the connection
+  private static final List<String> STATEFUL_CLIENT_SUBCOMMANDS = Arrays.asList("TRACKING", "REPLY",
+      "CACHING");
+
+  private final Connection connection;
+  private final int maxBatchSize;
+
+  private final BlockingQueue<PendingReply<?>> writeQueue = new LinkedBlockingQueue<>();
+  private final BlockingQueue<PendingReply<?>> replyQueue = new LinkedBlockingQueue<>();
+  private final AtomicReference<JedisException> failure = new AtomicReference<>();
+
+  private final Thread writer;
+  private final Thread reader;
+
+  public MultiplexedConnection(Connection connection) {
+    this(connection, DEFAULT_MAX_BATCH_SIZE);
+  }
+
+  /**
+   * @param connection an initialized (connected and authenticated) connection; it is owned and
+   * closed by this object
+   * @param maxBatchSize maximum number of commands written to the socket with a single flush
+   */
+  public MultiplexedConnection(Connection connection, int maxBatchSize) {
+    if (maxBatchSize <= 0) {
+      throw new IllegalArgumentException("maxBatchSize must be positive.");
+    }
+    this.connection = connection;
+    this.maxBatchSize = maxBatchSize;
+
+    connection.connect();
+
+    this.writer = new Thread(this::writeLoop, "MultiplexedConnection-writer-" + connection);
+    this.writer.setDaemon(true);
+    this.reader = new Thread(this::readLoop, "MultiplexedConnection-reader-" + connection);
+    this.reader.setDaemon(true);
+    this.writer.start();
+    this.reader.start();
+  }
+
+  /**
+   * Queues a command to be written to the shared connection.
+   * @param commandObject a non-blocking command
+   * @return a future which is completed with the built reply, or exceptionally with the error
+   * reply or connection failure
+   */
+  public <T> CompletableFuture<T> submit(CommandObject<T> commandObject) {
+    final CommandArguments args = commandObject.getArguments();
+    if (args.isBlocking()) {
+      throw new IllegalArgumentException("Blocking commands can not be multiplexed.");
+    }
+    if (isStateful(args)) {
+      throw new IllegalArgumentException("Commands changing the connection state can not be multiplexed.");
+    }
+
+    PendingReply<T> pending = new PendingReply<>(commandObject);
+    JedisException failed = failure.get();
+    if (failed != null) {
+      pending.fail(failed);
+      return pending.future;
+    }
+
+    writeQueue.add(pending);
+    if (failure.get() != null) {
+      // the connection failed while queueing; make sure nothing is left behind
+      failPending();
+    }
+    return pending.future;
+  }
+
+  private static boolean isStateful(CommandArguments args) {
+    if (STATEFUL_COMMANDS.contains(args.getCommand())) {
+      return true;
+    }
+    if (args.getCommand() != Command.CLIENT || args.size() < 2) {
+      return false;
+    }
+    Iterator<Rawable> it = args.iterator();
+    it.next();
+    String subcommand = SafeEncoder.encode(it.next().getRaw());
+    return STATEFUL_CLIENT_SUBCOMMANDS.contains(subcommand.toUpperCase(Locale.ROOT));
+  }
+
+  public boolean isBroken() {
+    return failure.get() != null;
+  }
+
+  /**
+   * @return number of commands that are queued or waiting for a reply
+   */
+  public int getPendingCount() {
+    return writeQueue.size() + replyQueue.size();
+  }
+
+  @Override
+  public void close() {
+    broken(new JedisConnectionException("Multiplexed connection is closed."));
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "{" + connection + "}";
+  }
+
+  private void writeLoop() {
+    final List<PendingReply<?>> batch = new ArrayList<>();
+    try {
+      while (failure.get() == null) {
+        batch.add(writeQueue.take());
+        writeQueue.drainTo(batch, maxBatchSize - 1);
+
+        for (PendingReply<?> pending : batch) {
+          // must be queued before it is written, the reader may get the reply right after
+          replyQueue.add(pending);
+          // the error of a failed write is not read, the reader is reading the stream
+          connection.writeCommand(pending.commandObject.getArguments());
+        }
+        connection.flush();
+        batch.clear();
+      }
+    } catch (InterruptedException ie) {
+      broken(new JedisConnectionException("Multiplexed connection writer is interrupted.", ie));
+    } catch (JedisException je) {
+      broken(je);
+    } catch (RuntimeException re) {
+      broken(new JedisConnectionException(re));
+    } finally {
+      JedisException failed = failure.get();
+      batch.forEach(pending -> pending.fail(failed));
+    }
+  }
+
+  private void readLoop() {
+    PendingReply<?> pending = null;
+    try {
+      while (failure.get() == null) {
+        pending = replyQueue.take();
+        try {
+          pending.complete(connection.readReplySkippingPushes());
+        } catch (JedisDataException de) {
+          // error reply; the stream is still in sync
+          pending.fail(de);
+        }
+        pending = null;
+      }
+    } catch (InterruptedException ie) {
+      broken(new JedisConnectionException("Multiplexed connection reader is interrupted.", ie));
+    } catch (JedisException je) {
+      broken(je);
+    } catch (RuntimeException re) {
+      broken(new JedisConnectionException(re));
+    } finally {
+      if (pending != null) {
+        pending.fail(failure.get());
+      }
+    }
+  }
+
+  private void broken(JedisException cause) {
+    if (!failure.compareAndSet(null, cause)) {
+      failPending();
+      return;
+    }
+
+    log.debug("Multiplexed connection {} is broken.", connection, cause);
+    connection.setBroken();
+    try {
+      connection.disconnect();
+    } catch (RuntimeException re) {
+      log.debug("Error while closing {}.", connection, re);
+    }
+
+    if (Thread.currentThread() != writer) {
+      writer.interrupt();
+    }
+    if (Thread.currentThread() != reader) {
+      reader.interrupt();
+    }
+    failPending();
+  }
+
+  private void failPending() {
+    JedisException cause = failure.get();
+    PendingReply<?> pending;
+    while ((pending = replyQueue.poll()) != null) {
+      pending.fail(cause);
+    }
+    while ((pending = writeQueue.poll()) != null) {
+      pending.fail(cause);
+    }
+  }
+
+  private static class PendingReply<T> {
+
+    private final CommandObject<T> commandObject;
+    private final CompletableFuture<T> future = new CompletableFuture<>();
+
+    PendingReply(CommandObject<T> commandObject) {
+      this.commandObject = commandObject;
+    }
+
+    void complete(Object reply) {
+      T value;
+      try {
+        value = commandObject.getBuilder().build(reply);
+      } catch (RuntimeException re) {
+        future.completeExceptionally(re);
+        return;
+      }
+      future.complete(value);
+    }
+
+    void fail(Throwable cause) {
+      future.completeExceptionally(cause);
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package redis.clients.jedis;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.channels.SocketChannel;
+
+import redis.clients.jedis.annots.Experimental;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.util.IOUtils;
+
+/**
+ * Creates connections over {@link SocketChannel}. Reads and writes go through direct
+ * {@link java.nio.ByteBuffer}s owned by each connection instead of the stream layers of a blocking
+ * {@link Socket}.
+ * <p>
+ * The returned sockets are usable by {@link Connection} as any other socket, so this factory can be
+ * used by any {@link ConnectionFactory}, or by every connection of a client through
+ * {@link DefaultJedisClientConfig.Builder#nioTransport(boolean)}. The underlying channel is exposed
+ * by {@link Socket#getChannel()}.
+ * <p>
+ * TLS is not supported.
+ */
+@Experimental
+public class NioJedisSocketFactory extends DefaultJedisSocketFactory {
+
+  static final int BUFFER_SIZE = Integer.parseInt(
+      System.getProperty("jedis.bufferSize.nio",
+          System.getProperty("jedis.bufferSize", "8192")));
+
+  private int socketTimeout = Protocol.DEFAULT_TIMEOUT;
+
+  public NioJedisSocketFactory(HostAndPort hostAndPort) {
+    this(hostAndPort, null);
+  }
+
+  public NioJedisSocketFactory(HostAndPort hostAndPort, JedisClientConfig config) {
+    super(hostAndPort, config);
+    if (config != null) {
+      if (config.isSsl() || config.getSslOptions() != null) {
+        throw new IllegalArgumentException("SSL is not supported by " + getClass().getSimpleName() + ".");
+      }
+      this.socketTimeout = config.getSocketTimeoutMillis();
+    }
+  }
+
+  /**
+   * @return the socket adaptor of a channel, which honors the connection timeout
+   */
+  @Override
+  Socket openSocket() throws IOException {
+    return SocketChannel.open().socket();
+  }
+
+  @Override
+  public Socket createSocket() throws JedisConnectionException {
+    Socket socket = null;
+    try {
+      socket = connectToFirstSuccessfulHost(getSocketHostAndPort());
+      Socket wrapper = new SocketChannelWrapper(socket.getChannel(), BUFFER_SIZE);
+      wrapper.setSoTimeout(socketTimeout);
+      return wrapper;
+
+    } catch (Exception ex) {
+      IOUtils.closeQuietly(socket);
+      if (ex instanceof JedisConnectionException) {
+        throw (JedisConnectionException) ex;
+      } else {
+        throw new JedisConnectionException("Failed to create socket.", ex);
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "NioJedisSocketFactory{" + getHostAndPort().toString() + "}";
+  }
+}
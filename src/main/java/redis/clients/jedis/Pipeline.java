@@ -46,8 +46,7 @@ public class Pipeline extends PipelineBase implements DatabasePipelineCommands,
 
   @Override
   public final <T> Response<T> appendCommand(CommandObject<T> commandObject) {
-    connection.sendCommand(commandObject.getArguments());
-    Response<T> response = new Response<>(commandObject.getBuilder());
+    Response<T> response = sendCommand(connection, commandObject);
     pipelinedResponses.add(response);
     return response;
   }
@@ -71,10 +70,8 @@ public class Pipeline extends PipelineBase implements DatabasePipelineCommands,
   @Override
   public void sync() {
     if (!hasPipelinedResponse()) return;
-    List<Object> unformatted = connection.getMany(pipelinedResponses.size());
-    for (Object rawReply : unformatted) {
-      pipelinedResponses.poll().set(rawReply);
-    }
+    readReplies(connection, pipelinedResponses);
+    pipelinedResponses.clear();
   }
 
   /**
@@ -85,12 +82,11 @@ public class Pipeline extends PipelineBase implements DatabasePipelineCommands,
    */
   public List<Object> syncAndReturnAll() {
     if (hasPipelinedResponse()) {
-      List<Object> unformatted = connection.getMany(pipelinedResponses.size());
+      readReplies(connection, pipelinedResponses);
       List<Object> formatted = new ArrayList<>();
-      for (Object rawReply : unformatted) {
+      while (hasPipelinedResponse()) {
         try {
           Response<?> response = pipelinedResponses.poll();
-          response.set(rawReply);
           formatted.add(response.get());
         } catch (JedisDataException e) {
           formatted.add(e);
@@ -5,6 +5,7 @@ import java.util.Map;
 import java.util.Set;
 import org.json.JSONArray;
 
+import redis.clients.jedis.annots.Experimental;
 import redis.clients.jedis.args.*;
 import redis.clients.jedis.bloom.*;
 import redis.clients.jedis.commands.PipelineBinaryCommands;
@@ -4508,6 +4509,14 @@ public abstract class PipeliningBase
     return appendCommand(command);
   }
 
+  /**
+   * @param arguments the variable arguments of the prepared command
+   */
+  @Experimental
+  public <T> Response<T> executeCommand(PreparedCommand<T> preparedCommand, Object... arguments) {
+    return appendCommand(commandObjects.prepared(preparedCommand, arguments));
+  }
+
   public void setJsonObjectMapper(JsonObjectMapper jsonObjectMapper) {
     this.commandObjects.setJsonObjectMapper(jsonObjectMapper);
   }
@@ -0,0 +1,187 @@
+package redis.clients.jedis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import redis.clients.jedis.annots.Experimental;
+import redis.clients.jedis.args.Rawable;
+import redis.clients.jedis.commands.ProtocolCommand;
+import redis.clients.jedis.util.SafeEncoder;
+
+/**
+ * A template of commands of the same structure, e.g. {@code SET key value EX 60 NX}, whose constant
+ * arguments, as well as the command and the multi bulk header, are encoded once, when the template
+ * is built. Only the variable arguments are encoded for each command.
+ * <pre>
+ * PreparedCommand&lt;String&gt; setEx = PreparedCommand.builder(Command.SET, BuilderFactory.STRING)
+ *     .key().argument().add(Keyword.EX).add(60).add(Keyword.NX).build();
+ *
+ * jedis.executeCommand(setEx, "key", "value");
+ * </pre>
+ * A template is immutable, so it can be shared by any number of clients and threads.
+ *
+ * @param <T> the type of the reply
+ * @see CommandObjects#prepared(PreparedCommand, Object...)
+ */
+@Experimental
+public final class PreparedCommand<T> {
+
+  /**
+   * A variable argument.
+   */
+  private enum Placeholder {
+    KEY, ARGUMENT
+  }
+
+  /**
+   * Consecutive constant arguments, encoded.
+   */
+  private static final class Segment {
+
+    private final byte[] encoded;
+    private final Rawable[] rawables;
+
+    private Segment(List<Rawable> rawables) {
+      this.rawables = rawables.toArray(new Rawable[0]);
+      EncodedArguments encodedArgs = new EncodedArguments();
+      for (Rawable rawable : rawables) {
+        encodedArgs.add(rawable.getRaw());
+      }
+      this.encoded = encodedArgs.toByteArray();
+    }
+  }
+
+  private final ProtocolCommand command;
+  private final Builder<T> builder;
+  // the segments and the placeholders, in the order of the arguments
+  private final Object[] parts;
+  private final int variableCount;
+  // the multi bulk header and the command
+  private final byte[] prefix;
+  private final int argCount;
+
+  private PreparedCommand(ProtocolCommand command, Builder<T> builder, Object[] parts, int variableCount) {
+    this.command = command;
+    this.builder = builder;
+    this.parts = parts;
+    this.variableCount = variableCount;
+
+    int count = 1 + variableCount;
+    for (Object part : parts) {
+      if (part instanceof Segment) {
+        count += ((Segment) part).rawables.length;
+      }
+    }
+    this.argCount = count;
+    EncodedArguments encodedCommand = new EncodedArguments();
+    encodedCommand.add(command.getRaw());
+    byte[] header = SafeEncoder.encode("*" + count + "\r\n");
+    byte[] encoded = encodedCommand.toByteArray();
+    this.prefix = Arrays.copyOf(header, header.length + encoded.length);
+    System.arraycopy(encoded, 0, prefix, header.length, encoded.length);
+  }
+
+  public static <T> PreparedCommandBuilder<T> builder(ProtocolCommand command, Builder<T> builder) {
+    return new PreparedCommandBuilder<>(command, builder);
+  }
+
+  public ProtocolCommand getCommand() {
+    return command;
+  }
+
+  public Builder<T> getBuilder() {
+    return builder;
+  }
+
+  /**
+   * @return the number of variable arguments
+   */
+  public int getVariableCount() {
+    return variableCount;
+  }
+
+  /**
+   * @param args the arguments of the command, holding only the command
+   * @param arguments the variable arguments, in order
+   */
+  CommandObject<T> bind(CommandArguments args, Object... arguments) {
+    if (arguments.length != variableCount) {
+      throw new IllegalArgumentException("Expected " + variableCount + " arguments, got " + arguments.length);
+    }
+    int i = 0;
+    for (Object part : parts) {
+      if (part == Placeholder.KEY) {
+        args.key(arguments[i++]);
+      } else if (part == Placeholder.ARGUMENT) {
+        args.add(arguments[i++]);
+      } else {
+        Segment segment = (Segment) part;
+        args.addEncoded(segment.encoded, segment.rawables);
+      }
+    }
+    args.setEncodedPrefix(prefix, argCount);
+    return new CommandObject<>(args, builder);
+  }
+
+  public static class PreparedCommandBuilder<T> {
+
+    private final ProtocolCommand command;
+    private final Builder<T> builder;
+    private final List<Object> parts = new ArrayList<>();
+    private final List<Rawable> constants = new ArrayList<>();
+    private int variableCount = 0;
+
+    private PreparedCommandBuilder(ProtocolCommand command, Builder<T> builder) {
+      this.command = command;
+      this.builder = builder;
+    }
+
+    /**
+     * Adds a variable key.
+     */
+    public PreparedCommandBuilder<T> key() {
+      return placeholder(Placeholder.KEY);
+    }
+
+    /**
+     * Adds a variable argument, which is not a key.
+     */
+    public PreparedCommandBuilder<T> argument() {
+      return placeholder(Placeholder.ARGUMENT);
+    }
+
+    /**
+     * Adds a constant argument, e.g. a keyword.
+     * @param constant anything accepted by {@link CommandArguments#add(Object)}
+     */
+    public PreparedCommandBuilder<T> add(Object constant) {
+      Iterator<Rawable> it = new CommandArguments(command).add(constant).iterator();
+      it.next();
+      while (it.hasNext()) {
+        constants.add(it.next());
+      }
+      return this;
+    }
+
+    public PreparedCommand<T> build() {
+      flushConstants();
+      return new PreparedCommand<>(command, builder, parts.toArray(), variableCount);
+    }
+
+    private PreparedCommandBuilder<T> placeholder(Placeholder placeholder) {
+      flushConstants();
+      parts.add(placeholder);
+      variableCount++;
+      return this;
+    }
+
+    private void flushConstants() {
+      if (!constants.isEmpty()) {
+        parts.add(new Segment(constants));
+        constants.clear();
+      }
+    }
+  }
+}
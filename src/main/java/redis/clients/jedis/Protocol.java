@@ -8,10 +8,13 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.function.ObjIntConsumer;
 
 import redis.clients.jedis.annots.Experimental;
 import redis.clients.jedis.exceptions.*;
 import redis.clients.jedis.args.Rawable;
+import redis.clients.jedis.args.RawableFactory.RawString;
+import redis.clients.jedis.args.StreamingRawable;
 import redis.clients.jedis.commands.ProtocolCommand;
 import redis.clients.jedis.csc.Cache;
 import redis.clients.jedis.util.KeyValue;
@@ -72,13 +75,28 @@ public final class Protocol {
 
   public static void sendCommand(final RedisOutputStream os, CommandArguments args) {
     try {
+      final EncodedArguments encoded = args.getEncoded();
+      if (encoded != null) {
+        encoded.writeTo(os);
+        return;
+      }
       os.write(ASTERISK_BYTE);
       os.writeIntCrLf(args.size());
       for (Rawable arg : args) {
         os.write(DOLLAR_BYTE);
-        final byte[] bin = arg.getRaw();
-        os.writeIntCrLf(bin.length);
-        os.write(bin);
+        if (arg instanceof StreamingRawable) {
+          final StreamingRawable stream = (StreamingRawable) arg;
+          os.writeIntCrLf(stream.getLength());
+          stream.writeTo(os);
+        } else if (arg instanceof RawString && SafeEncoder.DEFAULT_CHARSET == StandardCharsets.UTF_8) {
+          final String str = ((RawString) arg).getString();
+          os.writeIntCrLf(RedisOutputStream.utf8Length(str));
+          os.writeUtf8(str);
+        } else {
+          final byte[] bin = arg.getRaw();
+          os.writeIntCrLf(bin.length);
+          os.write(bin);
+        }
         os.writeCrLf();
       }
     } catch (IOException e) {
@@ -86,7 +104,7 @@ public final class Protocol {
     }
   }
 
-  private static void processError(final RedisInputStream is) {
+  static void processError(final RedisInputStream is) {
     String message = is.readLine();
     // TODO: I'm not sure if this is the best way to do this.
     // Maybe Read only first 5 bytes instead?
@@ -186,6 +204,40 @@ public final class Protocol {
     return read;
   }
 
+  /**
+   * Reads a bulk string reply without allocating it; its content is consumed by {@code transfer}
+   * instead. The transfer must read exactly the given number of bytes; it may reject the content
+   * by throwing a {@link JedisDataException} after doing so.
+   * @return the length of the bulk string, -1 if it is nil
+   */
+  @Experimental
+  public static int readBulkReply(final RedisInputStream is,
+      final ObjIntConsumer<RedisInputStream> transfer) {
+    final byte b = is.readByte();
+    if (b != DOLLAR_BYTE) {
+      throw new JedisConnectionException("Unexpected reply: " + (char) b);
+    }
+
+    final int len = is.readIntCrLf();
+    if (len == -1) {
+      return -1;
+    }
+
+    try {
+      transfer.accept(is, len);
+    } catch (JedisDataException rejected) {
+      is.readByte();
+      is.readByte();
+      throw rejected;
+    }
+
+    // read 2 more bytes for the command delimiter
+    is.readByte();
+    is.readByte();
+
+    return len;
+  }
+
   private static List<Object> processMultiBulkReply(final RedisInputStream is) {
     final int num = is.readIntCrLf();
     if (num == -1)
@@ -0,0 +1,257 @@
+package redis.clients.jedis;
+
+import static redis.clients.jedis.Protocol.*;
+
+import redis.clients.jedis.annots.Experimental;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.util.DoublePrecision;
+import redis.clients.jedis.util.RedisInputStream;
+import redis.clients.jedis.util.SafeEncoder;
+
+/**
+ * Pull parser over a reply which is still in the input stream. Unlike {@link Protocol#read(RedisInputStream)},
+ * it does not build lists, {@link redis.clients.jedis.util.KeyValue}s, boxed numbers or intermediate
+ * byte arrays for the elements of an aggregate reply; a {@link CursorBuilder} reads the elements one
+ * by one and decodes them straight into its result.
+ * <p>
+ * Aggregates are read by their header, followed by exactly as many elements as
+ * {@link #readAggregateLength()} returned. Values are decoded as by the respective builders of
+ * {@link BuilderFactory}.
+ */
+@Experimental
+public final class ReplyCursor {
+
+  private final RedisInputStream is;
+  private boolean inAggregate = false;
+
+  public ReplyCursor(RedisInputStream is) {
+    this.is = is;
+  }
+
+  /**
+   * @return {@code true} if the next element is a nil reply; it is not consumed
+   */
+  public boolean isNull() {
+    return is.peekNull();
+  }
+
+  /**
+   * @return {@code true} if the next element is an array, set, push or map reply
+   */
+  public boolean isAggregate() {
+    return is.peek(ASTERISK_BYTE) || is.peek(TILDE_BYTE) || is.peek(PERCENT_BYTE)
+        || is.peek(GREATER_THAN_BYTE);
+  }
+
+  /**
+   * Reads the header of an aggregate reply.
+   * @return the number of elements that follow; for a map, the number of keys and values.
+   * {@code -1} for a nil reply.
+   */
+  public int readAggregateLength() {
+    final byte b = readType();
+    switch (b) {
+      case ASTERISK_BYTE:
+      case TILDE_BYTE:
+      case GREATER_THAN_BYTE:
+        inAggregate = true;
+        return is.readIntCrLf();
+      case PERCENT_BYTE:
+        inAggregate = true;
+        final int num = is.readIntCrLf();
+        return num == -1 ? -1 : 2 * num;
+      case UNDERSCORE_BYTE:
+        is.readNullCrLf();
+        return -1;
+      default:
+        throw unexpected(b);
+    }
+  }
+
+  /**
+   * Reads a bulk, verbatim or simple string reply.
+   * @return the content, or {@code null} for a nil reply
+   */
+  public byte[] readBytes() {
+    final byte b = readType();
+    switch (b) {
+      case DOLLAR_BYTE:
+      case EQUAL_BYTE:
+        final int len = is.readIntCrLf();
+        if (len == -1) {
+          return null;
+        }
+        final byte[] read = new byte[len];
+        int offset = 0;
+        while (offset < len) {
+          offset += is.read(read, offset, len - offset);
+        }
+        readCrLf();
+        return read;
+      case PLUS_BYTE:
+        return is.readLineBytes();
+      case UNDERSCORE_BYTE:
+        return (byte[]) is.readNullCrLf();
+      default:
+        throw unexpected(b);
+    }
+  }
+
+  /**
+   * Reads a bulk, verbatim or simple string reply as a string, without copying the bytes first
+   * whenever they are already buffered.
+   * @return the content, or {@code null} for a nil reply
+   */
+  public String readString() {
+    final byte b = readType();
+    switch (b) {
+      case DOLLAR_BYTE:
+      case EQUAL_BYTE:
+        final int len = is.readIntCrLf();
+        if (len == -1) {
+          return null;
+        }
+        final String str = is.readString(len);
+        readCrLf();
+        return str;
+      case PLUS_BYTE:
+        return SafeEncoder.encode(is.readLineBytes());
+      case UNDERSCORE_BYTE:
+        return (String) is.readNullCrLf();
+      default:
+        throw unexpected(b);
+    }
+  }
+
+  /**
+   * Reads a double reply, or a string or integer reply holding a number.
+   * @return the number, or {@link Double#NaN} for a nil reply
+   */
+  public double readDouble() {
+    final byte b = readType();
+    switch (b) {
+      case COMMA_BYTE:
+        return is.readDoubleCrLf();
+      case COLON_BYTE:
+        return is.readLongCrLf();
+      case DOLLAR_BYTE:
+        final int len = is.readIntCrLf();
+        if (len == -1) {
+          return Double.NaN;
+        }
+        final String str = is.readString(len);
+        readCrLf();
+        return parseDouble(str);
+      case PLUS_BYTE:
+        return parseDouble(is.readLine());
+      case UNDERSCORE_BYTE:
+        is.readNullCrLf();
+        return Double.NaN;
+      default:
+        throw unexpected(b);
+    }
+  }
+
+  /**
+   * Reads an integer reply.
+   */
+  public long readLong() {
+    final byte b = readType();
+    if (b != COLON_BYTE) {
+      throw unexpected(b);
+    }
+    return is.readLongCrLf();
+  }
+
+  /**
+   * Reads a boolean reply, or an integer reply where {@code 1} is {@code true}.
+   */
+  public boolean readBoolean() {
+    final byte b = readType();
+    switch (b) {
+      case HASH_BYTE:
+        return is.readBooleanCrLf();
+      case COLON_BYTE:
+        return is.readLongCrLf() == 1L;
+      default:
+        throw unexpected(b);
+    }
+  }
+
+  /**
+   * Skips the next element, including all the elements of an aggregate.
+   */
+  public void skip() {
+    final byte b = readType();
+    switch (b) {
+      case DOLLAR_BYTE:
+      case EQUAL_BYTE:
+        final int len = is.readIntCrLf();
+        if (len != -1) {
+          is.skipBytes(len);
+          readCrLf();
+        }
+        break;
+      case ASTERISK_BYTE:
+      case TILDE_BYTE:
+      case GREATER_THAN_BYTE:
+      case PERCENT_BYTE:
+        inAggregate = true;
+        long num = is.readIntCrLf();
+        if (b == PERCENT_BYTE) {
+          num *= 2;
+        }
+        for (long i = 0; i < num; i++) {
+          skip();
+        }
+        break;
+      case PLUS_BYTE:
+      case COLON_BYTE:
+      case COMMA_BYTE:
+      case HASH_BYTE:
+      case LEFT_BRACE_BYTE:
+      case UNDERSCORE_BYTE:
+        is.readLineBytes();
+        break;
+      default:
+        throw unexpected(b);
+    }
+  }
+
+  /**
+   * Reads the type of the next element. An error reply is thrown at once; inside an aggregate the
+   * rest of the reply can not be read anymore, so it breaks the connection.
+   */
+  private byte readType() {
+    final byte b = is.readByte();
+    if (b == MINUS_BYTE) {
+      try {
+        processError(is);
+      } catch (JedisDataException de) {
+        if (inAggregate) {
+          throw new JedisConnectionException("Unexpected error inside an aggregate reply.", de);
+        }
+        throw de;
+      }
+    }
+    return b;
+  }
+
+  private static double parseDouble(String str) {
+    try {
+      return Double.parseDouble(str);
+    } catch (NumberFormatException e) {
+      return DoublePrecision.parseFloatingPointNumber(str); // inf, -inf, nan
+    }
+  }
+
+  private void readCrLf() {
+    is.readByte();
+    is.readByte();
+  }
+
+  private static JedisConnectionException unexpected(byte b) {
+    return new JedisConnectionException("Unexpected reply: " + (char) b);
+  }
+}
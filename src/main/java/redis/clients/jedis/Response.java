@@ -43,6 +43,10 @@ public class Response<T> implements Supplier<T> {
     return response;
   }
 
+  boolean isSet() {
+    return set;
+  }
+
   public void setDependency(Response<?> dependency) {
     this.dependency = dependency;
   }
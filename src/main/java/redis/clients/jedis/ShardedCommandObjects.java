@@ -39,6 +39,11 @@ public class ShardedCommandObjects extends CommandObjects {
     return comArgs;
   }
 
+  @Override
+  protected ShardedCommandArguments commandArguments(ProtocolCommand command, boolean encoded) {
+    return commandArguments(command);
+  }
+
   @Override
   public CommandObject<Long> dbSize() {
     throw new UnsupportedOperationException();
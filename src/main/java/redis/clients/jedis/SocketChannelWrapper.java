@@ -0,0 +1,464 @@
+package redis.clients.jedis;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import redis.clients.jedis.util.IOUtils;
+
+/**
+ * {@link Socket} view of a connected {@link SocketChannel}, as returned by
+ * {@link NioJedisSocketFactory}.
+ * <p>
+ * The channel is put in non-blocking mode; reads and writes wait on a {@link Selector} so that
+ * {@link #setSoTimeout(int) SO_TIMEOUT} is honored. Input and output each own a direct buffer, and
+ * share the selector of the connection, so one thread may read while another one writes.
+ */
+final class SocketChannelWrapper extends Socket {
+
+  private final SocketChannel channel;
+  private final Socket socket;
+  private final ChannelInputStream inputStream;
+  private final ChannelOutputStream outputStream;
+
+  private volatile int soTimeout;
+
+  // opened on first use, shared by input and output
+  private final ReentrantLock selectLock = new ReentrantLock();
+  private final Condition selected = selectLock.newCondition();
+  private volatile Selector selector;
+  private SelectionKey key;
+  private boolean selecting;
+  private int interestOps, selectedOps, readyOps;
+
+  SocketChannelWrapper(SocketChannel channel, int bufferSize) throws IOException {
+    this.channel = channel;
+    this.socket = channel.socket();
+    channel.configureBlocking(false);
+    this.inputStream = new ChannelInputStream(ByteBuffer.allocateDirect(bufferSize));
+    this.outputStream = new ChannelOutputStream(ByteBuffer.allocateDirect(bufferSize));
+  }
+
+  /**
+   * Waits until the channel is ready for the operation, on the selector of the connection. One thread
+   * selects at a time, for both operations, while the other one waits for its outcome.
+   */
+  private void await(int op) throws IOException {
+    final int timeout = soTimeout;
+    final long deadline = timeout > 0 ? System.currentTimeMillis() + timeout : 0;
+    selectLock.lock();
+    try {
+      if (selector == null) {
+        openSelector();
+      }
+      interestOps |= op;
+      while ((readyOps & op) == 0) {
+        if (!channel.isOpen()) {
+          throw new ClosedChannelException();
+        }
+        final long remaining = timeout > 0 ? deadline - System.currentTimeMillis() : 0;
+        if (timeout > 0 && remaining <= 0) {
+          throw new SocketTimeoutException(op == SelectionKey.OP_READ ? "Read timed out" : "Write timed out");
+        }
+        if (!selecting) {
+          select(remaining);
+        } else {
+          if ((selectedOps & op) == 0) {
+            // so that the selecting thread selects this operation too
+            selector.wakeup();
+          }
+          if (timeout > 0) {
+            selected.await(remaining, TimeUnit.MILLISECONDS);
+          } else {
+            selected.await();
+          }
+        }
+      }
+      readyOps &= ~op;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException();
+    } finally {
+      interestOps &= ~op;
+      selectLock.unlock();
+    }
+  }
+
+  private void openSelector() throws IOException {
+    final Selector selector = Selector.open();
+    try {
+      key = channel.register(selector, 0);
+    } catch (IOException e) {
+      IOUtils.closeQuietly(selector);
+      throw e;
+    }
+    this.selector = selector;
+  }
+
+  /**
+   * Selects the awaited operations, without holding the lock.
+   */
+  private void select(long timeout) throws IOException {
+    selecting = true;
+    selectedOps = interestOps;
+    try {
+      key.interestOps(selectedOps);
+      selectLock.unlock();
+      try {
+        selector.select(timeout);
+      } finally {
+        selectLock.lock();
+      }
+      if (selector.selectedKeys().remove(key)) {
+        readyOps |= key.readyOps();
+      }
+    } catch (ClosedSelectorException | CancelledKeyException e) {
+      throw new ClosedChannelException();
+    } finally {
+      selecting = false;
+      selectedOps = 0;
+      selected.signalAll();
+    }
+  }
+
+  private class ChannelInputStream extends InputStream {
+
+    private final ByteBuffer buffer;
+
+    ChannelInputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+      ((Buffer) this.buffer).flip(); // empty
+    }
+
+    /**
+     * Reads what is available on the channel, without blocking.
+     * @return number of bytes read, -1 at end of stream
+     */
+    private int fill() throws IOException {
+      ((Buffer) buffer).clear();
+      try {
+        return channel.read(buffer);
+      } finally {
+        ((Buffer) buffer).flip();
+      }
+    }
+
+    private boolean ensureFill() throws IOException {
+      while (!buffer.hasRemaining()) {
+        int read = fill();
+        if (read < 0) {
+          return false;
+        }
+        if (read == 0) {
+          await(SelectionKey.OP_READ);
+        }
+      }
+      return true;
+    }
+
+    @Override
+    public int read() throws IOException {
+      if (!ensureFill()) {
+        return -1;
+      }
+      return buffer.get() & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (len == 0) {
+        return 0;
+      }
+      if (!ensureFill()) {
+        return -1;
+      }
+      int count = Math.min(len, buffer.remaining());
+      buffer.get(b, off, count);
+      return count;
+    }
+
+    @Override
+    public int available() throws IOException {
+      if (!buffer.hasRemaining() && fill() < 0) {
+        return 0;
+      }
+      return buffer.remaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+      SocketChannelWrapper.this.close();
+    }
+  }
+
+  private class ChannelOutputStream extends OutputStream {
+
+    private final ByteBuffer buffer;
+
+    ChannelOutputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    private void drain() throws IOException {
+      ((Buffer) buffer).flip();
+      while (buffer.hasRemaining()) {
+        if (channel.write(buffer) == 0) {
+          await(SelectionKey.OP_WRITE);
+        }
+      }
+      ((Buffer) buffer).clear();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      buffer.put((byte) b);
+      drain();
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      while (len > 0) {
+        int count = Math.min(len, buffer.remaining());
+        buffer.put(b, off, count);
+        off += count;
+        len -= count;
+        drain();
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      SocketChannelWrapper.this.close();
+    }
+  }
+
+  @Override
+  public SocketChannel getChannel() {
+    return channel;
+  }
+
+  @Override
+  public InputStream getInputStream() throws IOException {
+    return inputStream;
+  }
+
+  @Override
+  public OutputStream getOutputStream() throws IOException {
+    return outputStream;
+  }
+
+  @Override
+  public void setSoTimeout(int timeout) throws SocketException {
+    if (timeout < 0) {
+      throw new IllegalArgumentException("timeout can't be negative");
+    }
+    this.soTimeout = timeout;
+  }
+
+  @Override
+  public int getSoTimeout() throws SocketException {
+    return soTimeout;
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    try {
+      channel.close();
+    } finally {
+      // wakes up a selecting thread
+      IOUtils.closeQuietly(selector);
+    }
+  }
+
+  @Override
+  public void connect(SocketAddress endpoint) throws IOException {
+    throw new SocketException("Already connected");
+  }
+
+  @Override
+  public void connect(SocketAddress endpoint, int timeout) throws IOException {
+    throw new SocketException("Already connected");
+  }
+
+  @Override
+  public void bind(SocketAddress bindpoint) throws IOException {
+    socket.bind(bindpoint);
+  }
+
+  @Override
+  public InetAddress getInetAddress() {
+    return socket.getInetAddress();
+  }
+
+  @Override
+  public InetAddress getLocalAddress() {
+    return socket.getLocalAddress();
+  }
+
+  @Override
+  public int getPort() {
+    return socket.getPort();
+  }
+
+  @Override
+  public int getLocalPort() {
+    return socket.getLocalPort();
+  }
+
+  @Override
+  public SocketAddress getRemoteSocketAddress() {
+    return socket.getRemoteSocketAddress();
+  }
+
+  @Override
+  public SocketAddress getLocalSocketAddress() {
+    return socket.getLocalSocketAddress();
+  }
+
+  @Override
+  public void setTcpNoDelay(boolean on) throws SocketException {
+    socket.setTcpNoDelay(on);
+  }
+
+  @Override
+  public boolean getTcpNoDelay() throws SocketException {
+    return socket.getTcpNoDelay();
+  }
+
+  @Override
+  public void setSoLinger(boolean on, int linger) throws SocketException {
+    socket.setSoLinger(on, linger);
+  }
+
+  @Override
+  public int getSoLinger() throws SocketException {
+    return socket.getSoLinger();
+  }
+
+  @Override
+  public void sendUrgentData(int data) throws IOException {
+    socket.sendUrgentData(data);
+  }
+
+  @Override
+  public void setOOBInline(boolean on) throws SocketException {
+    socket.setOOBInline(on);
+  }
+
+  @Override
+  public boolean getOOBInline() throws SocketException {
+    return socket.getOOBInline();
+  }
+
+  @Override
+  public void setSendBufferSize(int size) throws SocketException {
+    socket.setSendBufferSize(size);
+  }
+
+  @Override
+  public int getSendBufferSize() throws SocketException {
+    return socket.getSendBufferSize();
+  }
+
+  @Override
+  public void setReceiveBufferSize(int size) throws SocketException {
+    socket.setReceiveBufferSize(size);
+  }
+
+  @Override
+  public int getReceiveBufferSize() throws SocketException {
+    return socket.getReceiveBufferSize();
+  }
+
+  @Override
+  public void setKeepAlive(boolean on) throws SocketException {
+    socket.setKeepAlive(on);
+  }
+
+  @Override
+  public boolean getKeepAlive() throws SocketException {
+    return socket.getKeepAlive();
+  }
+
+  @Override
+  public void setTrafficClass(int tc) throws SocketException {
+    socket.setTrafficClass(tc);
+  }
+
+  @Override
+  public int getTrafficClass() throws SocketException {
+    return socket.getTrafficClass();
+  }
+
+  @Override
+  public void setReuseAddress(boolean on) throws SocketException {
+    socket.setReuseAddress(on);
+  }
+
+  @Override
+  public boolean getReuseAddress() throws SocketException {
+    return socket.getReuseAddress();
+  }
+
+  @Override
+  public void shutdownInput() throws IOException {
+    socket.shutdownInput();
+  }
+
+  @Override
+  public void shutdownOutput() throws IOException {
+    socket.shutdownOutput();
+  }
+
+  @Override
+  public boolean isConnected() {
+    return socket.isConnected();
+  }
+
+  @Override
+  public boolean isBound() {
+    return socket.isBound();
+  }
+
+  @Override
+  public boolean isClosed() {
+    return socket.isClosed();
+  }
+
+  @Override
+  public boolean isInputShutdown() {
+    return socket.isInputShutdown();
+  }
+
+  @Override
+  public boolean isOutputShutdown() {
+    return socket.isOutputShutdown();
+  }
+
+  @Override
+  public void setPerformancePreferences(int connectionTime, int latency, int bandwidth) {
+    socket.setPerformancePreferences(connectionTime, latency, bandwidth);
+  }
+
+  @Override
+  public String toString() {
+    return socket.toString();
+  }
+}
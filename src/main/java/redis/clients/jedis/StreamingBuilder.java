@@ -0,0 +1,20 @@
+package redis.clients.jedis;
+
+import redis.clients.jedis.annots.Experimental;
+import redis.clients.jedis.util.RedisInputStream;
+
+/**
+ * A {@link Builder} which reads its reply straight from the input stream of the {@link Connection},
+ * instead of building it from the objects read by {@link Protocol}.
+ * <p>
+ * {@link #build(Object)} is still used wherever replies are read ahead of being built, e.g. in
+ * pipelines, transactions and multiplexed connections.
+ */
+@Experimental
+public abstract class StreamingBuilder<T> extends Builder<T> {
+
+  /**
+   * Reads exactly one reply from the stream.
+   */
+  public abstract T read(RedisInputStream is);
+}
@@ -4,7 +4,9 @@ import java.net.URI;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.regex.Pattern;
 import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.json.JSONArray;
@@ -23,6 +25,7 @@ import redis.clients.jedis.csc.Cache;
 import redis.clients.jedis.csc.CacheConfig;
 import redis.clients.jedis.csc.CacheConnection;
 import redis.clients.jedis.csc.CacheFactory;
+import redis.clients.jedis.csc.CacheSnapshot;
 import redis.clients.jedis.exceptions.JedisException;
 import redis.clients.jedis.executors.*;
 import redis.clients.jedis.json.JsonSetParams;
@@ -49,6 +52,9 @@ public class UnifiedJedis implements JedisCommands, JedisBinaryCommands,
     SampleKeyedCommands, SampleBinaryKeyedCommands, RedisModuleCommands,
     AutoCloseable {
 
+  // the commands of a cache snapshot pipelined before reading their replies
+  private static final int RESTORE_BATCH_SIZE = 1000;
+
   @Deprecated
   protected RedisProtocol protocol = null;
   protected final ConnectionProvider provider;
@@ -240,6 +246,17 @@ public class UnifiedJedis implements JedisCommands, JedisBinaryCommands,
     this(new CircuitBreakerCommandExecutor(provider), provider);
   }
 
+  /**
+   * Constructor which serves commands from all threads through a few shared, auto-pipelined
+   * connections.
+   * <p>
+   * Pipelines, transactions and blocking commands still use exclusive connections.
+   */
+  @Experimental
+  public UnifiedJedis(MultiplexedConnectionProvider provider) {
+    this(new MultiplexedCommandExecutor(provider), provider);
+  }
+
   /**
    * The constructor to use a custom {@link CommandExecutor}.
    * <p>
@@ -281,8 +298,8 @@ public class UnifiedJedis implements JedisCommands, JedisBinaryCommands,
   private UnifiedJedis(CommandExecutor executor, ConnectionProvider provider, CommandObjects commandObjects,
       RedisProtocol protocol, Cache cache) {
 
-    if (cache != null && protocol != RedisProtocol.RESP3) {
-      throw new IllegalArgumentException("Client-side caching is only supported with RESP3.");
+    if (cache != null && protocol != RedisProtocol.RESP3 && !cache.getClientTracking().isRedirected()) {
+      throw new IllegalArgumentException("Client-side caching is only supported with RESP3, or with redirected client tracking.");
     }
 
     this.provider = provider;
@@ -311,10 +328,44 @@ public class UnifiedJedis implements JedisCommands, JedisBinaryCommands,
     return executor.executeCommand(commandObject);
   }
 
+  /**
+   * @param arguments the variable arguments of the prepared command
+   */
+  @Experimental
+  public final <T> T executeCommand(PreparedCommand<T> preparedCommand, Object... arguments) {
+    return executor.executeCommand(commandObjects.prepared(preparedCommand, arguments));
+  }
+
   public final <T> T broadcastCommand(CommandObject<T> commandObject) {
     return executor.broadcastCommand(commandObject);
   }
 
+  /**
+   * @return asynchronous view of this client, whose {@link CommandExecutor} executes the commands
+   * without blocking, e.g. a {@link MultiplexedConnectionProvider multiplexed} client; blocking
+   * commands fail, as they need an executor, see {@link #async(Executor)}
+   * @throws IllegalStateException if the commands of this client can not be executed asynchronously
+   */
+  @Experimental
+  public AsyncUnifiedJedis async() {
+    if (!(executor instanceof AsyncCommandExecutor)) {
+      throw new IllegalStateException("Commands of this client can not be executed asynchronously"
+          + " without an executor, see async(Executor).");
+    }
+    return new AsyncUnifiedJedis(executor, commandObjects, null);
+  }
+
+  /**
+   * @param fallbackExecutor dedicated, bounded executor of the commands which can not be executed
+   * asynchronously by the {@link CommandExecutor}, as each of them blocks a thread until its reply
+   * @return asynchronous view of this client
+   */
+  @Experimental
+  public AsyncUnifiedJedis async(Executor fallbackExecutor) {
+    return new AsyncUnifiedJedis(executor, commandObjects,
+        Objects.requireNonNull(fallbackExecutor, "fallbackExecutor"));
+  }
+
   private <T> T checkAndBroadcastCommand(CommandObject<T> commandObject) {
     boolean broadcast = true;
 
@@ -337,6 +388,49 @@ public class UnifiedJedis implements JedisCommands, JedisBinaryCommands,
     return cache;
   }
 
+  /**
+   * Writes the commands of the client-side cache entries to the file, so that the next run of the
+   * application can read them again with {@link #restoreCacheSnapshot(java.nio.file.Path)}.
+   * @return the number of commands written
+   */
+  @Experimental
+  public int saveCacheSnapshot(java.nio.file.Path file) {
+    if (cache == null) {
+      throw new IllegalStateException("Client-side cache is not enabled for " + getClass());
+    }
+    return CacheSnapshot.write(cache, file);
+  }
+
+  /**
+   * Reads again the commands of a snapshot written by {@link #saveCacheSnapshot(java.nio.file.Path)},
+   * pipelined, so that their values are cached and tracked by the server before the application needs
+   * them. Nothing is done if there is no file.
+   * @return the number of commands read again
+   */
+  @Experimental
+  public int restoreCacheSnapshot(java.nio.file.Path file) {
+    if (cache == null) {
+      throw new IllegalStateException("Client-side cache is not enabled for " + getClass());
+    }
+    // the keys of the snapshot are already prefixed, if they are
+    List<CommandObject<?>> reads = CacheSnapshot.read(file,
+        commandObjects instanceof ClusterCommandObjects ? ClusterCommandArguments::new : CommandArguments::new);
+    if (reads.isEmpty()) {
+      return 0;
+    }
+    try (PipelineBase pipeline = pipelined()) {
+      int pending = 0;
+      for (CommandObject<?> read : reads) {
+        pipeline.appendCommand(read);
+        if (++pending == RESTORE_BATCH_SIZE) {
+          pipeline.sync();
+          pending = 0;
+        }
+      }
+    }
+    return reads.size();
+  }
+
   public String ping() {
     return checkAndBroadcastCommand(commandObjects.ping());
   }
@@ -422,6 +516,20 @@ public class UnifiedJedis implements JedisCommands, JedisBinaryCommands,
     return executeCommand(commandObjects.dump(key));
   }
 
+  /**
+   * DUMP, transferring the serialized value into the given target instead of allocating it.
+   * @return length of the serialized value, -1 if the key does not exist
+   */
+  @Experimental
+  public long dumpInto(String key, BulkReplyTransfer transfer) {
+    return executeCommand(commandObjects.dumpInto(key, transfer));
+  }
+
+  @Experimental
+  public long dumpInto(byte[] key, BulkReplyTransfer transfer) {
+    return executeCommand(commandObjects.dumpInto(key, transfer));
+  }
+
   @Override
   public String restore(byte[] key, long ttl, byte[] serializedValue) {
     return executeCommand(commandObjects.restore(key, ttl, serializedValue));
@@ -832,11 +940,50 @@ public class UnifiedJedis implements JedisCommands, JedisBinaryCommands,
     return executeCommand(commandObjects.set(key, value, params));
   }
 
+  /**
+   * SET, writing the value straight from its source, e.g.
+   * {@code jedis.set(key, RawableFactory.from(fileChannel, 0, length))}.
+   */
+  @Experimental
+  public String set(String key, StreamingRawable value) {
+    return executeCommand(commandObjects.set(key, value));
+  }
+
+  @Experimental
+  public String set(String key, StreamingRawable value, SetParams params) {
+    return executeCommand(commandObjects.set(key, value, params));
+  }
+
+  @Experimental
+  public String set(byte[] key, StreamingRawable value) {
+    return executeCommand(commandObjects.set(key, value));
+  }
+
+  @Experimental
+  public String set(byte[] key, StreamingRawable value, SetParams params) {
+    return executeCommand(commandObjects.set(key, value, params));
+  }
+
   @Override
   public byte[] get(byte[] key) {
     return executeCommand(commandObjects.get(key));
   }
 
+  /**
+   * GET, transferring the value into the given target instead of allocating it, e.g.
+   * {@code jedis.getInto(key, BulkReplyTransfer.to(fileChannel))}.
+   * @return length of the value, -1 if the key does not exist
+   */
+  @Experimental
+  public long getInto(String key, BulkReplyTransfer transfer) {
+    return executeCommand(commandObjects.getInto(key, transfer));
+  }
+
+  @Experimental
+  public long getInto(byte[] key, BulkReplyTransfer transfer) {
+    return executeCommand(commandObjects.getInto(key, transfer));
+  }
+
   @Override
   public byte[] setGet(byte[] key, byte[] value) {
     return executeCommand(commandObjects.setGet(key, value));
@@ -1110,6 +1257,14 @@ public class UnifiedJedis implements JedisCommands, JedisBinaryCommands,
     return executeCommand(commandObjects.bitfield(key, arguments));
   }
 
+  /**
+   * BITFIELD, returning a primitive array. Not usable with {@code OVERFLOW FAIL}, which may reply nil.
+   */
+  @Experimental
+  public long[] bitfieldArray(String key, String... arguments) {
+    return executeCommand(commandObjects.bitfieldArray(key, arguments));
+  }
+
   @Override
   public List<Long> bitfieldReadonly(String key, String... arguments) {
     return executeCommand(commandObjects.bitfieldReadonly(key, arguments));
@@ -1120,6 +1275,11 @@ public class UnifiedJedis implements JedisCommands, JedisBinaryCommands,
     return executeCommand(commandObjects.bitfield(key, arguments));
   }
 
+  @Experimental
+  public long[] bitfieldArray(byte[] key, byte[]... arguments) {
+    return executeCommand(commandObjects.bitfieldArray(key, arguments));
+  }
+
   @Override
   public List<Long> bitfieldReadonly(byte[] key, byte[]... arguments) {
     return executeCommand(commandObjects.bitfieldReadonly(key, arguments));
@@ -1524,6 +1684,19 @@ public class UnifiedJedis implements JedisCommands, JedisBinaryCommands,
     return executeCommand(commandObjects.hset(key, field, value));
   }
 
+  /**
+   * HSET, writing the value straight from its source.
+   */
+  @Experimental
+  public long hset(String key, String field, StreamingRawable value) {
+    return executeCommand(commandObjects.hset(key, field, value));
+  }
+
+  @Experimental
+  public long hset(byte[] key, byte[] field, StreamingRawable value) {
+    return executeCommand(commandObjects.hset(key, field, value));
+  }
+
   @Override
   public long hset(byte[] key, Map<byte[], byte[]> hash) {
     return executeCommand(commandObjects.hset(key, hash));
@@ -1544,6 +1717,20 @@ public class UnifiedJedis implements JedisCommands, JedisBinaryCommands,
     return executeCommand(commandObjects.hget(key, field));
   }
 
+  /**
+   * HGET, transferring the value into the given target instead of allocating it.
+   * @return length of the value, -1 if the field or the key does not exist
+   */
+  @Experimental
+  public long hgetInto(String key, String field, BulkReplyTransfer transfer) {
+    return executeCommand(commandObjects.hgetInto(key, field, transfer));
+  }
+
+  @Experimental
+  public long hgetInto(byte[] key, byte[] field, BulkReplyTransfer transfer) {
+    return executeCommand(commandObjects.hgetInto(key, field, transfer));
+  }
+
   @Override
   public List<byte[]> hgetex(byte[] key, HGetExParams params, byte[]... fields) {
     return executeCommand(commandObjects.hgetex(key, params, fields));
@@ -1881,6 +2068,14 @@ public class UnifiedJedis implements JedisCommands, JedisBinaryCommands,
     return executeCommand(commandObjects.smismember(key, members));
   }
 
+  /**
+   * SMISMEMBER, returning a primitive array.
+   */
+  @Experimental
+  public boolean[] smismemberArray(String key, String... members) {
+    return executeCommand(commandObjects.smismemberArray(key, members));
+  }
+
   @Override
   public long sadd(byte[] key, byte[]... members) {
     return executeCommand(commandObjects.sadd(key, members));
@@ -1921,6 +2116,11 @@ public class UnifiedJedis implements JedisCommands, JedisBinaryCommands,
     return executeCommand(commandObjects.smismember(key, members));
   }
 
+  @Experimental
+  public boolean[] smismemberArray(byte[] key, byte[]... members) {
+    return executeCommand(commandObjects.smismemberArray(key, members));
+  }
+
   @Override
   public String srandmember(String key) {
     return executeCommand(commandObjects.srandmember(key));
@@ -2193,6 +2393,14 @@ public class UnifiedJedis implements JedisCommands, JedisBinaryCommands,
     return executeCommand(commandObjects.zmscore(key, members));
   }
 
+  /**
+   * ZMSCORE, returning a primitive array. The score of a missing member is {@link Double#NaN}.
+   */
+  @Experimental
+  public double[] zmscoreArray(String key, String... members) {
+    return executeCommand(commandObjects.zmscoreArray(key, members));
+  }
+
   @Override
   public byte[] zrandmember(byte[] key) {
     return executeCommand(commandObjects.zrandmember(key));
@@ -2223,6 +2431,11 @@ public class UnifiedJedis implements JedisCommands, JedisBinaryCommands,
     return executeCommand(commandObjects.zmscore(key, members));
   }
 
+  @Experimental
+  public double[] zmscoreArray(byte[] key, byte[]... members) {
+    return executeCommand(commandObjects.zmscoreArray(key, members));
+  }
+
   @Override
   public Tuple zpopmax(String key) {
     return executeCommand(commandObjects.zpopmax(key));
@@ -2298,11 +2511,24 @@ public class UnifiedJedis implements JedisCommands, JedisBinaryCommands,
     return executeCommand(commandObjects.zrangeWithScores(key, start, stop));
   }
 
+  /**
+   * ZRANGE WITHSCORES, returning members and scores as parallel arrays instead of {@link Tuple}s.
+   */
+  @Experimental
+  public ScoredMembers zrangeWithScoresArrays(String key, long start, long stop) {
+    return executeCommand(commandObjects.zrangeWithScoresArrays(key, start, stop));
+  }
+
   @Override
   public List<Tuple> zrevrangeWithScores(String key, long start, long stop) {
     return executeCommand(commandObjects.zrevrangeWithScores(key, start, stop));
   }
 
+  @Experimental
+  public ScoredMembers zrevrangeWithScoresArrays(String key, long start, long stop) {
+    return executeCommand(commandObjects.zrevrangeWithScoresArrays(key, start, stop));
+  }
+
   @Override
   public List<String> zrange(String key, ZRangeParams zRangeParams) {
     return executeCommand(commandObjects.zrange(key, zRangeParams));
@@ -2313,6 +2539,11 @@ public class UnifiedJedis implements JedisCommands, JedisBinaryCommands,
     return executeCommand(commandObjects.zrangeWithScores(key, zRangeParams));
   }
 
+  @Experimental
+  public ScoredMembers zrangeWithScoresArrays(String key, ZRangeParams zRangeParams) {
+    return executeCommand(commandObjects.zrangeWithScoresArrays(key, zRangeParams));
+  }
+
   @Override
   public long zrangestore(String dest, String src, ZRangeParams zRangeParams) {
     return executeCommand(commandObjects.zrangestore(dest, src, zRangeParams));
@@ -2413,11 +2644,21 @@ public class UnifiedJedis implements JedisCommands, JedisBinaryCommands,
     return executeCommand(commandObjects.zrangeWithScores(key, start, stop));
   }
 
+  @Experimental
+  public ScoredMembers zrangeWithScoresArrays(byte[] key, long start, long stop) {
+    return executeCommand(commandObjects.zrangeWithScoresArrays(key, start, stop));
+  }
+
   @Override
   public List<Tuple> zrevrangeWithScores(byte[] key, long start, long stop) {
     return executeCommand(commandObjects.zrevrangeWithScores(key, start, stop));
   }
 
+  @Experimental
+  public ScoredMembers zrevrangeWithScoresArrays(byte[] key, long start, long stop) {
+    return executeCommand(commandObjects.zrevrangeWithScoresArrays(key, start, stop));
+  }
+
   @Override
   public List<byte[]> zrange(byte[] key, ZRangeParams zRangeParams) {
     return executeCommand(commandObjects.zrange(key, zRangeParams));
@@ -2428,6 +2669,11 @@ public class UnifiedJedis implements JedisCommands, JedisBinaryCommands,
     return executeCommand(commandObjects.zrangeWithScores(key, zRangeParams));
   }
 
+  @Experimental
+  public ScoredMembers zrangeWithScoresArrays(byte[] key, ZRangeParams zRangeParams) {
+    return executeCommand(commandObjects.zrangeWithScoresArrays(key, zRangeParams));
+  }
+
   @Override
   public long zrangestore(byte[] dest, byte[] src, ZRangeParams zRangeParams) {
     return executeCommand(commandObjects.zrangestore(dest, src, zRangeParams));
@@ -2852,6 +3098,15 @@ public class UnifiedJedis implements JedisCommands, JedisBinaryCommands,
     return executeCommand(commandObjects.geopos(key, members));
   }
 
+  /**
+   * GEOPOS, returning the longitude and latitude of each member one after the other in a primitive
+   * array. Both are {@link Double#NaN} for a missing member.
+   */
+  @Experimental
+  public double[] geoposArray(String key, String... members) {
+    return executeCommand(commandObjects.geoposArray(key, members));
+  }
+
   @Override
   public long geoadd(byte[] key, double longitude, double latitude, byte[] member) {
     return executeCommand(commandObjects.geoadd(key, longitude, latitude, member));
@@ -2887,6 +3142,11 @@ public class UnifiedJedis implements JedisCommands, JedisBinaryCommands,
     return executeCommand(commandObjects.geopos(key, members));
   }
 
+  @Experimental
+  public double[] geoposArray(byte[] key, byte[]... members) {
+    return executeCommand(commandObjects.geoposArray(key, members));
+  }
+
   @Override
   public List<GeoRadiusResponse> georadius(String key, double longitude, double latitude, double radius, GeoUnit unit) {
     return executeCommand(commandObjects.georadius(key, longitude, latitude, radius, unit));
@@ -4241,6 +4501,15 @@ public class UnifiedJedis implements JedisCommands, JedisBinaryCommands,
     return executeCommand(commandObjects.jsonGet(key, paths));
   }
 
+  /**
+   * JSON.GET, transferring the serialized JSON into the given target instead of allocating it.
+   * @return length of the serialized JSON, -1 if the key does not exist
+   */
+  @Experimental
+  public long jsonGetInto(String key, BulkReplyTransfer transfer, Path2... paths) {
+    return executeCommand(commandObjects.jsonGetInto(key, transfer, paths));
+  }
+
   @Override
   @Deprecated
   public Object jsonGet(String key, Path... paths) {
@@ -4630,21 +4899,44 @@ public class UnifiedJedis implements JedisCommands, JedisBinaryCommands,
     return executeCommand(commandObjects.tsRange(key, fromTimestamp, toTimestamp));
   }
 
+  /**
+   * TS.RANGE, returning timestamps and values as parallel arrays instead of {@link TSElement}s.
+   */
+  @Experimental
+  public TSElementArrays tsRangeArrays(String key, long fromTimestamp, long toTimestamp) {
+    return executeCommand(commandObjects.tsRangeArrays(key, fromTimestamp, toTimestamp));
+  }
+
   @Override
   public List<TSElement> tsRange(String key, TSRangeParams rangeParams) {
     return executeCommand(commandObjects.tsRange(key, rangeParams));
   }
 
+  @Experimental
+  public TSElementArrays tsRangeArrays(String key, TSRangeParams rangeParams) {
+    return executeCommand(commandObjects.tsRangeArrays(key, rangeParams));
+  }
+
   @Override
   public List<TSElement> tsRevRange(String key, long fromTimestamp, long toTimestamp) {
     return executeCommand(commandObjects.tsRevRange(key, fromTimestamp, toTimestamp));
   }
 
+  @Experimental
+  public TSElementArrays tsRevRangeArrays(String key, long fromTimestamp, long toTimestamp) {
+    return executeCommand(commandObjects.tsRevRangeArrays(key, fromTimestamp, toTimestamp));
+  }
+
   @Override
   public List<TSElement> tsRevRange(String key, TSRangeParams rangeParams) {
     return executeCommand(commandObjects.tsRevRange(key, rangeParams));
   }
 
+  @Experimental
+  public TSElementArrays tsRevRangeArrays(String key, TSRangeParams rangeParams) {
+    return executeCommand(commandObjects.tsRevRangeArrays(key, rangeParams));
+  }
+
   @Override
   public Map<String, TSMRangeElements> tsMRange(long fromTimestamp, long toTimestamp, String... filters) {
     return executeCommand(commandObjects.tsMRange(fromTimestamp, toTimestamp, filters));
@@ -5085,6 +5377,24 @@ public class UnifiedJedis implements JedisCommands, JedisBinaryCommands,
     this.commandObjects.setKeyArgumentPreProcessor(keyPreProcessor);
   }
 
+  /**
+   * Whether the arguments of the commands are encoded into a single buffer as they are added, see
+   * {@link CommandArguments#CommandArguments(ProtocolCommand, boolean)}.
+   */
+  @Experimental
+  public void setEncodedCommandArguments(boolean encoded) {
+    this.commandObjects.setEncodedArguments(encoded);
+  }
+
+  /**
+   * Whether HGETALL and the commands replying members with their scores decode their replies
+   * element by element, through {@link ReplyCursor}, instead of building the whole reply first.
+   */
+  @Experimental
+  public void setReplyCursors(boolean replyCursors) {
+    this.commandObjects.setReplyCursors(replyCursors);
+  }
+
   public void setJsonObjectMapper(JsonObjectMapper jsonObjectMapper) {
     this.commandObjects.setJsonObjectMapper(jsonObjectMapper);
   }
@@ -2,7 +2,18 @@ package redis.clients.jedis.args;
 
 import static redis.clients.jedis.Protocol.toByteArray;
 
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import redis.clients.jedis.annots.Experimental;
+import redis.clients.jedis.exceptions.JedisException;
+import redis.clients.jedis.util.RedisOutputStream;
 import redis.clients.jedis.util.SafeEncoder;
 
 /**
@@ -64,6 +75,157 @@ public final class RawableFactory {
     return new RawString(string);
   }
 
+  /**
+   * Get a {@link StreamingRawable} writing the remaining bytes of a buffer. The buffer is not
+   * modified, but must not be modified either until the command is written.
+   * @param buffer value
+   * @return streaming raw
+   */
+  @Experimental
+  public static StreamingRawable from(ByteBuffer buffer) {
+    final ByteBuffer data = buffer.slice();
+    return new StreamingRaw(data.remaining()) {
+      @Override
+      byte[] read() {
+        final byte[] raw = new byte[getLength()];
+        data.duplicate().get(raw);
+        return raw;
+      }
+
+      @Override
+      void stream(RedisOutputStream out) throws IOException {
+        out.write(data);
+      }
+    };
+  }
+
+  /**
+   * Get a {@link StreamingRawable} writing a region of a file. The position of the channel is not
+   * used nor changed.
+   * @param channel file
+   * @param position start of the region
+   * @param length length of the region
+   * @return streaming raw
+   */
+  @Experimental
+  public static StreamingRawable from(FileChannel channel, long position, int length) {
+    if (position < 0 || length < 0) {
+      throw new IllegalArgumentException("Negative position or length.");
+    }
+    return new StreamingRaw(length) {
+      @Override
+      byte[] read() {
+        final ByteBuffer raw = ByteBuffer.allocate(length);
+        try {
+          while (raw.hasRemaining()) {
+            if (channel.read(raw, position + raw.position()) < 0) {
+              throw new JedisException("File region is shorter than " + length + " bytes.");
+            }
+          }
+        } catch (IOException e) {
+          throw new JedisException(e);
+        }
+        return raw.array();
+      }
+
+      @Override
+      void stream(RedisOutputStream out) throws IOException {
+        out.write(channel, position, length);
+      }
+    };
+  }
+
+  /**
+   * Get a {@link StreamingRawable} writing the next {@code length} bytes of a stream. It can be
+   * written only once, unless it has been materialized by {@link Rawable#getRaw()} before.
+   * @param stream value
+   * @param length number of bytes to write
+   * @return streaming raw
+   */
+  @Experimental
+  public static StreamingRawable from(InputStream stream, int length) {
+    if (length < 0) {
+      throw new IllegalArgumentException("Negative length.");
+    }
+    final AtomicBoolean read = new AtomicBoolean();
+    return new StreamingRaw(length) {
+      @Override
+      byte[] read() {
+        if (!read.compareAndSet(false, true)) {
+          throw new JedisException("Stream argument has already been written.");
+        }
+        final byte[] raw = new byte[length];
+        try {
+          new DataInputStream(stream).readFully(raw);
+        } catch (IOException e) {
+          throw new JedisException(e);
+        }
+        return raw;
+      }
+
+      @Override
+      void stream(RedisOutputStream out) throws IOException {
+        if (!read.compareAndSet(false, true)) {
+          throw new IOException("Stream argument has already been written.");
+        }
+        out.write(stream, length);
+      }
+    };
+  }
+
+  /**
+   * A {@link StreamingRawable} which is materialized by {@link #getRaw()} only, e.g. when it is
+   * logged, and is then written from the materialized bytes.
+   */
+  private abstract static class StreamingRaw implements StreamingRawable {
+
+    private final int length;
+    private volatile byte[] raw;
+
+    StreamingRaw(int length) {
+      this.length = length;
+    }
+
+    /**
+     * @return the {@link #getLength()} bytes of the source
+     */
+    abstract byte[] read();
+
+    /**
+     * Writes the {@link #getLength()} bytes of the source.
+     */
+    abstract void stream(RedisOutputStream out) throws IOException;
+
+    @Override
+    public final int getLength() {
+      return length;
+    }
+
+    @Override
+    public final byte[] getRaw() {
+      byte[] raw = this.raw;
+      if (raw == null) {
+        synchronized (this) {
+          raw = this.raw;
+          if (raw == null) {
+            this.raw = raw = read();
+          }
+        }
+      }
+      return raw;
+    }
+
+    @Override
+    public final void writeTo(RedisOutputStream out) throws IOException {
+      final byte[] raw = this.raw;
+      if (raw != null) {
+        out.write(raw);
+      } else {
+        stream(out);
+      }
+    }
+  }
+
   /**
    * Default implementation of {@link Rawable}.
    */
@@ -75,18 +237,30 @@ public final class RawableFactory {
       this.raw = Arrays.copyOf(raw, raw.length);
     }
 
+    // for RawString, which encodes lazily
+    private Raw() {
+      this.raw = null;
+    }
+
     @Override
     public byte[] getRaw() {
       return raw;
     }
 
+    /**
+     * A {@link Raw} equals another one with the same bytes, e.g. a {@link RawString} of the same
+     * string, as they are the same argument to Redis.
+     */
     @Override
     public boolean equals(Object o) {
       if (this == o) return true;
-      if (o == null || getClass() != o.getClass()) return false;
-      return Arrays.equals(raw, ((Raw) o).raw);
+      if (!(o instanceof Raw)) return false;
+      return Arrays.equals(getRaw(), ((Raw) o).getRaw());
     }
 
+    /**
+     * @return the hash code of the bytes, see {@link Arrays#hashCode(byte[])}
+     */
     @Override
     public int hashCode() {
       return Arrays.hashCode(raw);
@@ -98,10 +272,51 @@ public final class RawableFactory {
    */
   public static class RawString extends Raw {
 
-    // TODO: private final String str; ^ implements Rawable
+    private final String str;
+    // encoded on demand, as the string can be written to the connection without being encoded first
+    private volatile byte[] raw;
 
     public RawString(String str) {
-      super(SafeEncoder.encode(str));
+      if (str == null) {
+        throw new IllegalArgumentException("null value cannot be sent to redis");
+      }
+      this.str = str;
+    }
+
+    public String getString() {
+      return str;
+    }
+
+    @Override
+    public byte[] getRaw() {
+      byte[] bytes = raw;
+      if (bytes == null) {
+        raw = bytes = SafeEncoder.encode(str);
+      }
+      return bytes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (o instanceof RawString && str.equals(((RawString) o).str)) return true;
+      return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+      if (raw == null && SafeEncoder.DEFAULT_CHARSET == StandardCharsets.UTF_8) {
+        // the hash code of the bytes, without encoding an ASCII string
+        int hashCode = 1;
+        for (int i = 0; i < str.length(); i++) {
+          final char c = str.charAt(i);
+          if (c >= 0x80) {
+            return Arrays.hashCode(getRaw());
+          }
+          hashCode = 31 * hashCode + c;
+        }
+        return hashCode;
+      }
+      return Arrays.hashCode(getRaw());
     }
   }
 
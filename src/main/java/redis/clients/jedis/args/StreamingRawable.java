@@ -0,0 +1,37 @@
+package redis.clients.jedis.args;
+
+import java.io.IOException;
+
+import redis.clients.jedis.annots.Experimental;
+import redis.clients.jedis.util.RedisOutputStream;
+
+/**
+ * An argument which is written to the connection straight from its source (e.g. a
+ * {@link java.nio.ByteBuffer}, a region of a {@link java.nio.channels.FileChannel} or an
+ * {@link java.io.InputStream}) instead of being materialized as a byte array. Get one from
+ * {@link RawableFactory}.
+ * <p>
+ * Such arguments can not be used as keys. Arguments backed by an {@link java.io.InputStream} can
+ * be written only once, unless they are materialized by {@link #getRaw()}, so the command must not
+ * be retried, e.g. in a pipeline which is re-sent or by a cluster client following a redirection.
+ */
+@Experimental
+public interface StreamingRawable extends Rawable {
+
+  /**
+   * @return number of bytes to be written
+   */
+  int getLength();
+
+  /**
+   * Writes exactly {@link #getLength()} bytes.
+   */
+  void writeTo(RedisOutputStream out) throws IOException;
+
+  /**
+   * Materializes the argument, reading its whole source. It is not called to write the argument, but
+   * e.g. to log it; the materialized bytes are written from then on.
+   */
+  @Override
+  byte[] getRaw();
+}
@@ -1,16 +1,23 @@
 package redis.clients.jedis.csc;
 
-import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import redis.clients.jedis.JedisClientConfig;
+import redis.clients.jedis.JedisSocketFactory;
 import redis.clients.jedis.annots.Experimental;
+import redis.clients.jedis.annots.VisibleForTesting;
 import redis.clients.jedis.util.SafeEncoder;
 
 /**
@@ -20,11 +27,26 @@ import redis.clients.jedis.util.SafeEncoder;
 @Experimental
 public abstract class AbstractCache implements Cache {
 
+  /**
+   * Entries are guarded by the locks of the stripes of their Redis keys, so that an entry can not be
+   * stored while an invalidation of one of its keys is in progress. Reads take no lock.
+   */
+  private static final int LOCK_STRIPES = 64;
+  private static final int[] ALL_STRIPES = IntStream.range(0, LOCK_STRIPES).toArray();
+  private static final int[] NO_KEY_STRIPES = { 0 };
+
   private Cacheable cacheable;
-  private final Map<ByteBuffer, Set<CacheKey<?>>> redisKeysToCacheKeys = new ConcurrentHashMap<>();
+  // guarded by the locks, and also recording the hash slot of each Redis key, so that the entries of
+  // a slot moved to another node of a cluster can be deleted without flushing the cache
+  private final RedisKeyIndex redisKeyIndex = new RedisKeyIndex(LOCK_STRIPES);
+  // the entries read by each connection, whose keys are not tracked anymore once it is closed
+  private final Map<CacheConnection, Set<CacheKey<?>>> connectionsToCacheKeys = new ConcurrentHashMap<>();
   private final int maximumSize;
-  private ReentrantLock lock = new ReentrantLock();
+  private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
   private volatile CacheStats stats = new CacheStats();
+  private volatile CacheValueCopier valueCopier = CacheValueCopier.DEEP_COPY;
+  private volatile ClientTracking clientTracking = ClientTracking.DEFAULT;
+  private final Map<JedisSocketFactory, InvalidationListener> invalidationListeners = new HashMap<>();
 
   protected AbstractCache(int maximumSize) {
     this(maximumSize, DefaultCacheable.INSTANCE);
@@ -33,6 +55,9 @@ public abstract class AbstractCache implements Cache {
   protected AbstractCache(int maximumSize, Cacheable cacheable) {
     this.maximumSize = maximumSize;
     this.cacheable = cacheable;
+    for (int i = 0; i < LOCK_STRIPES; i++) {
+      locks[i] = new ReentrantLock();
+    }
   }
 
   // Cache interface methods
@@ -59,118 +84,197 @@ public abstract class AbstractCache implements Cache {
 
   @Override
   public CacheEntry set(CacheKey cacheKey, CacheEntry entry) {
-    lock.lock();
+    final byte[][] redisKeys = redisKeysOf(cacheKey);
+    final int[] hashes = hashesOf(redisKeys);
+    final int[] stripes = stripesOf(hashes);
+    lockAll(stripes);
     try {
+      unindexConnection(getFromStore(cacheKey));
+      final CacheConnection connection = entry.getConnection();
       entry = putIntoStore(cacheKey, entry);
-      EvictionPolicy policy = getEvictionPolicy();
-      policy.touch(cacheKey);
-      CacheKey evictedKey = policy.evictNext();
-      if (evictedKey != null) {
-        delete(evictedKey);
-        stats.evict();
+      getEvictionPolicy().touch(cacheKey);
+      for (int i = 0; i < redisKeys.length; i++) {
+        redisKeyIndex.add(redisKeys[i], hashes[i], cacheKey);
       }
-      for (Object redisKey : cacheKey.getRedisKeys()) {
-        ByteBuffer mapKey = makeKeyForRedisKeysToCacheKeys(redisKey);
-        if (redisKeysToCacheKeys.containsKey(mapKey)) {
-          redisKeysToCacheKeys.get(mapKey).add(cacheKey);
-        } else {
-          Set<CacheKey<?>> set = ConcurrentHashMap.newKeySet();
-          set.add(cacheKey);
-          redisKeysToCacheKeys.put(mapKey, set);
-        }
+      if (connection != null) {
+        connectionsToCacheKeys.computeIfAbsent(connection, k -> ConcurrentHashMap.newKeySet()).add(cacheKey);
       }
       stats.load();
-      return entry;
     } finally {
-      lock.unlock();
+      unlockAll(stripes);
+    }
+
+    // evicting outside of the locks, as it takes the locks of another entry
+    CacheKey evictedKey = getEvictionPolicy().evictNext();
+    if (evictedKey != null) {
+      delete(evictedKey);
+      stats.evict();
     }
+    return entry;
   }
 
   @Override
   public boolean delete(CacheKey cacheKey) {
-    lock.lock();
+    final byte[][] redisKeys = redisKeysOf(cacheKey);
+    final int[] hashes = hashesOf(redisKeys);
+    final int[] stripes = stripesOf(hashes);
+    lockAll(stripes);
     try {
-      boolean removed = removeFromStore(cacheKey);
+      boolean removed = removeEntry(cacheKey);
       getEvictionPolicy().reset(cacheKey);
 
-      // removing it from redisKeysToCacheKeys as well
-      // TODO: considering not doing it, what is the impact of not doing it ??
-      for (Object redisKey : cacheKey.getRedisKeys()) {
-        ByteBuffer mapKey = makeKeyForRedisKeysToCacheKeys(redisKey);
-        Set<CacheKey<?>> cacheKeysRelatedtoRedisKey = redisKeysToCacheKeys.get(mapKey);
-        if (cacheKeysRelatedtoRedisKey != null) {
-          cacheKeysRelatedtoRedisKey.remove(cacheKey);
-        }
+      // removing it from the index as well, which drops the Redis keys without any entry
+      for (int i = 0; i < redisKeys.length; i++) {
+        redisKeyIndex.remove(redisKeys[i], hashes[i], cacheKey);
       }
       return removed;
     } finally {
-      lock.unlock();
+      unlockAll(stripes);
     }
   }
 
   @Override
   public List<Boolean> delete(List<CacheKey> cacheKeys) {
-    lock.lock();
-    try {
-      return cacheKeys.stream().map(this::delete).collect(Collectors.toList());
-    } finally {
-      lock.unlock();
-    }
+    return cacheKeys.stream().map(this::delete).collect(Collectors.toList());
   }
 
   @Override
   public List<CacheKey> deleteByRedisKey(Object key) {
-    lock.lock();
-    try {
-      final ByteBuffer mapKey = makeKeyForRedisKeysToCacheKeys(key);
-
-      Set<CacheKey<?>> commands = redisKeysToCacheKeys.get(mapKey);
-      List<CacheKey> cacheKeys = new ArrayList<>();
-      if (commands != null) {
-        cacheKeys.addAll(commands.stream().filter(this::removeFromStore).collect(Collectors.toList()));
-        stats.invalidationByServer(cacheKeys.size());
-        redisKeysToCacheKeys.remove(mapKey);
+    final byte[] redisKey = toBytes(key);
+    final List<CacheKey> cacheKeys = new ArrayList<>();
+    if (clientTracking.tracks(redisKey)) {
+      final int hash = RedisKeyIndex.hash(redisKey);
+      final ReentrantLock lock = locks[redisKeyIndex.stripeOf(hash)];
+      lock.lock();
+      try {
+        removeByRedisKey(redisKey, hash, cacheKeys);
+      } finally {
+        lock.unlock();
       }
-      stats.invalidationMessages();
-      return cacheKeys;
-    } finally {
-      lock.unlock();
+      unindexOtherKeys(cacheKeys);
     }
+    // nothing is cached for the keys of other prefixes
+    stats.invalidationMessages();
+    return cacheKeys;
   }
 
+  /**
+   * Applies the invalidation of many keys, e.g. of a single push message, taking the lock of each
+   * stripe once.
+   */
   @Override
   public List<CacheKey> deleteByRedisKeys(List keys) {
     if (keys == null) {
       flush();
       return null;
     }
-    lock.lock();
-    try {
-      return ((List<Object>) keys).stream()
-          .map(this::deleteByRedisKey).flatMap(List::stream).collect(Collectors.toList());
-    } finally {
-      lock.unlock();
+    final int count = keys.size();
+    final byte[][] redisKeys = new byte[count][];
+    final int[] hashes = new int[count];
+    // counting sort of the keys by stripe
+    final int[] stripeEnds = new int[LOCK_STRIPES + 1];
+    for (int i = 0; i < count; i++) {
+      redisKeys[i] = toBytes(keys.get(i));
+      hashes[i] = RedisKeyIndex.hash(redisKeys[i]);
+      stripeEnds[redisKeyIndex.stripeOf(hashes[i]) + 1]++;
+    }
+    for (int stripe = 0; stripe < LOCK_STRIPES; stripe++) {
+      stripeEnds[stripe + 1] += stripeEnds[stripe];
+    }
+    final int[] byStripe = new int[count];
+    final int[] next = Arrays.copyOf(stripeEnds, LOCK_STRIPES);
+    for (int i = 0; i < count; i++) {
+      byStripe[next[redisKeyIndex.stripeOf(hashes[i])]++] = i;
+    }
+
+    final List<CacheKey> cacheKeys = new ArrayList<>();
+    for (int stripe = 0; stripe < LOCK_STRIPES; stripe++) {
+      if (stripeEnds[stripe] == stripeEnds[stripe + 1]) {
+        continue;
+      }
+      locks[stripe].lock();
+      try {
+        for (int j = stripeEnds[stripe]; j < stripeEnds[stripe + 1]; j++) {
+          int i = byStripe[j];
+          if (clientTracking.tracks(redisKeys[i])) {
+            removeByRedisKey(redisKeys[i], hashes[i], cacheKeys);
+          }
+        }
+      } finally {
+        locks[stripe].unlock();
+      }
+    }
+    unindexOtherKeys(cacheKeys);
+    stats.invalidationMessages(count);
+    return cacheKeys;
+  }
+
+  @Override
+  public List<CacheKey> deleteBySlots(Collection<Integer> slots) {
+    final BitSet slotSet = new BitSet();
+    slots.forEach(slotSet::set);
+    final List<CacheKey> cacheKeys = new ArrayList<>();
+    for (int stripe = 0; stripe < LOCK_STRIPES; stripe++) {
+      locks[stripe].lock();
+      try {
+        for (CacheKey<?> cacheKey : redisKeyIndex.removeSlots(stripe, slotSet)) {
+          if (removeEntry(cacheKey)) {
+            getEvictionPolicy().reset(cacheKey);
+            cacheKeys.add(cacheKey);
+          }
+        }
+      } finally {
+        locks[stripe].unlock();
+      }
+    }
+    unindexOtherKeys(cacheKeys);
+    return cacheKeys;
+  }
+
+  @Override
+  public List<CacheKey> deleteByConnection(CacheConnection connection) {
+    Set<CacheKey<?>> owned = connectionsToCacheKeys.remove(connection);
+    List<CacheKey> cacheKeys = new ArrayList<>();
+    if (owned == null) {
+      return cacheKeys;
+    }
+    for (CacheKey<?> cacheKey : owned) {
+      final int[] stripes = stripesOf(hashesOf(redisKeysOf(cacheKey)));
+      lockAll(stripes);
+      try {
+        // the entry may have been read again by another connection since
+        CacheEntry entry = getFromStore(cacheKey);
+        if (entry != null && entry.getConnection() == connection && removeFromStore(cacheKey)) {
+          getEvictionPolicy().reset(cacheKey);
+          cacheKeys.add(cacheKey);
+        }
+      } finally {
+        unlockAll(stripes);
+      }
     }
+    return cacheKeys;
   }
 
   @Override
   public int flush() {
-    lock.lock();
+    lockAll(ALL_STRIPES);
     try {
       int result = this.getSize();
       clearStore();
-      redisKeysToCacheKeys.clear();
+      redisKeyIndex.clear();
+      connectionsToCacheKeys.clear();
       getEvictionPolicy().resetAll();
       getStats().flush();
       return result;
     } finally {
-      lock.unlock();
+      unlockAll(ALL_STRIPES);
     }
   }
 
   @Override
   public boolean isCacheable(CacheKey cacheKey) {
-    return cacheable.isCacheable(cacheKey.getRedisCommand(), cacheKey.getRedisKeys());
+    return cacheable.isCacheable(cacheKey.getRedisCommand(), cacheKey.getRedisKeys())
+        && clientTracking.tracks(cacheKey);
   }
 
   @Override
@@ -197,8 +301,36 @@ public abstract class AbstractCache implements Cache {
   public boolean compatibilityMode() {
     return false;
   }
+
+  @Override
+  public CacheValueCopier getValueCopier() {
+    return valueCopier;
+  }
+
+  public void setValueCopier(CacheValueCopier valueCopier) {
+    this.valueCopier = Objects.requireNonNull(valueCopier);
+  }
+
+  @Override
+  public ClientTracking getClientTracking() {
+    return clientTracking;
+  }
+
+  /**
+   * Must be set before the cache is used by any connection.
+   */
+  public void setClientTracking(ClientTracking clientTracking) {
+    this.clientTracking = Objects.requireNonNull(clientTracking);
+  }
   // End of Cache interface methods
 
+  /**
+   * @return the listener of the invalidations redirected by the connections to a server
+   */
+  InvalidationListener acquireInvalidationListener(JedisSocketFactory socketFactory, JedisClientConfig clientConfig) {
+    return InvalidationListener.acquire(invalidationListeners, socketFactory, clientConfig, this);
+  }
+
   // abstract methods to be implemented by the concrete classes
   protected abstract CacheEntry getFromStore(CacheKey cacheKey);
 
@@ -214,19 +346,134 @@ public abstract class AbstractCache implements Cache {
 
   // End of abstract methods to be implemented by the concrete classes
 
-  private ByteBuffer makeKeyForRedisKeysToCacheKeys(Object key) {
+  /**
+   * Deletes the entries of the Redis key, under the lock of its stripe.
+   */
+  /**
+   * @return the number of indexed Redis keys
+   */
+  @VisibleForTesting
+  int getRedisKeyCount() {
+    lockAll(ALL_STRIPES);
+    try {
+      return redisKeyIndex.size();
+    } finally {
+      unlockAll(ALL_STRIPES);
+    }
+  }
+
+  /**
+   * Removes the entries removed under the lock of the stripe of one of their Redis keys from the
+   * index of their other keys, unless they have been cached again since.
+   */
+  private void unindexOtherKeys(List<CacheKey> removed) {
+    for (CacheKey<?> cacheKey : removed) {
+      if (cacheKey.getRedisKeys().size() < 2) {
+        continue;
+      }
+      final byte[][] redisKeys = redisKeysOf(cacheKey);
+      final int[] hashes = hashesOf(redisKeys);
+      final int[] stripes = stripesOf(hashes);
+      lockAll(stripes);
+      try {
+        if (getFromStore(cacheKey) == null) {
+          for (int i = 0; i < redisKeys.length; i++) {
+            redisKeyIndex.remove(redisKeys[i], hashes[i], cacheKey);
+          }
+        }
+      } finally {
+        unlockAll(stripes);
+      }
+    }
+  }
+
+  private void removeByRedisKey(byte[] redisKey, int hash, List<CacheKey> cacheKeys) {
+    List<CacheKey<?>> commands = redisKeyIndex.removeKey(redisKey, hash);
+    if (commands == null) {
+      return;
+    }
+    int removed = 0;
+    for (CacheKey<?> cacheKey : commands) {
+      if (removeEntry(cacheKey)) {
+        getEvictionPolicy().reset(cacheKey);
+        cacheKeys.add(cacheKey);
+        removed++;
+      }
+    }
+    stats.invalidationByServer(removed);
+  }
+
+  private boolean removeEntry(CacheKey cacheKey) {
+    CacheEntry entry = getFromStore(cacheKey);
+    if (!removeFromStore(cacheKey)) {
+      return false;
+    }
+    unindexConnection(entry);
+    return true;
+  }
+
+  private void unindexConnection(CacheEntry entry) {
+    CacheConnection connection = entry != null ? entry.getConnection() : null;
+    if (connection != null) {
+      Set<CacheKey<?>> owned = connectionsToCacheKeys.get(connection);
+      if (owned != null) {
+        owned.remove(entry.getCacheKey());
+      }
+    }
+  }
+
+  private static byte[][] redisKeysOf(CacheKey cacheKey) {
+    List<Object> redisKeys = cacheKey.getRedisKeys();
+    byte[][] keys = new byte[redisKeys.size()][];
+    for (int i = 0; i < keys.length; i++) {
+      keys[i] = toBytes(redisKeys.get(i));
+    }
+    return keys;
+  }
+
+  private static byte[] toBytes(Object key) {
     if (key instanceof byte[]) {
-      return makeKeyForRedisKeysToCacheKeys((byte[]) key);
+      return (byte[]) key;
     } else if (key instanceof String) {
-      return makeKeyForRedisKeysToCacheKeys(SafeEncoder.encode((String) key));
+      return SafeEncoder.encode((String) key);
     } else {
       throw new IllegalArgumentException(key.getClass().getSimpleName() + " is not supported."
           + " Value: \"" + String.valueOf(key) + "\".");
     }
   }
 
-  private static ByteBuffer makeKeyForRedisKeysToCacheKeys(byte[] b) {
-    return ByteBuffer.wrap(b);
+  private static int[] hashesOf(byte[][] redisKeys) {
+    int[] hashes = new int[redisKeys.length];
+    for (int i = 0; i < redisKeys.length; i++) {
+      hashes[i] = RedisKeyIndex.hash(redisKeys[i]);
+    }
+    return hashes;
+  }
+
+  /**
+   * @return the distinct stripes of the keys, in ascending order so that they are always locked in
+   * the same order
+   */
+  private int[] stripesOf(int[] hashes) {
+    if (hashes.length == 0) {
+      return NO_KEY_STRIPES;
+    }
+    if (hashes.length == 1) {
+      return new int[] { redisKeyIndex.stripeOf(hashes[0]) };
+    }
+    return Arrays.stream(hashes).map(redisKeyIndex::stripeOf).distinct().sorted().toArray();
+  }
+
+  private void lockAll(int[] stripes) {
+    for (int stripe : stripes) {
+      locks[stripe].lock();
+    }
+  }
+
+  private void unlockAll(int[] stripes) {
+    for (int i = stripes.length - 1; i >= 0; i--) {
+      locks[stripes[i]].unlock();
+    }
   }
 
 }
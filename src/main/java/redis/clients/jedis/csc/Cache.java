@@ -3,6 +3,8 @@ package redis.clients.jedis.csc;
 import java.util.Collection;
 import java.util.List;
 
+import redis.clients.jedis.annots.Experimental;
+
 /**
  * The cache that is used by a connection
  */
@@ -78,6 +80,33 @@ public interface Cache {
      */
     int flush();
 
+    /**
+     * Delete the entries of the Redis keys hashing to the given cluster slots, e.g. after the slots
+     * moved to another node. The default implementation flushes the entire cache instead, and returns
+     * {@code null}.
+     *
+     * @param slots The hash slots
+     * @return The keys of the deleted entries, or {@code null} if the entire cache was flushed
+     */
+    @Experimental
+    default List<CacheKey> deleteBySlots(Collection<Integer> slots) {
+        flush();
+        return null;
+    }
+
+    /**
+     * Delete the entries read by a connection, as the server stops tracking their keys once it is
+     * closed. The default implementation flushes the entire cache instead, and returns {@code null}.
+     *
+     * @param connection The connection
+     * @return The keys of the deleted entries, or {@code null} if the entire cache was flushed
+     */
+    @Experimental
+    default List<CacheKey> deleteByConnection(CacheConnection connection) {
+        flush();
+        return null;
+    }
+
     /**
      * @param cacheKey The key of the cache entry
      * @return True if the entry is cachable, false otherwise
@@ -110,4 +139,20 @@ public interface Cache {
      * @return The compatibility of cache against different Redis versions
      */
     boolean compatibilityMode();
+
+    /**
+     * @return How the values of the cache entries are kept and copied for each hit
+     */
+    @Experimental
+    default CacheValueCopier getValueCopier() {
+        return CacheValueCopier.DEEP_COPY;
+    }
+
+    /**
+     * @return How the server tracks the keys of the cache entries
+     */
+    @Experimental
+    default ClientTracking getClientTracking() {
+        return ClientTracking.DEFAULT;
+    }
 }
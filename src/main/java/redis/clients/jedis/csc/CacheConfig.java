@@ -3,14 +3,21 @@ package redis.clients.jedis.csc;
 public class CacheConfig {
 
     private int maxSize;
+    private long maxBytes;
     private Cacheable cacheable;
     private EvictionPolicy evictionPolicy;
     private Class cacheClass;
+    private CacheValueCopier valueCopier;
+    private ClientTracking clientTracking;
 
     public int getMaxSize() {
         return maxSize;
     }
 
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
     public Cacheable getCacheable() {
         return cacheable;
     }
@@ -22,6 +29,15 @@ public class CacheConfig {
     public Class getCacheClass() {
         return cacheClass;
     }
+
+    public CacheValueCopier getValueCopier() {
+        return valueCopier;
+    }
+
+    public ClientTracking getClientTracking() {
+        return clientTracking;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -29,15 +45,27 @@ public class CacheConfig {
     public static class Builder {
         private final int DEFAULT_MAX_SIZE = 10000;
         private int maxSize = DEFAULT_MAX_SIZE;
+        private long maxBytes;
         private Cacheable cacheable = DefaultCacheable.INSTANCE;
         private EvictionPolicy evictionPolicy;
         private Class cacheClass;
+        private CacheValueCopier valueCopier = CacheValueCopier.DEEP_COPY;
+        private ClientTracking clientTracking = ClientTracking.DEFAULT;
 
         public Builder maxSize(int maxSize) {
             this.maxSize = maxSize;
             return this;
         }
 
+        /**
+         * Bounds the cache by the number of bytes of its values instead of {@link #maxSize(int)}, using
+         * an {@link OffHeapCache}. Ignored if a {@link #cacheClass(Class)} is given.
+         */
+        public Builder maxBytes(long maxBytes) {
+            this.maxBytes = maxBytes;
+            return this;
+        }
+
         public Builder evictionPolicy(EvictionPolicy policy) {
             this.evictionPolicy = policy;
             return this;
@@ -53,12 +81,34 @@ public class CacheConfig {
             return this;
         }
 
+        /**
+         * How the values of the cache entries are kept and copied for each hit, by default
+         * {@link CacheValueCopier#DEEP_COPY}. Only applies to caches extending {@link AbstractCache},
+         * except {@link OffHeapCache}.
+         */
+        public Builder valueCopier(CacheValueCopier valueCopier) {
+            this.valueCopier = valueCopier;
+            return this;
+        }
+
+        /**
+         * How the server tracks the keys of the cache, by default {@link ClientTracking#DEFAULT}. Only
+         * applies to caches extending {@link AbstractCache}.
+         */
+        public Builder clientTracking(ClientTracking clientTracking) {
+            this.clientTracking = clientTracking;
+            return this;
+        }
+
         public CacheConfig build() {
             CacheConfig cacheConfig = new CacheConfig();
             cacheConfig.maxSize = this.maxSize;
+            cacheConfig.maxBytes = this.maxBytes;
             cacheConfig.cacheable = this.cacheable;
             cacheConfig.evictionPolicy = this.evictionPolicy;
             cacheConfig.cacheClass = this.cacheClass;
+            cacheConfig.valueCopier = this.valueCopier;
+            cacheConfig.clientTracking = this.clientTracking;
             return cacheConfig;
         }
     }
@@ -1,29 +1,84 @@
 package redis.clients.jedis.csc;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.locks.ReentrantLock;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import redis.clients.jedis.Builder;
+import redis.clients.jedis.BulkReplyTransfer;
+import redis.clients.jedis.CommandArguments;
 import redis.clients.jedis.CommandObject;
 import redis.clients.jedis.Connection;
 import redis.clients.jedis.JedisClientConfig;
 import redis.clients.jedis.JedisSocketFactory;
 import redis.clients.jedis.Protocol;
 import redis.clients.jedis.RedisProtocol;
+import redis.clients.jedis.Response;
+import redis.clients.jedis.StreamingBuilder;
+import redis.clients.jedis.annots.Experimental;
+import redis.clients.jedis.args.Rawable;
+import redis.clients.jedis.exceptions.JedisCacheException;
+import redis.clients.jedis.exceptions.JedisDataException;
 import redis.clients.jedis.exceptions.JedisException;
 import redis.clients.jedis.util.RedisInputStream;
+import redis.clients.jedis.util.SafeEncoder;
 
 public class CacheConnection extends Connection {
 
+  private static final Logger log = LoggerFactory.getLogger(CacheConnection.class);
+
   private final Cache cache;
   private ReentrantLock lock;
   private static final String REDIS = "redis";
   private static final String MIN_REDIS_VERSION = "7.4";
+  private static final byte[][] CACHING_YES = { SafeEncoder.encode("CACHING"), SafeEncoder.encode("yes") };
+  // returned by getCachedValue if the value is not cached
+  private static final Object MISS = new Object();
+  // the builder of the responses of a pipeline set with cached values
+  private static final Builder<Object> CACHED_VALUE = new Builder<Object>() {
+    @Override
+    public Object build(Object data) {
+      return data;
+    }
+  };
+
+  // the reply of CLIENT CACHING yes, which has been sent before a command, is still to be read
+  private boolean cachingReplyPending;
+
+  // only with redirected tracking
+  private final JedisSocketFactory socketFactory;
+  private final JedisClientConfig clientConfig;
+  private final boolean redirected;
+  private InvalidationListener listener;
+  private boolean trackingEnabled;
+  // the generation of the listener the tracking is redirected to
+  private int trackingGeneration = -1;
+
+  // the commands of a pipeline whose replies are still to be read, in order
+  private Deque<PipelinedRead> pipelinedReads;
+  // the keys written by these commands, whose values are not read from the cache meanwhile
+  private Set<ByteBuffer> pipelinedWrites;
+  // whether one of these commands may write any key
+  private boolean pipelinedUnkeyedWrite;
 
   public CacheConnection(final JedisSocketFactory socketFactory, JedisClientConfig clientConfig, Cache cache) {
     super(socketFactory, clientConfig);
 
-    if (protocol != RedisProtocol.RESP3) {
-      throw new JedisException("Client side caching is only supported with RESP3.");
+    this.redirected = cache.getClientTracking().isRedirected();
+    if (protocol != RedisProtocol.RESP3 && !redirected) {
+      throw new JedisException("Client side caching is only supported with RESP3, or with redirected client tracking.");
+    }
+    if (redirected && !(cache instanceof AbstractCache)) {
+      throw new JedisException("Redirected client tracking is only supported by caches extending AbstractCache.");
     }
     if (!cache.compatibilityMode()) {
       RedisVersion current = new RedisVersion(version);
@@ -33,68 +88,429 @@ public class CacheConnection extends Connection {
       }
     }
     this.cache = Objects.requireNonNull(cache);
-    initializeClientSideCache();
+    this.socketFactory = socketFactory;
+    this.clientConfig = clientConfig;
+    if (redirected) {
+      this.listener = ((AbstractCache) cache).acquireInvalidationListener(socketFactory, clientConfig);
+      enableRedirectedTracking();
+    } else {
+      initializeClientSideCache();
+    }
   }
 
   @Override
   protected void initializeFromClientConfig(JedisClientConfig config) {
     lock = new ReentrantLock();
+    pipelinedReads = new ArrayDeque<>();
+    pipelinedWrites = new HashSet<>();
     super.initializeFromClientConfig(config);
   }
 
   @Override
   protected Object protocolRead(RedisInputStream inputStream) {
+    if (redirected) {
+      // no entry is validated by reading this connection from another thread
+      return shrinkAfter(inputStream, read(inputStream));
+    }
     lock.lock();
     try {
+      // the buffer is shrunk under the lock, another thread may read pushes from the stream
+      return shrinkAfter(inputStream, read(inputStream));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static <T> T shrinkAfter(RedisInputStream inputStream, T reply) {
+    inputStream.shrinkBuffer();
+    return reply;
+  }
+
+  private Object read(RedisInputStream inputStream) {
+    final PipelinedRead pipelinedRead = pipelinedReads.poll();
+    if (pipelinedRead == null) {
+      readCachingReply(inputStream);
       return Protocol.read(inputStream, cache);
+    }
+    try {
+      cachingReplyPending = pipelinedRead.cachingReply;
+      readCachingReply(inputStream);
+      Object reply = Protocol.read(inputStream, cache);
+      cachePipelinedReply(pipelinedRead, reply);
+      return reply;
+    } finally {
+      if (pipelinedReads.isEmpty()) {
+        pipelinedWrites.clear();
+        pipelinedUnkeyedWrite = false;
+      }
+    }
+  }
+
+  @Override
+  protected <T> T protocolRead(RedisInputStream inputStream, StreamingBuilder<T> builder) {
+    if (redirected) {
+      return shrinkAfter(inputStream, readStreaming(inputStream, builder));
+    }
+    lock.lock();
+    try {
+      return shrinkAfter(inputStream, readStreaming(inputStream, builder));
     } finally {
       lock.unlock();
     }
   }
 
+  private <T> T readStreaming(RedisInputStream inputStream, StreamingBuilder<T> builder) {
+    readCachingReply(inputStream);
+    // push messages other than invalidations can not be passed to a streaming builder
+    while (Protocol.readPushes(inputStream, cache, false) != null) {
+    }
+    return builder.read(inputStream);
+  }
+
+  private void readCachingReply(RedisInputStream inputStream) {
+    if (cachingReplyPending) {
+      cachingReplyPending = false;
+      try {
+        Protocol.read(inputStream, cache);
+      } catch (JedisDataException e) {
+        // the reply of the command itself would be read as the reply of the next one
+        setBroken();
+        throw e;
+      }
+    }
+  }
+
   @Override
   protected void protocolReadPushes(RedisInputStream inputStream) {
     if (lock.tryLock()) {
       try {
         Protocol.readPushes(inputStream, cache, true);
+        inputStream.shrinkBuffer();
       } finally {
         lock.unlock();
       }
     }
   }
 
+  @Override
+  protected void releaseBuffers() {
+    if (redirected) {
+      super.releaseBuffers();
+      return;
+    }
+    // another thread may be reading pushes from the stream, see validateEntry
+    lock.lock();
+    try {
+      super.releaseBuffers();
+    } finally {
+      lock.unlock();
+    }
+  }
+
   @Override
   public void disconnect() {
     super.disconnect();
-    cache.flush();
+    // the keys read by the other connections are still tracked
+    cache.deleteByConnection(this);
+    pipelinedReads.clear();
+    pipelinedWrites.clear();
+    pipelinedUnkeyedWrite = false;
+    if (listener != null) {
+      listener.release();
+      listener = null;
+      trackingEnabled = false;
+      trackingGeneration = -1;
+    }
   }
 
   @Override
   public <T> T executeCommand(final CommandObject<T> commandObject) {
     final CacheKey cacheKey = new CacheKey(commandObject);
-    if (!cache.isCacheable(cacheKey)) {
+    if (commandObject.getBuilder() instanceof BulkReplyTransfer || !isCacheable(commandObject, cacheKey)) {
       cache.getStats().nonCacheable();
       return super.executeCommand(commandObject);
     }
 
-    CacheEntry<T> cacheEntry = cache.get(cacheKey);
+    final int generation = redirected ? enableRedirectedTracking() : -1;
+    if (redirected && generation < 0) {
+      // invalidations can not be received at the moment
+      cache.getStats().nonCacheable();
+      return super.executeCommand(commandObject);
+    }
+
+    MultiKeyRead<?> multiKeyRead = MultiKeyRead.of(commandObject);
+    if (multiKeyRead != null) {
+      return (T) executeMultiKeyRead(multiKeyRead, generation);
+    }
+
+    Object cached = getCachedValue(cacheKey);
+    if (cached != MISS) {
+      return (T) cached;
+    }
+
+    cachingReplyPending = sendCachingYes();
+    final CacheValueCopier copier = cache.getValueCopier();
+    Object reply = null;
+    T value;
+    if (copier.needsReply()) {
+      reply = executeCommand(commandObject.getArguments());
+      value = commandObject.getBuilder().build(reply);
+    } else {
+      value = super.executeCommand(commandObject);
+    }
+    cacheValue(cacheKey, reply, value, copier, generation);
+    // the cached value is a copy of this one, if the copier makes copies
+    return value;
+  }
+
+  /**
+   * Reads the elements which are not cached, only.
+   */
+  private <E> List<E> executeMultiKeyRead(MultiKeyRead<E> multiKeyRead, int generation) {
+    final List<E> values = new ArrayList<>();
+    final List<Integer> missing = getCachedElements(multiKeyRead, values, false);
+    if (missing.isEmpty()) {
+      return values;
+    }
+
+    cachingReplyPending = sendCachingYes();
+    final CommandObject<List<E>> read = multiKeyRead.getRead(missing);
+    final Object reply = executeCommand(read.getArguments());
+    final List<E> readValues = read.getBuilder().build(reply);
+    cacheElements(multiKeyRead, missing, reply, readValues, generation);
+    for (int i = 0; i < missing.size(); i++) {
+      values.set(missing.get(i), readValues.get(i));
+    }
+    return values;
+  }
+
+  /**
+   * Sends a command of a pipeline, unless its value is cached. The reply of a cacheable command is
+   * cached as soon as it is read, e.g. by {@link #getMany(int)}. The values of the keys written by
+   * the former commands of the pipeline are not read from the cache until their replies are read.
+   *
+   * @return the response of the command, already set if its value is cached
+   */
+  @Experimental
+  public <T> Response<T> sendPipelinedCommand(CommandObject<T> commandObject) {
+    final CommandArguments args = commandObject.getArguments();
+    final CacheKey cacheKey = new CacheKey(commandObject);
+    final boolean cacheable = !(commandObject.getBuilder() instanceof BulkReplyTransfer) && !args.isBlocking()
+        && isCacheable(commandObject, cacheKey);
+    final int generation = cacheable && redirected ? getPipelinedTrackingGeneration() : -1;
+    if (!cacheable || (redirected && generation < 0)) {
+      cache.getStats().nonCacheable();
+      if (!DefaultCacheable.isDefaultCacheableCommand(args.getCommand())) {
+        recordPipelinedWrite(args.getKeys());
+      }
+      sendCommand(args);
+      pipelinedReads.add(PipelinedRead.NOT_CACHED);
+      return new Response<>(commandObject.getBuilder());
+    }
+
+    final boolean written = isWrittenInPipeline(args.getKeys());
+    MultiKeyRead<?> multiKeyRead = MultiKeyRead.of(commandObject);
+    if (multiKeyRead != null) {
+      return (Response<T>) sendPipelinedMultiKeyRead(multiKeyRead, written, generation);
+    }
+
+    Object cached = MISS;
+    if (written) {
+      cache.getStats().miss();
+    } else {
+      cached = getCachedValue(cacheKey);
+    }
+    if (cached != MISS) {
+      Response<T> response = new Response<>((Builder<T>) CACHED_VALUE);
+      response.set(cached);
+      return response;
+    }
+
+    final boolean cachingReply = sendCachingYes();
+    sendCommand(args);
+    pipelinedReads.add(new PipelinedRead(cacheKey, null, null, generation, cachingReply));
+    return new Response<>(commandObject.getBuilder());
+  }
+
+  private <E> Response<List<E>> sendPipelinedMultiKeyRead(MultiKeyRead<E> multiKeyRead, boolean written,
+      int generation) {
+    final List<E> values = new ArrayList<>();
+    final List<Integer> missing = getCachedElements(multiKeyRead, values, written);
+    if (missing.isEmpty()) {
+      Response<List<E>> response = new Response<>((Builder) CACHED_VALUE);
+      response.set(values);
+      return response;
+    }
+
+    final boolean cachingReply = sendCachingYes();
+    final CommandObject<List<E>> read = multiKeyRead.getRead(missing);
+    sendCommand(read.getArguments());
+    pipelinedReads.add(new PipelinedRead(null, multiKeyRead, missing, generation, cachingReply));
+    if (missing.size() == values.size()) {
+      return new Response<>(read.getBuilder());
+    }
+    final Builder<List<E>> builder = read.getBuilder();
+    return new Response<>(new Builder<List<E>>() {
+      @Override
+      public List<E> build(Object data) {
+        List<E> readValues = builder.build(data);
+        List<E> merged = new ArrayList<>(values);
+        for (int i = 0; i < missing.size(); i++) {
+          merged.set(missing.get(i), readValues.get(i));
+        }
+        return merged;
+      }
+    });
+  }
+
+  /**
+   * @return the cached value, or {@link #MISS}
+   */
+  private Object getCachedValue(CacheKey cacheKey) {
+    CacheEntry cacheEntry = cache.get(cacheKey);
     if (cacheEntry != null) { // (probable) CACHE HIT !!
       cacheEntry = validateEntry(cacheEntry);
       if (cacheEntry != null) {
-        // CACHE HIT confirmed !!!
-        cache.getStats().hit();
-        return cacheEntry.getValue();
+        try {
+          Object value = cacheEntry.getValue();
+          // CACHE HIT confirmed !!!
+          cache.getStats().hit();
+          return value;
+        } catch (SlabAllocator.ReleasedBlockException e) {
+          // the entry has been removed while being read
+        }
       }
     }
 
     // CACHE MISS !!
     cache.getStats().miss();
-    T value = super.executeCommand(commandObject);
-    cacheEntry = new CacheEntry<>(cacheKey, value, this);
-    cache.set(cacheKey, cacheEntry);
-    // this line actually provides a deep copy of cached object instance 
-    value = cacheEntry.getValue();
-    return value;
+    return MISS;
+  }
+
+  /**
+   * @param values the values of the elements, {@code null} for the elements which are not cached
+   * @param skip whether the cached values must not be read
+   * @return the indexes of the elements which are not cached
+   */
+  private <E> List<Integer> getCachedElements(MultiKeyRead<E> multiKeyRead, List<E> values, boolean skip) {
+    final List<CacheKey<E>> elementKeys = multiKeyRead.getElementKeys();
+    final List<Integer> missing = new ArrayList<>();
+    for (int i = 0; i < elementKeys.size(); i++) {
+      Object cached = MISS;
+      if (skip) {
+        cache.getStats().miss();
+      } else {
+        cached = getCachedValue(elementKeys.get(i));
+      }
+      if (cached == MISS) {
+        missing.add(i);
+        values.add(null);
+      } else {
+        values.add((E) cached);
+      }
+    }
+    return missing;
+  }
+
+  private <E> void cacheElements(MultiKeyRead<E> multiKeyRead, List<Integer> indexes, Object reply,
+      int generation) {
+    cacheElements(multiKeyRead, indexes, reply, multiKeyRead.getBuilder().build(reply), generation);
+  }
+
+  private <E> void cacheElements(MultiKeyRead<E> multiKeyRead, List<Integer> indexes, Object reply,
+      List<E> values, int generation) {
+    final List<CacheKey<E>> elementKeys = multiKeyRead.getElementKeys();
+    final List<Object> replies = (List<Object>) reply;
+    final CacheValueCopier copier = cache.getValueCopier();
+    for (int i = 0; i < indexes.size(); i++) {
+      final CacheKey<E> elementKey = elementKeys.get(indexes.get(i));
+      // the policy may not allow every key of the command
+      if (isCacheable(multiKeyRead.getCommandObject(), elementKey)) {
+        cacheValue(elementKey, replies.get(i), values.get(i), copier, generation);
+      }
+    }
+  }
+
+  private <T> void cacheValue(CacheKey<T> cacheKey, Object reply, T value, CacheValueCopier copier,
+      int generation) {
+    final InvalidationListener listener = this.listener;
+    if (redirected && (listener == null || listener.getGeneration() != generation)) {
+      // invalidations may have been missed
+      return;
+    }
+    cache.set(cacheKey, new CacheEntry<>(cacheKey, reply, value, this, copier));
+    // the listener changes the generation before flushing the cache, so the value is either flushed
+    // or deleted here if the generation changed while it was set
+    if (redirected && listener.getGeneration() != generation) {
+      cache.delete(cacheKey);
+    }
+  }
+
+  private void cachePipelinedReply(PipelinedRead pipelinedRead, Object reply) {
+    try {
+      if (pipelinedRead.cacheKey != null) {
+        CacheKey cacheKey = pipelinedRead.cacheKey;
+        cacheValue(cacheKey, reply, cacheKey.getBuilder().build(reply), cache.getValueCopier(),
+            pipelinedRead.generation);
+      } else if (pipelinedRead.multiKeyRead != null) {
+        cacheElements(pipelinedRead.multiKeyRead, pipelinedRead.indexes, reply, pipelinedRead.generation);
+      }
+    } catch (JedisCacheException e) {
+      // the reply is only not cached
+      log.warn("Failed to cache a pipelined reply", e);
+    }
+  }
+
+  /**
+   * @return whether {@code CLIENT CACHING yes} has been sent, so that the command sent next is tracked
+   */
+  private boolean sendCachingYes() {
+    if (cache.getClientTracking().getMode() != ClientTracking.Mode.OPTIN) {
+      return false;
+    }
+    sendCommand(Protocol.Command.CLIENT, CACHING_YES);
+    return true;
+  }
+
+  private boolean isWrittenInPipeline(List<Object> keys) {
+    if (pipelinedUnkeyedWrite) {
+      return true;
+    }
+    if (!pipelinedWrites.isEmpty()) {
+      for (Object key : keys) {
+        if (pipelinedWrites.contains(toByteBuffer(key))) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private void recordPipelinedWrite(List<Object> keys) {
+    if (keys.isEmpty()) {
+      // e.g. FLUSHDB, or a script
+      pipelinedUnkeyedWrite = true;
+    }
+    for (Object key : keys) {
+      pipelinedWrites.add(toByteBuffer(key));
+    }
+  }
+
+  private static ByteBuffer toByteBuffer(Object key) {
+    if (key instanceof byte[]) {
+      return ByteBuffer.wrap((byte[]) key);
+    } else if (key instanceof Rawable) {
+      return ByteBuffer.wrap(((Rawable) key).getRaw());
+    }
+    return ByteBuffer.wrap(SafeEncoder.encode(String.valueOf(key)));
+  }
+
+  private boolean isCacheable(CommandObject<?> commandObject, CacheKey cacheKey) {
+    Boolean hint = CacheHint.of(commandObject);
+    if (hint == null) {
+      return cache.isCacheable(cacheKey);
+    }
+    return hint && cache.getClientTracking().tracks(cacheKey);
   }
 
   public Cache getCache() {
@@ -102,18 +518,68 @@ public class CacheConnection extends Connection {
   }
 
   private void initializeClientSideCache() {
-    sendCommand(Protocol.Command.CLIENT, "TRACKING", "ON");
+    sendCommand(Protocol.Command.CLIENT, cache.getClientTracking().getArguments());
     String reply = getStatusCodeReply();
     if (!"OK".equals(reply)) {
       throw new JedisException("Could not enable client tracking. Reply: " + reply);
     }
   }
 
+  /**
+   * Enables the tracking redirected to the listener of the server, again if the listener changed.
+   * @return the generation of the listener, or -1 if the tracking could not be enabled
+   */
+  private int enableRedirectedTracking() {
+    try {
+      if (listener == null) {
+        listener = ((AbstractCache) cache).acquireInvalidationListener(socketFactory, clientConfig);
+      }
+      final int generation = listener.getGeneration();
+      final long clientId = listener.getClientId();
+      if (clientId < 0 || generation != listener.getGeneration()) {
+        return -1;
+      }
+      if (generation != trackingGeneration) {
+        if (trackingEnabled) {
+          trackingEnabled = false;
+          sendCommand(Protocol.Command.CLIENT, "TRACKING", "OFF");
+          getStatusCodeReply();
+        }
+        sendCommand(Protocol.Command.CLIENT, cache.getClientTracking().getArguments(clientId));
+        getStatusCodeReply();
+        trackingEnabled = true;
+        trackingGeneration = generation;
+      }
+      return generation;
+    } catch (JedisDataException e) {
+      // e.g. the listener has just been disconnected
+      return -1;
+    }
+  }
+
+  /**
+   * @return the generation of the listener, or -1 if the tracking can not be enabled as the
+   * replies of a pipeline are to be read first
+   */
+  private int getPipelinedTrackingGeneration() {
+    if (pipelinedReads.isEmpty()) {
+      return enableRedirectedTracking();
+    }
+    final InvalidationListener listener = this.listener;
+    if (listener == null || listener.getClientId() < 0 || listener.getGeneration() != trackingGeneration) {
+      return -1;
+    }
+    return trackingGeneration;
+  }
+
   private CacheEntry validateEntry(CacheEntry cacheEntry) {
     CacheConnection cacheOwner = cacheEntry.getConnection();
     if (cacheOwner == null || cacheOwner.isBroken() || !cacheOwner.isConnected()) {
       cache.delete(cacheEntry.getCacheKey());
       return null;
+    } else if (redirected) {
+      // invalidations are applied by the listener
+      return cacheEntry;
     } else {
       try {
         cacheOwner.readPushesWithCheckingBroken();
@@ -125,4 +591,30 @@ public class CacheConnection extends Connection {
       return cache.get(cacheEntry.getCacheKey());
     }
   }
+
+  /**
+   * A command of a pipeline whose reply is still to be read, and cached if the command is
+   * cacheable.
+   */
+  private static final class PipelinedRead {
+
+    static final PipelinedRead NOT_CACHED = new PipelinedRead(null, null, null, -1, false);
+
+    final CacheKey cacheKey;
+    final MultiKeyRead<?> multiKeyRead;
+    // the elements of the multi-key read which are read
+    final List<Integer> indexes;
+    final int generation;
+    // whether the reply is preceded by the one of CLIENT CACHING yes
+    final boolean cachingReply;
+
+    PipelinedRead(CacheKey cacheKey, MultiKeyRead<?> multiKeyRead, List<Integer> indexes, int generation,
+        boolean cachingReply) {
+      this.cacheKey = cacheKey;
+      this.multiKeyRead = multiKeyRead;
+      this.indexes = indexes;
+      this.generation = generation;
+      this.cachingReply = cachingReply;
+    }
+  }
 }
@@ -1,24 +1,30 @@
 package redis.clients.jedis.csc;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.lang.ref.WeakReference;
 
-import redis.clients.jedis.exceptions.JedisCacheException;
+import redis.clients.jedis.annots.Experimental;
 
 public class CacheEntry<T> {
 
   private final CacheKey<T> cacheKey;
   private final WeakReference<CacheConnection> connection;
-  private final byte[] bytes;
+  private final CacheValueCopier copier;
+  private final Object stored;
 
   public CacheEntry(CacheKey<T> cacheKey, T value, CacheConnection connection) {
+    this(cacheKey, null, value, connection, CacheValueCopier.DEEP_COPY);
+  }
+
+  /**
+   * @param reply the reply as read by {@link redis.clients.jedis.Protocol}, if the copier needs it
+   */
+  @Experimental
+  public CacheEntry(CacheKey<T> cacheKey, Object reply, T value, CacheConnection connection,
+      CacheValueCopier copier) {
     this.cacheKey = cacheKey;
     this.connection = new WeakReference<>(connection);
-    this.bytes = toBytes(value);
+    this.copier = copier;
+    this.stored = copier.store(cacheKey.getBuilder(), reply, value);
   }
 
   public CacheKey<T> getCacheKey() {
@@ -26,31 +32,18 @@ public class CacheEntry<T> {
   }
 
   public T getValue() {
-    return toObject(bytes);
+    return (T) copier.load(stored);
   }
 
   public CacheConnection getConnection() {
     return connection.get();
   }
 
-  private static byte[] toBytes(Object object) {
-    try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        ObjectOutputStream oos = new ObjectOutputStream(baos)) {
-      oos.writeObject(object);
-      oos.flush();
-      oos.close();
-      return baos.toByteArray();
-    } catch (IOException e) {
-      throw new JedisCacheException("Failed to serialize object", e);
-    }
+  CacheValueCopier getCopier() {
+    return copier;
   }
 
-  private T toObject(byte[] data) {
-    try (ByteArrayInputStream bais = new ByteArrayInputStream(data);
-        ObjectInputStream ois = new ObjectInputStream(bais)) {
-      return (T) ois.readObject();
-    } catch (IOException | ClassNotFoundException e) {
-      throw new JedisCacheException("Failed to deserialize object", e);
-    }
+  Object getStored() {
+    return stored;
   }
 }
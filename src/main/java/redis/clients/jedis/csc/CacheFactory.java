@@ -9,13 +9,27 @@ import redis.clients.jedis.exceptions.JedisCacheException;
 public final class CacheFactory {
 
     public static Cache getCache(CacheConfig config) {
+        Cache cache;
         if (config.getCacheClass() == null) {
             if (config.getCacheable() == null) {
                 throw new JedisCacheException("Cacheable is required to create the default cache!");
             }
-            return new DefaultCache(config.getMaxSize(), config.getCacheable(), getEvictionPolicy(config));
+            if (config.getMaxBytes() > 0) {
+                cache = new OffHeapCache(config.getMaxBytes(), getEvictionPolicy(config), config.getCacheable());
+            } else {
+                cache = new DefaultCache(config.getMaxSize(), config.getCacheable(), getEvictionPolicy(config));
+            }
+        } else {
+            cache = instantiateCustomCache(config);
+        }
+        if (config.getValueCopier() != null && cache instanceof AbstractCache
+                && !(cache instanceof OffHeapCache)) {
+            ((AbstractCache) cache).setValueCopier(config.getValueCopier());
+        }
+        if (config.getClientTracking() != null && cache instanceof AbstractCache) {
+            ((AbstractCache) cache).setClientTracking(config.getClientTracking());
         }
-        return instantiateCustomCache(config);
+        return cache;
     }
 
     private static Cache instantiateCustomCache(CacheConfig config) {
@@ -55,8 +69,7 @@ public final class CacheFactory {
 
     private static EvictionPolicy getEvictionPolicy(CacheConfig config) {
         if (config.getEvictionPolicy() == null) {
-            // It will be default to LRUEviction, until we have other eviction implementations
-            return new LRUEviction(config.getMaxSize());
+            return new ConcurrentLRUEviction(config.getMaxSize());
         }
         return config.getEvictionPolicy();
     }
@@ -0,0 +1,50 @@
+package redis.clients.jedis.csc;
+
+import redis.clients.jedis.CommandObject;
+import redis.clients.jedis.annots.Experimental;
+
+/**
+ * Per command hints overriding the {@link Cacheable} policy of a client-side cache, e.g.
+ * {@code jedis.executeCommand(CacheHint.cache(commandObjects.get(key)))}.
+ * <p>
+ * A command hinted to be cached is still not cached if the server would not send the invalidations
+ * of its keys, see {@link ClientTracking}.
+ */
+@Experimental
+public final class CacheHint {
+
+  private CacheHint() {
+    throw new InstantiationError("Must not instantiate this class");
+  }
+
+  /**
+   * @return the command, to be cached
+   */
+  public static <T> CommandObject<T> cache(CommandObject<T> commandObject) {
+    return new Hinted<>(commandObject, true);
+  }
+
+  /**
+   * @return the command, not to be cached
+   */
+  public static <T> CommandObject<T> noCache(CommandObject<T> commandObject) {
+    return new Hinted<>(commandObject, false);
+  }
+
+  /**
+   * @return the hint of the command, or {@code null} if there is none
+   */
+  static Boolean of(CommandObject<?> commandObject) {
+    return commandObject instanceof Hinted ? ((Hinted<?>) commandObject).cache : null;
+  }
+
+  private static final class Hinted<T> extends CommandObject<T> {
+
+    private final boolean cache;
+
+    Hinted(CommandObject<T> commandObject, boolean cache) {
+      super(commandObject.getArguments(), commandObject.getBuilder());
+      this.cache = cache;
+    }
+  }
+}
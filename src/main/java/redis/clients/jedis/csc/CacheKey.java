@@ -3,6 +3,7 @@ package redis.clients.jedis.csc;
 import java.util.List;
 import java.util.Objects;
 
+import redis.clients.jedis.Builder;
 import redis.clients.jedis.CommandObject;
 import redis.clients.jedis.commands.ProtocolCommand;
 
@@ -31,6 +32,14 @@ public class CacheKey<T> {
     return command.getArguments().getKeys();
   }
 
+  CommandObject<T> getCommandObject() {
+    return command;
+  }
+
+  Builder<T> getBuilder() {
+    return command.getBuilder();
+  }
+
   public ProtocolCommand getRedisCommand() {
     return command.getArguments().getCommand();
   }
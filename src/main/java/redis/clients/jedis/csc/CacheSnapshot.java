@@ -0,0 +1,252 @@
+package redis.clients.jedis.csc;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import redis.clients.jedis.Builder;
+import redis.clients.jedis.BuilderFactory;
+import redis.clients.jedis.CommandArguments;
+import redis.clients.jedis.CommandObject;
+import redis.clients.jedis.Protocol.Command;
+import redis.clients.jedis.annots.Experimental;
+import redis.clients.jedis.args.Rawable;
+import redis.clients.jedis.args.RawableFactory.Raw;
+import redis.clients.jedis.args.RawableFactory.RawString;
+import redis.clients.jedis.commands.ProtocolCommand;
+import redis.clients.jedis.exceptions.JedisCacheException;
+import redis.clients.jedis.json.JsonBuilderFactory;
+import redis.clients.jedis.json.JsonProtocol.JsonCommand;
+import redis.clients.jedis.timeseries.TimeSeriesBuilderFactory;
+import redis.clients.jedis.timeseries.TimeSeriesProtocol.TimeSeriesCommand;
+import redis.clients.jedis.util.SafeEncoder;
+import redis.clients.jedis.util.SnapshotFiles;
+
+/**
+ * A snapshot of the entries of a client-side cache, so that a restarted application does not start
+ * with an empty cache.
+ * <p>
+ * Only the commands of the entries are kept, not their values: once the application is stopped, the
+ * server does not track the keys anymore and the values can not be trusted. The commands are read
+ * again instead, see {@link redis.clients.jedis.UnifiedJedis#restoreCacheSnapshot(Path)}, which
+ * caches their values as any other read. The entries whose command or builder is not one of the
+ * library are not kept.
+ */
+@Experimental
+public final class CacheSnapshot {
+
+  // "JCSC"
+  private static final int MAGIC = 0x4A435343;
+
+  // the kinds of arguments
+  private static final byte RAW = 0;
+  private static final byte STRING = 1;
+  private static final byte KEYWORD = 2;
+
+  private static final Map<Builder<?>, String> BUILDER_NAMES = new IdentityHashMap<>();
+  private static final Map<String, Builder<?>> BUILDERS = new HashMap<>();
+  private static final Map<String, ProtocolCommand> COMMANDS = new HashMap<>();
+
+  static {
+    registerBuilders(BuilderFactory.class);
+    registerBuilders(JsonBuilderFactory.class);
+    registerBuilders(TimeSeriesBuilderFactory.class);
+    registerCommands(Command.values());
+    registerCommands(JsonCommand.values());
+    registerCommands(TimeSeriesCommand.values());
+  }
+
+  private CacheSnapshot() {
+    throw new InstantiationError("Must not instantiate this class");
+  }
+
+  /**
+   * @return the number of commands written
+   */
+  public static int write(Cache cache, Path file) {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    final DataOutputStream out = new DataOutputStream(bytes);
+    int count = 0;
+    try {
+      for (CacheEntry entry : cache.getCacheEntries()) {
+        if (write(entry.getCacheKey().getCommandObject(), out)) {
+          count++;
+        }
+      }
+      // the number of commands ends the body, which is written in one pass
+      out.writeInt(count);
+    } catch (IOException e) {
+      throw new JedisCacheException("Failed to encode cache snapshot", e);
+    }
+    SnapshotFiles.write(file, MAGIC, bytes.toByteArray());
+    return count;
+  }
+
+  /**
+   * @param commandArguments creates the arguments of a command, e.g. for a cluster
+   * @return the commands of the snapshot, or an empty list if there is no file
+   */
+  public static List<CommandObject<?>> read(Path file, Function<ProtocolCommand, CommandArguments> commandArguments) {
+    final ByteBuffer in = SnapshotFiles.read(file, MAGIC);
+    if (in == null) {
+      return new ArrayList<>();
+    }
+    final int count = in.getInt(in.limit() - 4);
+    final List<CommandObject<?>> commandObjects = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      final Builder<?> builder = BUILDERS.get(SafeEncoder.encode(SnapshotFiles.readBytes(in)));
+      final ProtocolCommand command = COMMANDS.get(SafeEncoder.encode(SnapshotFiles.readBytes(in)));
+      final int size = in.getInt();
+      final boolean[] isKey = new boolean[size];
+      final Object[] values = new Object[size];
+      boolean known = builder != null && command != null;
+      for (int j = 0; j < size; j++) {
+        isKey[j] = in.get() != 0;
+        final byte kind = in.get();
+        final byte[] raw = SnapshotFiles.readBytes(in);
+        if (kind == RAW) {
+          values[j] = raw;
+        } else if (kind == STRING) {
+          values[j] = SafeEncoder.encode(raw);
+        } else {
+          values[j] = keyword(SafeEncoder.encode(raw), SafeEncoder.encode(SnapshotFiles.readBytes(in)));
+          known &= values[j] != null;
+        }
+      }
+      // unless written by another version of the library
+      if (known) {
+        final CommandArguments args = commandArguments.apply(command);
+        for (int j = 0; j < size; j++) {
+          if (isKey[j]) {
+            args.key(values[j]);
+          } else {
+            args.add(values[j]);
+          }
+        }
+        commandObjects.add(new CommandObject<>(args, builder));
+      }
+    }
+    return commandObjects;
+  }
+
+  /**
+   * Writes the builder, the command, then the arguments each flagged if it is a key. The kind of
+   * each argument is kept, as the arguments of equal commands must be of the same class.
+   */
+  private static boolean write(CommandObject<?> commandObject, DataOutputStream out) throws IOException {
+    final String builder = BUILDER_NAMES.get(commandObject.getBuilder());
+    final CommandArguments args = commandObject.getArguments();
+    if (builder == null || !COMMANDS.containsKey(SafeEncoder.encode(args.getCommand().getRaw()))) {
+      return false;
+    }
+    final List<Object> keys = args.getKeys();
+    final Rawable[] rawables = new Rawable[args.size() - 1];
+    final boolean[] isKey = new boolean[rawables.length];
+    final Iterator<Rawable> it = args.iterator();
+    it.next();
+    int k = 0;
+    for (int i = 0; i < rawables.length; i++) {
+      rawables[i] = it.next();
+      if (kindOf(rawables[i]) < 0) {
+        return false;
+      }
+      // the keys are in the order of the arguments
+      if (k < keys.size() && Arrays.equals(rawables[i].getRaw(), toBytes(keys.get(k)))) {
+        isKey[i] = true;
+        k++;
+      }
+    }
+    if (k < keys.size()) {
+      return false;
+    }
+    writeBytes(out, SafeEncoder.encode(builder));
+    writeBytes(out, args.getCommand().getRaw());
+    out.writeInt(rawables.length);
+    for (int i = 0; i < rawables.length; i++) {
+      final byte kind = kindOf(rawables[i]);
+      out.writeByte(isKey[i] ? 1 : 0);
+      out.writeByte(kind);
+      if (kind == KEYWORD) {
+        writeBytes(out, SafeEncoder.encode(((Enum<?>) rawables[i]).getDeclaringClass().getName()));
+        writeBytes(out, SafeEncoder.encode(((Enum<?>) rawables[i]).name()));
+      } else {
+        writeBytes(out, rawables[i].getRaw());
+      }
+    }
+    return true;
+  }
+
+  private static byte kindOf(Rawable rawable) {
+    if (rawable.getClass() == Raw.class) {
+      return RAW;
+    } else if (rawable.getClass() == RawString.class) {
+      return STRING;
+    } else if (rawable instanceof Enum) {
+      return KEYWORD;
+    }
+    return -1;
+  }
+
+  /**
+   * @return the constant of the enum, or {@code null} if it is not known
+   */
+  private static Rawable keyword(String className, String name) {
+    try {
+      Class<?> type = Class.forName(className);
+      if (!type.isEnum() || !Rawable.class.isAssignableFrom(type)) {
+        return null;
+      }
+      return (Rawable) Enum.valueOf((Class) type, name);
+    } catch (ClassNotFoundException | IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static byte[] toBytes(Object key) {
+    if (key instanceof byte[]) {
+      return (byte[]) key;
+    } else if (key instanceof Rawable) {
+      return ((Rawable) key).getRaw();
+    } else {
+      return SafeEncoder.encode(String.valueOf(key));
+    }
+  }
+
+  private static void registerBuilders(Class<?> factory) {
+    for (Field field : factory.getFields()) {
+      if (Modifier.isStatic(field.getModifiers()) && Builder.class.isAssignableFrom(field.getType())) {
+        final String name = factory.getSimpleName() + "." + field.getName();
+        try {
+          final Builder<?> builder = (Builder<?>) field.get(null);
+          BUILDER_NAMES.putIfAbsent(builder, name);
+          BUILDERS.put(name, builder);
+        } catch (IllegalAccessException e) {
+          // not a builder of the snapshots
+        }
+      }
+    }
+  }
+
+  private static void registerCommands(ProtocolCommand[] commands) {
+    for (ProtocolCommand command : commands) {
+      COMMANDS.put(SafeEncoder.encode(command.getRaw()), command);
+    }
+  }
+}
@@ -45,6 +45,10 @@ public class CacheStats {
         invalidationMessages.incrementAndGet();
     }
 
+    protected void invalidationMessages(long count) {
+        invalidationMessages.addAndGet(count);
+    }
+
     public long getHitCount() {
         return hits.get();
     }
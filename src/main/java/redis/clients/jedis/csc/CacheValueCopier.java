@@ -0,0 +1,59 @@
+package redis.clients.jedis.csc;
+
+import redis.clients.jedis.Builder;
+import redis.clients.jedis.annots.Experimental;
+
+/**
+ * Decides how a {@link CacheEntry} keeps its value, and how the value returned by each cache hit is
+ * made from it. Values returned by the cache may be mutable, so unless they are shared, each hit
+ * gets its own copy.
+ */
+@Experimental
+public interface CacheValueCopier {
+
+  /**
+   * Values are shared by all the hits, without copying. Only safe if callers never modify them.
+   */
+  CacheValueCopier SHARE = new CacheValueCopiers.Share();
+
+  /**
+   * Values are copied. Immutable values like strings and numbers are shared; byte arrays and the
+   * lists, sets and maps of the JDK are copied element by element; other values go through Java
+   * serialization.
+   */
+  CacheValueCopier DEEP_COPY = new CacheValueCopiers.DeepCopy();
+
+  /**
+   * Values are kept serialized, and deserialized on each hit.
+   */
+  CacheValueCopier SERIALIZE = new CacheValueCopiers.Serialize();
+
+  /**
+   * The reply of the server is kept, and built again on each hit by the {@link Builder} of the
+   * command. Values of replies which have not been read as a whole, e.g. by a
+   * {@link redis.clients.jedis.StreamingBuilder}, are deep copied instead.
+   */
+  CacheValueCopier REBUILD = new CacheValueCopiers.Rebuild();
+
+  /**
+   * @param builder the builder of the cached command
+   * @param reply the reply as read by {@link redis.clients.jedis.Protocol}, {@code null} unless
+   * {@link #needsReply()}
+   * @param value the value built from the reply
+   * @return what the cache entry keeps
+   */
+  Object store(Builder<?> builder, Object reply, Object value);
+
+  /**
+   * @param stored what {@link #store(Builder, Object, Object)} returned
+   * @return the value for a cache hit
+   */
+  Object load(Object stored);
+
+  /**
+   * @return whether {@link #store(Builder, Object, Object)} needs the reply of the server
+   */
+  default boolean needsReply() {
+    return false;
+  }
+}
@@ -0,0 +1,219 @@
+package redis.clients.jedis.csc;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import redis.clients.jedis.Builder;
+import redis.clients.jedis.exceptions.JedisCacheException;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.util.KeyValue;
+import redis.clients.jedis.util.LazyDecodedList;
+import redis.clients.jedis.util.LazyDecodedMap;
+
+/**
+ * Implementations of {@link CacheValueCopier}.
+ */
+final class CacheValueCopiers {
+
+  private CacheValueCopiers() {
+    throw new InstantiationError("Must not instantiate this class");
+  }
+
+  static final class Share implements CacheValueCopier {
+
+    @Override
+    public Object store(Builder<?> builder, Object reply, Object value) {
+      return value;
+    }
+
+    @Override
+    public Object load(Object stored) {
+      return stored;
+    }
+  }
+
+  static final class DeepCopy implements CacheValueCopier {
+
+    @Override
+    public Object store(Builder<?> builder, Object reply, Object value) {
+      Object copy = copy(value);
+      // values which can not be copied are kept serialized
+      return copy != NOT_COPYABLE ? copy : new Serialized(Serialize.toBytes(value));
+    }
+
+    @Override
+    public Object load(Object stored) {
+      if (stored instanceof Serialized) {
+        return Serialize.toObject(((Serialized) stored).bytes);
+      }
+      return copy(stored);
+    }
+  }
+
+  static final class Serialize implements CacheValueCopier {
+
+    @Override
+    public Object store(Builder<?> builder, Object reply, Object value) {
+      return toBytes(value);
+    }
+
+    @Override
+    public Object load(Object stored) {
+      return toObject((byte[]) stored);
+    }
+
+    static byte[] toBytes(Object object) {
+      try (ByteArrayOutputStream baos = new ByteArrayOutputStream();
+          ObjectOutputStream oos = new ObjectOutputStream(baos)) {
+        oos.writeObject(object);
+        oos.flush();
+        oos.close();
+        return baos.toByteArray();
+      } catch (IOException e) {
+        throw new JedisCacheException("Failed to serialize object", e);
+      }
+    }
+
+    static Object toObject(byte[] data) {
+      try (ByteArrayInputStream bais = new ByteArrayInputStream(data);
+          ObjectInputStream ois = new ObjectInputStream(bais)) {
+        return ois.readObject();
+      } catch (IOException | ClassNotFoundException e) {
+        throw new JedisCacheException("Failed to deserialize object", e);
+      }
+    }
+  }
+
+  static final class Rebuild implements CacheValueCopier {
+
+    @Override
+    public Object store(Builder<?> builder, Object reply, Object value) {
+      Object copy = reply == null ? NOT_COPYABLE : copy(reply);
+      if (copy == NOT_COPYABLE) {
+        return new Copied(CacheValueCopier.DEEP_COPY.store(builder, null, value));
+      }
+      return new Reply(builder, copy);
+    }
+
+    @Override
+    public Object load(Object stored) {
+      if (stored instanceof Copied) {
+        return CacheValueCopier.DEEP_COPY.load(((Copied) stored).stored);
+      }
+      Reply reply = (Reply) stored;
+      return reply.builder.build(copy(reply.reply));
+    }
+
+    @Override
+    public boolean needsReply() {
+      return true;
+    }
+  }
+
+  private static final class Serialized {
+    private final byte[] bytes;
+
+    Serialized(byte[] bytes) {
+      this.bytes = bytes;
+    }
+  }
+
+  private static final class Reply {
+    private final Builder<?> builder;
+    private final Object reply;
+
+    Reply(Builder<?> builder, Object reply) {
+      this.builder = builder;
+      this.reply = reply;
+    }
+  }
+
+  private static final class Copied {
+    private final Object stored;
+
+    Copied(Object stored) {
+      this.stored = stored;
+    }
+  }
+
+  private static final Object NOT_COPYABLE = new Object();
+
+  /**
+   * @return a copy which shares nothing mutable with the value, or {@link #NOT_COPYABLE}
+   */
+  private static Object copy(Object value) {
+    if (value == null || value instanceof String || value instanceof Long || value instanceof Double
+        || value instanceof Integer || value instanceof Boolean || value instanceof BigInteger
+        || value instanceof BigDecimal || value instanceof Enum || value instanceof JedisDataException) {
+      return value;
+    }
+    if (value instanceof byte[]) {
+      return ((byte[]) value).clone();
+    }
+    if (value == Collections.EMPTY_LIST || value == Collections.EMPTY_SET || value == Collections.EMPTY_MAP) {
+      return value;
+    }
+
+    final Class<?> type = value.getClass();
+    if (type == ArrayList.class) {
+      return copyElements((Collection<?>) value, new ArrayList<>(((Collection<?>) value).size()));
+    } else if (type == HashSet.class) {
+      return copyElements((Collection<?>) value, new HashSet<>(((Collection<?>) value).size()));
+    } else if (type == LinkedHashSet.class) {
+      return copyElements((Collection<?>) value, new LinkedHashSet<>(((Collection<?>) value).size()));
+    } else if (type == HashMap.class) {
+      return copyEntries((Map<?, ?>) value, new HashMap<>(((Map<?, ?>) value).size()));
+    } else if (type == LinkedHashMap.class) {
+      return copyEntries((Map<?, ?>) value, new LinkedHashMap<>(((Map<?, ?>) value).size()));
+    } else if (type == LazyDecodedList.class) {
+      // the elements not decoded yet are copied as they are
+      Object copy = ((LazyDecodedList<?>) value).copy(CacheValueCopiers::copy, NOT_COPYABLE);
+      return copy != null ? copy : NOT_COPYABLE;
+    } else if (type == LazyDecodedMap.class) {
+      Object copy = ((LazyDecodedMap<?>) value).copy(CacheValueCopiers::copy, NOT_COPYABLE);
+      return copy != null ? copy : NOT_COPYABLE;
+    } else if (type == KeyValue.class) {
+      Object key = copy(((KeyValue<?, ?>) value).getKey());
+      Object val = copy(((KeyValue<?, ?>) value).getValue());
+      return key == NOT_COPYABLE || val == NOT_COPYABLE ? NOT_COPYABLE : new KeyValue<>(key, val);
+    }
+    return NOT_COPYABLE;
+  }
+
+  private static Object copyElements(Collection<?> source, Collection<Object> target) {
+    for (Object element : source) {
+      Object copy = copy(element);
+      if (copy == NOT_COPYABLE) {
+        return NOT_COPYABLE;
+      }
+      target.add(copy);
+    }
+    return target;
+  }
+
+  private static Object copyEntries(Map<?, ?> source, Map<Object, Object> target) {
+    for (Map.Entry<?, ?> entry : source.entrySet()) {
+      Object key = copy(entry.getKey());
+      Object value = copy(entry.getValue());
+      if (key == NOT_COPYABLE || value == NOT_COPYABLE) {
+        return NOT_COPYABLE;
+      }
+      target.put(key, value);
+    }
+    return target;
+  }
+}
@@ -0,0 +1,192 @@
+package redis.clients.jedis.csc;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import redis.clients.jedis.annots.Experimental;
+import redis.clients.jedis.util.SafeEncoder;
+
+/**
+ * How the server tracks the keys of a client-side cache, i.e. the options of
+ * {@code CLIENT TRACKING ON} sent by each {@link CacheConnection}.
+ */
+@Experimental
+public final class ClientTracking {
+
+  public enum Mode {
+    /**
+     * The server remembers the keys read by each connection, and only invalidates those.
+     */
+    DEFAULT,
+    /**
+     * The server remembers nothing, and broadcasts the invalidation of every key matching one of
+     * the prefixes, or of any key if there is no prefix. Only keys matching a prefix are cached.
+     */
+    BCAST,
+    /**
+     * The server only remembers the keys read by the commands which are cached, each of them being
+     * preceded by {@code CLIENT CACHING yes}.
+     */
+    OPTIN
+  }
+
+  public static final ClientTracking DEFAULT = new ClientTracking(Mode.DEFAULT, Collections.emptyList(), false);
+
+  private final Mode mode;
+  private final List<byte[]> prefixes;
+  private final boolean redirected;
+  // prefixes by length, so that a key is matched with one lookup per distinct length
+  private final Map<Integer, Set<ByteBuffer>> prefixIndex = new HashMap<>();
+  private final int[] prefixLengths;
+
+  private ClientTracking(Mode mode, List<byte[]> prefixes, boolean redirected) {
+    this.mode = mode;
+    this.prefixes = Collections.unmodifiableList(prefixes);
+    this.redirected = redirected;
+    for (byte[] prefix : prefixes) {
+      prefixIndex.computeIfAbsent(prefix.length, l -> new HashSet<>()).add(ByteBuffer.wrap(prefix));
+    }
+    this.prefixLengths = prefixIndex.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+  }
+
+  /**
+   * Opt-in mode.
+   */
+  public static ClientTracking optIn() {
+    return new ClientTracking(Mode.OPTIN, Collections.emptyList(), false);
+  }
+
+  /**
+   * Broadcasting mode over all keys.
+   */
+  public static ClientTracking broadcast() {
+    return new ClientTracking(Mode.BCAST, Collections.emptyList(), false);
+  }
+
+  /**
+   * Broadcasting mode over the given prefixes.
+   */
+  public static ClientTracking broadcast(String... prefixes) {
+    List<byte[]> encoded = new ArrayList<>(prefixes.length);
+    for (String prefix : prefixes) {
+      encoded.add(SafeEncoder.encode(prefix));
+    }
+    return new ClientTracking(Mode.BCAST, encoded, false);
+  }
+
+  /**
+   * Broadcasting mode over the given prefixes.
+   */
+  public static ClientTracking broadcast(byte[]... prefixes) {
+    List<byte[]> copies = new ArrayList<>(prefixes.length);
+    for (byte[] prefix : prefixes) {
+      copies.add(Arrays.copyOf(prefix, prefix.length));
+    }
+    return new ClientTracking(Mode.BCAST, copies, false);
+  }
+
+  /**
+   * The same tracking, with the invalidations sent to a dedicated connection to each server
+   * ({@code REDIRECT}) rather than pushed to the connections reading the keys. Connections reading
+   * data then do not need RESP3, and do not check for invalidations before each read; entries are
+   * invalidated asynchronously instead.
+   */
+  public ClientTracking redirected() {
+    return new ClientTracking(mode, prefixes, true);
+  }
+
+  public Mode getMode() {
+    return mode;
+  }
+
+  public List<byte[]> getPrefixes() {
+    return prefixes;
+  }
+
+  public boolean isRedirected() {
+    return redirected;
+  }
+
+  /**
+   * @return whether the invalidations of the key are sent by the server
+   */
+  public boolean tracks(byte[] key) {
+    if (mode != Mode.BCAST || prefixLengths.length == 0) {
+      return true;
+    }
+    for (int length : prefixLengths) {
+      if (length > key.length) {
+        break;
+      }
+      if (prefixIndex.get(length).contains(ByteBuffer.wrap(key, 0, length))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return whether the invalidations of all the keys of the entry are sent by the server
+   */
+  boolean tracks(CacheKey cacheKey) {
+    if (mode != Mode.BCAST || prefixLengths.length == 0) {
+      return true;
+    }
+    for (Object redisKey : cacheKey.getRedisKeys()) {
+      if (!tracks(redisKey instanceof byte[] ? (byte[]) redisKey : SafeEncoder.encode((String) redisKey))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return the arguments of {@code CLIENT} enabling the tracking
+   */
+  byte[][] getArguments() {
+    return getArguments(-1);
+  }
+
+  /**
+   * @param redirectId the id of the client receiving the invalidations, if redirected
+   * @return the arguments of {@code CLIENT} enabling the tracking
+   */
+  byte[][] getArguments(long redirectId) {
+    List<byte[]> args = new ArrayList<>();
+    args.add(SafeEncoder.encode("TRACKING"));
+    args.add(SafeEncoder.encode("ON"));
+    if (redirected) {
+      args.add(SafeEncoder.encode("REDIRECT"));
+      args.add(SafeEncoder.encode(String.valueOf(redirectId)));
+    }
+    if (mode == Mode.BCAST) {
+      args.add(SafeEncoder.encode("BCAST"));
+      for (byte[] prefix : prefixes) {
+        args.add(SafeEncoder.encode("PREFIX"));
+        args.add(prefix);
+      }
+    } else if (mode == Mode.OPTIN) {
+      args.add(SafeEncoder.encode("OPTIN"));
+    }
+    return args.toArray(new byte[0][]);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder(mode.name());
+    for (byte[] prefix : prefixes) {
+      sb.append(' ').append(SafeEncoder.encode(prefix));
+    }
+    if (redirected) {
+      sb.append(" REDIRECT");
+    }
+    return sb.toString();
+  }
+}
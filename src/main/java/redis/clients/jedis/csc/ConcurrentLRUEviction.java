@@ -0,0 +1,186 @@
+package redis.clients.jedis.csc;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import redis.clients.jedis.annots.Experimental;
+
+/**
+ * L(east) R(ecently) U(sed) eviction policy which can be touched by many threads at once.
+ * <p>
+ * The access order is kept in a structure guarded by a lock, but touching a key does not wait for
+ * it. A key which is not known yet is queued to be added, so that it is always eventually tracked.
+ * Accesses to known keys are recorded in per thread stripes of a lossy ring buffer: under contention,
+ * some of them may be overwritten before being applied, which only makes the order approximate.
+ * Buffers are applied when the lock is free, and always before choosing the next key to evict.
+ */
+@Experimental
+public class ConcurrentLRUEviction implements EvictionPolicy {
+
+  private static final int STRIPES = ceilingPowerOfTwo(Runtime.getRuntime().availableProcessors());
+  private static final int BUFFER_SIZE = 128;
+  private static final int DRAIN_THRESHOLD = 32;
+
+  private Cache cache;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final LinkedHashMap<CacheKey, Boolean> order;
+  private final Set<CacheKey> known = ConcurrentHashMap.newKeySet();
+  private final ConcurrentLinkedQueue<CacheKey> added = new ConcurrentLinkedQueue<>();
+  private final ReadBuffer[] buffers = new ReadBuffer[STRIPES];
+
+  public ConcurrentLRUEviction(int initialCapacity) {
+    this.order = new LinkedHashMap<>(initialCapacity, 0.75f, true);
+    for (int i = 0; i < STRIPES; i++) {
+      buffers[i] = new ReadBuffer();
+    }
+  }
+
+  @Override
+  public void setCache(Cache cache) {
+    this.cache = cache;
+  }
+
+  @Override
+  public Cache getCache() {
+    return this.cache;
+  }
+
+  @Override
+  public EvictionType getType() {
+    return EvictionType.AGE;
+  }
+
+  @Override
+  public String getName() {
+    return "Concurrent L(east) R(ecently) U(sed)";
+  }
+
+  @Override
+  public CacheKey evictNext() {
+    lock.lock();
+    try {
+      drain();
+      while (!order.isEmpty()
+          && (order.size() > cache.getMaxSize() || cache.getSize() > cache.getMaxSize())) {
+        Iterator<CacheKey> eldest = order.keySet().iterator();
+        CacheKey cacheKey = eldest.next();
+        eldest.remove();
+        known.remove(cacheKey);
+        if (cache.hasCacheKey(cacheKey)) {
+          return cacheKey;
+        }
+      }
+      return null;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public List<CacheKey> evictMany(int n) {
+    List<CacheKey> result = new ArrayList<>();
+    for (int i = 0; i < n; i++) {
+      result.add(this.evictNext());
+    }
+    return result;
+  }
+
+  @Override
+  public void touch(CacheKey cacheKey) {
+    boolean drainRequired;
+    if (known.add(cacheKey)) {
+      added.offer(cacheKey);
+      drainRequired = true;
+    } else {
+      drainRequired = buffers[(int) Thread.currentThread().getId() & (STRIPES - 1)].offer(cacheKey);
+    }
+    if (drainRequired && lock.tryLock()) {
+      try {
+        drain();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  @Override
+  public boolean reset(CacheKey cacheKey) {
+    if (!known.remove(cacheKey)) {
+      return false;
+    }
+    lock.lock();
+    try {
+      order.remove(cacheKey);
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int resetAll() {
+    lock.lock();
+    try {
+      drain();
+      int result = order.size();
+      order.clear();
+      known.clear();
+      return result;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Applies the queued additions and the buffered accesses. Must be called with the lock held.
+   */
+  private void drain() {
+    CacheKey cacheKey;
+    while ((cacheKey = added.poll()) != null) {
+      // a key which has been reset in the meantime is not tracked anymore
+      if (known.contains(cacheKey)) {
+        order.put(cacheKey, Boolean.TRUE);
+      }
+    }
+    for (ReadBuffer buffer : buffers) {
+      buffer.drainTo(order);
+    }
+  }
+
+  private static int ceilingPowerOfTwo(int n) {
+    return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+  }
+
+  private static final class ReadBuffer {
+
+    private final AtomicReferenceArray<CacheKey> slots = new AtomicReferenceArray<>(BUFFER_SIZE);
+    private final AtomicLong writes = new AtomicLong();
+
+    /**
+     * @return {@code true} if the buffer should be drained
+     */
+    boolean offer(CacheKey cacheKey) {
+      long index = writes.getAndIncrement();
+      slots.lazySet((int) (index & (BUFFER_SIZE - 1)), cacheKey);
+      return (index & (DRAIN_THRESHOLD - 1)) == DRAIN_THRESHOLD - 1;
+    }
+
+    void drainTo(LinkedHashMap<CacheKey, Boolean> order) {
+      for (int i = 0; i < BUFFER_SIZE; i++) {
+        CacheKey cacheKey = slots.getAndSet(i, null);
+        if (cacheKey != null) {
+          order.get(cacheKey); // moves a tracked key to the tail
+        }
+      }
+    }
+  }
+}
@@ -1,33 +1,40 @@
 package redis.clients.jedis.csc;
 
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+/**
+ * The default cache, storing its entries in a {@link ConcurrentHashMap} unless another map is
+ * given. A map which is not a {@link ConcurrentMap} is synchronized.
+ */
 public class DefaultCache extends AbstractCache {
 
     protected final Map<CacheKey, CacheEntry> cache;
     private final EvictionPolicy evictionPolicy;
 
     protected DefaultCache(int maximumSize) {
-        this(maximumSize, new HashMap<CacheKey, CacheEntry>());
+        this(maximumSize, new ConcurrentHashMap<CacheKey, CacheEntry>());
     }
 
     protected DefaultCache(int maximumSize, Map<CacheKey, CacheEntry> map) {
-        this(maximumSize, map, DefaultCacheable.INSTANCE, new LRUEviction(maximumSize));
+        this(maximumSize, map, DefaultCacheable.INSTANCE, new ConcurrentLRUEviction(maximumSize));
     }
 
     protected DefaultCache(int maximumSize, Cacheable cacheable) {
-        this(maximumSize, new HashMap<CacheKey, CacheEntry>(), cacheable, new LRUEviction(maximumSize));
+        this(maximumSize, new ConcurrentHashMap<CacheKey, CacheEntry>(), cacheable, new ConcurrentLRUEviction(maximumSize));
     }
 
     protected DefaultCache(int maximumSize, Cacheable cacheable, EvictionPolicy evictionPolicy) {
-        this(maximumSize, new HashMap<CacheKey, CacheEntry>(), cacheable, evictionPolicy);
+        this(maximumSize, new ConcurrentHashMap<CacheKey, CacheEntry>(), cacheable, evictionPolicy);
     }
 
     protected DefaultCache(int maximumSize, Map<CacheKey, CacheEntry> map, Cacheable cacheable, EvictionPolicy evictionPolicy) {
         super(maximumSize, cacheable);
-        this.cache = map;
+        // entries of different keys are stored concurrently
+        this.cache = map instanceof ConcurrentMap ? map : Collections.synchronizedMap(map);
         this.evictionPolicy = evictionPolicy;
         this.evictionPolicy.setCache(this);
     }
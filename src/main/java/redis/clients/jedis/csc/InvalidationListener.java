@@ -0,0 +1,268 @@
+package redis.clients.jedis.csc;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import redis.clients.jedis.CommandArguments;
+import redis.clients.jedis.Connection;
+import redis.clients.jedis.JedisClientConfig;
+import redis.clients.jedis.JedisSocketFactory;
+import redis.clients.jedis.Protocol;
+import redis.clients.jedis.exceptions.JedisException;
+import redis.clients.jedis.util.SafeEncoder;
+
+/**
+ * A connection to one server receiving the invalidations of the keys tracked by the
+ * {@link CacheConnection}s redirecting their tracking to it, and applying them to the cache from its
+ * own thread.
+ * <p>
+ * If the connection fails, or a message can not be applied, invalidations may have been missed: the
+ * cache is flushed and the connection is opened again, under a new client id. The generation
+ * changes on both occasions, so that connections know when their tracking has to be enabled again,
+ * and that a value read while it changed is not cached.
+ * <p>
+ * The connection is pinged when it is idle, and considered failed if nothing is received for two
+ * health check intervals, so that a silent network partition does not lose invalidations forever.
+ */
+final class InvalidationListener implements Runnable {
+
+  private static final Logger log = LoggerFactory.getLogger(InvalidationListener.class);
+
+  private static final String CHANNEL = "__redis__:invalidate";
+  private static final byte[] MESSAGE = SafeEncoder.encode("message");
+  private static final byte[] INVALIDATE = SafeEncoder.encode("invalidate");
+  private static final long MAX_RECONNECT_DELAY_MILLIS = 1000;
+  private static final long HEALTH_CHECK_INTERVAL_MILLIS = 5000;
+
+  private static final ScheduledExecutorService HEALTH_CHECKS =
+      Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "jedis-invalidation-health-check");
+        thread.setDaemon(true);
+        return thread;
+      });
+
+  private final JedisSocketFactory socketFactory;
+  private final JedisClientConfig clientConfig;
+  private final Cache cache;
+  private final Map<JedisSocketFactory, InvalidationListener> registry;
+
+  private volatile Connection connection;
+  private volatile long clientId = -1;
+  private volatile int generation;
+  private volatile boolean closed;
+  private volatile long lastReceivedNanos;
+  private ScheduledFuture<?> healthCheck;
+  private int users;
+
+  private InvalidationListener(JedisSocketFactory socketFactory, JedisClientConfig clientConfig, Cache cache,
+      Map<JedisSocketFactory, InvalidationListener> registry) {
+    this.socketFactory = socketFactory;
+    this.clientConfig = clientConfig;
+    this.cache = cache;
+    this.registry = registry;
+  }
+
+  /**
+   * @param registry the listeners of a cache, guarded by itself
+   * @return the listener of the server, started if it was not; it is connected, unless the server
+   * can not be reached, in which case it keeps connecting from its own thread
+   */
+  static InvalidationListener acquire(Map<JedisSocketFactory, InvalidationListener> registry,
+      JedisSocketFactory socketFactory, JedisClientConfig clientConfig, Cache cache) {
+    InvalidationListener listener;
+    boolean created = false;
+    synchronized (registry) {
+      listener = registry.get(socketFactory);
+      if (listener == null) {
+        listener = new InvalidationListener(socketFactory, clientConfig, cache, registry);
+        registry.put(socketFactory, listener);
+        created = true;
+      }
+      listener.users++;
+    }
+    if (created) {
+      // connecting outside of the lock, the other servers' listeners are acquired meanwhile
+      listener.start();
+    }
+    return listener;
+  }
+
+  private void start() {
+    try {
+      connect();
+    } catch (JedisException e) {
+      log.debug("Failed to connect the invalidation listener, retrying", e);
+    }
+    Thread thread = new Thread(this, "jedis-invalidation-listener");
+    thread.setDaemon(true);
+    thread.start();
+    synchronized (registry) {
+      if (!closed) {
+        healthCheck = HEALTH_CHECKS.scheduleWithFixedDelay(this::checkHealth,
+            HEALTH_CHECK_INTERVAL_MILLIS, HEALTH_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+      }
+    }
+  }
+
+  /**
+   * Stops the listener once it is not used by any connection anymore.
+   */
+  void release() {
+    synchronized (registry) {
+      if (--users > 0) {
+        return;
+      }
+      registry.remove(socketFactory);
+      closed = true;
+      if (healthCheck != null) {
+        healthCheck.cancel(false);
+      }
+    }
+    // unblocks the listening thread
+    closeConnection();
+  }
+
+  /**
+   * @return the client id to redirect the tracking to, or -1 if the listener is not connected
+   */
+  long getClientId() {
+    return clientId;
+  }
+
+  int getGeneration() {
+    return generation;
+  }
+
+  @Override
+  public void run() {
+    if (connection == null && !connectWithRetry()) {
+      return;
+    }
+    while (!closed && !Thread.currentThread().isInterrupted()) {
+      try {
+        Object message = connection.getUnflushedObject();
+        lastReceivedNanos = System.nanoTime();
+        handle(message);
+      } catch (RuntimeException e) {
+        if (closed) {
+          return;
+        }
+        if (!(e instanceof JedisException)) {
+          log.warn("Invalid invalidation message, flushing the cache", e);
+        }
+        clientId = -1;
+        generation++;
+        cache.flush();
+        closeConnection();
+        if (!connectWithRetry()) {
+          return;
+        }
+        generation++;
+        // values read after the first flush may still have been tracked with the former client id
+        cache.flush();
+      }
+    }
+  }
+
+  /**
+   * Pings the connection, or closes it if nothing has been received since the former pings, so
+   * that the listening thread connects again.
+   */
+  private void checkHealth() {
+    final Connection connection = this.connection;
+    if (closed || connection == null || clientId < 0) {
+      return;
+    }
+    final long idleNanos = System.nanoTime() - lastReceivedNanos;
+    if (idleNanos > TimeUnit.MILLISECONDS.toNanos(2 * HEALTH_CHECK_INTERVAL_MILLIS)) {
+      log.warn("No reply from the invalidation listener connection {}, reconnecting", connection);
+      connection.close();
+      return;
+    }
+    try {
+      // replied as a message of the subscription in RESP2, as a simple string in RESP3
+      connection.writeAndFlushCommand(new CommandArguments(Protocol.Command.PING));
+    } catch (JedisException e) {
+      // the listening thread fails as well
+      log.debug("Failed to ping the invalidation listener connection {}", connection, e);
+    }
+  }
+
+  private void handle(Object message) {
+    if (!(message instanceof List)) {
+      return;
+    }
+    List<Object> list = (List<Object>) message;
+    Object keys;
+    if (list.size() == 3 && Arrays.equals(MESSAGE, (byte[]) list.get(0))
+        && CHANNEL.equals(SafeEncoder.encode((byte[]) list.get(1)))) {
+      keys = list.get(2);
+    } else if (list.size() == 2 && Arrays.equals(INVALIDATE, (byte[]) list.get(0))) {
+      keys = list.get(1);
+    } else {
+      return;
+    }
+    // null when all keys are invalidated
+    cache.deleteByRedisKeys((List) keys);
+  }
+
+  private void connect() {
+    Connection connection = new Connection(socketFactory, clientConfig);
+    try {
+      connection.sendCommand(Protocol.Command.CLIENT, "ID");
+      long id = connection.getIntegerReply();
+      // the invalidations are published to the channel in RESP2, and pushed in RESP3
+      connection.sendCommand(Protocol.Command.SUBSCRIBE, CHANNEL);
+      connection.getObjectMultiBulkReply();
+      // a silent failure is detected by the health check
+      connection.setTimeoutInfinite();
+      lastReceivedNanos = System.nanoTime();
+      this.connection = connection;
+      this.clientId = id;
+    } catch (JedisException e) {
+      connection.close();
+      throw e;
+    }
+  }
+
+  /**
+   * @return whether it is connected, rather than closed or interrupted
+   */
+  private boolean connectWithRetry() {
+    long delay = 10;
+    while (!closed) {
+      try {
+        connect();
+        if (closed) {
+          closeConnection();
+          return false;
+        }
+        return true;
+      } catch (JedisException e) {
+        try {
+          Thread.sleep(delay);
+        } catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
+          return false;
+        }
+        delay = Math.min(MAX_RECONNECT_DELAY_MILLIS, delay * 2);
+      }
+    }
+    return false;
+  }
+
+  private void closeConnection() {
+    Connection connection = this.connection;
+    if (connection != null) {
+      connection.close();
+    }
+  }
+}
@@ -6,6 +6,8 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 /**
  * Simple L(east) R(ecently) U(sed) eviction policy
  * ATTENTION: this class is not thread safe
+ * @see ConcurrentLRUEviction
+ * @see TinyLFUEviction
  */
 public class LRUEviction implements EvictionPolicy {
 
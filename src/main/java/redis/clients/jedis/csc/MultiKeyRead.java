@@ -0,0 +1,105 @@
+package redis.clients.jedis.csc;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import redis.clients.jedis.Builder;
+import redis.clients.jedis.BuilderFactory;
+import redis.clients.jedis.CommandArguments;
+import redis.clients.jedis.CommandObject;
+import redis.clients.jedis.Protocol.Command;
+import redis.clients.jedis.args.Rawable;
+
+/**
+ * A read of several values, {@code MGET} or {@code HMGET}, cached by element as the equivalent
+ * single-key {@code MGET} or {@code HGET}, so that only the elements which are not cached are read.
+ * An element of {@code MGET} is not cached as {@code GET}, which fails rather than replying nil for
+ * a key of another type.
+ */
+final class MultiKeyRead<E> {
+
+  private final CommandObject<List<E>> commandObject;
+  private final List<CacheKey<E>> elementKeys;
+  // the key of HMGET
+  private final Object hashKey;
+  // the keys of MGET, or the fields of HMGET
+  private final List<Object> elements;
+
+  private MultiKeyRead(CommandObject<List<E>> commandObject, Builder<E> elementBuilder) {
+    this.commandObject = commandObject;
+    CommandArguments args = commandObject.getArguments();
+    this.elements = new ArrayList<>(args.size() - 1);
+    this.elementKeys = new ArrayList<>(args.size() - 1);
+    if (args.getCommand() == Command.MGET) {
+      hashKey = null;
+      for (Object key : args.getKeys()) {
+        elements.add(key);
+        elementKeys.add(new CacheKey<>(new CommandObject<>(new CommandArguments(Command.MGET).key(key), elementBuilder)));
+      }
+    } else {
+      hashKey = args.getKeys().get(0);
+      Iterator<Rawable> it = args.iterator();
+      // the command and the key
+      it.next();
+      it.next();
+      while (it.hasNext()) {
+        Rawable field = it.next();
+        elements.add(field);
+        elementKeys.add(new CacheKey<>(new CommandObject<>(
+            new CommandArguments(Command.HGET).key(hashKey).add(field), elementBuilder)));
+      }
+    }
+  }
+
+  /**
+   * @return the read by element of the command, or {@code null} if it is not a read of several values
+   */
+  static MultiKeyRead<?> of(CommandObject<?> commandObject) {
+    CommandArguments args = commandObject.getArguments();
+    if (args.getCommand() != Command.MGET && (args.getCommand() != Command.HMGET || args.getKeys().size() != 1)) {
+      return null;
+    }
+    if (commandObject.getBuilder() == BuilderFactory.STRING_LIST) {
+      return new MultiKeyRead<>((CommandObject<List<String>>) commandObject, BuilderFactory.STRING);
+    } else if (commandObject.getBuilder() == BuilderFactory.BINARY_LIST) {
+      return new MultiKeyRead<>((CommandObject<List<byte[]>>) commandObject, BuilderFactory.BINARY);
+    }
+    return null;
+  }
+
+  CommandObject<List<E>> getCommandObject() {
+    return commandObject;
+  }
+
+  Builder<List<E>> getBuilder() {
+    return commandObject.getBuilder();
+  }
+
+  List<CacheKey<E>> getElementKeys() {
+    return elementKeys;
+  }
+
+  /**
+   * @param indexes the indexes of the elements to read, in ascending order
+   * @return the read of the elements
+   */
+  CommandObject<List<E>> getRead(List<Integer> indexes) {
+    if (indexes.size() == elements.size()) {
+      return commandObject;
+    }
+    CommandArguments args;
+    if (hashKey == null) {
+      args = new CommandArguments(Command.MGET);
+      for (int index : indexes) {
+        args.key(elements.get(index));
+      }
+    } else {
+      args = new CommandArguments(Command.HMGET).key(hashKey);
+      for (int index : indexes) {
+        args.add(elements.get(index));
+      }
+    }
+    return new CommandObject<>(args, commandObject.getBuilder());
+  }
+}
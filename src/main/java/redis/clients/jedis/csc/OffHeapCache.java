@@ -0,0 +1,276 @@
+package redis.clients.jedis.csc;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import redis.clients.jedis.Builder;
+import redis.clients.jedis.annots.Experimental;
+import redis.clients.jedis.exceptions.JedisCacheException;
+
+/**
+ * A cache bounded by the number of bytes of its values, which are kept in direct memory rather than
+ * on the heap.
+ * <p>
+ * Values are kept as the replies they are built from, and built again on each hit. A value whose
+ * reply is not available is kept serialized. Values which can not be kept this way, or which are
+ * larger than an eighth of the budget, are not cached.
+ * <p>
+ * The memory is reserved by pages of up to 1 MiB, divided in slots of sizes which are powers of two.
+ * A value takes the smallest slot it fits in, so up to half of the budget may be left unused, e.g.
+ * by values just larger than a power of two.
+ * The eviction policy evicts entries beyond the number of entries the budget is estimated to hold,
+ * based on the current average size of the entries. When there is no free slot for a new value, the
+ * pages are full: the estimate is then the number of entries leaving room for the values waiting for
+ * a slot, so that entries are evicted until there is one.
+ * <p>
+ * The pages are kept until the cache is {@link #close() closed}.
+ */
+@Experimental
+public class OffHeapCache extends AbstractCache implements AutoCloseable {
+
+  private static final int MIN_PAGE_SIZE = 4 << 10;
+  private static final int MAX_PAGE_SIZE = 1 << 20;
+
+  private final Map<CacheKey, CacheEntry> cache = new ConcurrentHashMap<>();
+  private final EvictionPolicy evictionPolicy;
+  private final SlabAllocator allocator;
+  private final long maxEntryBytes;
+  private final CacheValueCopier copier = new OffHeapCopier();
+  // number of bytes of the values waiting for a free slot
+  private final AtomicLong pendingBytes = new AtomicLong();
+
+  public OffHeapCache(long maxBytes) {
+    this(maxBytes, new ConcurrentLRUEviction(estimatedEntries(maxBytes)));
+  }
+
+  public OffHeapCache(long maxBytes, EvictionPolicy evictionPolicy) {
+    this(maxBytes, evictionPolicy, DefaultCacheable.INSTANCE);
+  }
+
+  public OffHeapCache(long maxBytes, EvictionPolicy evictionPolicy, Cacheable cacheable) {
+    super(Integer.MAX_VALUE, cacheable);
+    if (maxBytes < MIN_PAGE_SIZE) {
+      throw new IllegalArgumentException("Off-heap cache needs at least " + MIN_PAGE_SIZE + " bytes");
+    }
+    this.allocator = new SlabAllocator(maxBytes, pageSizeOf(maxBytes));
+    this.maxEntryBytes = maxBytes / 8;
+    this.evictionPolicy = evictionPolicy;
+    this.evictionPolicy.setCache(this);
+  }
+
+  public long getMaxBytes() {
+    return allocator.getMaxBytes();
+  }
+
+  /**
+   * @return the number of bytes of the slots holding values
+   */
+  public long getUsedBytes() {
+    return allocator.getUsedBytes();
+  }
+
+  /**
+   * @return the number of entries the budget is estimated to hold
+   */
+  @Override
+  public int getMaxSize() {
+    final int size = getSize();
+    final long usedBytes = allocator.getUsedBytes();
+    if (size == 0 || usedBytes == 0) {
+      return (int) Math.min(Integer.MAX_VALUE, allocator.getMaxBytes() / SlabAllocator.MIN_SLOT_SIZE);
+    }
+    final long pending = pendingBytes.get();
+    // while values wait for a slot, the used bytes are all the pages can hold
+    final long budget = pending > 0 ? usedBytes - pending : allocator.getMaxBytes();
+    return (int) Math.max(0, Math.min(Integer.MAX_VALUE, budget * size / usedBytes));
+  }
+
+  @Override
+  public int getSize() {
+    return cache.size();
+  }
+
+  @Override
+  public Collection<CacheEntry> getCacheEntries() {
+    return cache.values();
+  }
+
+  @Override
+  public EvictionPolicy getEvictionPolicy() {
+    return this.evictionPolicy;
+  }
+
+  @Override
+  public CacheValueCopier getValueCopier() {
+    return copier;
+  }
+
+  /**
+   * Values of this cache are always kept off-heap, so the copier is ignored.
+   */
+  @Override
+  public void setValueCopier(CacheValueCopier valueCopier) {
+  }
+
+  /**
+   * Removes all the entries and drops the pages, whose direct memory is then released by the garbage
+   * collector. Values are not cached anymore.
+   */
+  @Override
+  public void close() {
+    allocator.close();
+    flush();
+  }
+
+  @Override
+  public CacheEntry set(CacheKey cacheKey, CacheEntry entry) {
+    if (entry.getCopier() != copier) {
+      entry = new CacheEntry<>(cacheKey, null, entry.getValue(), entry.getConnection(), copier);
+    }
+    if (entry.getStored() instanceof Uncached) {
+      return entry;
+    }
+    return super.set(cacheKey, entry);
+  }
+
+  @Override
+  protected CacheEntry getFromStore(CacheKey cacheKey) {
+    return cache.get(cacheKey);
+  }
+
+  @Override
+  protected CacheEntry putIntoStore(CacheKey cacheKey, CacheEntry entry) {
+    CacheEntry previous = cache.put(cacheKey, entry);
+    if (previous != null && previous != entry) {
+      release(previous);
+    }
+    return entry;
+  }
+
+  @Override
+  protected boolean removeFromStore(CacheKey cacheKey) {
+    CacheEntry entry = cache.remove(cacheKey);
+    if (entry == null) {
+      return false;
+    }
+    release(entry);
+    return true;
+  }
+
+  @Override
+  protected void clearStore() {
+    for (CacheEntry entry : cache.values()) {
+      release(entry);
+    }
+    cache.clear();
+  }
+
+  @Override
+  protected boolean containsKeyInStore(CacheKey cacheKey) {
+    return cache.containsKey(cacheKey);
+  }
+
+  private void release(CacheEntry entry) {
+    allocator.release(((OffHeapValue) entry.getStored()).block);
+  }
+
+  /**
+   * @return the block, or {@code null} if no room could be made for it
+   */
+  private SlabAllocator.Block allocate(int length) {
+    SlabAllocator.Block block = allocator.allocate(length);
+    if (block != null || allocator.isClosed()) {
+      return block;
+    }
+    pendingBytes.addAndGet(length);
+    try {
+      while (block == null) {
+        CacheKey victim = evictionPolicy.evictNext();
+        if (victim == null) {
+          return null;
+        }
+        delete(victim);
+        getStats().evict();
+        block = allocator.allocate(length);
+      }
+      return block;
+    } finally {
+      pendingBytes.addAndGet(-length);
+    }
+  }
+
+  private static int pageSizeOf(long maxBytes) {
+    return Integer.highestOneBit((int) Math.min(MAX_PAGE_SIZE, Math.max(MIN_PAGE_SIZE, maxBytes / 64)));
+  }
+
+  private static int estimatedEntries(long maxBytes) {
+    // assuming values of about 1 KiB
+    return (int) Math.min(1 << 20, Math.max(16, maxBytes >>> 10));
+  }
+
+  private final class OffHeapCopier implements CacheValueCopier {
+
+    @Override
+    public Object store(Builder<?> builder, Object reply, Object value) {
+      byte[] bytes = reply != null ? ReplyCodec.encode(reply) : null;
+      final boolean serialized = bytes == null;
+      if (serialized) {
+        try {
+          bytes = CacheValueCopiers.Serialize.toBytes(value);
+        } catch (JedisCacheException e) {
+          return new Uncached(value);
+        }
+      }
+      if (bytes.length > maxEntryBytes) {
+        return new Uncached(value);
+      }
+      SlabAllocator.Block block = allocate(bytes.length);
+      if (block == null) {
+        return new Uncached(value);
+      }
+      allocator.write(block, bytes);
+      return new OffHeapValue(serialized ? null : builder, block);
+    }
+
+    @Override
+    public Object load(Object stored) {
+      if (stored instanceof Uncached) {
+        return ((Uncached) stored).value;
+      }
+      OffHeapValue offHeapValue = (OffHeapValue) stored;
+      byte[] bytes = allocator.read(offHeapValue.block);
+      if (offHeapValue.builder == null) {
+        return CacheValueCopiers.Serialize.toObject(bytes);
+      }
+      return offHeapValue.builder.build(ReplyCodec.decode(bytes));
+    }
+
+    @Override
+    public boolean needsReply() {
+      return true;
+    }
+  }
+
+  private static final class OffHeapValue {
+    private final Builder<?> builder;
+    private final SlabAllocator.Block block;
+
+    OffHeapValue(Builder<?> builder, SlabAllocator.Block block) {
+      this.builder = builder;
+      this.block = block;
+    }
+  }
+
+  /**
+   * A value which is handed to the caller which loaded it, but not cached.
+   */
+  private static final class Uncached {
+    private final Object value;
+
+    Uncached(Object value) {
+      this.value = value;
+    }
+  }
+}
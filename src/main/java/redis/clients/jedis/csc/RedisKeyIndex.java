@@ -0,0 +1,289 @@
+package redis.clients.jedis.csc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import redis.clients.jedis.util.JedisClusterCRC16;
+
+/**
+ * The index from the Redis keys to the keys of the cache entries reading them, so that the entries
+ * are deleted when their Redis keys are invalidated.
+ * <p>
+ * It is split into stripes by the hash of the Redis keys, each stripe being an open-addressing table
+ * which must only be accessed under the lock of the stripe. The Redis key bytes are referenced
+ * as is, and the key of the cache entry is kept inline when there is only one, as for most keys.
+ */
+final class RedisKeyIndex {
+
+  private final Table[] tables;
+  private final int stripeMask;
+
+  /**
+   * @param stripes a power of two
+   */
+  RedisKeyIndex(int stripes) {
+    tables = new Table[stripes];
+    for (int i = 0; i < stripes; i++) {
+      tables[i] = new Table();
+    }
+    stripeMask = stripes - 1;
+  }
+
+  static int hash(byte[] key) {
+    int h = Arrays.hashCode(key);
+    return h ^ (h >>> 16);
+  }
+
+  int stripeOf(int hash) {
+    return hash & stripeMask;
+  }
+
+  void add(byte[] key, int hash, CacheKey<?> cacheKey) {
+    tables[stripeOf(hash)].add(key, hash, cacheKey);
+  }
+
+  void remove(byte[] key, int hash, CacheKey<?> cacheKey) {
+    tables[stripeOf(hash)].remove(key, hash, cacheKey);
+  }
+
+  /**
+   * @return the keys of the cache entries of the Redis key, which is removed, or {@code null} if it
+   * is not indexed
+   */
+  List<CacheKey<?>> removeKey(byte[] key, int hash) {
+    return tables[stripeOf(hash)].removeKey(key, hash);
+  }
+
+  /**
+   * Removes the Redis keys of the stripe hashing to the given cluster slots.
+   * @return the keys of their cache entries
+   */
+  List<CacheKey<?>> removeSlots(int stripe, BitSet slots) {
+    return tables[stripe].removeSlots(slots);
+  }
+
+  /**
+   * Must be called under the locks of all the stripes.
+   */
+  void clear() {
+    for (Table table : tables) {
+      table.clear();
+    }
+  }
+
+  /**
+   * @return the number of Redis keys, not to be called concurrently with any change
+   */
+  int size() {
+    int size = 0;
+    for (Table table : tables) {
+      size += table.size;
+    }
+    return size;
+  }
+
+  private static final class Table {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private byte[][] keys;
+    private int[] hashes;
+    private short[] slots;
+    // a CacheKey, or an array of them followed by nulls
+    private Object[] values;
+    private int size;
+
+    Table() {
+      allocate(INITIAL_CAPACITY);
+    }
+
+    private void allocate(int capacity) {
+      keys = new byte[capacity][];
+      hashes = new int[capacity];
+      slots = new short[capacity];
+      values = new Object[capacity];
+    }
+
+    private int indexOf(int hash) {
+      // the low bits select the stripe
+      return (hash * 0x9E3779B9 >>> 7) & (keys.length - 1);
+    }
+
+    /**
+     * @return the index of the key, or the complement of the index where it would be inserted
+     */
+    private int find(byte[] key, int hash) {
+      final int mask = keys.length - 1;
+      int i = indexOf(hash);
+      while (keys[i] != null) {
+        if (hashes[i] == hash && Arrays.equals(keys[i], key)) {
+          return i;
+        }
+        i = (i + 1) & mask;
+      }
+      return ~i;
+    }
+
+    void add(byte[] key, int hash, CacheKey<?> cacheKey) {
+      int i = find(key, hash);
+      if (i >= 0) {
+        values[i] = addValue(values[i], cacheKey);
+        return;
+      }
+      if ((size + 1) * 4 > keys.length * 3) {
+        resize();
+        i = find(key, hash);
+      }
+      i = ~i;
+      keys[i] = key;
+      hashes[i] = hash;
+      slots[i] = (short) JedisClusterCRC16.getSlot(key);
+      values[i] = cacheKey;
+      size++;
+    }
+
+    void remove(byte[] key, int hash, CacheKey<?> cacheKey) {
+      int i = find(key, hash);
+      if (i < 0) {
+        return;
+      }
+      Object value = values[i];
+      if (value instanceof CacheKey) {
+        if (value.equals(cacheKey)) {
+          deleteAt(i);
+        }
+        return;
+      }
+      Object[] array = (Object[]) value;
+      int last = 0;
+      while (last + 1 < array.length && array[last + 1] != null) {
+        last++;
+      }
+      for (int j = 0; j <= last; j++) {
+        if (array[j].equals(cacheKey)) {
+          array[j] = array[last];
+          array[last] = null;
+          if (last == 1) {
+            // inline again
+            values[i] = array[0];
+          }
+          return;
+        }
+      }
+    }
+
+    List<CacheKey<?>> removeKey(byte[] key, int hash) {
+      int i = find(key, hash);
+      if (i < 0) {
+        return null;
+      }
+      List<CacheKey<?>> cacheKeys = new ArrayList<>(1);
+      collect(values[i], cacheKeys);
+      deleteAt(i);
+      return cacheKeys;
+    }
+
+    List<CacheKey<?>> removeSlots(BitSet removed) {
+      List<byte[]> removedKeys = new ArrayList<>();
+      List<Integer> removedHashes = new ArrayList<>();
+      for (int i = 0; i < keys.length; i++) {
+        if (keys[i] != null && removed.get(slots[i])) {
+          removedKeys.add(keys[i]);
+          removedHashes.add(hashes[i]);
+        }
+      }
+      List<CacheKey<?>> cacheKeys = new ArrayList<>();
+      for (int i = 0; i < removedKeys.size(); i++) {
+        cacheKeys.addAll(removeKey(removedKeys.get(i), removedHashes.get(i)));
+      }
+      return cacheKeys;
+    }
+
+    void clear() {
+      if (keys.length > INITIAL_CAPACITY) {
+        allocate(INITIAL_CAPACITY);
+      } else {
+        Arrays.fill(keys, null);
+        Arrays.fill(values, null);
+      }
+      size = 0;
+    }
+
+    private static Object addValue(Object value, CacheKey<?> cacheKey) {
+      if (value instanceof CacheKey) {
+        return value.equals(cacheKey) ? value : new Object[] { value, cacheKey };
+      }
+      Object[] array = (Object[]) value;
+      int i = 0;
+      for (; i < array.length && array[i] != null; i++) {
+        if (array[i].equals(cacheKey)) {
+          return array;
+        }
+      }
+      if (i == array.length) {
+        array = Arrays.copyOf(array, array.length * 2);
+      }
+      array[i] = cacheKey;
+      return array;
+    }
+
+    private static void collect(Object value, List<CacheKey<?>> cacheKeys) {
+      if (value instanceof CacheKey) {
+        cacheKeys.add((CacheKey<?>) value);
+        return;
+      }
+      for (Object cacheKey : (Object[]) value) {
+        if (cacheKey == null) {
+          break;
+        }
+        cacheKeys.add((CacheKey<?>) cacheKey);
+      }
+    }
+
+    /**
+     * Shifts back the following keys of the probe sequence, so that no tombstone is needed.
+     */
+    private void deleteAt(int hole) {
+      final int mask = keys.length - 1;
+      int j = hole;
+      while (true) {
+        j = (j + 1) & mask;
+        if (keys[j] == null) {
+          break;
+        }
+        int home = indexOf(hashes[j]);
+        // the key stays if its home is cyclically in (hole, j]
+        boolean stays = hole <= j ? hole < home && home <= j : hole < home || home <= j;
+        if (!stays) {
+          keys[hole] = keys[j];
+          hashes[hole] = hashes[j];
+          slots[hole] = slots[j];
+          values[hole] = values[j];
+          hole = j;
+        }
+      }
+      keys[hole] = null;
+      values[hole] = null;
+      size--;
+    }
+
+    private void resize() {
+      byte[][] oldKeys = keys;
+      int[] oldHashes = hashes;
+      short[] oldSlots = slots;
+      Object[] oldValues = values;
+      allocate(oldKeys.length * 2);
+      for (int i = 0; i < oldKeys.length; i++) {
+        if (oldKeys[i] != null) {
+          int j = ~find(oldKeys[i], oldHashes[i]);
+          keys[j] = oldKeys[i];
+          hashes[j] = oldHashes[i];
+          slots[j] = oldSlots[i];
+          values[j] = oldValues[i];
+        }
+      }
+    }
+  }
+}
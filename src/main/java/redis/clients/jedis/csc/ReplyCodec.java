@@ -0,0 +1,134 @@
+package redis.clients.jedis.csc;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import redis.clients.jedis.exceptions.JedisCacheException;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.util.KeyValue;
+import redis.clients.jedis.util.SafeEncoder;
+
+/**
+ * Compact binary form of the replies read by {@link redis.clients.jedis.Protocol}, so that they
+ * can be kept outside of the heap and built again.
+ */
+final class ReplyCodec {
+
+  private static final byte NULL = 0;
+  private static final byte BYTES = 1;
+  private static final byte LONG = 2;
+  private static final byte DOUBLE = 3;
+  private static final byte TRUE = 4;
+  private static final byte FALSE = 5;
+  private static final byte BIG_INTEGER = 6;
+  private static final byte LIST = 7;
+  private static final byte KEY_VALUE = 8;
+  private static final byte ERROR = 9;
+
+  private ReplyCodec() {
+    throw new InstantiationError("Must not instantiate this class");
+  }
+
+  /**
+   * @return the encoded reply, or {@code null} if it holds objects which are not read by the protocol
+   */
+  static byte[] encode(Object reply) {
+    try {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      DataOutputStream out = new DataOutputStream(bytes);
+      return encode(reply, out) ? bytes.toByteArray() : null;
+    } catch (IOException e) {
+      throw new JedisCacheException("Failed to encode reply", e);
+    }
+  }
+
+  static Object decode(byte[] encoded) {
+    return decode(ByteBuffer.wrap(encoded));
+  }
+
+  private static boolean encode(Object reply, DataOutputStream out) throws IOException {
+    if (reply == null) {
+      out.writeByte(NULL);
+    } else if (reply instanceof byte[]) {
+      writeBytes(out, BYTES, (byte[]) reply);
+    } else if (reply instanceof Long) {
+      out.writeByte(LONG);
+      out.writeLong((Long) reply);
+    } else if (reply instanceof Double) {
+      out.writeByte(DOUBLE);
+      out.writeDouble((Double) reply);
+    } else if (reply instanceof Boolean) {
+      out.writeByte((Boolean) reply ? TRUE : FALSE);
+    } else if (reply instanceof BigInteger) {
+      writeBytes(out, BIG_INTEGER, ((BigInteger) reply).toByteArray());
+    } else if (reply.getClass() == ArrayList.class) {
+      List<?> list = (List<?>) reply;
+      out.writeByte(LIST);
+      out.writeInt(list.size());
+      for (Object element : list) {
+        if (!encode(element, out)) {
+          return false;
+        }
+      }
+    } else if (reply.getClass() == KeyValue.class) {
+      KeyValue<?, ?> keyValue = (KeyValue<?, ?>) reply;
+      out.writeByte(KEY_VALUE);
+      return encode(keyValue.getKey(), out) && encode(keyValue.getValue(), out);
+    } else if (reply.getClass() == JedisDataException.class) {
+      writeBytes(out, ERROR, SafeEncoder.encode(((JedisDataException) reply).getMessage()));
+    } else {
+      return false;
+    }
+    return true;
+  }
+
+  private static void writeBytes(DataOutputStream out, byte type, byte[] bytes) throws IOException {
+    out.writeByte(type);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static Object decode(ByteBuffer in) {
+    final byte type = in.get();
+    switch (type) {
+      case NULL:
+        return null;
+      case BYTES:
+        return readBytes(in);
+      case LONG:
+        return in.getLong();
+      case DOUBLE:
+        return in.getDouble();
+      case TRUE:
+        return Boolean.TRUE;
+      case FALSE:
+        return Boolean.FALSE;
+      case BIG_INTEGER:
+        return new BigInteger(readBytes(in));
+      case LIST:
+        final int size = in.getInt();
+        final List<Object> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+          list.add(decode(in));
+        }
+        return list;
+      case KEY_VALUE:
+        return new KeyValue<>(decode(in), decode(in));
+      case ERROR:
+        return new JedisDataException(SafeEncoder.encode(readBytes(in)));
+      default:
+        throw new JedisCacheException("Unknown encoded reply type: " + type);
+    }
+  }
+
+  private static byte[] readBytes(ByteBuffer in) {
+    byte[] bytes = new byte[in.getInt()];
+    in.get(bytes);
+    return bytes;
+  }
+}
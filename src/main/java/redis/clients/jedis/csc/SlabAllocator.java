@@ -0,0 +1,342 @@
+package redis.clients.jedis.csc;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import redis.clients.jedis.exceptions.JedisCacheException;
+
+/**
+ * Allocates byte blocks in direct memory, within a fixed budget.
+ * <p>
+ * Memory is reserved by pages, which are kept until the allocator is closed. A page is divided into
+ * slots of one size class, the powers of two from {@link #MIN_SLOT_SIZE} to the page size, and goes back to the pool
+ * of free pages once all of its slots are free. A block which does not fit in a page is spread over
+ * several slots.
+ */
+final class SlabAllocator {
+
+  static final int MIN_SLOT_SIZE = 64;
+  private static final int MIN_SLOT_SHIFT = Integer.numberOfTrailingZeros(MIN_SLOT_SIZE);
+
+  private final int pageSize;
+  private final int pageShift;
+  private final Page[] pages;
+  private int pageCount;
+  private final ArrayDeque<Page> freePages = new ArrayDeque<>();
+  // the heads of the lists of the pages with free slots, by size class
+  private final Page[] partialPages;
+  private volatile long usedBytes;
+  private volatile boolean closed;
+
+  SlabAllocator(long maxBytes, int pageSize) {
+    if (Integer.bitCount(pageSize) != 1 || pageSize < MIN_SLOT_SIZE) {
+      throw new IllegalArgumentException("Page size must be a power of two, at least " + MIN_SLOT_SIZE);
+    }
+    this.pageSize = pageSize;
+    this.pageShift = Integer.numberOfTrailingZeros(pageSize);
+    this.pages = new Page[(int) Math.min(Integer.MAX_VALUE - 8, maxBytes / pageSize)];
+    this.partialPages = new Page[pageShift - MIN_SLOT_SHIFT + 1];
+  }
+
+  long getMaxBytes() {
+    return (long) pages.length * pageSize;
+  }
+
+  /**
+   * @return the size of the slots in use, which is at least the size of the blocks they hold
+   */
+  long getUsedBytes() {
+    return usedBytes;
+  }
+
+  /**
+   * @return the block, or {@code null} if there is not enough free memory
+   */
+  synchronized Block allocate(int length) {
+    if (closed) {
+      return null;
+    }
+    final int fullSlots = length >>> pageShift;
+    final int rest = length & (pageSize - 1);
+    final long[] slots = new long[fullSlots + (rest > 0 ? 1 : 0)];
+    for (int i = 0; i < slots.length; i++) {
+      int size = i < fullSlots ? pageSize : rest;
+      long slot = allocateSlot(sizeClassOf(size));
+      if (slot < 0) {
+        for (int j = 0; j < i; j++) {
+          freeSlot(slots[j]);
+        }
+        return null;
+      }
+      slots[i] = slot;
+    }
+    return new Block(slots, length);
+  }
+
+  void write(Block block, byte[] bytes) {
+    transfer(block, bytes, true);
+  }
+
+  /**
+   * @return the content of the block
+   * @throws ReleasedBlockException if the block has been released
+   */
+  byte[] read(Block block) {
+    if (!block.acquire()) {
+      throw new ReleasedBlockException();
+    }
+    try {
+      byte[] bytes = new byte[block.length];
+      transfer(block, bytes, false);
+      return bytes;
+    } finally {
+      if (block.releaseReader()) {
+        free(block);
+      }
+    }
+  }
+
+  /**
+   * Frees the block once it is not read anymore.
+   */
+  void release(Block block) {
+    if (block.releaseOwner()) {
+      free(block);
+    }
+  }
+
+  /**
+   * Drops the pages, so that their memory is released once they are garbage collected. Nothing is
+   * allocated anymore, and blocks are reported as released.
+   */
+  synchronized void close() {
+    closed = true;
+    Arrays.fill(pages, null);
+    freePages.clear();
+    Arrays.fill(partialPages, null);
+    usedBytes = 0;
+  }
+
+  boolean isClosed() {
+    return closed;
+  }
+
+  private void transfer(Block block, byte[] bytes, boolean write) {
+    int position = 0;
+    for (long slot : block.slots) {
+      final Page page = pages[(int) (slot >>> 32)];
+      if (page == null) {
+        throw new ReleasedBlockException();
+      }
+      ByteBuffer buffer = page.buffer.duplicate();
+      ((Buffer) buffer).position((int) slot);
+      int length = Math.min(pageSize, block.length - position);
+      if (write) {
+        buffer.put(bytes, position, length);
+      } else {
+        buffer.get(bytes, position, length);
+      }
+      position += length;
+    }
+  }
+
+  private synchronized void free(Block block) {
+    if (closed) {
+      return;
+    }
+    for (long slot : block.slots) {
+      freeSlot(slot);
+    }
+  }
+
+  private int sizeClassOf(int size) {
+    if (size <= MIN_SLOT_SIZE) {
+      return 0;
+    }
+    return 32 - Integer.numberOfLeadingZeros(size - 1) - MIN_SLOT_SHIFT;
+  }
+
+  private long allocateSlot(int sizeClass) {
+    Page page = partialPages[sizeClass];
+    if (page == null) {
+      page = freePages.pollFirst();
+      if (page == null) {
+        if (pageCount == pages.length) {
+          return -1;
+        }
+        page = new Page(pageCount, ByteBuffer.allocateDirect(pageSize));
+        pages[pageCount++] = page;
+      }
+      page.init(sizeClass, MIN_SLOT_SIZE << sizeClass);
+      addPartial(page);
+    }
+    int offset = page.take();
+    if (!page.hasFree()) {
+      removePartial(page);
+    }
+    usedBytes += page.slotSize;
+    return ((long) page.index << 32) | offset;
+  }
+
+  private void freeSlot(long slot) {
+    final Page page = pages[(int) (slot >>> 32)];
+    final boolean wasFull = !page.hasFree();
+    page.give((int) slot);
+    usedBytes -= page.slotSize;
+    if (page.live == 0) {
+      if (!wasFull) {
+        removePartial(page);
+      }
+      freePages.addFirst(page);
+    } else if (wasFull) {
+      addPartial(page);
+    }
+  }
+
+  private void addPartial(Page page) {
+    final Page head = partialPages[page.sizeClass];
+    page.previous = null;
+    page.next = head;
+    if (head != null) {
+      head.previous = page;
+    }
+    partialPages[page.sizeClass] = page;
+  }
+
+  private void removePartial(Page page) {
+    if (page.previous != null) {
+      page.previous.next = page.next;
+    } else {
+      partialPages[page.sizeClass] = page.next;
+    }
+    if (page.next != null) {
+      page.next.previous = page.previous;
+    }
+    page.previous = null;
+    page.next = null;
+  }
+
+  private static final class Page {
+
+    private static final int[] NO_SLOTS = new int[0];
+
+    final int index;
+    final ByteBuffer buffer;
+    int sizeClass;
+    int slotSize;
+    int carved;
+    int live;
+    int[] free = NO_SLOTS;
+    int freeCount;
+    // in the list of the pages of the size class with free slots
+    Page previous;
+    Page next;
+
+    Page(int index, ByteBuffer buffer) {
+      this.index = index;
+      this.buffer = buffer;
+    }
+
+    void init(int sizeClass, int slotSize) {
+      this.sizeClass = sizeClass;
+      this.slotSize = slotSize;
+      this.carved = 0;
+      this.live = 0;
+      this.freeCount = 0;
+    }
+
+    boolean hasFree() {
+      return freeCount > 0 || carved + slotSize <= buffer.capacity();
+    }
+
+    int take() {
+      live++;
+      if (freeCount > 0) {
+        return free[--freeCount];
+      }
+      int offset = carved;
+      carved += slotSize;
+      return offset;
+    }
+
+    void give(int offset) {
+      live--;
+      if (freeCount == free.length) {
+        free = Arrays.copyOf(free, Math.max(8, free.length * 2));
+      }
+      free[freeCount++] = offset;
+    }
+  }
+
+  /**
+   * Slots holding a byte block. The block is freed when it has been released by its owner and is
+   * not being read anymore.
+   */
+  static final class Block {
+
+    private static final int RELEASED = 1 << 30;
+
+    private final long[] slots;
+    private final int length;
+    // number of readers, flagged once released by the owner
+    private final AtomicInteger state = new AtomicInteger();
+
+    private Block(long[] slots, int length) {
+      this.slots = slots;
+      this.length = length;
+    }
+
+    int length() {
+      return length;
+    }
+
+    private boolean acquire() {
+      for (;;) {
+        int current = state.get();
+        if ((current & RELEASED) != 0) {
+          return false;
+        }
+        if (state.compareAndSet(current, current + 1)) {
+          return true;
+        }
+      }
+    }
+
+    /**
+     * @return {@code true} if the block has to be freed
+     */
+    private boolean releaseReader() {
+      return state.decrementAndGet() == RELEASED;
+    }
+
+    /**
+     * @return {@code true} if the block has to be freed
+     */
+    private boolean releaseOwner() {
+      for (;;) {
+        int current = state.get();
+        if ((current & RELEASED) != 0) {
+          return false;
+        }
+        if (state.compareAndSet(current, current | RELEASED)) {
+          return current == 0;
+        }
+      }
+    }
+  }
+
+  /**
+   * Thrown when reading a block which has been released concurrently.
+   */
+  static final class ReleasedBlockException extends JedisCacheException {
+
+    private static final long serialVersionUID = -3147950946346441297L;
+
+    ReleasedBlockException() {
+      super("Block has been released");
+    }
+  }
+}
@@ -0,0 +1,271 @@
+package redis.clients.jedis.csc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import redis.clients.jedis.annots.Experimental;
+
+/**
+ * W(indow) Tiny L(east) F(requently) U(sed) eviction policy.
+ * <p>
+ * New keys enter a small LRU window. A key leaving the window is only admitted into the main
+ * segmented LRU if it has been accessed more often than the key it would replace, so that keys
+ * which are read once, e.g. by a scan, do not flush frequently accessed ones. Access frequencies
+ * are estimated by a count-min sketch which is periodically aged.
+ * <p>
+ * When a weigher is given, admission compares frequencies per unit of weight instead, so that a
+ * large entry has to be accessed more often to replace a small one. Weights are computed from the
+ * entries of an {@link AbstractCache} only when an admission has to be decided.
+ * <p>
+ * This class is thread safe, but accesses are serialized.
+ * @see ConcurrentLRUEviction
+ */
+@Experimental
+public class TinyLFUEviction implements EvictionPolicy {
+
+  private static final int WINDOW_PERCENT = 1;
+  private static final int PROTECTED_PERCENT = 80;
+
+  private Cache cache;
+
+  private final LinkedHashMap<CacheKey, Boolean> window;
+  private final LinkedHashMap<CacheKey, Boolean> probation;
+  private final LinkedHashMap<CacheKey, Boolean> protectedSegment;
+  private final FrequencySketch sketch;
+  private final ToIntFunction<CacheEntry> weigher;
+
+  public TinyLFUEviction(int initialCapacity) {
+    this(initialCapacity, null);
+  }
+
+  /**
+   * @param initialCapacity the expected number of entries
+   * @param weigher the weight of an entry, for size-aware admission
+   */
+  public TinyLFUEviction(int initialCapacity, ToIntFunction<CacheEntry> weigher) {
+    this.window = new LinkedHashMap<>(16, 0.75f, true);
+    this.probation = new LinkedHashMap<>(initialCapacity, 0.75f, true);
+    this.protectedSegment = new LinkedHashMap<>(initialCapacity, 0.75f, true);
+    this.sketch = new FrequencySketch(initialCapacity);
+    this.weigher = weigher;
+  }
+
+  @Override
+  public void setCache(Cache cache) {
+    this.cache = cache;
+  }
+
+  @Override
+  public Cache getCache() {
+    return this.cache;
+  }
+
+  @Override
+  public EvictionType getType() {
+    return EvictionType.HYBR;
+  }
+
+  @Override
+  public String getName() {
+    return "W(indow) Tiny L(east) F(requently) U(sed)";
+  }
+
+  @Override
+  public synchronized CacheKey evictNext() {
+    CacheKey cacheKey = selectVictim();
+    while (cacheKey != null && !cache.hasCacheKey(cacheKey)) {
+      cacheKey = selectVictim();
+    }
+    return cacheKey;
+  }
+
+  @Override
+  public synchronized List<CacheKey> evictMany(int n) {
+    List<CacheKey> result = new ArrayList<>();
+    for (int i = 0; i < n; i++) {
+      result.add(this.evictNext());
+    }
+    return result;
+  }
+
+  @Override
+  public synchronized void touch(CacheKey cacheKey) {
+    sketch.increment(cacheKey);
+    if (window.get(cacheKey) != null || protectedSegment.get(cacheKey) != null) {
+      return;
+    }
+    if (probation.remove(cacheKey) != null) {
+      protectedSegment.put(cacheKey, Boolean.TRUE);
+      int protectedMax = (mainMax() * PROTECTED_PERCENT) / 100;
+      while (protectedSegment.size() > protectedMax) {
+        probation.put(pollEldest(protectedSegment), Boolean.TRUE);
+      }
+    } else {
+      window.put(cacheKey, Boolean.TRUE);
+    }
+  }
+
+  @Override
+  public synchronized boolean reset(CacheKey cacheKey) {
+    return window.remove(cacheKey) != null || probation.remove(cacheKey) != null
+        || protectedSegment.remove(cacheKey) != null;
+  }
+
+  @Override
+  public synchronized int resetAll() {
+    int result = size();
+    window.clear();
+    probation.clear();
+    protectedSegment.clear();
+    sketch.clear();
+    return result;
+  }
+
+  /**
+   * Moves the keys leaving the window into the main segment, until a key has to leave the policy.
+   * @return the key to evict, or {@code null} if nothing has to be evicted
+   */
+  private CacheKey selectVictim() {
+    final int maxSize = cache.getMaxSize();
+    while (window.size() > windowMax()) {
+      CacheKey candidate = pollEldest(window);
+      if (size() < maxSize && cache.getSize() <= maxSize) {
+        probation.put(candidate, Boolean.TRUE);
+        continue;
+      }
+      LinkedHashMap<CacheKey, Boolean> segment = !probation.isEmpty() ? probation : protectedSegment;
+      if (segment.isEmpty()) {
+        return candidate;
+      }
+      CacheKey victim = segment.keySet().iterator().next();
+      if (!admit(candidate, victim)) {
+        return candidate;
+      }
+      segment.remove(victim);
+      probation.put(candidate, Boolean.TRUE);
+      return victim;
+    }
+    if (size() > maxSize || cache.getSize() > maxSize) {
+      if (!probation.isEmpty()) {
+        return pollEldest(probation);
+      }
+      if (!protectedSegment.isEmpty()) {
+        return pollEldest(protectedSegment);
+      }
+      if (!window.isEmpty()) {
+        return pollEldest(window);
+      }
+    }
+    return null;
+  }
+
+  private boolean admit(CacheKey candidate, CacheKey victim) {
+    long candidateFrequency = sketch.frequency(candidate);
+    long victimFrequency = sketch.frequency(victim);
+    if (weigher != null && cache instanceof AbstractCache) {
+      return candidateFrequency * weightOf(victim) > victimFrequency * weightOf(candidate);
+    }
+    return candidateFrequency > victimFrequency;
+  }
+
+  private int weightOf(CacheKey cacheKey) {
+    CacheEntry entry = ((AbstractCache) cache).getFromStore(cacheKey);
+    return entry == null ? 1 : Math.max(1, weigher.applyAsInt(entry));
+  }
+
+  private int size() {
+    return window.size() + probation.size() + protectedSegment.size();
+  }
+
+  private int windowMax() {
+    return Math.max(1, (cache.getMaxSize() * WINDOW_PERCENT) / 100);
+  }
+
+  private int mainMax() {
+    return Math.max(1, cache.getMaxSize() - windowMax());
+  }
+
+  private static CacheKey pollEldest(LinkedHashMap<CacheKey, Boolean> segment) {
+    Iterator<CacheKey> eldest = segment.keySet().iterator();
+    CacheKey cacheKey = eldest.next();
+    eldest.remove();
+    return cacheKey;
+  }
+
+  /**
+   * Count-min sketch of 4-bit counters, four per key. All counters are halved once the number of
+   * increments reaches ten times the number of counters per row, so that past frequencies fade.
+   */
+  static final class FrequencySketch {
+
+    private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L,
+        0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private final long[] table;
+    private final int sampleSize;
+    private int size;
+
+    FrequencySketch(int expectedSize) {
+      int length = Integer.highestOneBit(Math.max(16, Math.min(expectedSize, 1 << 26)) - 1) << 1;
+      this.table = new long[length];
+      this.sampleSize = 10 * length;
+    }
+
+    int frequency(Object key) {
+      int hash = spread(key.hashCode());
+      int frequency = Integer.MAX_VALUE;
+      for (int i = 0; i < 4; i++) {
+        frequency = Math.min(frequency, (int) ((table[indexOf(hash, i)] >>> offsetOf(hash, i)) & 0xfL));
+      }
+      return frequency;
+    }
+
+    void increment(Object key) {
+      int hash = spread(key.hashCode());
+      boolean added = false;
+      for (int i = 0; i < 4; i++) {
+        int index = indexOf(hash, i);
+        int offset = offsetOf(hash, i);
+        if (((table[index] >>> offset) & 0xfL) != 0xfL) {
+          table[index] += 1L << offset;
+          added = true;
+        }
+      }
+      if (added && ++size == sampleSize) {
+        for (int i = 0; i < table.length; i++) {
+          table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size /= 2;
+      }
+    }
+
+    void clear() {
+      Arrays.fill(table, 0L);
+      size = 0;
+    }
+
+    private int indexOf(int hash, int row) {
+      long h = (hash + SEEDS[row]) * SEEDS[row];
+      h += h >>> 32;
+      return (int) h & (table.length - 1);
+    }
+
+    /**
+     * Each row uses its own quarter of the 16 counters of a word.
+     */
+    private static int offsetOf(int hash, int row) {
+      return ((row << 2) + ((hash >>> (row << 3)) & 3)) << 2;
+    }
+
+    private static int spread(int hash) {
+      hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+      hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+      return (hash >>> 16) ^ hash;
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package redis.clients.jedis.executors;
+
+import java.util.concurrent.CompletableFuture;
+
+import redis.clients.jedis.CommandObject;
+import redis.clients.jedis.annots.Experimental;
+
+/**
+ * A {@link CommandExecutor} which can execute commands without blocking the calling thread.
+ */
+@Experimental
+public interface AsyncCommandExecutor extends CommandExecutor {
+
+  /**
+   * @param commandObject a non-blocking command
+   * @return a future which is completed with the built reply, or exceptionally with the error
+   */
+  <T> CompletableFuture<T> executeCommandAsync(CommandObject<T> commandObject);
+}
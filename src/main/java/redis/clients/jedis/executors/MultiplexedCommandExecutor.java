@@ -0,0 +1,60 @@
+package redis.clients.jedis.executors;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import redis.clients.jedis.CommandObject;
+import redis.clients.jedis.Connection;
+import redis.clients.jedis.annots.Experimental;
+import redis.clients.jedis.exceptions.JedisException;
+import redis.clients.jedis.providers.MultiplexedConnectionProvider;
+import redis.clients.jedis.util.IOUtils;
+
+/**
+ * Executes commands through the shared connections of a {@link MultiplexedConnectionProvider}.
+ * Blocking commands are executed on an exclusive connection.
+ */
+@Experimental
+public class MultiplexedCommandExecutor implements AsyncCommandExecutor {
+
+  protected final MultiplexedConnectionProvider provider;
+
+  public MultiplexedCommandExecutor(MultiplexedConnectionProvider provider) {
+    this.provider = provider;
+  }
+
+  @Override
+  public void close() {
+    IOUtils.closeQuietly(this.provider);
+  }
+
+  @Override
+  public final <T> T executeCommand(CommandObject<T> commandObject) {
+    if (commandObject.getArguments().isBlocking()) {
+      try (Connection connection = provider.getConnection(commandObject.getArguments())) {
+        return connection.executeCommand(commandObject);
+      }
+    }
+    return await(executeCommandAsync(commandObject));
+  }
+
+  @Override
+  public <T> CompletableFuture<T> executeCommandAsync(CommandObject<T> commandObject) {
+    return provider.getMultiplexedConnection().submit(commandObject);
+  }
+
+  private static <T> T await(CompletableFuture<T> future) {
+    try {
+      return future.get();
+    } catch (ExecutionException ee) {
+      Throwable cause = ee.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new JedisException(cause);
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+      throw new JedisException(ie);
+    }
+  }
+}
@@ -0,0 +1,140 @@
+package redis.clients.jedis.executors;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import redis.clients.jedis.CommandObject;
+import redis.clients.jedis.annots.Experimental;
+import redis.clients.jedis.csc.DefaultCacheable;
+import redis.clients.jedis.util.IOUtils;
+
+/**
+ * A decorator of another executor, sending a read command only once while it is in flight: the
+ * callers executing an equal {@link CommandObject} meanwhile wait for its reply, instead of sending
+ * the same command again, e.g. when a hot key has just been invalidated from the client-side cache.
+ * <p>
+ * The callers of a flight get the same value, or the same exception. The value must then not be
+ * modified by any of them.
+ * <p>
+ * A thread does not join a flight sent before one of its own commands which are not coalescable,
+ * e.g. a write, has completed, so that it reads its own writes. A flight may still have been sent
+ * before a write of another thread, which the joining thread knows to be complete: callers needing
+ * such guarantees must not coalesce their reads.
+ */
+@Experimental
+public class SingleFlightCommandExecutor implements CommandExecutor {
+
+  /**
+   * The read-only commands which are cacheable by default, see {@link DefaultCacheable}.
+   */
+  public static final Predicate<CommandObject<?>> DEFAULT_READ_ONLY =
+      commandObject -> DefaultCacheable.isDefaultCacheableCommand(commandObject.getArguments().getCommand());
+
+  private final CommandExecutor executor;
+  private final Predicate<CommandObject<?>> coalescable;
+  private final ConcurrentMap<CommandObject<?>, Flight> flights = new ConcurrentHashMap<>();
+  private final LongAdder coalescedCount = new LongAdder();
+  // ticks on the completion of each command which is not coalescable
+  private final AtomicLong clock = new AtomicLong();
+  // the time of the last command of the thread which is not coalescable
+  private final ThreadLocal<long[]> lastWrite = ThreadLocal.withInitial(() -> new long[1]);
+
+  public SingleFlightCommandExecutor(CommandExecutor executor) {
+    this(executor, DEFAULT_READ_ONLY);
+  }
+
+  /**
+   * @param coalescable whether concurrent executions of a command may share a reply; it must only
+   * accept read-only commands
+   */
+  public SingleFlightCommandExecutor(CommandExecutor executor, Predicate<CommandObject<?>> coalescable) {
+    this.executor = executor;
+    this.coalescable = coalescable;
+  }
+
+  @Override
+  public void close() {
+    IOUtils.closeQuietly(executor);
+  }
+
+  @Override
+  public <T> T executeCommand(CommandObject<T> commandObject) {
+    if (!coalescable.test(commandObject)) {
+      try {
+        return executor.executeCommand(commandObject);
+      } finally {
+        lastWrite.get()[0] = clock.incrementAndGet();
+      }
+    }
+
+    Flight flight = new Flight(clock.get());
+    Flight inFlight = flights.putIfAbsent(commandObject, flight);
+    if (inFlight != null) {
+      if (inFlight.sentAt < lastWrite.get()[0]) {
+        // may have been sent before the last write of the thread
+        return executor.executeCommand(commandObject);
+      }
+      coalescedCount.increment();
+      return (T) await(inFlight);
+    }
+
+    T result;
+    try {
+      result = executor.executeCommand(commandObject);
+    } catch (RuntimeException | Error e) {
+      // the callers coming from now on send the command again
+      flights.remove(commandObject, flight);
+      flight.completeExceptionally(e);
+      throw e;
+    }
+    flights.remove(commandObject, flight);
+    flight.complete(result);
+    return result;
+  }
+
+  @Override
+  public <T> T broadcastCommand(CommandObject<T> commandObject) {
+    try {
+      return executor.broadcastCommand(commandObject);
+    } finally {
+      lastWrite.get()[0] = clock.incrementAndGet();
+    }
+  }
+
+  /**
+   * @return the number of executions which waited for the reply of an equal command in flight
+   */
+  public long getCoalescedCount() {
+    return coalescedCount.sum();
+  }
+
+  private static final class Flight extends CompletableFuture<Object> {
+
+    // the clock before the command is sent
+    private final long sentAt;
+
+    Flight(long sentAt) {
+      this.sentAt = sentAt;
+    }
+  }
+
+  private static Object await(CompletableFuture<Object> flight) {
+    try {
+      return flight.join();
+    } catch (CompletionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw e;
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package redis.clients.jedis.providers;
 
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -27,6 +28,7 @@ import static redis.clients.jedis.JedisCluster.INIT_NO_ERROR_PROPERTY;
 public class ClusterConnectionProvider implements ConnectionProvider {
 
   protected final JedisClusterInfoCache cache;
+  private Path topologySnapshot;
 
   public ClusterConnectionProvider(Set<HostAndPort> clusterNodes, JedisClientConfig clientConfig) {
     this.cache = new JedisClusterInfoCache(clientConfig, clusterNodes);
@@ -65,6 +67,20 @@ public class ClusterConnectionProvider implements ConnectionProvider {
     initializeSlotsCache(clusterNodes, clientConfig);
   }
 
+  /**
+   * @param topologySnapshot the file keeping the cluster topology across restarts: it is read instead
+   * of discovering the topology if it exists, and written on {@link #close()}
+   */
+  @Experimental
+  public ClusterConnectionProvider(Set<HostAndPort> clusterNodes, JedisClientConfig clientConfig, Cache clientSideCache,
+      GenericObjectPoolConfig<Connection> poolConfig, Duration topologyRefreshPeriod, Path topologySnapshot) {
+    this.cache = new JedisClusterInfoCache(clientConfig, clientSideCache, poolConfig, clusterNodes, topologyRefreshPeriod);
+    this.topologySnapshot = topologySnapshot;
+    if (!cache.loadTopologySnapshot(topologySnapshot)) {
+      initializeSlotsCache(clusterNodes, clientConfig);
+    }
+  }
+
   private void initializeSlotsCache(Set<HostAndPort> startNodes, JedisClientConfig clientConfig) {
     if (startNodes.isEmpty()) {
       throw new JedisClusterOperationException("No nodes to initialize cluster slots cache.");
@@ -97,9 +113,28 @@ public class ClusterConnectionProvider implements ConnectionProvider {
 
   @Override
   public void close() {
+    if (topologySnapshot != null) {
+      try {
+        cache.saveTopologySnapshot(topologySnapshot);
+      } catch (JedisException e) {
+        // the next run discovers the topology
+      }
+    }
     cache.close();
   }
 
+  /**
+   * Writes the current topology to the snapshot file, e.g. periodically, as it is otherwise only
+   * written on {@link #close()}.
+   */
+  @Experimental
+  public void saveTopologySnapshot() {
+    if (topologySnapshot == null) {
+      throw new IllegalStateException("No topology snapshot file is configured.");
+    }
+    cache.saveTopologySnapshot(topologySnapshot);
+  }
+
   public void renewSlotCache() {
     cache.renewClusterSlots(null);
   }
@@ -0,0 +1,125 @@
+package redis.clients.jedis.providers;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+
+import redis.clients.jedis.CommandArguments;
+import redis.clients.jedis.Connection;
+import redis.clients.jedis.ConnectionPool;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.JedisClientConfig;
+import redis.clients.jedis.MultiplexedConnection;
+import redis.clients.jedis.annots.Experimental;
+import redis.clients.jedis.util.IOUtils;
+import redis.clients.jedis.util.Pool;
+
+/**
+ * A provider which serves commands through a small, fixed number of {@link MultiplexedConnection}s
+ * shared by all threads.
+ * <p>
+ * Connections handed out by {@link #getConnection()} (used by pipelines, transactions and blocking
+ * commands) are exclusive and come from a regular connection pool.
+ */
+@Experimental
+public class MultiplexedConnectionProvider implements ConnectionProvider {
+
+  private final HostAndPort hostAndPort;
+  private final JedisClientConfig clientConfig;
+  private final int maxBatchSize;
+  private final ConnectionPool pool;
+
+  // read without locking, replaced and closed under the lock of the provider
+  private final AtomicReferenceArray<MultiplexedConnection> connections;
+  private final AtomicInteger roundRobin = new AtomicInteger();
+  private volatile boolean closed = false;
+
+  public MultiplexedConnectionProvider(HostAndPort hostAndPort, JedisClientConfig clientConfig) {
+    this(hostAndPort, clientConfig, 1);
+  }
+
+  public MultiplexedConnectionProvider(HostAndPort hostAndPort, JedisClientConfig clientConfig,
+      int multiplexedConnections) {
+    this(hostAndPort, clientConfig, multiplexedConnections, new GenericObjectPoolConfig<>());
+  }
+
+  public MultiplexedConnectionProvider(HostAndPort hostAndPort, JedisClientConfig clientConfig,
+      int multiplexedConnections, GenericObjectPoolConfig<Connection> poolConfig) {
+    this(hostAndPort, clientConfig, multiplexedConnections, MultiplexedConnection.DEFAULT_MAX_BATCH_SIZE,
+        poolConfig);
+  }
+
+  /**
+   * @param hostAndPort the Redis server
+   * @param clientConfig client configuration used by all connections
+   * @param multiplexedConnections number of sockets shared by all threads
+   * @param maxBatchSize maximum number of commands written with a single flush
+   * @param poolConfig configuration of the pool of exclusive connections
+   */
+  public MultiplexedConnectionProvider(HostAndPort hostAndPort, JedisClientConfig clientConfig,
+      int multiplexedConnections, int maxBatchSize, GenericObjectPoolConfig<Connection> poolConfig) {
+    if (multiplexedConnections <= 0) {
+      throw new IllegalArgumentException("multiplexedConnections must be positive.");
+    }
+    this.hostAndPort = hostAndPort;
+    this.clientConfig = clientConfig;
+    this.maxBatchSize = maxBatchSize;
+    this.pool = new ConnectionPool(hostAndPort, clientConfig, poolConfig);
+    this.connections = new AtomicReferenceArray<>(multiplexedConnections);
+  }
+
+  /**
+   * Get one of the shared connections. Broken connections are replaced on demand.
+   */
+  public MultiplexedConnection getMultiplexedConnection() {
+    int index = Math.floorMod(roundRobin.getAndIncrement(), connections.length());
+    MultiplexedConnection connection = connections.get(index);
+    if (connection == null || connection.isBroken()) {
+      connection = replace(index);
+    }
+    return connection;
+  }
+
+  private synchronized MultiplexedConnection replace(int index) {
+    if (closed) {
+      throw new IllegalStateException("Provider is closed.");
+    }
+    MultiplexedConnection connection = connections.get(index);
+    if (connection == null || connection.isBroken()) {
+      IOUtils.closeQuietly(connection);
+      connection = new MultiplexedConnection(new Connection(hostAndPort, clientConfig), maxBatchSize);
+      connections.set(index, connection);
+    }
+    return connection;
+  }
+
+  @Override
+  public synchronized void close() {
+    closed = true;
+    for (int i = 0; i < connections.length(); i++) {
+      IOUtils.closeQuietly(connections.getAndSet(i, null));
+    }
+    pool.close();
+  }
+
+  public final Pool<Connection> getPool() {
+    return pool;
+  }
+
+  @Override
+  public Connection getConnection() {
+    return pool.getResource();
+  }
+
+  @Override
+  public Connection getConnection(CommandArguments args) {
+    return pool.getResource();
+  }
+
+  @Override
+  public Map<?, Pool<Connection>> getConnectionMap() {
+    return Collections.singletonMap(hostAndPort, pool);
+  }
+}
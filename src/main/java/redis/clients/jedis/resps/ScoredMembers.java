@@ -0,0 +1,73 @@
+package redis.clients.jedis.resps;
+
+import java.util.Arrays;
+
+import redis.clients.jedis.annots.Experimental;
+import redis.clients.jedis.util.SafeEncoder;
+
+/**
+ * Members and scores of a sorted set reply, as parallel arrays instead of a list of {@link Tuple}s.
+ */
+@Experimental
+public class ScoredMembers {
+
+  private final byte[][] members;
+  private final double[] scores;
+
+  public ScoredMembers(byte[][] members, double[] scores) {
+    if (members.length != scores.length) {
+      throw new IllegalArgumentException("Members and scores must have the same length.");
+    }
+    this.members = members;
+    this.scores = scores;
+  }
+
+  public int size() {
+    return members.length;
+  }
+
+  public byte[] getBinaryElement(int index) {
+    return members[index];
+  }
+
+  public String getElement(int index) {
+    return SafeEncoder.encode(members[index]);
+  }
+
+  public double getScore(int index) {
+    return scores[index];
+  }
+
+  public byte[][] getBinaryElements() {
+    return members;
+  }
+
+  public double[] getScores() {
+    return scores;
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Arrays.deepHashCode(members) + Arrays.hashCode(scores);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == null) return false;
+    if (obj == this) return true;
+    if (!(obj instanceof ScoredMembers)) return false;
+
+    ScoredMembers other = (ScoredMembers) obj;
+    return Arrays.deepEquals(members, other.members) && Arrays.equals(scores, other.scores);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("[");
+    for (int i = 0; i < members.length; i++) {
+      if (i > 0) sb.append(", ");
+      sb.append('[').append(SafeEncoder.encode(members[i])).append(',').append(scores[i]).append(']');
+    }
+    return sb.append(']').toString();
+  }
+}
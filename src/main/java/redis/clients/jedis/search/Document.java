@@ -11,6 +11,7 @@ import java.util.Map;
 import redis.clients.jedis.Builder;
 import redis.clients.jedis.BuilderFactory;
 import redis.clients.jedis.util.KeyValue;
+import redis.clients.jedis.util.LazyDecodedMap;
 
 /**
  * Document represents a single indexed document or entity in the engine
@@ -145,19 +146,21 @@ public class Document implements Serializable {
    */
   public static Document load(String id, double score, List<byte[]> fields, boolean decode,
       Map<String, Boolean> isFieldDecode) {
-    Document ret = new Document(id, score);
-    if (fields != null) {
-      for (int i = 0; i < fields.size(); i += 2) {
-        byte[] rawKey = fields.get(i);
-        byte[] rawValue = fields.get(i + 1);
-        String key = SafeEncoder.encode(rawKey);
-        Object value = rawValue == null ? null
-            : (decode && (isFieldDecode == null || !Boolean.FALSE.equals(isFieldDecode.get(key))))
-            ? SafeEncoder.encode(rawValue) : rawValue;
-        ret.set(key, value);
+    if (fields == null) {
+      return new Document(id, score);
+    }
+    LazyDecodedMap<Object> map = new LazyDecodedMap<>(fields.size() / 2);
+    for (int i = 0; i < fields.size(); i += 2) {
+      byte[] rawKey = fields.get(i);
+      byte[] rawValue = fields.get(i + 1);
+      String key = SafeEncoder.encode(rawKey);
+      if (decode && (isFieldDecode == null || !Boolean.FALSE.equals(isFieldDecode.get(key)))) {
+        map.putLazily(key, rawValue, BuilderFactory.STRING::build);
+      } else {
+        map.put(key, rawValue);
       }
     }
-    return ret;
+    return new Document(id, map, score);
   }
   /// <-- RESP2
 
@@ -206,13 +209,15 @@ public class Document implements Serializable {
 
     final List<KeyValue> list = (List) data;
 
-    Map<String, Object> map = new HashMap<>(list.size(), 1f);
+    LazyDecodedMap<Object> map = new LazyDecodedMap<>(list.size());
     list.stream().filter((kv) -> (kv != null && kv.getKey() != null && kv.getValue() != null))
         .forEach((kv) -> {
           String key = BuilderFactory.STRING.build(kv.getKey());
-          map.put(key,
-              (Boolean.FALSE.equals(isDecode.get(key)) ? BuilderFactory.RAW_OBJECT
-                  : BuilderFactory.AGGRESSIVE_ENCODED_OBJECT).build(kv.getValue()));
+          if (Boolean.FALSE.equals(isDecode.get(key))) {
+            map.put(key, BuilderFactory.RAW_OBJECT.build(kv.getValue()));
+          } else {
+            map.putLazily(key, kv.getValue(), BuilderFactory.AGGRESSIVE_ENCODED_OBJECT::build);
+          }
         });
     return map;
   }
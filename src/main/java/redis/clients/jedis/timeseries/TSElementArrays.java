@@ -0,0 +1,68 @@
+package redis.clients.jedis.timeseries;
+
+import java.util.Arrays;
+
+import redis.clients.jedis.annots.Experimental;
+
+/**
+ * Samples of a range reply, as parallel arrays instead of a list of {@link TSElement}s.
+ */
+@Experimental
+public class TSElementArrays {
+
+  private final long[] timestamps;
+  private final double[] values;
+
+  public TSElementArrays(long[] timestamps, double[] values) {
+    if (timestamps.length != values.length) {
+      throw new IllegalArgumentException("Timestamps and values must have the same length.");
+    }
+    this.timestamps = timestamps;
+    this.values = values;
+  }
+
+  public int size() {
+    return timestamps.length;
+  }
+
+  public long getTimestamp(int index) {
+    return timestamps[index];
+  }
+
+  public double getValue(int index) {
+    return values[index];
+  }
+
+  public long[] getTimestamps() {
+    return timestamps;
+  }
+
+  public double[] getValues() {
+    return values;
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Arrays.hashCode(timestamps) + Arrays.hashCode(values);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == null) return false;
+    if (obj == this) return true;
+    if (!(obj instanceof TSElementArrays)) return false;
+
+    TSElementArrays other = (TSElementArrays) obj;
+    return Arrays.equals(timestamps, other.timestamps) && Arrays.equals(values, other.values);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("[");
+    for (int i = 0; i < timestamps.length; i++) {
+      if (i > 0) sb.append(", ");
+      sb.append('(').append(timestamps[i]).append(':').append(values[i]).append(')');
+    }
+    return sb.append(']').toString();
+  }
+}
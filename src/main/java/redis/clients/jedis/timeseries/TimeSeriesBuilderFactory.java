@@ -8,6 +8,9 @@ import java.util.stream.Collectors;
 
 import redis.clients.jedis.Builder;
 import redis.clients.jedis.BuilderFactory;
+import redis.clients.jedis.CursorBuilder;
+import redis.clients.jedis.ReplyCursor;
+import redis.clients.jedis.annots.Experimental;
 import redis.clients.jedis.util.KeyValue;
 
 public final class TimeSeriesBuilderFactory {
@@ -31,6 +34,50 @@ public final class TimeSeriesBuilderFactory {
     }
   };
 
+  /**
+   * Builds the same samples as {@link #TIMESERIES_ELEMENT_LIST}, as parallel arrays, decoding the
+   * reply through a {@link ReplyCursor}.
+   */
+  @Experimental
+  public static final Builder<TSElementArrays> TIMESERIES_ELEMENT_ARRAYS
+      = new CursorBuilder<TSElementArrays>(new Builder<TSElementArrays>() {
+    @Override
+    public TSElementArrays build(Object data) {
+      if (data == null) return null;
+      List<TSElement> list = TIMESERIES_ELEMENT_LIST.build(data);
+      long[] timestamps = new long[list.size()];
+      double[] values = new double[list.size()];
+      for (int i = 0; i < timestamps.length; i++) {
+        timestamps[i] = list.get(i).getTimestamp();
+        values[i] = list.get(i).getValue();
+      }
+      return new TSElementArrays(timestamps, values);
+    }
+
+    @Override
+    public String toString() {
+      return "TSElementArrays";
+    }
+  }) {
+    @Override
+    public TSElementArrays read(ReplyCursor cursor) {
+      int num = cursor.readAggregateLength();
+      if (num == -1) return null;
+
+      long[] timestamps = new long[num];
+      double[] values = new double[num];
+      for (int i = 0; i < num; i++) {
+        int length = cursor.readAggregateLength();
+        timestamps[i] = cursor.readLong();
+        values[i] = cursor.readDouble();
+        for (int j = 2; j < length; j++) {
+          cursor.skip();
+        }
+      }
+      return new TSElementArrays(timestamps, values);
+    }
+  };
+
   public static final Builder<Map<String, TSMRangeElements>> TIMESERIES_MRANGE_RESPONSE
       = new Builder<Map<String, TSMRangeElements>>() {
     @Override
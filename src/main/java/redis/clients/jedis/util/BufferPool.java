@@ -0,0 +1,94 @@
+package redis.clients.jedis.util;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+import redis.clients.jedis.annots.Internal;
+
+/**
+ * The I/O buffers of the connections, shared so that idle connections do not hold any: a connection
+ * returned to its pool releases its buffers here, and acquires them again when it is borrowed.
+ * <p>
+ * Only buffers whose size is a power of two are kept, at most {@code jedis.bufferPool.size} bytes of
+ * them in total (8 MiB by default); the others are left to the garbage collector. The streams round
+ * their sizes up with {@link #sizeClass(int)}, so that their buffers are kept.
+ */
+@Internal
+public final class BufferPool {
+
+  private static final BufferPool SHARED = new BufferPool(Long.parseLong(
+      System.getProperty("jedis.bufferPool.size", String.valueOf(8 << 20))));
+
+  private static final byte[] EMPTY = new byte[0];
+
+  // by the power of two of their size
+  @SuppressWarnings("unchecked")
+  private final ConcurrentLinkedDeque<byte[]>[] buffers = new ConcurrentLinkedDeque[31];
+  private final AtomicLong pooledBytes = new AtomicLong();
+  private final long maxPooledBytes;
+
+  public BufferPool(long maxPooledBytes) {
+    this.maxPooledBytes = maxPooledBytes;
+    for (int i = 0; i < buffers.length; i++) {
+      buffers[i] = new ConcurrentLinkedDeque<>();
+    }
+  }
+
+  public static BufferPool shared() {
+    return SHARED;
+  }
+
+  /**
+   * @return the buffer held by a stream without one
+   */
+  static byte[] empty() {
+    return EMPTY;
+  }
+
+  /**
+   * @return the smallest power of two not less than {@code size}, or {@code size} if there is none
+   */
+  public static int sizeClass(int size) {
+    if (size <= 1 || Integer.bitCount(size) == 1 || size > 1 << 30) {
+      return size;
+    }
+    return Integer.highestOneBit(size) << 1;
+  }
+
+  /**
+   * @return a buffer of exactly {@code size} bytes, whose content is undefined
+   */
+  public byte[] acquire(int size) {
+    if (Integer.bitCount(size) == 1) {
+      final byte[] buffer = buffers[Integer.numberOfTrailingZeros(size)].pollFirst();
+      if (buffer != null) {
+        pooledBytes.addAndGet(-size);
+        return buffer;
+      }
+    }
+    return new byte[size];
+  }
+
+  /**
+   * The buffer must not be used anymore.
+   */
+  public void release(byte[] buffer) {
+    final int size = buffer.length;
+    if (Integer.bitCount(size) != 1) {
+      return;
+    }
+    if (pooledBytes.addAndGet(size) > maxPooledBytes) {
+      pooledBytes.addAndGet(-size);
+      return;
+    }
+    // the most recently used first, as it is likely to be in the CPU caches
+    buffers[Integer.numberOfTrailingZeros(size)].offerFirst(buffer);
+  }
+
+  /**
+   * @return the total size of the buffers kept
+   */
+  public long getPooledBytes() {
+    return pooledBytes.get();
+  }
+}
@@ -0,0 +1,96 @@
+package redis.clients.jedis.util;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import redis.clients.jedis.annots.Internal;
+
+/**
+ * A list of a reply whose elements are decoded only when they are read.
+ * <p>
+ * It can be modified as an {@link ArrayList}, and is serialized as one.
+ */
+@Internal
+public final class LazyDecodedList<E> extends AbstractList<E> implements RandomAccess, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final transient ArrayList<Object> list;
+
+  /**
+   * @param decoder decodes each element when it is first read; {@code null} elements are not decoded
+   */
+  public LazyDecodedList(List<?> data, Function<Object, ? extends E> decoder) {
+    this.list = new ArrayList<>(data.size());
+    for (Object element : data) {
+      list.add(element == null ? null : new LazyValue(element, decoder));
+    }
+  }
+
+  private LazyDecodedList(int initialCapacity) {
+    this.list = new ArrayList<>(initialCapacity);
+  }
+
+  /**
+   * @param copier copies an element, or the data of an element not decoded yet
+   * @param notCopyable returned by the copier for an element which can not be copied
+   * @return a copy whose elements are not decoded either, or {@code null} if an element can not be
+   * copied
+   */
+  public LazyDecodedList<E> copy(UnaryOperator<Object> copier, Object notCopyable) {
+    final LazyDecodedList<E> copy = new LazyDecodedList<>(list.size());
+    for (Object element : list) {
+      final Object value = LazyValue.copy(element, copier, notCopyable);
+      if (value == notCopyable) {
+        return null;
+      }
+      copy.list.add(value);
+    }
+    return copy;
+  }
+
+  @Override
+  public int size() {
+    return list.size();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public E get(int index) {
+    return (E) LazyValue.decode(list.get(index));
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public E set(int index, E element) {
+    return (E) LazyValue.decode(list.set(index, element));
+  }
+
+  @Override
+  public void add(int index, E element) {
+    list.add(index, element);
+    modCount++;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public E remove(int index) {
+    modCount++;
+    return (E) LazyValue.decode(list.remove(index));
+  }
+
+  @Override
+  public void clear() {
+    list.clear();
+    modCount++;
+  }
+
+  private Object writeReplace() {
+    return new ArrayList<>(this);
+  }
+}
@@ -0,0 +1,173 @@
+package redis.clients.jedis.util;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import redis.clients.jedis.annots.Internal;
+
+/**
+ * A map of a reply whose values are decoded only when they are read, e.g. when an application reads
+ * a few fields of a large hash. The keys are decoded when they are put.
+ * <p>
+ * It can be modified as a {@link HashMap}, and is serialized as one.
+ */
+@Internal
+public final class LazyDecodedMap<V> extends AbstractMap<String, V> implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final transient HashMap<String, Object> map;
+
+  public LazyDecodedMap(int initialCapacity) {
+    this.map = new HashMap<>(initialCapacity, 1f);
+  }
+
+  /**
+   * @param decoder decodes the data when the value is first read
+   */
+  public void putLazily(String key, Object data, Function<Object, ? extends V> decoder) {
+    map.put(key, data == null ? null : new LazyValue(data, decoder));
+  }
+
+  /**
+   * @param copier copies a value, or the data of a value not decoded yet
+   * @param notCopyable returned by the copier for a value which can not be copied
+   * @return a copy whose values are not decoded either, or {@code null} if a value can not be copied
+   */
+  public LazyDecodedMap<V> copy(UnaryOperator<Object> copier, Object notCopyable) {
+    final LazyDecodedMap<V> copy = new LazyDecodedMap<>(map.size());
+    for (Entry<String, Object> entry : map.entrySet()) {
+      final Object value = LazyValue.copy(entry.getValue(), copier, notCopyable);
+      if (value == notCopyable) {
+        return null;
+      }
+      copy.map.put(entry.getKey(), value);
+    }
+    return copy;
+  }
+
+  @Override
+  public int size() {
+    return map.size();
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return map.containsKey(key);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V get(Object key) {
+    return (V) LazyValue.decode(map.get(key));
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V put(String key, V value) {
+    return (V) LazyValue.decode(map.put(key, value));
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V remove(Object key) {
+    return (V) LazyValue.decode(map.remove(key));
+  }
+
+  @Override
+  public void clear() {
+    map.clear();
+  }
+
+  @Override
+  public Set<Entry<String, V>> entrySet() {
+    return new AbstractSet<Entry<String, V>>() {
+      @Override
+      public Iterator<Entry<String, V>> iterator() {
+        final Iterator<Entry<String, Object>> it = map.entrySet().iterator();
+        return new Iterator<Entry<String, V>>() {
+          @Override
+          public boolean hasNext() {
+            return it.hasNext();
+          }
+
+          @Override
+          public Entry<String, V> next() {
+            return new LazyEntry<>(it.next());
+          }
+
+          @Override
+          public void remove() {
+            it.remove();
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return map.size();
+      }
+
+      @Override
+      public void clear() {
+        map.clear();
+      }
+    };
+  }
+
+  private Object writeReplace() {
+    return new HashMap<>(this);
+  }
+
+  private static final class LazyEntry<V> implements Entry<String, V> {
+
+    private final Entry<String, Object> entry;
+
+    private LazyEntry(Entry<String, Object> entry) {
+      this.entry = entry;
+    }
+
+    @Override
+    public String getKey() {
+      return entry.getKey();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V getValue() {
+      return (V) LazyValue.decode(entry.getValue());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V setValue(V value) {
+      return (V) LazyValue.decode(entry.setValue(value));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Map.Entry)) return false;
+      Entry<?, ?> e = (Entry<?, ?>) o;
+      V value = getValue();
+      return getKey().equals(e.getKey()) && (value == null ? e.getValue() == null : value.equals(e.getValue()));
+    }
+
+    @Override
+    public int hashCode() {
+      V value = getValue();
+      return getKey().hashCode() ^ (value == null ? 0 : value.hashCode());
+    }
+
+    @Override
+    public String toString() {
+      return getKey() + "=" + getValue();
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package redis.clients.jedis.util;
+
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * A value of a reply, decoded when it is first read.
+ */
+final class LazyValue {
+
+  private static final Object UNDECODED = new Object();
+
+  // dropped once decoded, after the value is set
+  private volatile Object data;
+  private final Function<Object, ?> decoder;
+  // decoded values are immutable, so that racing readers may decode the same data twice
+  private volatile Object value = UNDECODED;
+
+  /**
+   * @param data not {@code null}
+   */
+  LazyValue(Object data, Function<Object, ?> decoder) {
+    this.data = data;
+    this.decoder = decoder;
+  }
+
+  Object get() {
+    Object v = value;
+    if (v == UNDECODED) {
+      final Object d = data;
+      if (d == null) {
+        // decoded meanwhile
+        return value;
+      }
+      value = v = decoder.apply(d);
+      data = null;
+    }
+    return v;
+  }
+
+  /**
+   * @param copier copies a value, or the data of a value not decoded yet
+   * @return the copy, which is not decoded either, or {@code notCopyable}
+   */
+  static Object copy(Object o, UnaryOperator<Object> copier, Object notCopyable) {
+    if (!(o instanceof LazyValue)) {
+      return copier.apply(o);
+    }
+    final LazyValue lazy = (LazyValue) o;
+    Object v = lazy.value;
+    if (v == UNDECODED) {
+      final Object d = lazy.data;
+      if (d != null) {
+        final Object data = copier.apply(d);
+        return data == notCopyable ? notCopyable : new LazyValue(data, lazy.decoder);
+      }
+      // decoded meanwhile
+      v = lazy.value;
+    }
+    return copier.apply(v);
+  }
+
+  /**
+   * @return the decoded value, if {@code o} is a lazy value
+   */
+  static Object decode(Object o) {
+    return o instanceof LazyValue ? ((LazyValue) o).get() : o;
+  }
+}
@@ -13,7 +13,10 @@ import java.io.ByteArrayOutputStream;
 import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 
 import redis.clients.jedis.annots.Experimental;
 import redis.clients.jedis.exceptions.JedisConnectionException;
@@ -29,16 +32,33 @@ public class RedisInputStream extends FilterInputStream {
       System.getProperty("jedis.bufferSize.input",
           System.getProperty("jedis.bufferSize", "8192")));
 
-  protected final byte[] buf;
+  private static final int MAX_INPUT_BUFFER_SIZE = Integer.parseInt(
+      System.getProperty("jedis.bufferSize.input.max",
+          System.getProperty("jedis.bufferSize.max", "65536")));
+
+  /**
+   * Acquired from the {@link BufferPool} by the first read. It grows while the replies fill it, up to
+   * {@code jedis.bufferSize.input.max} bytes, is shrunk by {@link #shrinkBuffer()} and released by
+   * {@link #releaseBuffer()}. Its sizes are rounded up to a power of two, so that it is pooled.
+   */
+  protected byte[] buf;
 
   protected int count, limit;
 
+  private final int initialSize;
+  private final int maxSize;
+  private final BufferPool pool = BufferPool.shared();
+  // bytes read since the last shrinkBuffer()
+  private long filled;
+
   public RedisInputStream(InputStream in, int size) {
     super(in);
     if (size <= 0) {
       throw new IllegalArgumentException("Buffer size <= 0");
     }
-    buf = new byte[size];
+    initialSize = BufferPool.sizeClass(size);
+    maxSize = Math.max(initialSize, BufferPool.sizeClass(MAX_INPUT_BUFFER_SIZE));
+    buf = BufferPool.empty();
   }
 
   public RedisInputStream(InputStream in) {
@@ -51,14 +71,30 @@ public class RedisInputStream extends FilterInputStream {
     return buf[count] == b;
   }
 
+  /**
+   * Whether the next reply is a nil, i.e. {@code _}, {@code $-1} or {@code *-1}. Nothing is consumed.
+   */
+  @Experimental
+  public boolean peekNull() throws JedisConnectionException {
+    ensureFill();
+    switch (buf[count]) {
+      case '_':
+        return true;
+      case '$':
+      case '*':
+        ensureBuffered(3);
+        return buf[count + 1] == '-' && buf[count + 2] == '1';
+      default:
+        return false;
+    }
+  }
+
   public byte readByte() throws JedisConnectionException {
     ensureFill();
     return buf[count++];
   }
 
   private void ensureCrLf() {
-    final byte[] buf = this.buf;
-
     ensureFill();
     if (buf[count++] == '\r') {
 
@@ -177,8 +213,6 @@ public class RedisInputStream extends FilterInputStream {
   }
 
   public boolean readBooleanCrLf() {
-    final byte[] buf = this.buf;
-
     ensureFill();
     final byte b = buf[count++];
 
@@ -198,8 +232,6 @@ public class RedisInputStream extends FilterInputStream {
   }
 
   public long readLongCrLf() {
-    final byte[] buf = this.buf;
-
     ensureFill();
 
     final boolean isNeg = buf[count] == '-';
@@ -246,24 +278,193 @@ public class RedisInputStream extends FilterInputStream {
     return length;
   }
 
+  /**
+   * Reads exactly {@code len} bytes as a string, decoded as by {@link SafeEncoder}. When they are all in the internal buffer,
+   * they are decoded from there without copying them first.
+   */
+  @Experimental
+  public String readString(int len) throws JedisConnectionException {
+    ensureFill();
+    if (limit - count >= len) {
+      final String str = SafeEncoder.encode(buf, count, len);
+      count += len;
+      return str;
+    }
+
+    final byte[] bytes = new byte[len];
+    int offset = 0;
+    while (offset < len) {
+      offset += read(bytes, offset, len - offset);
+    }
+    return SafeEncoder.encode(bytes);
+  }
+
+  /**
+   * Discards exactly {@code len} bytes.
+   */
+  @Experimental
+  public void skipBytes(int len) throws JedisConnectionException {
+    while (len > 0) {
+      ensureFill();
+      final int length = Math.min(limit - count, len);
+      count += length;
+      len -= length;
+    }
+  }
+
+  /**
+   * Transfers exactly {@code len} bytes to the output stream, through the internal buffer.
+   */
+  @Experimental
+  public void readInto(OutputStream out, int len) throws JedisConnectionException {
+    while (len > 0) {
+      ensureFill();
+      final int length = Math.min(limit - count, len);
+      try {
+        out.write(buf, count, length);
+      } catch (IOException e) {
+        throw new JedisConnectionException(e);
+      }
+      count += length;
+      len -= length;
+    }
+  }
+
+  /**
+   * Transfers exactly {@code len} bytes to the channel, through the internal buffer.
+   */
+  @Experimental
+  public void readInto(WritableByteChannel channel, int len) throws JedisConnectionException {
+    while (len > 0) {
+      ensureFill();
+      final int length = Math.min(limit - count, len);
+      final ByteBuffer chunk = ByteBuffer.wrap(buf, count, length);
+      try {
+        while (chunk.hasRemaining()) {
+          channel.write(chunk);
+        }
+      } catch (IOException e) {
+        throw new JedisConnectionException(e);
+      }
+      count += length;
+      len -= length;
+    }
+  }
+
+  /**
+   * Transfers exactly {@code len} bytes to the buffer, which must have enough space remaining.
+   */
+  @Experimental
+  public void readInto(ByteBuffer dst, int len) throws JedisConnectionException {
+    while (len > 0) {
+      ensureFill();
+      final int length = Math.min(limit - count, len);
+      dst.put(buf, count, length);
+      count += length;
+      len -= length;
+    }
+  }
+
   /**
    * This method assumes there are required bytes to be read. If we cannot read anymore bytes an
    * exception is thrown to quickly ascertain that the stream was smaller than expected.
    */
   private void ensureFill() throws JedisConnectionException {
     if (count >= limit) {
+      if (buf.length == 0) {
+        buf = pool.acquire(initialSize);
+      } else if (limit == buf.length && buf.length < maxSize) {
+        // the last read filled the buffer, so that there may be more to read than it can hold
+        resize(Math.min(buf.length * 2, maxSize));
+      }
       try {
         limit = in.read(buf);
         count = 0;
         if (limit == -1) {
           throw new JedisConnectionException("Unexpected end of stream.");
         }
+        filled += limit;
       } catch (IOException e) {
         throw new JedisConnectionException(e);
       }
     }
   }
 
+  /**
+   * Makes sure that at least {@code n} bytes are in the buffer, moving the unread ones to its start
+   * if needed.
+   */
+  private void ensureBuffered(int n) throws JedisConnectionException {
+    if (limit - count >= n) {
+      return;
+    }
+    if (n > buf.length) {
+      resize(BufferPool.sizeClass(Math.max(n, buf.length * 2)));
+    } else {
+      System.arraycopy(buf, count, buf, 0, limit - count);
+      limit -= count;
+      count = 0;
+    }
+    try {
+      while (limit < n) {
+        final int read = in.read(buf, limit, buf.length - limit);
+        if (read == -1) {
+          throw new JedisConnectionException("Unexpected end of stream.");
+        }
+        limit += read;
+        filled += read;
+      }
+    } catch (IOException e) {
+      throw new JedisConnectionException(e);
+    }
+  }
+
+  /**
+   * Replaces the buffer by one of the given size, keeping the unread bytes.
+   */
+  private void resize(int size) {
+    final byte[] old = buf;
+    buf = pool.acquire(size);
+    System.arraycopy(old, count, buf, 0, limit - count);
+    limit -= count;
+    count = 0;
+    pool.release(old);
+  }
+
+  /**
+   * Releases the buffer to the {@link BufferPool}, unless it holds unread bytes, e.g. when the
+   * connection returns to its pool. The next read acquires a buffer of the initial size.
+   */
+  @Experimental
+  public void releaseBuffer() {
+    if (count >= limit && buf.length > 0) {
+      pool.release(buf);
+      buf = BufferPool.empty();
+      count = limit = 0;
+    }
+  }
+
+  /**
+   * Replaces the buffer by one of the initial size if it grew larger and the replies read since the
+   * last call would have fit in the initial size, e.g. once large replies are not read anymore, so
+   * that a connection does not keep it. The unread bytes are kept, unless there are too many.
+   * <p>
+   * It must be called by the thread reading the stream, between two replies.
+   */
+  @Experimental
+  public void shrinkBuffer() {
+    final long filled = this.filled;
+    this.filled = 0;
+    if (buf.length <= initialSize || filled > initialSize) {
+      return;
+    }
+    if (count >= limit) {
+      releaseBuffer();
+    } else if (limit - count <= initialSize) {
+      resize(initialSize);
+    }
+  }
+
   @Override
   public int available() throws IOException {
     int availableInBuf = limit - count;
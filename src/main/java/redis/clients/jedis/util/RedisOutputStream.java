@@ -1,8 +1,15 @@
 package redis.clients.jedis.util;
 
+import java.io.EOFException;
 import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+import redis.clients.jedis.annots.Experimental;
 
 /**
  * The class implements a buffered output stream without synchronization There are also special
@@ -15,10 +22,25 @@ public final class RedisOutputStream extends FilterOutputStream {
       System.getProperty("jedis.bufferSize.output",
           System.getProperty("jedis.bufferSize", "8192")));
 
-  protected final byte[] buf;
+  private static final int MAX_OUTPUT_BUFFER_SIZE = Integer.parseInt(
+      System.getProperty("jedis.bufferSize.output.max",
+          System.getProperty("jedis.bufferSize.max", "65536")));
+
+  /**
+   * Acquired from the {@link BufferPool} by the first write. It grows while the commands fill it, up
+   * to {@code jedis.bufferSize.output.max} bytes, is shrunk back by {@link #flush()} and released by
+   * {@link #releaseBuffer()}. Its sizes are rounded up to a power of two, so that it is pooled.
+   */
+  protected byte[] buf;
 
   protected int count;
 
+  private final int initialSize;
+  private final int maxSize;
+  private final BufferPool pool = BufferPool.shared();
+  // bytes written since the last flush()
+  private long flushed;
+
   private final static int[] sizeTable = { 9, 99, 999, 9999, 99999, 999999, 9999999, 99999999,
       999999999, Integer.MAX_VALUE };
 
@@ -49,19 +71,56 @@ public final class RedisOutputStream extends FilterOutputStream {
     if (size <= 0) {
       throw new IllegalArgumentException("Buffer size <= 0");
     }
-    buf = new byte[size];
+    initialSize = BufferPool.sizeClass(size);
+    maxSize = Math.max(initialSize, BufferPool.sizeClass(MAX_OUTPUT_BUFFER_SIZE));
+    buf = BufferPool.empty();
   }
 
   private void flushBuffer() throws IOException {
     if (count > 0) {
       out.write(buf, 0, count);
+      flushed += count;
       count = 0;
     }
   }
 
+  /**
+   * Makes room in the buffer, acquiring one if it has been released. A buffer filled by the commands
+   * is replaced by a larger one, which takes fewer writes.
+   */
+  private void flushFullBuffer() throws IOException {
+    if (buf.length == 0) {
+      buf = pool.acquire(initialSize);
+      return;
+    }
+    flushBuffer();
+    if (buf.length < maxSize) {
+      pool.release(buf);
+      buf = pool.acquire(Math.min(buf.length * 2, maxSize));
+    }
+  }
+
+  private void ensureBuffer() {
+    if (buf.length == 0) {
+      buf = pool.acquire(initialSize);
+    }
+  }
+
+  /**
+   * Releases the buffer to the {@link BufferPool}, unless it holds unflushed bytes, e.g. when the
+   * connection returns to its pool. The next write acquires a buffer of the initial size.
+   */
+  @Experimental
+  public void releaseBuffer() {
+    if (count == 0 && buf.length > 0) {
+      pool.release(buf);
+      buf = BufferPool.empty();
+    }
+  }
+
   public void write(final byte b) throws IOException {
     if (count == buf.length) {
-      flushBuffer();
+      flushFullBuffer();
     }
     buf[count++] = b;
   }
@@ -73,12 +132,13 @@ public final class RedisOutputStream extends FilterOutputStream {
 
   @Override
   public void write(final byte[] b, final int off, final int len) throws IOException {
+    ensureBuffer();
     if (len >= buf.length) {
       flushBuffer();
       out.write(b, off, len);
     } else {
       if (len >= buf.length - count) {
-        flushBuffer();
+        flushFullBuffer();
       }
 
       System.arraycopy(b, off, buf, count, len);
@@ -86,9 +146,138 @@ public final class RedisOutputStream extends FilterOutputStream {
     }
   }
 
+  /**
+   * Writes the remaining bytes of the buffer; its position is not changed.
+   */
+  @Experimental
+  public void write(final ByteBuffer src) throws IOException {
+    if (src.hasArray()) {
+      write(src.array(), src.arrayOffset() + src.position(), src.remaining());
+      return;
+    }
+
+    final ByteBuffer data = src.duplicate();
+    while (data.hasRemaining()) {
+      if (count == buf.length) {
+        flushFullBuffer();
+      }
+      final int length = Math.min(buf.length - count, data.remaining());
+      data.get(buf, count, length);
+      count += length;
+    }
+  }
+
+  /**
+   * Writes {@code length} bytes of the file, starting at {@code position}; the position of the
+   * channel is not changed.
+   */
+  @Experimental
+  public void write(final FileChannel channel, long position, int length) throws IOException {
+    while (length > 0) {
+      if (count == buf.length) {
+        flushFullBuffer();
+      }
+      final int read = channel.read(ByteBuffer.wrap(buf, count, Math.min(buf.length - count, length)), position);
+      if (read < 0) {
+        throw new EOFException("Unexpected end of file.");
+      }
+      count += read;
+      position += read;
+      length -= read;
+    }
+  }
+
+  /**
+   * Writes exactly {@code length} bytes read from the stream.
+   */
+  @Experimental
+  public void write(final InputStream in, int length) throws IOException {
+    while (length > 0) {
+      if (count == buf.length) {
+        flushFullBuffer();
+      }
+      final int read = in.read(buf, count, Math.min(buf.length - count, length));
+      if (read < 0) {
+        throw new EOFException("Unexpected end of stream.");
+      }
+      count += read;
+      length -= read;
+    }
+  }
+
+  /**
+   * @return the length of the string encoded in UTF-8, as by {@link #writeUtf8(String)}
+   */
+  public static int utf8Length(final String str) {
+    final int size = str.length();
+    int length = size;
+    for (int i = 0; i < size; i++) {
+      final char c = str.charAt(i);
+      if (c < 0x80) {
+        continue;
+      }
+      if (c < 0x800) {
+        length += 1;
+      } else if (!Character.isSurrogate(c)) {
+        length += 2;
+      } else if (Character.isHighSurrogate(c) && i + 1 < size && Character.isLowSurrogate(str.charAt(i + 1))) {
+        // four bytes for the pair
+        length += 2;
+        i++;
+      }
+      // else a malformed surrogate, replaced by '?'
+    }
+    return length;
+  }
+
+  /**
+   * Encodes the string in UTF-8 straight into the buffer, without encoding it to an array first.
+   * Malformed surrogates are replaced by {@code '?'}, as by {@link String#getBytes}.
+   */
+  public void writeUtf8(final String str) throws IOException {
+    ensureBuffer();
+    if (buf.length < 4) {
+      write(str.getBytes(StandardCharsets.UTF_8));
+      return;
+    }
+    final int size = str.length();
+    int i = 0;
+    while (i < size) {
+      if (buf.length - count < 4) {
+        flushFullBuffer();
+      }
+      final char c = str.charAt(i++);
+      if (c < 0x80) {
+        buf[count++] = (byte) c;
+        // ASCII fast path, up to the end of the buffer
+        final int end = Math.min(size, i + buf.length - count);
+        char next;
+        while (i < end && (next = str.charAt(i)) < 0x80) {
+          buf[count++] = (byte) next;
+          i++;
+        }
+      } else if (c < 0x800) {
+        buf[count++] = (byte) (0xc0 | (c >> 6));
+        buf[count++] = (byte) (0x80 | (c & 0x3f));
+      } else if (!Character.isSurrogate(c)) {
+        buf[count++] = (byte) (0xe0 | (c >> 12));
+        buf[count++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+        buf[count++] = (byte) (0x80 | (c & 0x3f));
+      } else if (Character.isHighSurrogate(c) && i < size && Character.isLowSurrogate(str.charAt(i))) {
+        final int cp = Character.toCodePoint(c, str.charAt(i++));
+        buf[count++] = (byte) (0xf0 | (cp >> 18));
+        buf[count++] = (byte) (0x80 | ((cp >> 12) & 0x3f));
+        buf[count++] = (byte) (0x80 | ((cp >> 6) & 0x3f));
+        buf[count++] = (byte) (0x80 | (cp & 0x3f));
+      } else {
+        buf[count++] = '?';
+      }
+    }
+  }
+
   public void writeCrLf() throws IOException {
     if (2 >= buf.length - count) {
-      flushBuffer();
+      flushFullBuffer();
     }
 
     buf[count++] = '\r';
@@ -107,7 +296,7 @@ public final class RedisOutputStream extends FilterOutputStream {
 
     size++;
     if (size >= buf.length - count) {
-      flushBuffer();
+      flushFullBuffer();
     }
 
     int q, r;
@@ -133,9 +322,18 @@ public final class RedisOutputStream extends FilterOutputStream {
     writeCrLf();
   }
 
+  /**
+   * Also releases the buffer if it grew larger than the initial size and the bytes written since the
+   * last flush would have fit in the initial size, so that a connection does not keep it once large
+   * commands are not written anymore. The next write acquires a buffer of the initial size.
+   */
   @Override
   public void flush() throws IOException {
     flushBuffer();
+    if (buf.length > initialSize && flushed <= initialSize) {
+      releaseBuffer();
+    }
+    flushed = 0;
     out.flush();
   }
 }
@@ -32,7 +32,26 @@ public final class SafeEncoder {
   }
 
   public static String encode(final byte[] data) {
-    return new String(data, DEFAULT_CHARSET);
+    return encode(data, 0, data.length);
+  }
+
+  /**
+   * Decodes ASCII bytes as ISO-8859-1, which is the same for them and the cheapest to decode; most
+   * replies are ASCII.
+   */
+  public static String encode(final byte[] data, final int offset, final int length) {
+    final Charset charset = DEFAULT_CHARSET;
+    if (charset == StandardCharsets.UTF_8 || charset == StandardCharsets.US_ASCII) {
+      final int end = offset + length;
+      int i = offset;
+      while (i < end && data[i] >= 0) {
+        i++;
+      }
+      if (i == end) {
+        return new String(data, offset, length, StandardCharsets.ISO_8859_1);
+      }
+    }
+    return new String(data, offset, length, charset);
   }
 
   /**
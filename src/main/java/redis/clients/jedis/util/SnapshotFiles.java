@@ -0,0 +1,97 @@
+package redis.clients.jedis.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+import redis.clients.jedis.annots.Internal;
+import redis.clients.jedis.exceptions.JedisException;
+
+/**
+ * Memory-mapped files keeping the state of a client across restarts of the application, e.g. the
+ * commands of the client-side cache or the cluster topology.
+ * <p>
+ * A file starts with the magic number of its kind, the version of the format and the checksum of its
+ * body, so that a foreign, truncated or corrupted file is rejected. It is written to a temporary file
+ * first, then moved, so that a reader never sees it partially written.
+ */
+@Internal
+public final class SnapshotFiles {
+
+  private static final int VERSION = 1;
+  // magic number, version, checksum and length of the body
+  private static final int HEADER_SIZE = 4 + 4 + 8 + 4;
+
+  private SnapshotFiles() {
+    throw new InstantiationError("Must not instantiate this class");
+  }
+
+  public static void write(Path file, int magic, byte[] body) {
+    Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+    try {
+      try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+          StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + body.length);
+        buffer.putInt(magic).putInt(VERSION).putLong(checksum(ByteBuffer.wrap(body))).putInt(body.length)
+            .put(body);
+        buffer.force();
+      }
+      Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      throw new JedisException("Failed to write snapshot " + file, e);
+    }
+  }
+
+  /**
+   * @return the body of the snapshot, or {@code null} if there is no file
+   */
+  public static ByteBuffer read(Path file, int magic) {
+    if (!Files.exists(file)) {
+      return null;
+    }
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      final long size = channel.size();
+      if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+        throw new JedisException("Invalid snapshot size " + size + " of " + file);
+      }
+      // the mapping stays valid once the channel is closed
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      if (buffer.getInt() != magic) {
+        throw new JedisException("Not a snapshot of this kind: " + file);
+      }
+      final int version = buffer.getInt();
+      if (version != VERSION) {
+        throw new JedisException("Unsupported snapshot version " + version + " of " + file);
+      }
+      final long checksum = buffer.getLong();
+      if (buffer.getInt() != size - HEADER_SIZE) {
+        throw new JedisException("Truncated snapshot " + file);
+      }
+      ByteBuffer body = buffer.slice();
+      if (checksum(body.duplicate()) != checksum) {
+        throw new JedisException("Corrupted snapshot " + file);
+      }
+      return body;
+    } catch (IOException e) {
+      throw new JedisException("Failed to read snapshot " + file, e);
+    }
+  }
+
+  public static byte[] readBytes(ByteBuffer in) {
+    byte[] bytes = new byte[in.getInt()];
+    in.get(bytes);
+    return bytes;
+  }
+
+  private static long checksum(ByteBuffer bytes) {
+    CRC32 crc = new CRC32();
+    crc.update(bytes);
+    return crc.getValue();
+  }
+}
@@ -0,0 +1,142 @@
+package redis.clients.jedis;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.providers.MultiplexedConnectionProvider;
+import redis.clients.jedis.util.SafeEncoder;
+
+@RunWith(Parameterized.class)
+public class AsyncUnifiedJedisTest {
+
+  private static final EndpointConfig endpoint = HostAndPorts.getRedisEndpoint("standalone0");
+
+  @Parameterized.Parameters(name = "multiplexed={0}")
+  public static Collection<Object[]> data() {
+    return Arrays.asList(new Object[][] { { true }, { false } });
+  }
+
+  private final boolean multiplexed;
+  private UnifiedJedis jedis;
+  private ExecutorService executor;
+
+  public AsyncUnifiedJedisTest(boolean multiplexed) {
+    this.multiplexed = multiplexed;
+  }
+
+  @Before
+  public void setUp() {
+    JedisClientConfig config = endpoint.getClientConfigBuilder().build();
+    jedis = multiplexed
+        ? new UnifiedJedis(new MultiplexedConnectionProvider(endpoint.getHostAndPort(), config))
+        : new UnifiedJedis(endpoint.getHostAndPort(), config);
+    jedis.flushAll();
+    executor = Executors.newFixedThreadPool(2);
+  }
+
+  @After
+  public void tearDown() {
+    jedis.close();
+    executor.shutdownNow();
+  }
+
+  private AsyncUnifiedJedis async() {
+    return multiplexed ? jedis.async() : jedis.async(executor);
+  }
+
+  @Test
+  public void convenienceCommands() throws Exception {
+    AsyncUnifiedJedis async = async();
+    assertEquals("OK", get(async.set("foo", "bar")));
+    assertEquals("bar", get(async.get("foo")));
+    assertArrayEquals(SafeEncoder.encode("bar"), get(async.get(SafeEncoder.encode("foo"))));
+    assertNull(get(async.get("nokey")));
+    assertEquals(Long.valueOf(1), get(async.hset("hash", "field", "value")));
+    assertEquals("value", get(async.hget("hash", "field")));
+    assertEquals(Long.valueOf(2), get(async.del("foo", "hash")));
+  }
+
+  @Test
+  public void anyCommandObject() throws Exception {
+    jedis.rpush("list", "a", "b", "c");
+    assertEquals(Arrays.asList("a", "b", "c"), get(async().command(c -> c.lrange("list", 0, -1))));
+  }
+
+  @Test
+  public void fanOut() throws Exception {
+    AsyncUnifiedJedis async = async();
+    List<CompletableFuture<Long>> futures = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      futures.add(async.incr("counter"));
+    }
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+    assertEquals("50", jedis.get("counter"));
+  }
+
+  @Test
+  public void composedFutures() throws Exception {
+    AsyncUnifiedJedis async = async();
+    String value = async.set("foo", "bar").thenCompose(ok -> async.get("foo")).get(5, TimeUnit.SECONDS);
+    assertEquals("bar", value);
+  }
+
+  @Test
+  public void blockingCommand() throws Exception {
+    CompletableFuture<List<String>> popped = jedis.async(executor).command(c -> c.blpop(5, "queue"));
+    jedis.rpush("queue", "item");
+    assertEquals(Arrays.asList("queue", "item"), popped.get(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void noFallbackExecutor() throws Exception {
+    if (!multiplexed) {
+      try {
+        jedis.async();
+        fail("Should throw an exception");
+      } catch (IllegalStateException e) {
+        // needs an executor
+      }
+      return;
+    }
+    try {
+      get(jedis.async().command(c -> c.blpop(1, "queue")));
+      fail("Should throw an exception");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+  }
+
+  @Test
+  public void errorReply() throws Exception {
+    jedis.set("foo", "bar");
+    try {
+      get(async().incr("foo"));
+      fail("Should throw an exception");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof JedisDataException);
+    }
+  }
+
+  private static <T> T get(CompletableFuture<T> future) throws Exception {
+    return future.get(5, TimeUnit.SECONDS);
+  }
+}
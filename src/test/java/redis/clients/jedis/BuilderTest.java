@@ -2,9 +2,16 @@ package redis.clients.jedis;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.junit.Assert;
 import org.junit.Test;
 
+import redis.clients.jedis.util.SafeEncoder;
+
 public class BuilderTest {
 
   @Test
@@ -25,4 +32,17 @@ public class BuilderTest {
       Assert.assertEquals("empty String", expected.getMessage());
     }
   }
+
+  @Test
+  public void buildStrings() {
+    List<Object> reply = Arrays.asList(SafeEncoder.encode("a"), SafeEncoder.encode("\u00e9t\u00e9"),
+        SafeEncoder.encode("b"), null);
+    assertEquals(Arrays.asList("a", "\u00e9t\u00e9", "b", null), BuilderFactory.STRING_LIST.build(reply));
+
+    Map<String, String> expected = new HashMap<>();
+    expected.put("a", "\u00e9t\u00e9");
+    expected.put("b", null);
+    assertEquals(expected, BuilderFactory.STRING_MAP.build(reply));
+    assertEquals(expected, BuilderFactory.ENCODED_OBJECT_MAP.build(reply));
+  }
 }
@@ -0,0 +1,135 @@
+package redis.clients.jedis;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.util.SafeEncoder;
+
+public class BulkReplyTransferTest {
+
+  private static final EndpointConfig endpoint = HostAndPorts.getRedisEndpoint("standalone0");
+
+  private static final byte[] KEY = SafeEncoder.encode("blob");
+  private static final byte[] HASH = SafeEncoder.encode("hash");
+
+  private UnifiedJedis jedis;
+  private byte[] value;
+
+  @Before
+  public void setUp() {
+    jedis = new UnifiedJedis(endpoint.getHostAndPort(), endpoint.getClientConfigBuilder().build());
+    jedis.flushAll();
+    value = new byte[100_000];
+    for (int i = 0; i < value.length; i++) {
+      value[i] = (byte) i;
+    }
+    jedis.set(KEY, value);
+    jedis.hset(HASH, KEY, value);
+  }
+
+  @After
+  public void tearDown() {
+    jedis.close();
+  }
+
+  @Test
+  public void getIntoOutputStream() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertEquals(value.length, jedis.getInto(KEY, BulkReplyTransfer.to(out)));
+    assertArrayEquals(value, out.toByteArray());
+  }
+
+  @Test
+  public void getIntoChannel() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertEquals(value.length, jedis.getInto("blob", BulkReplyTransfer.to(Channels.newChannel(out))));
+    assertArrayEquals(value, out.toByteArray());
+  }
+
+  @Test
+  public void getIntoByteBuffer() {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(value.length);
+    assertEquals(value.length, jedis.getInto(KEY, BulkReplyTransfer.to(buffer)));
+    buffer.flip();
+    byte[] read = new byte[buffer.remaining()];
+    buffer.get(read);
+    assertArrayEquals(value, read);
+  }
+
+  @Test
+  public void missingValues() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertEquals(-1, jedis.getInto("nokey", BulkReplyTransfer.to(out)));
+    assertEquals(-1, jedis.hgetInto(HASH, SafeEncoder.encode("nofield"), BulkReplyTransfer.to(out)));
+    assertEquals(-1, jedis.dumpInto("nokey", BulkReplyTransfer.to(out)));
+    assertEquals(0, out.size());
+  }
+
+  @Test
+  public void hgetAndDumpInto() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertEquals(value.length, jedis.hgetInto(HASH, KEY, BulkReplyTransfer.to(out)));
+    assertArrayEquals(value, out.toByteArray());
+
+    out.reset();
+    assertEquals(jedis.dump(KEY).length, jedis.dumpInto(KEY, BulkReplyTransfer.to(out)));
+    assertArrayEquals(jedis.dump(KEY), out.toByteArray());
+  }
+
+  @Test
+  public void bufferTooSmall() {
+    try {
+      jedis.getInto(KEY, BulkReplyTransfer.to(ByteBuffer.allocate(10)));
+      fail("Should throw an exception");
+    } catch (JedisDataException expected) {
+    }
+    // the connection is still in sync
+    assertEquals("PONG", jedis.ping());
+  }
+
+  @Test
+  public void errorReply() {
+    jedis.lpush("list", "a");
+    try {
+      jedis.getInto("list", BulkReplyTransfer.to(new ByteArrayOutputStream()));
+      fail("Should throw an exception");
+    } catch (JedisDataException expected) {
+      assertTrue(expected.getMessage().startsWith("WRONGTYPE"));
+    }
+    assertEquals("PONG", jedis.ping());
+  }
+
+  @Test
+  public void pipelined() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (PipelineBase pipeline = jedis.pipelined()) {
+      Response<Long> length = pipeline.appendCommand(jedis.commandObjects.getInto(KEY, BulkReplyTransfer.to(out)));
+      pipeline.sync();
+      assertEquals(value.length, (long) length.get());
+    }
+    assertArrayEquals(value, out.toByteArray());
+  }
+
+  @Test
+  public void resp3() {
+    try (UnifiedJedis resp3 = new UnifiedJedis(endpoint.getHostAndPort(),
+        endpoint.getClientConfigBuilder().protocol(RedisProtocol.RESP3).build())) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      assertEquals(value.length, resp3.getInto(KEY, BulkReplyTransfer.to(out)));
+      assertArrayEquals(value, out.toByteArray());
+      assertEquals(-1, resp3.getInto("nokey", BulkReplyTransfer.to(out)));
+      assertTrue(Arrays.equals(value, out.toByteArray()));
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package redis.clients.jedis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import redis.clients.jedis.util.SafeEncoder;
+
+public class ClusterTopologySnapshotTest {
+
+  private static final JedisClientConfig clientConfig = DefaultJedisClientConfig.builder().build();
+  private static final HostAndPort startNode = new HostAndPort("localhost", 7379);
+
+  private File file;
+
+  @Before
+  public void setUp() throws IOException {
+    file = File.createTempFile("jedis", ".snapshot");
+  }
+
+  @After
+  public void tearDown() {
+    file.delete();
+  }
+
+  private static List<Object> node(int port) {
+    return Arrays.asList(SafeEncoder.encode("127.0.0.1"), (long) port, SafeEncoder.encode("id" + port));
+  }
+
+  @Test
+  public void topologyIsLoaded() {
+    JedisClusterInfoCache discovered = new JedisClusterInfoCache(clientConfig, Collections.singleton(startNode));
+    assertFalse(discovered.saveTopologySnapshot(file.toPath()));
+    discovered.initializeNodesAndSlots(Arrays.asList(
+        Arrays.asList(0L, 8191L, node(7379), node(7382)),
+        Arrays.asList(8192L, 16383L, node(7380))));
+    assertTrue(discovered.saveTopologySnapshot(file.toPath()));
+    discovered.close();
+
+    JedisClusterInfoCache loaded = new JedisClusterInfoCache(clientConfig, Collections.singleton(startNode));
+    try {
+      assertTrue(loaded.loadTopologySnapshot(file.toPath()));
+      assertEquals(new HostAndPort("127.0.0.1", 7379), loaded.getSlotNode(0));
+      assertEquals(new HostAndPort("127.0.0.1", 7379), loaded.getSlotNode(8191));
+      assertEquals(new HostAndPort("127.0.0.1", 7380), loaded.getSlotNode(16383));
+      // with the replica
+      assertEquals(3, loaded.getNodes().size());
+    } finally {
+      loaded.close();
+    }
+  }
+
+  @Test
+  public void invalidSnapshotIsIgnored() throws IOException {
+    JedisClusterInfoCache cache = new JedisClusterInfoCache(clientConfig, Collections.singleton(startNode));
+    try {
+      assertTrue(file.delete());
+      assertFalse(cache.loadTopologySnapshot(file.toPath()));
+
+      Files.write(file.toPath(), new byte[] { 1, 2, 3 });
+      assertFalse(cache.loadTopologySnapshot(file.toPath()));
+      assertTrue(cache.getNodes().isEmpty());
+    } finally {
+      cache.close();
+    }
+  }
+}
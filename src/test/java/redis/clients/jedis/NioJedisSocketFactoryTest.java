@@ -0,0 +1,130 @@
+package redis.clients.jedis;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.providers.MultiplexedConnectionProvider;
+import redis.clients.jedis.util.SafeEncoder;
+
+public class NioJedisSocketFactoryTest {
+
+  private static final EndpointConfig endpoint = HostAndPorts.getRedisEndpoint("standalone0");
+
+  private static JedisClientConfig nioConfig() {
+    return endpoint.getClientConfigBuilder().nioTransport(true).build();
+  }
+
+  @Test
+  public void jedisConnects() {
+    try (Jedis jedis = new Jedis(new NioJedisSocketFactory(endpoint.getHostAndPort(), nioConfig()), nioConfig())) {
+      assertEquals("PONG", jedis.ping());
+    }
+  }
+
+  @Test
+  public void socketExposesChannel() throws Exception {
+    try (Socket socket = new NioJedisSocketFactory(endpoint.getHostAndPort(), nioConfig()).createSocket()) {
+      assertNotNull(socket.getChannel());
+      assertTrue(socket.isConnected());
+    }
+  }
+
+  @Test
+  public void configSelectsNioTransport() {
+    assertTrue(DefaultJedisSocketFactory.create(endpoint.getHostAndPort(), nioConfig()) instanceof NioJedisSocketFactory);
+    try (Connection connection = new Connection(endpoint.getHostAndPort(), nioConfig())) {
+      assertEquals(endpoint.getHostAndPort(), connection.getHostAndPort());
+      assertTrue(connection.ping());
+    }
+  }
+
+  @Test
+  public void largeValuesAndPipelines() {
+    try (JedisPooled jedis = new JedisPooled(endpoint.getHostAndPort(), nioConfig())) {
+      byte[] value = new byte[3 * NioJedisSocketFactory.BUFFER_SIZE + 17];
+      Arrays.fill(value, (byte) 'x');
+      jedis.set("nio".getBytes(), value);
+      assertArrayEquals(value, jedis.get("nio".getBytes()));
+
+      try (Pipeline pipeline = jedis.pipelined()) {
+        for (int i = 0; i < 1000; i++) {
+          pipeline.incr("counter");
+        }
+        List<Object> replies = pipeline.syncAndReturnAll();
+        assertEquals(1000L, replies.get(999));
+      }
+      jedis.del("nio", "counter");
+    }
+  }
+
+  @Test
+  public void multiplexed() {
+    try (UnifiedJedis jedis = new UnifiedJedis(new MultiplexedConnectionProvider(endpoint.getHostAndPort(), nioConfig()))) {
+      assertEquals("OK", jedis.set("nio", "bar"));
+      assertEquals("bar", jedis.get("nio"));
+      jedis.del("nio");
+    }
+  }
+
+  @Test
+  public void multiplexedLargeValues() throws Exception {
+    byte[] value = new byte[256 * 1024];
+    Arrays.fill(value, (byte) 'v');
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try (UnifiedJedis jedis = new UnifiedJedis(new MultiplexedConnectionProvider(endpoint.getHostAndPort(), nioConfig()))) {
+      // the replies are read while the commands are written
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        byte[] key = SafeEncoder.encode("nio:" + t);
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 20; i++) {
+            jedis.set(key, value);
+            assertArrayEquals(value, jedis.get(key));
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get(30, TimeUnit.SECONDS);
+      }
+      for (int t = 0; t < 8; t++) {
+        jedis.del("nio:" + t);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void readTimeout() {
+    JedisClientConfig config = endpoint.getClientConfigBuilder().nioTransport(true)
+        .socketTimeoutMillis(200).build();
+    try (Jedis jedis = new Jedis(endpoint.getHostAndPort(), config)) {
+      long start = System.currentTimeMillis();
+      try {
+        jedis.sendCommand(() -> SafeEncoder.encode("DEBUG"), "SLEEP", "1");
+        fail("Should throw an exception");
+      } catch (JedisConnectionException jce) {
+        assertTrue(System.currentTimeMillis() - start < 1000);
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void sslNotSupported() {
+    new NioJedisSocketFactory(endpoint.getHostAndPort(), DefaultJedisClientConfig.builder().ssl(true).build());
+  }
+}
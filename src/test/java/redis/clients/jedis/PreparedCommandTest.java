@@ -0,0 +1,144 @@
+package redis.clients.jedis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import redis.clients.jedis.Protocol.Command;
+import redis.clients.jedis.Protocol.Keyword;
+import redis.clients.jedis.csc.Cache;
+import redis.clients.jedis.csc.CacheConfig;
+import redis.clients.jedis.csc.CacheFactory;
+import redis.clients.jedis.util.JedisClusterCRC16;
+import redis.clients.jedis.util.RedisOutputStream;
+
+public class PreparedCommandTest {
+
+  private static final EndpointConfig endpoint = HostAndPorts.getRedisEndpoint("standalone0");
+
+  private static final PreparedCommand<String> SET_EX_NX = PreparedCommand.builder(Command.SET, BuilderFactory.STRING)
+      .key().argument().add(Keyword.EX).add(60).add(Keyword.NX).build();
+
+  private static final PreparedCommand<String> GET = PreparedCommand.builder(Command.GET, BuilderFactory.STRING)
+      .key().build();
+
+  private static final PreparedCommand<Long> ZADD = PreparedCommand.builder(Command.ZADD, BuilderFactory.LONG)
+      .key().argument().argument().build();
+
+  private UnifiedJedis jedis;
+
+  @Before
+  public void setUp() {
+    jedis = new UnifiedJedis(endpoint.getHostAndPort(), endpoint.getClientConfigBuilder().build());
+    jedis.flushAll();
+  }
+
+  @After
+  public void tearDown() {
+    jedis.close();
+  }
+
+  private static String send(CommandArguments args) throws IOException {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    RedisOutputStream ros = new RedisOutputStream(bos, 8);
+    Protocol.sendCommand(ros, args);
+    ros.flush();
+    return new String(bos.toByteArray(), Protocol.CHARSET);
+  }
+
+  @Test
+  public void encodeConstantArgumentsOnce() throws IOException {
+    assertEquals(2, SET_EX_NX.getVariableCount());
+    CommandObject<String> set = new CommandObjects().prepared(SET_EX_NX, "foo", "bar");
+    assertEquals("*6\r\n$3\r\nSET\r\n$3\r\nfoo\r\n$3\r\nbar\r\n$2\r\nEX\r\n$2\r\n60\r\n$2\r\nNX\r\n",
+        send(set.getArguments()));
+    assertEquals(Arrays.asList("foo"), set.getArguments().getKeys());
+    assertEquals(send(set.getArguments()),
+        send(new CommandObjects().prepared(SET_EX_NX, "foo", "bar").getArguments()));
+  }
+
+  @Test
+  public void encodeHeaderAgainForExtraArguments() throws IOException {
+    CommandObject<String> set = new CommandObjects().prepared(SET_EX_NX, "foo", "bar");
+    set.getArguments().add(Keyword.GET);
+    assertEquals("*7\r\n$3\r\nSET\r\n$3\r\nfoo\r\n$3\r\nbar\r\n$2\r\nEX\r\n$2\r\n60\r\n$2\r\nNX\r\n$3\r\nGET\r\n",
+        send(set.getArguments()));
+    assertEquals("*2\r\n$3\r\nGET\r\n$3\r\nfoo\r\n", send(new CommandObjects().prepared(GET, "foo").getArguments()));
+  }
+
+  @Test
+  public void encodedCommandEqualsPlainCommand() {
+    CommandObjects encodedObjects = new CommandObjects();
+    encodedObjects.setEncodedArguments(true);
+    CommandObject<String> plain = new CommandObjects().get("foo");
+    for (CommandObject<String> get : Arrays.asList(new CommandObjects().prepared(GET, "foo"),
+        encodedObjects.get("foo"))) {
+      assertEquals(plain, get);
+      assertEquals(get, plain);
+      assertEquals(plain.hashCode(), get.hashCode());
+    }
+    assertNotEquals(plain, new CommandObjects().prepared(GET, "bar"));
+    assertNotEquals(plain, encodedObjects.get("bar"));
+    assertEquals(new CommandObjects().get("f\u00f6o"), encodedObjects.get("f\u00f6o"));
+    assertEquals(new CommandObjects().get("f\u00f6o").hashCode(), encodedObjects.get("f\u00f6o").hashCode());
+  }
+
+  @Test
+  public void preparedAndEncodedGetsHitCacheOfPlainGet() {
+    jedis.set("foo", "bar");
+    Cache cache = CacheFactory.getCache(CacheConfig.builder().build());
+    try (JedisPooled cached = new JedisPooled(endpoint.getHostAndPort(),
+        endpoint.getClientConfigBuilder().protocol(RedisProtocol.RESP3).build(), cache)) {
+      assertEquals("bar", cached.get("foo"));
+      assertEquals(1, cache.getStats().getMissCount());
+      assertEquals("bar", cached.executeCommand(GET, "foo"));
+      cached.setEncodedCommandArguments(true);
+      assertEquals("bar", cached.get("foo"));
+      assertEquals(1, cache.getStats().getMissCount());
+      assertEquals(2, cache.getStats().getHitCount());
+    }
+  }
+
+  @Test
+  public void keysOfPreparedCommandInCluster() {
+    ClusterCommandArguments args = (ClusterCommandArguments) new ClusterCommandObjects()
+        .prepared(SET_EX_NX, "{user}:1", "bar").getArguments();
+    assertEquals(JedisClusterCRC16.getSlot("{user}:1"), args.getCommandHashSlot());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void wrongNumberOfArguments() {
+    new CommandObjects().prepared(SET_EX_NX, "foo");
+  }
+
+  @Test
+  public void executePreparedCommand() {
+    assertEquals("OK", jedis.executeCommand(SET_EX_NX, "foo", "bar"));
+    assertNull(jedis.executeCommand(SET_EX_NX, "foo", "baz"));
+    assertEquals("bar", jedis.get("foo"));
+    long ttl = jedis.ttl("foo");
+    assertTrue(ttl > 0 && ttl <= 60);
+  }
+
+  @Test
+  public void pipelinePreparedCommand() {
+    try (AbstractPipeline pipeline = jedis.pipelined()) {
+      Response<Long> first = pipeline.executeCommand(ZADD, "zset", 1.5, "a");
+      Response<Long> second = pipeline.executeCommand(ZADD, "zset", 2, "b");
+      Response<Long> again = pipeline.executeCommand(ZADD, "zset", 3, "a");
+      pipeline.sync();
+      assertEquals(Long.valueOf(1), first.get());
+      assertEquals(Long.valueOf(1), second.get());
+      assertEquals(Long.valueOf(0), again.get());
+    }
+    assertEquals(Double.valueOf(3), jedis.zscore("zset", "a"));
+  }
+}
@@ -0,0 +1,113 @@
+package redis.clients.jedis;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import redis.clients.jedis.params.ZRangeParams;
+import redis.clients.jedis.resps.ScoredMembers;
+import redis.clients.jedis.resps.Tuple;
+
+@RunWith(Parameterized.class)
+public class PrimitiveRepliesTest {
+
+  private static final EndpointConfig endpoint = HostAndPorts.getRedisEndpoint("standalone0");
+
+  @Parameterized.Parameters(name = "{0}")
+  public static Collection<Object[]> data() {
+    return Arrays.asList(new Object[][] { { RedisProtocol.RESP2 }, { RedisProtocol.RESP3 } });
+  }
+
+  private final RedisProtocol protocol;
+  private UnifiedJedis jedis;
+
+  public PrimitiveRepliesTest(RedisProtocol protocol) {
+    this.protocol = protocol;
+  }
+
+  @Before
+  public void setUp() {
+    jedis = new UnifiedJedis(endpoint.getHostAndPort(), endpoint.getClientConfigBuilder().protocol(protocol).build());
+    jedis.flushAll();
+  }
+
+  @After
+  public void tearDown() {
+    jedis.close();
+  }
+
+  @Test
+  public void scoredMembers() {
+    for (int i = 0; i < 1000; i++) {
+      jedis.zadd("zset", i + 0.5, "member" + i);
+    }
+    List<Tuple> tuples = jedis.zrangeWithScores("zset", 0, -1);
+    ScoredMembers scored = jedis.zrangeWithScoresArrays("zset", 0, -1);
+    assertEquals(tuples.size(), scored.size());
+    for (int i = 0; i < scored.size(); i++) {
+      assertEquals(tuples.get(i).getElement(), scored.getElement(i));
+      assertEquals(tuples.get(i).getScore(), scored.getScore(i), 0d);
+    }
+
+    assertEquals("member999", jedis.zrevrangeWithScoresArrays("zset", 0, 0).getElement(0));
+    assertEquals(2, jedis.zrangeWithScoresArrays("zset".getBytes(), ZRangeParams.zrangeParams(0, 1)).size());
+    assertEquals(0, jedis.zrangeWithScoresArrays("nokey", 0, -1).size());
+  }
+
+  @Test
+  public void zmscore() {
+    jedis.zadd("zset", 1.5, "a");
+    jedis.zadd("zset", Double.POSITIVE_INFINITY, "b");
+    double[] scores = jedis.zmscoreArray("zset", "a", "b", "c");
+    assertEquals(3, scores.length);
+    assertEquals(1.5, scores[0], 0d);
+    assertEquals(Double.POSITIVE_INFINITY, scores[1], 0d);
+    assertTrue(Double.isNaN(scores[2]));
+  }
+
+  @Test
+  public void smismember() {
+    jedis.sadd("set", "a", "c");
+    assertArrayEquals(new boolean[] { true, false, true }, jedis.smismemberArray("set", "a", "b", "c"));
+    assertArrayEquals(new boolean[] { true, false }, jedis.smismemberArray("set".getBytes(), "a".getBytes(), "b".getBytes()));
+  }
+
+  @Test
+  public void bitfield() {
+    assertArrayEquals(new long[] { 1, 0, 0 }, jedis.bitfieldArray("bits", "INCRBY", "i5", "100", "1", "GET", "u4", "0", "SET", "i8", "0", "100"));
+    assertArrayEquals(new long[] { 100 }, jedis.bitfieldArray("bits", "GET", "i8", "0"));
+  }
+
+  @Test
+  public void geopos() {
+    jedis.geoadd("geo", 13.361389, 38.115556, "Palermo");
+    double[] coordinates = jedis.geoposArray("geo", "Palermo", "nomember");
+    assertEquals(4, coordinates.length);
+    assertEquals(13.361389, coordinates[0], 0.0001);
+    assertEquals(38.115556, coordinates[1], 0.0001);
+    assertTrue(Double.isNaN(coordinates[2]));
+    assertTrue(Double.isNaN(coordinates[3]));
+  }
+
+  @Test
+  public void pipelined() {
+    jedis.zadd("zset", 1, "a");
+    jedis.sadd("set", "a");
+    try (PipelineBase pipeline = jedis.pipelined()) {
+      Response<ScoredMembers> scored = pipeline.appendCommand(jedis.commandObjects.zrangeWithScoresArrays("zset", 0, -1));
+      Response<boolean[]> members = pipeline.appendCommand(jedis.commandObjects.smismemberArray("set", "a", "b"));
+      pipeline.sync();
+      assertEquals("a", scored.get().getElement(0));
+      assertArrayEquals(new boolean[] { true, false }, members.get());
+    }
+  }
+}
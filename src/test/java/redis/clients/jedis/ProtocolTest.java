@@ -3,23 +3,34 @@ package redis.clients.jedis;
 import redis.clients.jedis.util.FragmentedByteArrayInputStream;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static redis.clients.jedis.util.AssertUtil.assertByteArrayListEquals;
 
 import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.PipedInputStream;
 import java.io.PipedOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import org.junit.Test;
 
+import redis.clients.jedis.args.Rawable;
+import redis.clients.jedis.args.RawableFactory;
 import redis.clients.jedis.exceptions.JedisBusyException;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.util.BufferPool;
 import redis.clients.jedis.util.RedisInputStream;
 import redis.clients.jedis.util.RedisOutputStream;
 import redis.clients.jedis.util.SafeEncoder;
@@ -47,6 +58,98 @@ public class ProtocolTest {
     assertEquals(expectedCommand, sb.toString());
   }
 
+  @Test
+  public void buildACommandWithStreamingArguments() throws IOException {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    RedisOutputStream ros = new RedisOutputStream(bos, 4);
+
+    ByteBuffer direct = ByteBuffer.allocateDirect(6);
+    direct.put(SafeEncoder.encode("foobar")).flip();
+    Protocol.sendCommand(ros, new CommandArguments(Protocol.Command.MSET)
+        .add("k1").add(RawableFactory.from(direct))
+        .add("k2").add(RawableFactory.from(new ByteArrayInputStream(SafeEncoder.encode("barbaz!")), 6)));
+    ros.flush();
+
+    assertEquals("*5\r\n$4\r\nMSET\r\n$2\r\nk1\r\n$6\r\nfoobar\r\n$2\r\nk2\r\n$6\r\nbarbaz\r\n",
+        bos.toString());
+    assertEquals(6, direct.remaining());
+  }
+
+  private static String send(CommandArguments args) throws IOException {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    RedisOutputStream ros = new RedisOutputStream(bos, 8);
+    Protocol.sendCommand(ros, args);
+    ros.flush();
+    return new String(bos.toByteArray(), Protocol.CHARSET);
+  }
+
+  private static CommandArguments hsetArguments(boolean encoded) {
+    return new ClusterCommandArguments(Protocol.Command.HSET, encoded).key("{user}:1").add("name")
+        .add("\u00e9t\u00e9").add(-42L).add(7).add(new byte[] { 'x', 'y' }).add(Protocol.Keyword.NX)
+        .add(Long.MIN_VALUE).add(3.5);
+  }
+
+  @Test
+  public void buildAnEncodedCommand() throws IOException {
+    CommandArguments encoded = hsetArguments(true);
+    CommandArguments rawables = hsetArguments(false);
+    assertEquals(send(rawables), send(encoded));
+    assertEquals(rawables.size(), encoded.size());
+    assertEquals(((ClusterCommandArguments) rawables).getCommandHashSlot(),
+        ((ClusterCommandArguments) encoded).getCommandHashSlot());
+    assertEquals(rawables.getKeys(), encoded.getKeys());
+
+    Iterator<Rawable> expected = rawables.iterator();
+    Iterator<Rawable> actual = encoded.iterator();
+    assertSame(Protocol.Command.HSET, actual.next());
+    expected.next();
+    while (expected.hasNext()) {
+      assertArrayEquals(expected.next().getRaw(), actual.next().getRaw());
+    }
+    assertFalse(actual.hasNext());
+  }
+
+  @Test
+  public void encodedCommandWithStreamingArguments() throws IOException {
+    ByteBuffer direct = ByteBuffer.allocateDirect(6);
+    direct.put(SafeEncoder.encode("foobar")).flip();
+    CommandArguments args = new CommandArguments(Protocol.Command.MSET, true).add("k1").add(RawableFactory.from(direct))
+        .add("k2").add("v2");
+    assertEquals(5, args.size());
+    assertEquals("*5\r\n$4\r\nMSET\r\n$2\r\nk1\r\n$6\r\nfoobar\r\n$2\r\nk2\r\n$2\r\nv2\r\n", send(args));
+  }
+
+  @Test
+  public void writeUtf8() throws IOException {
+    StringBuilder longString = new StringBuilder();
+    for (int i = 0; i < 100; i++) {
+      longString.append("ab\u00e9\u20ac\uD83D\uDE00");
+    }
+    for (String str : new String[] { "", "foobar", "\u00e9t\u00e9", "\u20ac", "x\uD83D\uDE00y", "\uD800x",
+        "x\uDC00", "x\uD800", longString.toString() }) {
+      byte[] expected = str.getBytes(StandardCharsets.UTF_8);
+      for (int size : new int[] { 1, 4, 8, 8192 }) {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        RedisOutputStream ros = new RedisOutputStream(bos, size);
+        ros.writeUtf8(str);
+        ros.flush();
+        assertArrayEquals(str, expected, bos.toByteArray());
+      }
+      assertEquals(str, expected.length, RedisOutputStream.utf8Length(str));
+    }
+  }
+
+  @Test
+  public void buildACommandOfStrings() throws IOException {
+    CommandArguments args = new CommandArguments(Protocol.Command.SET).add("\u00e9t\u00e9").add("\uD83D\uDE00");
+    assertEquals("*3\r\n$3\r\nSET\r\n$5\r\n\u00e9t\u00e9\r\n$4\r\n\uD83D\uDE00\r\n", send(args));
+
+    Rawable rawString = RawableFactory.from("\u00e9t\u00e9");
+    assertEquals(RawableFactory.from("\u00e9t\u00e9"), rawString);
+    assertEquals(RawableFactory.from("\u00e9t\u00e9").hashCode(), rawString.hashCode());
+    assertArrayEquals(SafeEncoder.encode("\u00e9t\u00e9"), rawString.getRaw());
+  }
+
   @Test(expected = IOException.class)
   public void writeOverflow() throws IOException {
     RedisOutputStream ros = new RedisOutputStream(new OutputStream() {
@@ -69,6 +172,90 @@ public class ProtocolTest {
 
   }
 
+  @Test
+  public void readAfterReleasingBuffer() {
+    byte[] large = new byte[100_000];
+    for (int i = 0; i < large.length; i++) {
+      large[i] = (byte) ('a' + i % 26);
+    }
+    ByteArrayOutputStream reply = new ByteArrayOutputStream();
+    reply.write('$');
+    reply.write(SafeEncoder.encode(String.valueOf(large.length)), 0, 6);
+    reply.write(SafeEncoder.encode("\r\n"), 0, 2);
+    reply.write(large, 0, large.length);
+    reply.write(SafeEncoder.encode("\r\n:1\r\n"), 0, 6);
+
+    RedisInputStream ris = new RedisInputStream(new ByteArrayInputStream(reply.toByteArray()), 8);
+    // the buffer grows while the reply fills it
+    assertArrayEquals(large, (byte[]) Protocol.read(ris));
+    ris.releaseBuffer();
+    assertEquals(1L, Protocol.read(ris));
+  }
+
+  @Test
+  public void writeAfterReleasingBuffer() throws IOException {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    RedisOutputStream ros = new RedisOutputStream(bos, 8);
+    Protocol.sendCommand(ros, new CommandArguments(Protocol.Command.GET).add("foo"));
+    // not flushed yet, so that the buffer is kept
+    ros.releaseBuffer();
+    ros.flush();
+    ros.releaseBuffer();
+    Protocol.sendCommand(ros, new CommandArguments(Protocol.Command.GET).add("bar"));
+    ros.flush();
+    assertEquals("*2\r\n$3\r\nGET\r\n$3\r\nfoo\r\n*2\r\n$3\r\nGET\r\n$3\r\nbar\r\n",
+        new String(bos.toByteArray(), Protocol.CHARSET));
+  }
+
+  private static class SizedInputStream extends RedisInputStream {
+
+    SizedInputStream(InputStream in, int size) {
+      super(in, size);
+    }
+
+    int bufferSize() {
+      return buf.length;
+    }
+  }
+
+  @Test
+  public void shrinkBuffers() throws IOException {
+    byte[] large = new byte[100_000];
+    ByteArrayOutputStream reply = new ByteArrayOutputStream();
+    reply.write(SafeEncoder.encode("$100000\r\n"), 0, 9);
+    reply.write(large, 0, large.length);
+    reply.write(SafeEncoder.encode("\r\n:1\r\n:2\r\n"), 0, 10);
+
+    // rounded up to 8
+    SizedInputStream ris = new SizedInputStream(new ByteArrayInputStream(reply.toByteArray()), 5);
+    assertArrayEquals(large, (byte[]) Protocol.read(ris));
+    int grown = ris.bufferSize();
+    assertTrue(grown > 8);
+    // large replies were just read
+    ris.shrinkBuffer();
+    assertEquals(grown, ris.bufferSize());
+    // keeping the next reply
+    assertEquals(1L, Protocol.read(ris));
+    ris.shrinkBuffer();
+    assertEquals(8, ris.bufferSize());
+    assertEquals(2L, Protocol.read(ris));
+
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    RedisOutputStream ros = new RedisOutputStream(bos, 64);
+    for (int i = 0; i < 10; i++) {
+      Protocol.sendCommand(ros, new CommandArguments(Protocol.Command.GET).add("foo"));
+    }
+    long pooledBytes = BufferPool.shared().getPooledBytes();
+    // many commands were just written
+    ros.flush();
+    assertEquals(pooledBytes, BufferPool.shared().getPooledBytes());
+    // the grown buffer returns to the pool
+    Protocol.sendCommand(ros, new CommandArguments(Protocol.Command.GET).add("foo"));
+    ros.flush();
+    assertTrue(BufferPool.shared().getPooledBytes() > pooledBytes);
+    assertTrue(new String(bos.toByteArray(), Protocol.CHARSET).endsWith("*2\r\n$3\r\nGET\r\n$3\r\nfoo\r\n"));
+  }
+
   @Test
   public void bulkReply() {
     InputStream is = new ByteArrayInputStream("$6\r\nfoobar\r\n".getBytes());
@@ -84,6 +271,42 @@ public class ProtocolTest {
     assertArrayEquals(SafeEncoder.encode("012345678901234567890123456789"), response);
   }
 
+  @Test
+  public void streamedBulkReply() {
+    FragmentedByteArrayInputStream fis = new FragmentedByteArrayInputStream(
+        "$30\r\n012345678901234567890123456789\r\n:1\r\n".getBytes());
+    RedisInputStream ris = new RedisInputStream(fis, 8);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertEquals(30, Protocol.readBulkReply(ris, (in, len) -> in.readInto(out, len)));
+    assertArrayEquals(SafeEncoder.encode("012345678901234567890123456789"), out.toByteArray());
+    assertEquals(1L, Protocol.read(ris));
+  }
+
+  @Test
+  public void streamedBulkReplyIntoBuffer() {
+    InputStream is = new ByteArrayInputStream("$6\r\nfoobar\r\n$-1\r\n".getBytes());
+    RedisInputStream ris = new RedisInputStream(is);
+    ByteBuffer buffer = ByteBuffer.allocateDirect(16);
+    assertEquals(6L, (long) BulkReplyTransfer.to(buffer).read(ris));
+    assertEquals(-1L, (long) BulkReplyTransfer.to(buffer).read(ris));
+    buffer.flip();
+    byte[] value = new byte[buffer.remaining()];
+    buffer.get(value);
+    assertArrayEquals(SafeEncoder.encode("foobar"), value);
+  }
+
+  @Test
+  public void streamedBulkReplyTooLarge() {
+    InputStream is = new ByteArrayInputStream("$6\r\nfoobar\r\n:1\r\n".getBytes());
+    RedisInputStream ris = new RedisInputStream(is);
+    try {
+      BulkReplyTransfer.to(ByteBuffer.allocate(4)).read(ris);
+      fail("Should throw an exception");
+    } catch (JedisDataException expected) {
+    }
+    assertEquals(1L, Protocol.read(ris));
+  }
+
   @Test
   public void nullBulkReply() {
     InputStream is = new ByteArrayInputStream("$-1\r\n".getBytes());
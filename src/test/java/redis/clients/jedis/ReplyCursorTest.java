@@ -0,0 +1,180 @@
+package redis.clients.jedis;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.resps.ScoredMembers;
+import redis.clients.jedis.resps.Tuple;
+import redis.clients.jedis.timeseries.TSElementArrays;
+import redis.clients.jedis.timeseries.TimeSeriesBuilderFactory;
+import redis.clients.jedis.util.FragmentedByteArrayInputStream;
+import redis.clients.jedis.util.RedisInputStream;
+import redis.clients.jedis.util.SafeEncoder;
+
+public class ReplyCursorTest {
+
+  private static RedisInputStream stream(String reply) {
+    return new RedisInputStream(new FragmentedByteArrayInputStream(SafeEncoder.encode(reply)), 8);
+  }
+
+  private static <T> void assertSameAsBuilt(Builder<T> builder, String reply) {
+    T expected = builder.build(Protocol.read(stream(reply)));
+    RedisInputStream is = stream(reply + ":1\r\n");
+    assertEquals(expected, ((CursorBuilder<T>) builder).read(is));
+    assertEquals(1L, Protocol.read(is));
+  }
+
+  @Test
+  public void scalars() {
+    ReplyCursor cursor = new ReplyCursor(stream("$11\r\nhello world\r\n+OK\r\n$-1\r\n_\r\n"
+        + ",1.5\r\n$3\r\ninf\r\n:7\r\n=8\r\ntxt:some\r\n:42\r\n"));
+    assertEquals("hello world", cursor.readString());
+    assertArrayEquals(SafeEncoder.encode("OK"), cursor.readBytes());
+    assertNull(cursor.readBytes());
+    assertNull(cursor.readString());
+    assertEquals(1.5, cursor.readDouble(), 0d);
+    assertEquals(Double.POSITIVE_INFINITY, cursor.readDouble(), 0d);
+    assertEquals(7d, cursor.readDouble(), 0d);
+    assertEquals("txt:some", cursor.readString());
+    assertEquals(42L, cursor.readLong());
+  }
+
+  @Test
+  public void cursorsAreOptIn() {
+    CommandObjects commandObjects = new CommandObjects();
+    assertSame(BuilderFactory.STRING_MAP, commandObjects.hgetAll("key").getBuilder());
+    assertSame(BuilderFactory.BINARY_MAP, commandObjects.hgetAll(new byte[] { 1 }).getBuilder());
+    assertSame(BuilderFactory.TUPLE_LIST, commandObjects.zrangeWithScores("key", 0, -1).getBuilder());
+    commandObjects.setProtocol(RedisProtocol.RESP3);
+    assertSame(BuilderFactory.TUPLE_LIST_RESP3, commandObjects.zrangeWithScores("key", 0, -1).getBuilder());
+
+    commandObjects.setReplyCursors(true);
+    assertSame(BuilderFactory.CURSOR_STRING_MAP, commandObjects.hgetAll("key").getBuilder());
+    assertSame(BuilderFactory.CURSOR_BINARY_MAP, commandObjects.hgetAll(new byte[] { 1 }).getBuilder());
+    assertSame(BuilderFactory.CURSOR_TUPLE_LIST, commandObjects.zrangeWithScores("key", 0, -1).getBuilder());
+  }
+
+  @Test
+  public void skip() {
+    ReplyCursor cursor = new ReplyCursor(stream("*3\r\n$3\r\nfoo\r\n%1\r\n+a\r\n*2\r\n:1\r\n,2.0\r\n#t\r\n"
+        + "$-1\r\n(12345678901234567890\r\n:5\r\n"));
+    cursor.skip();
+    cursor.skip();
+    cursor.skip();
+    assertEquals(5L, cursor.readLong());
+  }
+
+  @Test
+  public void stringMap() {
+    assertSameAsBuilt(BuilderFactory.CURSOR_STRING_MAP, "*4\r\n$3\r\nfoo\r\n$3\r\nbar\r\n$4\r\nfoo2\r\n$16\r\n0123456789abcdef\r\n");
+    assertSameAsBuilt(BuilderFactory.CURSOR_STRING_MAP, "%2\r\n$3\r\nfoo\r\n$3\r\nbar\r\n$4\r\nfoo2\r\n$0\r\n\r\n");
+    assertSameAsBuilt(BuilderFactory.CURSOR_STRING_MAP, "*0\r\n");
+    assertSameAsBuilt(BuilderFactory.CURSOR_STRING_MAP, "%0\r\n");
+  }
+
+  @Test
+  public void binaryMap() {
+    RedisInputStream is = stream("%2\r\n$3\r\nfoo\r\n$3\r\nbar\r\n$1\r\nx\r\n$12\r\n0123456789ab\r\n");
+    Map<byte[], byte[]> map = ((CursorBuilder<Map<byte[], byte[]>>) BuilderFactory.CURSOR_BINARY_MAP).read(is);
+    assertEquals(2, map.size());
+    assertArrayEquals(SafeEncoder.encode("bar"), map.get(SafeEncoder.encode("foo")));
+    assertArrayEquals(SafeEncoder.encode("0123456789ab"), map.get(SafeEncoder.encode("x")));
+  }
+
+  @Test
+  public void tupleList() {
+    assertSameAsBuilt(BuilderFactory.CURSOR_TUPLE_LIST, "*4\r\n$1\r\na\r\n$3\r\n1.5\r\n$1\r\nb\r\n$4\r\n-inf\r\n");
+    assertSameAsBuilt(BuilderFactory.CURSOR_TUPLE_LIST, "*2\r\n*2\r\n$1\r\na\r\n,1.5\r\n*2\r\n$1\r\nb\r\n,2\r\n");
+    assertSameAsBuilt(BuilderFactory.CURSOR_TUPLE_LIST, "*0\r\n");
+    assertSameAsBuilt(BuilderFactory.CURSOR_TUPLE_LIST, "*-1\r\n");
+
+    List<Tuple> tuples = ((CursorBuilder<List<Tuple>>) BuilderFactory.CURSOR_TUPLE_LIST)
+        .read(stream("*2\r\n$1\r\na\r\n$1\r\n3\r\n"));
+    assertEquals(Arrays.asList(new Tuple("a", 3d)), tuples);
+  }
+
+  @Test
+  public void primitiveArrays() {
+    assertArrayEquals(new long[] { 1, -2 }, (long[]) read(BuilderFactory.LONG_ARRAY, "*2\r\n:1\r\n:-2\r\n"));
+    assertArrayEquals(new boolean[] { true, false, true },
+        (boolean[]) read(BuilderFactory.BOOLEAN_ARRAY, "*3\r\n:1\r\n:0\r\n#t\r\n"));
+    assertArrayEquals(new double[] { 1.5, Double.NaN, Double.NEGATIVE_INFINITY },
+        (double[]) read(BuilderFactory.DOUBLE_ARRAY, "*3\r\n$3\r\n1.5\r\n$-1\r\n$4\r\n-inf\r\n"), 0d);
+    assertArrayEquals(new double[] { 1.5, 2.5, Double.NaN, Double.NaN },
+        (double[]) read(BuilderFactory.GEO_COORDINATE_ARRAY, "*2\r\n*2\r\n$3\r\n1.5\r\n$3\r\n2.5\r\n*-1\r\n"), 0d);
+    assertEquals(new ScoredMembers(new byte[][] { SafeEncoder.encode("a") }, new double[] { 3 }),
+        read(BuilderFactory.SCORED_MEMBERS, "*1\r\n*2\r\n$1\r\na\r\n,3\r\n"));
+    assertEquals(new TSElementArrays(new long[] { 1, 2 }, new double[] { 0.5, 7 }),
+        read(TimeSeriesBuilderFactory.TIMESERIES_ELEMENT_ARRAYS, "*2\r\n*2\r\n:1\r\n$3\r\n0.5\r\n*2\r\n:2\r\n,7\r\n"));
+  }
+
+  @Test
+  public void primitiveArraysFromBuiltReplies() {
+    String reply = "*4\r\n$1\r\na\r\n$3\r\n1.5\r\n$1\r\nb\r\n$1\r\n2\r\n";
+    assertEquals(read(BuilderFactory.SCORED_MEMBERS, reply), BuilderFactory.SCORED_MEMBERS.build(Protocol.read(stream(reply))));
+    reply = "*2\r\n$3\r\n1.5\r\n_\r\n";
+    assertArrayEquals((double[]) read(BuilderFactory.DOUBLE_ARRAY, reply),
+        BuilderFactory.DOUBLE_ARRAY.build(Protocol.read(stream(reply))), 0d);
+  }
+
+  @Test
+  public void nilTimeSeriesElements() {
+    assertNull(read(TimeSeriesBuilderFactory.TIMESERIES_ELEMENT_ARRAYS, "*-1\r\n"));
+    assertNull(TimeSeriesBuilderFactory.TIMESERIES_ELEMENT_ARRAYS.build(null));
+    assertEquals(new TSElementArrays(new long[0], new double[0]),
+        read(TimeSeriesBuilderFactory.TIMESERIES_ELEMENT_ARRAYS, "*0\r\n"));
+  }
+
+  @Test
+  public void nilInLongArray() {
+    RedisInputStream is = stream("*3\r\n:1\r\n$-1\r\n:3\r\n:1\r\n");
+    try {
+      ((CursorBuilder<long[]>) BuilderFactory.LONG_ARRAY).read(is);
+      fail("Should throw an exception");
+    } catch (JedisDataException expected) {
+    }
+    assertEquals(1L, Protocol.read(is));
+  }
+
+  @Test
+  public void fallbackBuildsBothShapes() {
+    Object flat = Protocol.read(stream("*2\r\n$1\r\na\r\n$1\r\n1\r\n"));
+    Object pairs = Protocol.read(stream("*1\r\n*2\r\n$1\r\na\r\n,1\r\n"));
+    assertEquals(BuilderFactory.CURSOR_TUPLE_LIST.build(flat), BuilderFactory.CURSOR_TUPLE_LIST.build(pairs));
+  }
+
+  private static Object read(Builder<?> builder, String reply) {
+    RedisInputStream is = stream(reply + ":1\r\n");
+    Object read = ((CursorBuilder<?>) builder).read(is);
+    assertEquals(1L, Protocol.read(is));
+    return read;
+  }
+
+  @Test
+  public void errorReply() {
+    RedisInputStream is = stream("-ERR some error\r\n:1\r\n");
+    try {
+      ((CursorBuilder<Map<String, String>>) BuilderFactory.CURSOR_STRING_MAP).read(is);
+      fail("Should throw an exception");
+    } catch (JedisDataException expected) {
+      assertEquals("ERR some error", expected.getMessage());
+    }
+    assertEquals(1L, Protocol.read(is));
+  }
+
+  @Test(expected = JedisConnectionException.class)
+  public void errorInsideAggregate() {
+    ((CursorBuilder<Map<String, String>>) BuilderFactory.CURSOR_STRING_MAP)
+        .read(stream("*2\r\n$3\r\nfoo\r\n-ERR some error\r\n"));
+  }
+}
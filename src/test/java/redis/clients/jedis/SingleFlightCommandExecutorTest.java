@@ -0,0 +1,182 @@
+package redis.clients.jedis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.executors.CommandExecutor;
+import redis.clients.jedis.executors.SingleFlightCommandExecutor;
+
+public class SingleFlightCommandExecutorTest {
+
+  private static final CommandObjects commandObjects = new CommandObjects();
+
+  /**
+   * Replies once released, counting the commands sent.
+   */
+  private static class BlockingExecutor implements CommandExecutor {
+
+    final AtomicInteger sent = new AtomicInteger();
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    volatile RuntimeException failure;
+
+    @Override
+    public <T> T executeCommand(CommandObject<T> commandObject) {
+      sent.incrementAndGet();
+      if (commandObject.getArguments().getCommand() == Protocol.Command.SET) {
+        // not blocked
+        return (T) "OK";
+      }
+      started.countDown();
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+      if (failure != null) {
+        throw failure;
+      }
+      return (T) new String("value");
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+
+  private static List<Future<Object>> submit(ExecutorService threads, CommandExecutor executor,
+      CommandObject<?> commandObject, int count) {
+    List<Future<Object>> futures = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      futures.add(threads.submit(() -> executor.executeCommand(commandObject)));
+    }
+    return futures;
+  }
+
+  @Test
+  public void concurrentReadsShareOneReply() throws Exception {
+    BlockingExecutor blocking = new BlockingExecutor();
+    SingleFlightCommandExecutor executor = new SingleFlightCommandExecutor(blocking);
+    ExecutorService threads = Executors.newFixedThreadPool(8);
+    try {
+      Future<Object> first = threads.submit(() -> executor.executeCommand(commandObjects.get("key")));
+      blocking.started.await(5, TimeUnit.SECONDS);
+      List<Future<Object>> others = submit(threads, executor, commandObjects.get("key"), 7);
+      while (executor.getCoalescedCount() < 7) {
+        Thread.sleep(1);
+      }
+      blocking.release.countDown();
+
+      Object value = first.get(5, TimeUnit.SECONDS);
+      for (Future<Object> other : others) {
+        assertSame(value, other.get(5, TimeUnit.SECONDS));
+      }
+      assertEquals(1, blocking.sent.get());
+
+      // the flight is over
+      assertEquals("value", executor.executeCommand(commandObjects.get("key")));
+      assertEquals(2, blocking.sent.get());
+    } finally {
+      threads.shutdownNow();
+    }
+  }
+
+  @Test
+  public void failureIsShared() throws Exception {
+    BlockingExecutor blocking = new BlockingExecutor();
+    blocking.failure = new JedisConnectionException("down");
+    SingleFlightCommandExecutor executor = new SingleFlightCommandExecutor(blocking);
+    ExecutorService threads = Executors.newFixedThreadPool(4);
+    try {
+      Future<Object> first = threads.submit(() -> executor.executeCommand(commandObjects.hgetAll("key")));
+      blocking.started.await(5, TimeUnit.SECONDS);
+      List<Future<Object>> others = submit(threads, executor, commandObjects.hgetAll("key"), 3);
+      while (executor.getCoalescedCount() < 3) {
+        Thread.sleep(1);
+      }
+      blocking.release.countDown();
+
+      others.add(first);
+      for (Future<Object> future : others) {
+        try {
+          future.get(5, TimeUnit.SECONDS);
+          fail("Should throw an exception");
+        } catch (ExecutionException e) {
+          assertSame(blocking.failure, e.getCause());
+        }
+      }
+      assertEquals(1, blocking.sent.get());
+    } finally {
+      threads.shutdownNow();
+    }
+  }
+
+  @Test
+  public void writesAndDifferentReadsAreNotCoalesced() throws Exception {
+    BlockingExecutor blocking = new BlockingExecutor();
+    SingleFlightCommandExecutor executor = new SingleFlightCommandExecutor(blocking);
+    ExecutorService threads = Executors.newFixedThreadPool(4);
+    try {
+      submit(threads, executor, commandObjects.get("key"), 1);
+      blocking.started.await(5, TimeUnit.SECONDS);
+      List<Future<Object>> futures = submit(threads, executor, commandObjects.set("key", "value"), 1);
+      futures.addAll(submit(threads, executor, commandObjects.get("other"), 1));
+      futures.addAll(submit(threads, executor, commandObjects.getrange("key", 0, 1), 1));
+      while (blocking.sent.get() < 4) {
+        Thread.sleep(1);
+      }
+      blocking.release.countDown();
+      for (Future<Object> future : futures) {
+        future.get(5, TimeUnit.SECONDS);
+      }
+      assertEquals(0, executor.getCoalescedCount());
+    } finally {
+      threads.shutdownNow();
+    }
+  }
+
+  @Test
+  public void readYourWrites() throws Exception {
+    BlockingExecutor blocking = new BlockingExecutor();
+    SingleFlightCommandExecutor executor = new SingleFlightCommandExecutor(blocking);
+    ExecutorService threads = Executors.newFixedThreadPool(4);
+    try {
+      Future<Object> first = threads.submit(() -> executor.executeCommand(commandObjects.get("key")));
+      blocking.started.await(5, TimeUnit.SECONDS);
+
+      // sent again, as the flight may have been sent before the write
+      Future<Object> writer = threads.submit(() -> {
+        assertEquals("OK", executor.executeCommand(commandObjects.set("key", "value")));
+        return executor.executeCommand(commandObjects.get("key"));
+      });
+      while (blocking.sent.get() < 3) {
+        Thread.sleep(1);
+      }
+      Future<Object> reader = threads.submit(() -> executor.executeCommand(commandObjects.get("key")));
+      while (executor.getCoalescedCount() < 1) {
+        Thread.sleep(1);
+      }
+      blocking.release.countDown();
+
+      assertSame(first.get(5, TimeUnit.SECONDS), reader.get(5, TimeUnit.SECONDS));
+      assertEquals("value", writer.get(5, TimeUnit.SECONDS));
+      assertEquals(3, blocking.sent.get());
+      assertEquals(1, executor.getCoalescedCount());
+    } finally {
+      threads.shutdownNow();
+    }
+  }
+}
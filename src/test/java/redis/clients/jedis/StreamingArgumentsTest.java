@@ -0,0 +1,114 @@
+package redis.clients.jedis;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import redis.clients.jedis.args.RawableFactory;
+import redis.clients.jedis.args.StreamingRawable;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+import redis.clients.jedis.util.JedisClusterCRC16;
+import redis.clients.jedis.util.SafeEncoder;
+
+public class StreamingArgumentsTest {
+
+  private static final EndpointConfig endpoint = HostAndPorts.getRedisEndpoint("standalone0");
+
+  private UnifiedJedis jedis;
+  private byte[] value;
+
+  @Before
+  public void setUp() {
+    jedis = new UnifiedJedis(endpoint.getHostAndPort(), endpoint.getClientConfigBuilder().build());
+    jedis.flushAll();
+    value = new byte[100_000];
+    for (int i = 0; i < value.length; i++) {
+      value[i] = (byte) i;
+    }
+  }
+
+  @After
+  public void tearDown() {
+    jedis.close();
+  }
+
+  @Test
+  public void setFromByteBuffer() {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(value.length);
+    buffer.put(value).flip();
+    assertEquals("OK", jedis.set("foo", RawableFactory.from(buffer)));
+    assertArrayEquals(value, jedis.get(SafeEncoder.encode("foo")));
+
+    // the buffer is left untouched, so it can be written again
+    assertEquals(1, jedis.hset("hash", "field", RawableFactory.from(buffer)));
+    assertArrayEquals(value, jedis.hget(SafeEncoder.encode("hash"), SafeEncoder.encode("field")));
+  }
+
+  @Test
+  public void setFromFileRegion() throws IOException {
+    File file = File.createTempFile("jedis", ".bin");
+    file.deleteOnExit();
+    Files.write(file.toPath(), value);
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      assertEquals("OK", jedis.set(SafeEncoder.encode("foo"), RawableFactory.from(channel, 10, 50_000)));
+    }
+    assertArrayEquals(Arrays.copyOfRange(value, 10, 50_010), jedis.get(SafeEncoder.encode("foo")));
+  }
+
+  @Test
+  public void setFromInputStream() {
+    StreamingRawable stream = RawableFactory.from(new ByteArrayInputStream(value), value.length);
+    assertEquals(1, jedis.hset(SafeEncoder.encode("hash"), SafeEncoder.encode("field"), stream));
+    assertArrayEquals(value, jedis.hget(SafeEncoder.encode("hash"), SafeEncoder.encode("field")));
+
+    try {
+      jedis.set("foo", stream);
+      fail("Should throw an exception");
+    } catch (JedisConnectionException expected) {
+    }
+    assertEquals("PONG", jedis.ping());
+  }
+
+  @Test
+  public void materializeStreamingArgument() {
+    StreamingRawable stream = RawableFactory.from(new ByteArrayInputStream(value), value.length);
+    CommandObject<String> set = new ClusterCommandObjects().set("{user}:1", stream);
+    assertEquals(set.hashCode(), set.hashCode());
+    assertEquals(set, set);
+    assertEquals(JedisClusterCRC16.getSlot("{user}:1"),
+        ((ClusterCommandArguments) set.getArguments()).getCommandHashSlot());
+
+    assertArrayEquals(value, stream.getRaw());
+    // written from the materialized bytes, so that it can be written again
+    assertEquals("OK", jedis.executeCommand(set));
+    assertEquals("OK", jedis.executeCommand(set));
+    assertArrayEquals(value, jedis.get(SafeEncoder.encode("{user}:1")));
+
+    ByteBuffer buffer = ByteBuffer.wrap(value);
+    assertArrayEquals(value, RawableFactory.from(buffer).getRaw());
+    assertEquals(value.length, buffer.remaining());
+  }
+
+  @Test
+  public void inputStreamTooShort() {
+    try {
+      jedis.set("foo", RawableFactory.from(new ByteArrayInputStream(value), value.length + 1));
+      fail("Should throw an exception");
+    } catch (JedisConnectionException expected) {
+    }
+    assertEquals("PONG", jedis.ping());
+    assertEquals(false, jedis.exists("foo"));
+  }
+}
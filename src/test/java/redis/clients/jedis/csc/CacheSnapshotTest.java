@@ -0,0 +1,102 @@
+package redis.clients.jedis.csc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import redis.clients.jedis.Builder;
+import redis.clients.jedis.ClusterCommandArguments;
+import redis.clients.jedis.CommandArguments;
+import redis.clients.jedis.CommandObject;
+import redis.clients.jedis.CommandObjects;
+import redis.clients.jedis.Protocol.Command;
+import redis.clients.jedis.exceptions.JedisException;
+import redis.clients.jedis.util.JedisClusterCRC16;
+
+public class CacheSnapshotTest {
+
+  private static final CommandObjects commandObjects = new CommandObjects();
+
+  private File file;
+
+  @Before
+  public void setUp() throws IOException {
+    file = File.createTempFile("jedis", ".snapshot");
+  }
+
+  @After
+  public void tearDown() {
+    file.delete();
+  }
+
+  private static void set(Cache cache, CommandObject<?> commandObject, Object value) {
+    CacheKey cacheKey = new CacheKey<>(commandObject);
+    cache.set(cacheKey, new CacheEntry<>(cacheKey, value, null));
+  }
+
+  @Test
+  public void commandsAreReadAgain() {
+    DefaultCache cache = new DefaultCache(100);
+    set(cache, commandObjects.get("a"), "1");
+    set(cache, commandObjects.hget(new byte[] { 1, 2 }, new byte[] { 3 }), new byte[] { 4 });
+    set(cache, commandObjects.mget("{user}:1", "{user}:2"), Arrays.asList("x", "y"));
+    set(cache, commandObjects.getrange("a", 0, 3), "1");
+    set(cache, commandObjects.zrangeWithScores("z", 0, 1), "m");
+    // not a builder of the library
+    set(cache, new CommandObject<>(new CommandArguments(Command.GET).key("b"), new Builder<Object>() {
+      @Override
+      public Object build(Object data) {
+        return data;
+      }
+    }), "2");
+
+    assertEquals(5, CacheSnapshot.write(cache, file.toPath()));
+
+    List<CommandObject<?>> reads = CacheSnapshot.read(file.toPath(), ClusterCommandArguments::new);
+    assertEquals(new HashSet<>(Arrays.asList(commandObjects.get("a"),
+        commandObjects.hget(new byte[] { 1, 2 }, new byte[] { 3 }), commandObjects.mget("{user}:1", "{user}:2"),
+        commandObjects.getrange("a", 0, 3), commandObjects.zrangeWithScores("z", 0, 1))), new HashSet<>(reads));
+    for (CommandObject<?> read : reads) {
+      // the keys are known again
+      ClusterCommandArguments args = (ClusterCommandArguments) read.getArguments();
+      Object key = args.getKeys().get(0);
+      assertEquals(key instanceof String ? JedisClusterCRC16.getSlot((String) key)
+          : JedisClusterCRC16.getSlot((byte[]) key), args.getCommandHashSlot());
+    }
+  }
+
+  @Test
+  public void missingSnapshot() {
+    assertTrue(file.delete());
+    assertTrue(CacheSnapshot.read(file.toPath(), CommandArguments::new).isEmpty());
+  }
+
+  @Test
+  public void corruptedSnapshot() throws IOException {
+    DefaultCache cache = new DefaultCache(100);
+    set(cache, commandObjects.get("a"), "1");
+    Path path = file.toPath();
+    CacheSnapshot.write(cache, path);
+    try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+      raf.seek(raf.length() - 6);
+      raf.write('b');
+    }
+    try {
+      CacheSnapshot.read(path, CommandArguments::new);
+      fail("Should throw an exception");
+    } catch (JedisException e) {
+      assertTrue(e.getMessage().startsWith("Corrupted snapshot"));
+    }
+  }
+}
@@ -0,0 +1,130 @@
+package redis.clients.jedis.csc;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+import redis.clients.jedis.BuilderFactory;
+import redis.clients.jedis.CommandObjects;
+import redis.clients.jedis.util.LazyDecodedList;
+import redis.clients.jedis.util.LazyDecodedMap;
+import redis.clients.jedis.util.SafeEncoder;
+
+public class CacheValueCopierTest {
+
+  private static final CommandObjects commandObjects = new CommandObjects();
+
+  private static <T> CacheEntry<T> entry(CacheValueCopier copier, redis.clients.jedis.CommandObject<T> command,
+      Object reply, T value) {
+    return new CacheEntry<>(new CacheKey<>(command), reply, value, null, copier);
+  }
+
+  @Test
+  public void defaultIsDeepCopy() {
+    assertSame(CacheValueCopier.DEEP_COPY, CacheConfig.builder().build().getValueCopier());
+    assertSame(CacheValueCopier.DEEP_COPY, new DefaultCache(10).getValueCopier());
+
+    Cache cache = CacheFactory.getCache(CacheConfig.builder().valueCopier(CacheValueCopier.SHARE).build());
+    assertSame(CacheValueCopier.SHARE, cache.getValueCopier());
+  }
+
+  @Test
+  public void share() {
+    List<String> value = new ArrayList<>(Arrays.asList("a", "b"));
+    CacheEntry<List<String>> entry = entry(CacheValueCopier.SHARE, commandObjects.lrange("key", 0, -1), null, value);
+    assertSame(value, entry.getValue());
+  }
+
+  @Test
+  public void deepCopy() {
+    String string = "value";
+    assertSame(string, entry(CacheValueCopier.DEEP_COPY, commandObjects.get("key"), null, string).getValue());
+
+    byte[] bytes = SafeEncoder.encode("value");
+    CacheEntry<byte[]> binary = entry(CacheValueCopier.DEEP_COPY, commandObjects.get(bytes), null, bytes);
+    bytes[0] = 'x';
+    assertArrayEquals(SafeEncoder.encode("value"), binary.getValue());
+    assertNotSame(binary.getValue(), binary.getValue());
+
+    Map<String, String> map = new HashMap<>();
+    map.put("field", "value");
+    CacheEntry<Map<String, String>> hash = entry(CacheValueCopier.DEEP_COPY, commandObjects.hgetAll("key"), null, map);
+    map.clear();
+    assertEquals(Collections.singletonMap("field", "value"), hash.getValue());
+    assertNotSame(hash.getValue(), hash.getValue());
+  }
+
+  @Test
+  public void deepCopyKeepsLazyReplies() {
+    byte[] field = SafeEncoder.encode("field");
+    byte[] value = SafeEncoder.encode("value");
+    List<Object> reply = Arrays.asList(field, value);
+
+    Map<String, String> map = BuilderFactory.STRING_MAP.build(reply);
+    Object stored = CacheValueCopier.DEEP_COPY.store(BuilderFactory.STRING_MAP, reply, map);
+    // copied without serializing, nor decoding the values
+    assertSame(LazyDecodedMap.class, stored.getClass());
+    value[0] = 'x';
+    Object loaded = CacheValueCopier.DEEP_COPY.load(stored);
+    assertSame(LazyDecodedMap.class, loaded.getClass());
+    assertEquals(Collections.singletonMap("field", "value"), loaded);
+
+    List<String> list = BuilderFactory.STRING_LIST.build(Arrays.asList(SafeEncoder.encode("a"), null));
+    stored = CacheValueCopier.DEEP_COPY.store(BuilderFactory.STRING_LIST, null, list);
+    assertSame(LazyDecodedList.class, stored.getClass());
+    CacheEntry<List<String>> entry = entry(CacheValueCopier.DEEP_COPY, commandObjects.lrange("key", 0, -1), null, list);
+    assertSame(LazyDecodedList.class, entry.getValue().getClass());
+    assertEquals(Arrays.asList("a", null), entry.getValue());
+    assertNotSame(entry.getValue(), entry.getValue());
+  }
+
+  @Test
+  public void deepCopySerializesOtherValues() {
+    List<String> value = new LinkedList<>(Arrays.asList("a", "b"));
+    CacheEntry<List<String>> entry = entry(CacheValueCopier.DEEP_COPY, commandObjects.lrange("key", 0, -1), null, value);
+    value.clear();
+    assertEquals(Arrays.asList("a", "b"), entry.getValue());
+    assertNotSame(entry.getValue(), entry.getValue());
+  }
+
+  @Test
+  public void serialize() {
+    List<String> value = new ArrayList<>(Arrays.asList("a", "b"));
+    CacheEntry<List<String>> entry = entry(CacheValueCopier.SERIALIZE, commandObjects.lrange("key", 0, -1), null, value);
+    assertEquals(value, entry.getValue());
+    assertNotSame(entry.getValue(), entry.getValue());
+  }
+
+  @Test
+  public void rebuild() {
+    assertTrue(CacheValueCopier.REBUILD.needsReply());
+    List<Object> reply = new ArrayList<>(Arrays.asList(SafeEncoder.encode("field"), SafeEncoder.encode("value")));
+    CacheEntry<Map<byte[], byte[]>> entry = entry(CacheValueCopier.REBUILD, commandObjects.hgetAll(SafeEncoder.encode("key")),
+        reply, null);
+    ((byte[]) reply.get(1))[0] = 'x';
+
+    Map<byte[], byte[]> first = entry.getValue();
+    assertArrayEquals(SafeEncoder.encode("value"), first.get(SafeEncoder.encode("field")));
+    first.get(SafeEncoder.encode("field"))[0] = 'x';
+    assertArrayEquals(SafeEncoder.encode("value"), entry.getValue().get(SafeEncoder.encode("field")));
+  }
+
+  @Test
+  public void rebuildWithoutReply() {
+    List<String> value = new ArrayList<>(Arrays.asList("a", "b"));
+    CacheEntry<List<String>> entry = entry(CacheValueCopier.REBUILD, commandObjects.lrange("key", 0, -1), null, value);
+    assertEquals(value, entry.getValue());
+    assertNotSame(value, entry.getValue());
+  }
+}
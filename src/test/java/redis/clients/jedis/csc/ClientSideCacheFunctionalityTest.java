@@ -7,8 +7,10 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
 import java.util.*;
 
 import java.util.concurrent.CountDownLatch;
@@ -25,8 +27,12 @@ import org.junit.Test;
 import org.mockito.Mockito;
 
 import redis.clients.jedis.CommandObjects;
+import redis.clients.jedis.JedisClientConfig;
 import redis.clients.jedis.JedisPooled;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Response;
 import redis.clients.jedis.UnifiedJedis;
+import redis.clients.jedis.exceptions.JedisDataException;
 
 public class ClientSideCacheFunctionalityTest extends ClientSideCacheTestBase {
 
@@ -93,10 +99,11 @@ public class ClientSideCacheFunctionalityTest extends ClientSideCacheTestBase {
       jedis.set("2", "two");
 
       assertEquals(Arrays.asList("one", "two"), jedis.mget("1", "2"));
-      assertEquals(1, clientSideCache.getSize());
+      // cached by key
+      assertEquals(2, clientSideCache.getSize());
 
       assertThat(clientSideCache.deleteByRedisKey("1"), hasSize(1));
-      assertEquals(0, clientSideCache.getSize());
+      assertEquals(1, clientSideCache.getSize());
     }
   }
 
@@ -212,7 +219,7 @@ public class ClientSideCacheFunctionalityTest extends ClientSideCacheTestBase {
 
     try (JedisPooled jedis = new JedisPooled(hnp, clientConfig.get(), CacheConfig.builder().build())) {
       jedis.mget("k1", "k2");
-      assertEquals(1, jedis.getCache().getSize());
+      assertEquals(2, jedis.getCache().getSize());
     }
   }
 
@@ -565,4 +572,179 @@ public class ClientSideCacheFunctionalityTest extends ClientSideCacheTestBase {
       assertEquals(1, stats.getMissCount());
     }
   }
+
+  @Test
+  public void broadcastTracking() {
+    control.set("config:a", "v1");
+    control.set("other:a", "v1");
+
+    try (JedisPooled jedis = new JedisPooled(hnp, clientConfig.get(),
+        CacheConfig.builder().clientTracking(ClientTracking.broadcast("config:")).build())) {
+      Cache cache = jedis.getCache();
+      assertEquals("v1", jedis.get("config:a"));
+      assertEquals("v1", jedis.get("other:a"));
+      assertEquals(1, cache.getSize());
+
+      control.set("config:a", "v2");
+      assertEquals("v2", jedis.get("config:a"));
+      assertEquals(1, cache.getStats().getInvalidationCount());
+    }
+  }
+
+  @Test
+  public void optInTracking() {
+    control.set("cached", "v1");
+    control.set("other", "v1");
+
+    Cacheable cacheable = (command, keys) -> keys.contains("cached");
+    try (JedisPooled jedis = new JedisPooled(hnp, clientConfig.get(),
+        CacheConfig.builder().clientTracking(ClientTracking.optIn()).cacheable(cacheable).build())) {
+      Cache cache = jedis.getCache();
+      assertEquals("v1", jedis.get("cached"));
+      assertEquals("v1", jedis.get("other"));
+      assertEquals(1, cache.getSize());
+
+      control.set("cached", "v2");
+      assertEquals("v2", jedis.get("cached"));
+      assertEquals(1, cache.getStats().getInvalidationCount());
+
+      CommandObjects commandObjects = new CommandObjects();
+      assertEquals("v1", jedis.executeCommand(CacheHint.cache(commandObjects.get("other"))));
+      assertEquals(2, cache.getSize());
+      control.set("other", "v2");
+      assertEquals("v2", jedis.get("other"));
+
+      assertEquals("v2", jedis.executeCommand(CacheHint.noCache(commandObjects.get("cached"))));
+      assertEquals(3, cache.getStats().getNonCacheableCount());
+    }
+  }
+
+  @Test
+  public void redirectedTrackingOverResp2() {
+    control.set("foo", "v1");
+
+    JedisClientConfig resp2Config = endpoint.getClientConfigBuilder().build();
+    try (JedisPooled jedis = new JedisPooled(hnp, resp2Config,
+        CacheConfig.builder().clientTracking(ClientTracking.DEFAULT.redirected()).build())) {
+      Cache cache = jedis.getCache();
+      assertEquals("v1", jedis.get("foo"));
+      assertEquals("v1", jedis.get("foo"));
+      assertEquals(1, cache.getStats().getHitCount());
+
+      control.set("foo", "v2");
+      await().atMost(5, TimeUnit.SECONDS).until(() -> cache.getSize() == 0);
+      assertEquals("v2", jedis.get("foo"));
+      assertEquals(1, cache.getStats().getInvalidationCount());
+    }
+  }
+
+  @Test
+  public void invalidMessageFlushesTheCache() {
+    control.set("foo", "v1");
+
+    JedisClientConfig resp2Config = endpoint.getClientConfigBuilder().build();
+    try (JedisPooled jedis = new JedisPooled(hnp, resp2Config,
+        CacheConfig.builder().clientTracking(ClientTracking.DEFAULT.redirected()).build())) {
+      Cache cache = jedis.getCache();
+      assertEquals("v1", jedis.get("foo"));
+      assertEquals(1, cache.getSize());
+
+      // not a list of keys
+      control.publish("__redis__:invalidate", "foo");
+      await().atMost(5, TimeUnit.SECONDS).until(() -> cache.getSize() == 0);
+
+      // the listener is still running
+      assertEquals("v1", jedis.get("foo"));
+      control.set("foo", "v2");
+      await().atMost(5, TimeUnit.SECONDS).until(() -> cache.getSize() == 0);
+      assertEquals("v2", jedis.get("foo"));
+    }
+  }
+
+  @Test
+  public void pipelinedReadsAreCached() {
+    control.set("foo", "v1");
+
+    try (JedisPooled jedis = new JedisPooled(hnp, clientConfig.get(), CacheConfig.builder().build())) {
+      Cache cache = jedis.getCache();
+      try (Pipeline pipeline = jedis.pipelined()) {
+        Response<String> foo = pipeline.get("foo");
+        pipeline.sync();
+        assertEquals("v1", foo.get());
+      }
+      assertEquals(1, cache.getSize());
+
+      try (Pipeline pipeline = jedis.pipelined()) {
+        Response<String> cached = pipeline.get("foo");
+        pipeline.set("foo", "v2");
+        // written by the pipeline, so not read from the cache
+        Response<String> written = pipeline.get("foo");
+        assertEquals(Arrays.asList("v1", "OK", "v2"), pipeline.syncAndReturnAll());
+        assertEquals("v1", cached.get());
+        assertEquals("v2", written.get());
+      }
+      assertEquals(1, cache.getStats().getHitCount());
+      assertEquals("v2", jedis.get("foo"));
+    }
+  }
+
+  @Test
+  public void cacheSnapshotIsRestored() throws Exception {
+    control.set("foo", "v1");
+    control.hset("hash", "f1", "x");
+    File file = File.createTempFile("jedis", ".snapshot");
+    try {
+      try (JedisPooled jedis = new JedisPooled(hnp, clientConfig.get(), CacheConfig.builder().build())) {
+        jedis.get("foo");
+        jedis.hgetAll("hash");
+        assertEquals(2, jedis.saveCacheSnapshot(file.toPath()));
+      }
+
+      try (JedisPooled jedis = new JedisPooled(hnp, clientConfig.get(), CacheConfig.builder().build())) {
+        Cache cache = jedis.getCache();
+        assertEquals(2, jedis.restoreCacheSnapshot(file.toPath()));
+        assertEquals(2, cache.getSize());
+        assertEquals("v1", jedis.get("foo"));
+        assertEquals(1, cache.getStats().getHitCount());
+
+        // tracked again
+        control.set("foo", "v2");
+        await().atMost(5, TimeUnit.SECONDS).until(() -> cache.getSize() == 1);
+        assertEquals("v2", jedis.get("foo"));
+      }
+    } finally {
+      file.delete();
+    }
+  }
+
+  @Test
+  public void multiKeyReadsAreCachedByElement() {
+    control.set("a", "1");
+    control.set("b", "2");
+    control.hset("hash", "f1", "x");
+
+    try (JedisPooled jedis = new JedisPooled(hnp, clientConfig.get(), CacheConfig.builder().build())) {
+      Cache cache = jedis.getCache();
+      assertEquals(Collections.singletonList("1"), jedis.mget("a"));
+      assertEquals(Arrays.asList("1", "2", null), jedis.mget("a", "b", "c"));
+      assertEquals(1, cache.getStats().getHitCount());
+      assertEquals(3, cache.getSize());
+
+      control.set("b", "20");
+      assertEquals(Arrays.asList("1", "20", null), jedis.mget("a", "b", "c"));
+      assertEquals(Collections.singletonList("20"), jedis.mget("b"));
+
+      // unlike MGET, GET fails for a key of another type
+      assertEquals(Collections.singletonList(null), jedis.mget("hash"));
+      assertThrows(JedisDataException.class, () -> jedis.get("hash"));
+
+      assertEquals(Arrays.asList("x", null), jedis.hmget("hash", "f1", "f2"));
+      assertEquals("x", jedis.hget("hash", "f1"));
+      try (Pipeline pipeline = jedis.pipelined()) {
+        Response<List<String>> values = pipeline.hmget("hash", "f1", "f2");
+        pipeline.sync();
+        assertEquals(Arrays.asList("x", null), values.get());
+      }
+    }
+  }
 }
@@ -0,0 +1,113 @@
+package redis.clients.jedis.csc;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import redis.clients.jedis.CommandObjects;
+import redis.clients.jedis.util.SafeEncoder;
+
+public class ClientTrackingTest {
+
+  private static final CommandObjects commandObjects = new CommandObjects();
+
+  private static String[] arguments(ClientTracking tracking) {
+    byte[][] args = tracking.getArguments();
+    String[] result = new String[args.length];
+    for (int i = 0; i < args.length; i++) {
+      result[i] = SafeEncoder.encode(args[i]);
+    }
+    return result;
+  }
+
+  @Test
+  public void arguments() {
+    assertArrayEquals(new String[] { "TRACKING", "ON" }, arguments(ClientTracking.DEFAULT));
+    assertArrayEquals(new String[] { "TRACKING", "ON", "BCAST" }, arguments(ClientTracking.broadcast()));
+    assertArrayEquals(new String[] { "TRACKING", "ON", "OPTIN" }, arguments(ClientTracking.optIn()));
+    assertArrayEquals(new String[] { "TRACKING", "ON", "BCAST", "PREFIX", "config:", "PREFIX", "catalog:" },
+        arguments(ClientTracking.broadcast("config:", "catalog:")));
+  }
+
+  @Test
+  public void redirectedArguments() {
+    ClientTracking tracking = ClientTracking.broadcast("config:").redirected();
+    assertTrue(tracking.isRedirected());
+    assertFalse(ClientTracking.DEFAULT.isRedirected());
+    assertEquals(ClientTracking.Mode.BCAST, tracking.getMode());
+
+    byte[][] args = tracking.getArguments(42);
+    String[] result = new String[args.length];
+    for (int i = 0; i < args.length; i++) {
+      result[i] = SafeEncoder.encode(args[i]);
+    }
+    assertArrayEquals(new String[] { "TRACKING", "ON", "REDIRECT", "42", "BCAST", "PREFIX", "config:" }, result);
+  }
+
+  @Test
+  public void prefixes() {
+    ClientTracking tracking = ClientTracking.broadcast("a:", "catalog:", "cat");
+    assertTrue(tracking.tracks(SafeEncoder.encode("a:1")));
+    assertTrue(tracking.tracks(SafeEncoder.encode("catalog:1")));
+    assertTrue(tracking.tracks(SafeEncoder.encode("cat")));
+    assertFalse(tracking.tracks(SafeEncoder.encode("ca")));
+    assertFalse(tracking.tracks(SafeEncoder.encode("b:1")));
+
+    assertTrue(ClientTracking.broadcast().tracks(SafeEncoder.encode("b:1")));
+    assertTrue(ClientTracking.DEFAULT.tracks(SafeEncoder.encode("b:1")));
+  }
+
+  @Test
+  public void fromConfig() {
+    ClientTracking tracking = ClientTracking.broadcast("config:");
+    Cache cache = CacheFactory.getCache(CacheConfig.builder().clientTracking(tracking).build());
+    assertSame(tracking, cache.getClientTracking());
+    assertSame(ClientTracking.DEFAULT, CacheFactory.getCache(CacheConfig.builder().build()).getClientTracking());
+  }
+
+  @Test
+  public void onlyKeysOfPrefixesAreCached() {
+    DefaultCache cache = new DefaultCache(100);
+    cache.setClientTracking(ClientTracking.broadcast("config:"));
+    assertTrue(cache.isCacheable(new CacheKey<>(commandObjects.get("config:1"))));
+    assertTrue(cache.isCacheable(new CacheKey<>(commandObjects.mget("config:1", "config:2"))));
+    assertFalse(cache.isCacheable(new CacheKey<>(commandObjects.get("other:1"))));
+    assertFalse(cache.isCacheable(new CacheKey<>(commandObjects.mget("config:1", "other:1"))));
+  }
+
+  @Test
+  public void invalidation() {
+    DefaultCache cache = new DefaultCache(100);
+    cache.setClientTracking(ClientTracking.broadcast("config:"));
+    CacheKey<String> cacheKey = new CacheKey<>(commandObjects.get("config:1"));
+    cache.set(cacheKey, new CacheEntry<>(cacheKey, "value", null));
+
+    assertTrue(cache.deleteByRedisKey(SafeEncoder.encode("other:1")).isEmpty());
+    assertEquals(1, cache.getSize());
+    assertEquals(1, cache.deleteByRedisKey(SafeEncoder.encode("config:1")).size());
+    assertEquals(0, cache.getSize());
+    assertEquals(1, cache.getStats().getInvalidationCount());
+  }
+
+  @Test
+  public void otherKeysOfInvalidatedEntryAreUnindexed() {
+    DefaultCache cache = new DefaultCache(100);
+    CacheKey<List<String>> mget = new CacheKey<>(commandObjects.mget("a", "b", "c"));
+    cache.set(mget, new CacheEntry<>(mget, Arrays.asList("1", "2", "3"), null));
+    assertEquals(3, cache.getRedisKeyCount());
+
+    assertEquals(1, cache.deleteByRedisKey("b").size());
+    assertEquals(0, cache.getRedisKeyCount());
+
+    cache.set(mget, new CacheEntry<>(mget, Arrays.asList("1", "2", "3"), null));
+    assertEquals(1, cache.deleteByRedisKeys(Arrays.asList("a", "c")).size());
+    assertEquals(0, cache.getRedisKeyCount());
+  }
+}
@@ -0,0 +1,107 @@
+package redis.clients.jedis.csc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.Test;
+
+import redis.clients.jedis.CommandObjects;
+
+public class ConcurrentLRUEvictionTest {
+
+  private static final CommandObjects commandObjects = new CommandObjects();
+
+  private static CacheKey<String> key(int i) {
+    return new CacheKey<>(commandObjects.get("key:" + i));
+  }
+
+  private static void set(Cache cache, int i) {
+    CacheKey<String> cacheKey = key(i);
+    cache.set(cacheKey, new CacheEntry<>(cacheKey, "value" + i, null));
+  }
+
+  @Test
+  public void isDefault() {
+    Cache cache = CacheFactory.getCache(CacheConfig.builder().build());
+    assertTrue(cache.getEvictionPolicy() instanceof ConcurrentLRUEviction);
+  }
+
+  @Test
+  public void evictsLeastRecentlyUsed() {
+    Cache cache = new DefaultCache(3);
+    set(cache, 1);
+    set(cache, 2);
+    set(cache, 3);
+    assertNotNull(cache.get(key(1)));
+
+    set(cache, 4);
+    assertEquals(3, cache.getSize());
+    assertNotNull(cache.get(key(1)));
+    assertNull(cache.get(key(2)));
+    assertEquals(1, cache.getStats().getEvictCount());
+  }
+
+  @Test
+  public void deletedKeysAreNotTracked() {
+    Cache cache = new DefaultCache(2);
+    set(cache, 1);
+    set(cache, 2);
+    assertTrue(cache.delete(key(1)));
+    assertFalse(cache.getEvictionPolicy().reset(key(1)));
+    assertEquals(1, cache.deleteByRedisKey("key:2").size());
+
+    set(cache, 3);
+    set(cache, 4);
+    assertEquals(2, cache.getSize());
+    assertEquals(0, cache.getStats().getEvictCount());
+  }
+
+  @Test
+  public void concurrentAccess() throws Exception {
+    final int maxSize = 100;
+    final Cache cache = new DefaultCache(maxSize);
+    ExecutorService executor = Executors.newFixedThreadPool(16);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 16; t++) {
+        futures.add(executor.submit(() -> {
+          ThreadLocalRandom random = ThreadLocalRandom.current();
+          for (int i = 0; i < 20_000; i++) {
+            int k = random.nextInt(300);
+            switch (random.nextInt(10)) {
+              case 0:
+                set(cache, k);
+                break;
+              case 1:
+                cache.deleteByRedisKey("key:" + k);
+                break;
+              default:
+                cache.get(key(k));
+            }
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    assertTrue(cache.getSize() <= maxSize);
+    for (CacheEntry entry : cache.getCacheEntries()) {
+      assertNotNull(cache.get(entry.getCacheKey()));
+    }
+    cache.flush();
+    assertEquals(0, cache.getSize());
+  }
+}
@@ -0,0 +1,56 @@
+package redis.clients.jedis.csc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Test;
+
+import redis.clients.jedis.Builder;
+import redis.clients.jedis.BuilderFactory;
+import redis.clients.jedis.CommandArguments;
+import redis.clients.jedis.CommandObject;
+import redis.clients.jedis.CommandObjects;
+import redis.clients.jedis.Protocol.Command;
+
+public class MultiKeyReadTest {
+
+  private static final CommandObjects commandObjects = new CommandObjects();
+
+  private static <T> CacheKey<T> mgetKey(Object key, Builder<T> builder) {
+    return new CacheKey<>(new CommandObject<>(new CommandArguments(Command.MGET).key(key), builder));
+  }
+
+  @Test
+  public void mgetIsReadByKey() {
+    MultiKeyRead<String> read = (MultiKeyRead<String>) MultiKeyRead.of(commandObjects.mget("a", "b", "c"));
+    assertEquals(Arrays.asList(mgetKey("a", BuilderFactory.STRING), mgetKey("b", BuilderFactory.STRING),
+        mgetKey("c", BuilderFactory.STRING)), read.getElementKeys());
+    assertEquals(commandObjects.mget("a", "c"), read.getRead(Arrays.asList(0, 2)));
+    // GET fails for a key of another type
+    assertNotEquals(new CacheKey<>(commandObjects.get("a")), read.getElementKeys().get(0));
+
+    MultiKeyRead<byte[]> binary = (MultiKeyRead<byte[]>) MultiKeyRead.of(commandObjects.mget(new byte[] { 1 }));
+    assertEquals(Collections.singletonList(mgetKey(new byte[] { 1 }, BuilderFactory.BINARY)),
+        binary.getElementKeys());
+  }
+
+  @Test
+  public void hmgetIsReadByField() {
+    CommandObject<?> hmget = commandObjects.hmget("hash", "f1", "f2");
+    MultiKeyRead<String> read = (MultiKeyRead<String>) MultiKeyRead.of(hmget);
+    assertEquals(Arrays.asList(new CacheKey<>(commandObjects.hget("hash", "f1")),
+        new CacheKey<>(commandObjects.hget("hash", "f2"))), read.getElementKeys());
+    assertEquals(commandObjects.hmget("hash", "f2"), read.getRead(Collections.singletonList(1)));
+    assertSame(hmget, read.getRead(Arrays.asList(0, 1)));
+  }
+
+  @Test
+  public void otherReadsAreCachedAsAWhole() {
+    assertNull(MultiKeyRead.of(commandObjects.get("a")));
+    assertNull(MultiKeyRead.of(commandObjects.hgetAll("hash")));
+  }
+}
@@ -0,0 +1,210 @@
+package redis.clients.jedis.csc;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+
+import redis.clients.jedis.CommandObject;
+import redis.clients.jedis.CommandObjects;
+import redis.clients.jedis.util.SafeEncoder;
+
+public class OffHeapCacheTest {
+
+  private static final CommandObjects commandObjects = new CommandObjects();
+
+  private static <T> CacheEntry<T> set(Cache cache, CommandObject<T> command, Object reply) {
+    CacheKey<T> cacheKey = new CacheKey<>(command);
+    CacheEntry<T> entry = new CacheEntry<>(cacheKey, reply, command.getBuilder().build(reply), null,
+        cache.getValueCopier());
+    cache.set(cacheKey, entry);
+    return entry;
+  }
+
+  private static byte[] bytes(int length) {
+    byte[] bytes = new byte[length];
+    Arrays.fill(bytes, (byte) 'x');
+    return bytes;
+  }
+
+  @Test
+  public void fromConfig() {
+    Cache cache = CacheFactory.getCache(CacheConfig.builder().maxBytes(1 << 20).build());
+    assertTrue(cache instanceof OffHeapCache);
+    assertEquals(1 << 20, ((OffHeapCache) cache).getMaxBytes());
+  }
+
+  @Test
+  public void rebuildsValues() {
+    OffHeapCache cache = new OffHeapCache(1 << 20);
+    List<Object> reply = new ArrayList<>(Arrays.asList(SafeEncoder.encode("field"), SafeEncoder.encode("value"),
+        SafeEncoder.encode("other"), null));
+    set(cache, commandObjects.hgetAll("hash"), reply);
+    set(cache, commandObjects.get("string"), SafeEncoder.encode("value"));
+    set(cache, commandObjects.get("nil"), null);
+    set(cache, commandObjects.strlen("string"), 5L);
+    assertEquals(4, cache.getSize());
+    assertTrue(cache.getUsedBytes() > 0);
+
+    Map<String, String> hash = (Map<String, String>) cache.get(new CacheKey<>(commandObjects.hgetAll("hash"))).getValue();
+    assertEquals("value", hash.get("field"));
+    assertTrue(hash.containsKey("other"));
+    assertEquals("value", cache.get(new CacheKey<>(commandObjects.get("string"))).getValue());
+    assertEquals(null, cache.get(new CacheKey<>(commandObjects.get("nil"))).getValue());
+    assertEquals(5L, cache.get(new CacheKey<>(commandObjects.strlen("string"))).getValue());
+  }
+
+  @Test
+  public void serializesValuesWithoutReply() {
+    OffHeapCache cache = new OffHeapCache(1 << 20);
+    CacheKey<List<String>> cacheKey = new CacheKey<>(commandObjects.lrange("list", 0, -1));
+    cache.set(cacheKey, new CacheEntry<>(cacheKey, new ArrayList<>(Arrays.asList("a", "b")), null));
+    assertEquals(Arrays.asList("a", "b"), cache.get(cacheKey).getValue());
+  }
+
+  @Test
+  public void boundedByBytes() {
+    OffHeapCache cache = new OffHeapCache(64 << 10);
+    for (int i = 0; i < 1000; i++) {
+      set(cache, commandObjects.get(SafeEncoder.encode("key:" + i)), bytes(1000));
+      assertTrue(cache.getUsedBytes() <= cache.getMaxBytes());
+    }
+    assertTrue(cache.getSize() > 0);
+    assertTrue(cache.getSize() <= 64);
+    assertTrue(cache.getStats().getEvictCount() > 0);
+    assertNotNull(cache.get(new CacheKey<>(commandObjects.get(SafeEncoder.encode("key:999")))));
+
+    // values of another size class take the room of evicted ones
+    for (int i = 0; i < 100; i++) {
+      set(cache, commandObjects.get(SafeEncoder.encode("small:" + i)), bytes(10));
+    }
+    assertTrue(cache.hasCacheKey(new CacheKey<>(commandObjects.get(SafeEncoder.encode("small:99")))));
+
+    cache.flush();
+    assertEquals(0, cache.getUsedBytes());
+  }
+
+  @Test
+  public void largeValuesAreNotCached() {
+    OffHeapCache cache = new OffHeapCache(64 << 10);
+    set(cache, commandObjects.get(SafeEncoder.encode("small")), bytes(100));
+    CacheEntry<byte[]> entry = set(cache, commandObjects.get(SafeEncoder.encode("large")), bytes(10 << 10));
+    assertArrayEquals(bytes(10 << 10), entry.getValue());
+    assertEquals(1, cache.getSize());
+    assertFalse(cache.hasCacheKey(entry.getCacheKey()));
+  }
+
+  @Test
+  public void valuesSpanningPages() {
+    SlabAllocator allocator = new SlabAllocator(1 << 20, 4 << 10);
+    byte[] value = new byte[10_000];
+    for (int i = 0; i < value.length; i++) {
+      value[i] = (byte) i;
+    }
+    SlabAllocator.Block block = allocator.allocate(value.length);
+    allocator.write(block, value);
+    assertArrayEquals(value, allocator.read(block));
+    assertEquals(2 * 4096 + 2048, allocator.getUsedBytes());
+
+    allocator.release(block);
+    assertEquals(0, allocator.getUsedBytes());
+    try {
+      allocator.read(block);
+      fail("Should throw an exception");
+    } catch (SlabAllocator.ReleasedBlockException expected) {
+    }
+  }
+
+  @Test
+  public void emptiedPagesAreReused() {
+    SlabAllocator allocator = new SlabAllocator(4 * 4096, 4096);
+    List<SlabAllocator.Block> blocks = new ArrayList<>();
+    // three pages of 64 slots
+    for (int i = 0; i < 3 * 64; i++) {
+      blocks.add(allocator.allocate(64));
+    }
+    for (int page = 0; page < 3; page++) {
+      allocator.release(blocks.get(page * 64));
+    }
+    // the page in the middle of the partial pages is emptied
+    for (int i = 64 + 1; i < 2 * 64; i++) {
+      allocator.release(blocks.get(i));
+    }
+    assertNotNull(allocator.allocate(4096));
+    assertNotNull(allocator.allocate(4096));
+    assertNull(allocator.allocate(4096));
+    assertNotNull(allocator.allocate(64));
+    assertNotNull(allocator.allocate(64));
+    assertNull(allocator.allocate(64));
+    assertEquals(allocator.getMaxBytes(), allocator.getUsedBytes());
+  }
+
+  @Test
+  public void removedEntriesAreReleased() {
+    OffHeapCache cache = new OffHeapCache(1 << 20);
+    CacheEntry<String> entry = set(cache, commandObjects.get("key"), SafeEncoder.encode("value"));
+    assertEquals(Collections.singletonList(entry.getCacheKey()), cache.deleteByRedisKey("key"));
+    assertEquals(0, cache.getUsedBytes());
+    try {
+      entry.getValue();
+      fail("Should throw an exception");
+    } catch (SlabAllocator.ReleasedBlockException expected) {
+    }
+  }
+
+  @Test
+  public void valueCopierIsIgnored() {
+    OffHeapCache cache = new OffHeapCache(1 << 20);
+    CacheValueCopier copier = cache.getValueCopier();
+    cache.setValueCopier(CacheValueCopier.SHARE);
+    assertSame(copier, cache.getValueCopier());
+  }
+
+  @Test
+  public void evictForLargerValues() {
+    OffHeapCache cache = new OffHeapCache(64 << 10);
+    int small = 0;
+    while (cache.getStats().getEvictCount() == 0) {
+      set(cache, commandObjects.get(SafeEncoder.encode("small:" + small++)), bytes(100));
+    }
+    int size = cache.getSize();
+    long evicted = cache.getStats().getEvictCount();
+
+    // the room of several small values is needed
+    CacheEntry<byte[]> entry = set(cache, commandObjects.get(SafeEncoder.encode("large")), bytes(6000));
+    assertTrue(cache.hasCacheKey(entry.getCacheKey()));
+    assertTrue(cache.getStats().getEvictCount() - evicted > 1);
+    assertTrue(cache.getSize() < size);
+    assertTrue(cache.getMaxSize() >= cache.getSize());
+  }
+
+  @Test
+  public void closeDropsPages() {
+    OffHeapCache cache = new OffHeapCache(1 << 20);
+    CacheEntry<String> entry = set(cache, commandObjects.get("key"), SafeEncoder.encode("value"));
+    cache.close();
+    assertEquals(0, cache.getSize());
+    assertEquals(0, cache.getUsedBytes());
+    try {
+      entry.getValue();
+      fail("Should throw an exception");
+    } catch (SlabAllocator.ReleasedBlockException expected) {
+    }
+
+    // not cached anymore
+    entry = set(cache, commandObjects.get("key"), SafeEncoder.encode("value"));
+    assertEquals("value", entry.getValue());
+    assertEquals(0, cache.getSize());
+  }
+}
@@ -0,0 +1,110 @@
+package redis.clients.jedis.csc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import org.junit.Test;
+
+import redis.clients.jedis.CommandObjects;
+import redis.clients.jedis.util.JedisClusterCRC16;
+import redis.clients.jedis.util.SafeEncoder;
+
+public class RedisKeyIndexTest {
+
+  private static final CommandObjects commandObjects = new CommandObjects();
+
+  private final RedisKeyIndex index = new RedisKeyIndex(4);
+
+  private static byte[] key(String key) {
+    return SafeEncoder.encode(key);
+  }
+
+  private void add(String key, CacheKey<?> cacheKey) {
+    byte[] bytes = key(key);
+    index.add(bytes, RedisKeyIndex.hash(bytes), cacheKey);
+  }
+
+  private void remove(String key, CacheKey<?> cacheKey) {
+    byte[] bytes = key(key);
+    index.remove(bytes, RedisKeyIndex.hash(bytes), cacheKey);
+  }
+
+  private List<CacheKey<?>> removeKey(String key) {
+    byte[] bytes = key(key);
+    return index.removeKey(bytes, RedisKeyIndex.hash(bytes));
+  }
+
+  @Test
+  public void manyKeys() {
+    for (int i = 0; i < 1000; i++) {
+      add("key" + i, new CacheKey<>(commandObjects.get("key" + i)));
+    }
+    assertEquals(1000, index.size());
+
+    // every other key, shifting back the following keys of the probe sequences
+    for (int i = 0; i < 1000; i += 2) {
+      remove("key" + i, new CacheKey<>(commandObjects.get("key" + i)));
+    }
+    assertEquals(500, index.size());
+    for (int i = 0; i < 1000; i++) {
+      List<CacheKey<?>> cacheKeys = removeKey("key" + i);
+      if (i % 2 == 0) {
+        assertNull(cacheKeys);
+      } else {
+        assertEquals(Collections.singletonList(new CacheKey<>(commandObjects.get("key" + i))), cacheKeys);
+      }
+    }
+    assertEquals(0, index.size());
+  }
+
+  @Test
+  public void severalEntriesOfAKey() {
+    CacheKey<?> get = new CacheKey<>(commandObjects.get("key"));
+    CacheKey<?> strlen = new CacheKey<>(commandObjects.strlen("key"));
+    CacheKey<?> getrange = new CacheKey<>(commandObjects.getrange("key", 0, 1));
+    add("key", get);
+    add("key", strlen);
+    add("key", get);
+    add("key", getrange);
+    assertEquals(1, index.size());
+
+    remove("key", strlen);
+    remove("key", getrange);
+    // not indexed
+    remove("key", strlen);
+    add("key", strlen);
+    assertEquals(new HashSet<>(Arrays.asList(get, strlen)), new HashSet<>(removeKey("key")));
+
+    add("key", get);
+    remove("key", get);
+    assertEquals(0, index.size());
+  }
+
+  @Test
+  public void removeSlots() {
+    for (int i = 0; i < 100; i++) {
+      add("key" + i, new CacheKey<>(commandObjects.get("key" + i)));
+    }
+    BitSet slots = new BitSet();
+    slots.set(JedisClusterCRC16.getSlot("key1"));
+    slots.set(JedisClusterCRC16.getSlot("key2"));
+
+    HashSet<CacheKey<?>> removed = new HashSet<>();
+    for (int stripe = 0; stripe < 4; stripe++) {
+      removed.addAll(index.removeSlots(stripe, slots));
+    }
+    assertEquals(new HashSet<>(Arrays.asList(new CacheKey<>(commandObjects.get("key1")),
+        new CacheKey<>(commandObjects.get("key2")))), removed);
+    assertEquals(98, index.size());
+    assertNull(removeKey("key1"));
+
+    index.clear();
+    assertEquals(0, index.size());
+    assertNull(removeKey("key3"));
+  }
+}
@@ -0,0 +1,76 @@
+package redis.clients.jedis.csc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import redis.clients.jedis.CommandObjects;
+import redis.clients.jedis.util.JedisClusterCRC16;
+
+public class ScopedInvalidationTest {
+
+  private static final CommandObjects commandObjects = new CommandObjects();
+
+  private static CacheKey<String> set(Cache cache, String key, CacheConnection connection) {
+    CacheKey<String> cacheKey = new CacheKey<>(commandObjects.get(key));
+    cache.set(cacheKey, new CacheEntry<>(cacheKey, "value", connection));
+    return cacheKey;
+  }
+
+  @Test
+  public void deleteBySlots() {
+    DefaultCache cache = new DefaultCache(100);
+    CacheKey<String> first = set(cache, "{user}:1", null);
+    CacheKey<String> second = set(cache, "{user}:2", null);
+    CacheKey<String> other = set(cache, "order:1", null);
+    CacheKey<List<String>> mget = new CacheKey<>(commandObjects.mget("{user}:3", "{user}:4"));
+    cache.set(mget, new CacheEntry<>(mget, Arrays.asList("a", "b"), null));
+
+    assertEquals(3, cache.deleteBySlots(Collections.singletonList(JedisClusterCRC16.getSlot("user"))).size());
+    assertFalse(cache.hasCacheKey(first));
+    assertFalse(cache.hasCacheKey(second));
+    assertFalse(cache.hasCacheKey(mget));
+    assertTrue(cache.hasCacheKey(other));
+
+    assertTrue(cache.deleteBySlots(Collections.singletonList(JedisClusterCRC16.getSlot("user"))).isEmpty());
+    assertEquals(1, cache.getSize());
+  }
+
+  @Test
+  public void deleteByConnection() {
+    DefaultCache cache = new DefaultCache(100);
+    CacheConnection closed = Mockito.mock(CacheConnection.class);
+    CacheConnection open = Mockito.mock(CacheConnection.class);
+    set(cache, "a", closed);
+    CacheKey<String> b = set(cache, "b", open);
+    // read again by the other connection
+    CacheKey<String> c = set(cache, "c", closed);
+    set(cache, "c", open);
+
+    assertEquals(1, cache.deleteByConnection(closed).size());
+    assertEquals(2, cache.getSize());
+    assertTrue(cache.hasCacheKey(b));
+    assertTrue(cache.hasCacheKey(c));
+    assertTrue(cache.deleteByConnection(closed).isEmpty());
+
+    cache.deleteByRedisKey("b");
+    assertEquals(1, cache.deleteByConnection(open).size());
+    assertEquals(0, cache.getSize());
+  }
+
+  @Test
+  public void otherCachesAreFlushed() {
+    Cache cache = Mockito.mock(Cache.class, Mockito.CALLS_REAL_METHODS);
+    Mockito.doReturn(1).when(cache).flush();
+    assertNull(cache.deleteByConnection(null));
+    assertNull(cache.deleteBySlots(Collections.singletonList(0)));
+    Mockito.verify(cache, Mockito.times(2)).flush();
+  }
+}
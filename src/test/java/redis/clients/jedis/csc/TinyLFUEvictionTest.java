@@ -0,0 +1,133 @@
+package redis.clients.jedis.csc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import redis.clients.jedis.CommandObjects;
+
+public class TinyLFUEvictionTest {
+
+  private static final CommandObjects commandObjects = new CommandObjects();
+
+  private static CacheKey<String> key(int i) {
+    return new CacheKey<>(commandObjects.get("key:" + i));
+  }
+
+  private static void set(Cache cache, int i) {
+    set(cache, i, "value" + i);
+  }
+
+  private static void set(Cache cache, int i, String value) {
+    CacheKey<String> cacheKey = key(i);
+    cache.set(cacheKey, new CacheEntry<>(cacheKey, value, null));
+  }
+
+  private static Cache cache(int maxSize) {
+    return new DefaultCache(maxSize, DefaultCacheable.INSTANCE, new TinyLFUEviction(maxSize));
+  }
+
+  @Test
+  public void fromConfig() {
+    Cache cache = CacheFactory.getCache(CacheConfig.builder().evictionPolicy(new TinyLFUEviction(100)).build());
+    assertTrue(cache.getEvictionPolicy() instanceof TinyLFUEviction);
+  }
+
+  @Test
+  public void keepsFrequentKeysDuringScan() {
+    final int maxSize = 100;
+    Cache lfu = cache(maxSize);
+    Cache lru = new DefaultCache(maxSize);
+    for (Cache cache : new Cache[] { lfu, lru }) {
+      for (int i = 0; i < 50; i++) {
+        set(cache, i);
+      }
+      for (int round = 0; round < 5; round++) {
+        for (int i = 0; i < 50; i++) {
+          cache.get(key(i));
+        }
+      }
+      // one-hit wonders, while the frequent keys are still being read from time to time
+      for (int i = 1000; i < 2000; i++) {
+        set(cache, i);
+        if (i % 10 == 0) {
+          cache.get(key((i / 10) % 50));
+        }
+      }
+      assertTrue(cache.getSize() <= maxSize);
+    }
+
+    int lfuHits = 0, lruHits = 0;
+    for (int i = 0; i < 50; i++) {
+      if (lfu.get(key(i)) != null) lfuHits++;
+      if (lru.get(key(i)) != null) lruHits++;
+    }
+    assertEquals(50, lfuHits);
+    assertTrue(lruHits < 25);
+  }
+
+  @Test
+  public void admitsKeysBecomingFrequent() {
+    Cache cache = cache(10);
+    for (int i = 0; i < 10; i++) {
+      set(cache, i);
+    }
+    for (int round = 0; round < 3; round++) {
+      set(cache, 100);
+      set(cache, 101);
+      set(cache, 102);
+    }
+    assertNotNull(cache.get(key(100)));
+    assertEquals(10, cache.getSize());
+  }
+
+  @Test
+  public void deletedKeysAreNotTracked() {
+    Cache cache = cache(2);
+    set(cache, 1);
+    set(cache, 2);
+    assertTrue(cache.delete(key(1)));
+    assertFalse(cache.getEvictionPolicy().reset(key(1)));
+    assertEquals(1, cache.deleteByRedisKey("key:2").size());
+
+    set(cache, 3);
+    set(cache, 4);
+    assertEquals(2, cache.getSize());
+    assertEquals(0, cache.getStats().getEvictCount());
+    assertEquals(2, cache.flush());
+    assertEquals(0, cache.getEvictionPolicy().resetAll());
+  }
+
+  @Test
+  public void sizeAwareAdmission() {
+    Cache cache = new DefaultCache(2, DefaultCacheable.INSTANCE,
+        new TinyLFUEviction(2, entry -> ((String) entry.getValue()).length()));
+    set(cache, 1);
+    set(cache, 2);
+    cache.get(key(1));
+    cache.get(key(2));
+
+    // twice as frequent as the key it would replace, but ten times larger
+    StringBuilder large = new StringBuilder();
+    for (int i = 0; i < 60; i++) {
+      large.append('x');
+    }
+    for (int round = 0; round < 4; round++) {
+      set(cache, 3, large.toString());
+    }
+    set(cache, 5);
+    assertFalse(cache.hasCacheKey(key(3)));
+    assertTrue(cache.hasCacheKey(key(1)));
+
+    // twice as frequent, and as large
+    for (int round = 0; round < 4; round++) {
+      set(cache, 4);
+    }
+    set(cache, 6);
+    assertTrue(cache.hasCacheKey(key(4)));
+    assertFalse(cache.hasCacheKey(key(1)));
+  }
+}
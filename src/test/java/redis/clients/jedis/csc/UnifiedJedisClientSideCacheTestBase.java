@@ -158,14 +158,14 @@ public abstract class UnifiedJedisClientSideCacheTestBase {
 
       List<String> reply1 = jedis.mget("{csc}1", "{csc}2", "{csc}3");
       assertEquals(Arrays.asList("one", "two", "three"), reply1);
-      assertEquals(1, cache.getSize());
+      assertEquals(3, cache.getSize());
       assertEquals(0, cache.getStats().getInvalidationCount());
 
       jedis.set("{csc}1", "new-one");
       List<String> reply2 = jedis.mget("{csc}1", "{csc}2", "{csc}3");
       assertEquals(Arrays.asList("new-one", "two", "three"), reply2);
 
-      assertEquals(1, cache.getSize());
+      assertEquals(3, cache.getSize());
       assertEquals(1, cache.getStats().getInvalidationCount());
     }
   }
@@ -0,0 +1,208 @@
+package redis.clients.jedis.providers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import redis.clients.jedis.*;
+import redis.clients.jedis.exceptions.JedisDataException;
+
+/**
+ * @see MultiplexedConnectionProvider
+ */
+public class MultiplexedConnectionProviderTest {
+
+  private final EndpointConfig endpoint = HostAndPorts.getRedisEndpoint("standalone0");
+
+  private MultiplexedConnectionProvider provider;
+  private UnifiedJedis jedis;
+
+  @Before
+  public void setUp() {
+    provider = new MultiplexedConnectionProvider(endpoint.getHostAndPort(),
+        endpoint.getClientConfigBuilder().build(), 2);
+    jedis = new UnifiedJedis(provider);
+    jedis.flushAll();
+  }
+
+  @After
+  public void tearDown() {
+    jedis.close();
+  }
+
+  @Test
+  public void simpleCommands() {
+    assertEquals("OK", jedis.set("foo", "bar"));
+    assertEquals("bar", jedis.get("foo"));
+    assertNull(jedis.get("nokey"));
+    assertEquals(2, jedis.incrBy("counter", 2));
+  }
+
+  @Test
+  public void errorReplyDoesNotBreakConnection() {
+    jedis.set("foo", "bar");
+    try {
+      jedis.incr("foo");
+      fail("Should throw an exception");
+    } catch (JedisDataException expected) {
+    }
+
+    assertEquals("bar", jedis.get("foo"));
+    assertFalse(provider.getMultiplexedConnection().isBroken());
+    assertFalse(provider.getMultiplexedConnection().isBroken());
+  }
+
+  @Test
+  public void concurrentCallers() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(32);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 32; t++) {
+        final int thread = t;
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 200; i++) {
+            String key = "key:" + thread + ":" + i;
+            jedis.set(key, key);
+            assertEquals(key, jedis.get(key));
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(32 * 200, jedis.dbSize());
+  }
+
+  @Test
+  public void repliesInSubmissionOrder() throws Exception {
+    MultiplexedConnection connection = provider.getMultiplexedConnection();
+    List<CompletableFuture<Long>> futures = new ArrayList<>();
+    CommandObjects commandObjects = new CommandObjects();
+    for (int i = 0; i < 1000; i++) {
+      futures.add(connection.submit(commandObjects.incr("counter")));
+    }
+    for (int i = 0; i < futures.size(); i++) {
+      assertEquals(Long.valueOf(i + 1), futures.get(i).get(5, TimeUnit.SECONDS));
+    }
+  }
+
+  @Test
+  public void brokenConnectionIsReplaced() throws Exception {
+    MultiplexedConnection connection = provider.getMultiplexedConnection();
+    connection.close();
+    assertTrue(connection.isBroken());
+
+    try {
+      connection.submit(new CommandObjects().ping()).get(5, TimeUnit.SECONDS);
+      fail("Should throw an exception");
+    } catch (ExecutionException expected) {
+    }
+
+    for (int i = 0; i < 4; i++) {
+      assertNotSame(connection, provider.getMultiplexedConnection());
+    }
+    assertEquals("PONG", jedis.ping());
+  }
+
+  @Test
+  public void connectionsAreSharedByConcurrentCallers() throws Exception {
+    MultiplexedConnectionProvider fresh = new MultiplexedConnectionProvider(endpoint.getHostAndPort(),
+        endpoint.getClientConfigBuilder().build(), 2);
+    ExecutorService executor = Executors.newFixedThreadPool(16);
+    try {
+      List<Future<MultiplexedConnection>> futures = new ArrayList<>();
+      for (int i = 0; i < 64; i++) {
+        futures.add(executor.submit(fresh::getMultiplexedConnection));
+      }
+      Set<MultiplexedConnection> connections = Collections.newSetFromMap(new IdentityHashMap<>());
+      for (Future<MultiplexedConnection> future : futures) {
+        connections.add(future.get(5, TimeUnit.SECONDS));
+      }
+      assertEquals(2, connections.size());
+    } finally {
+      executor.shutdownNow();
+      fresh.close();
+    }
+
+    try {
+      fresh.getMultiplexedConnection();
+      fail("Should throw an exception");
+    } catch (IllegalStateException expected) {
+    }
+  }
+
+  @Test
+  public void statefulCommandsAreRejected() {
+    MultiplexedConnection connection = provider.getMultiplexedConnection();
+    CommandObjects commandObjects = new CommandObjects();
+    for (CommandArguments args : Arrays.asList(new CommandArguments(Protocol.Command.SELECT).add(1),
+        new CommandArguments(Protocol.Command.MULTI), new CommandArguments(Protocol.Command.WATCH).key("foo"),
+        new CommandArguments(Protocol.Command.SUBSCRIBE).add("channel"),
+        new CommandArguments(Protocol.Command.CLIENT).add("tracking").add("on"))) {
+      try {
+        connection.submit(new CommandObject<>(args, BuilderFactory.RAW_OBJECT));
+        fail("Should throw an exception");
+      } catch (IllegalArgumentException expected) {
+      }
+    }
+    assertEquals("OK", jedis.set("foo", "bar"));
+    assertEquals("PONG", jedis.ping());
+  }
+
+  @Test
+  public void pushMessagesAreSkipped() throws Exception {
+    Connection tracked = new Connection(endpoint.getHostAndPort(),
+        endpoint.getClientConfigBuilder().protocol(RedisProtocol.RESP3).build());
+    tracked.sendCommand(Protocol.Command.CLIENT, "TRACKING", "ON");
+    assertEquals("OK", tracked.getStatusCodeReply());
+    tracked.sendCommand(Protocol.Command.GET, "foo");
+    assertNull(tracked.getBulkReply());
+
+    CommandObjects commandObjects = new CommandObjects();
+    try (MultiplexedConnection connection = new MultiplexedConnection(tracked)) {
+      // invalidates foo, pushed before the next replies
+      jedis.set("foo", "bar");
+      assertEquals("bar", connection.submit(commandObjects.get("foo")).get(5, TimeUnit.SECONDS));
+      assertEquals("PONG", connection.submit(commandObjects.ping()).get(5, TimeUnit.SECONDS));
+    }
+  }
+
+  @Test
+  public void blockingCommandUsesExclusiveConnection() {
+    jedis.rpush("list", "a");
+    assertEquals(2, jedis.blpop(1, "list").size());
+  }
+
+  @Test
+  public void pipelineUsesExclusiveConnection() {
+    try (AbstractPipeline pipeline = (AbstractPipeline) jedis.pipelined()) {
+      Response<String> set = pipeline.set("foo", "bar");
+      Response<String> get = pipeline.get("foo");
+      pipeline.sync();
+      assertEquals("OK", set.get());
+      assertEquals("bar", get.get());
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package redis.clients.jedis.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class BufferPoolTest {
+
+  @Test
+  public void reuseReleasedBuffers() {
+    BufferPool pool = new BufferPool(1 << 20);
+    byte[] buffer = pool.acquire(8192);
+    assertEquals(8192, buffer.length);
+    pool.release(buffer);
+    assertEquals(8192, pool.getPooledBytes());
+
+    assertNotSame(buffer, pool.acquire(16384));
+    assertSame(buffer, pool.acquire(8192));
+    assertEquals(0, pool.getPooledBytes());
+  }
+
+  @Test
+  public void keepOnlyPowersOfTwo() {
+    BufferPool pool = new BufferPool(1 << 20);
+    byte[] buffer = pool.acquire(1000);
+    assertEquals(1000, buffer.length);
+    pool.release(buffer);
+    assertEquals(0, pool.getPooledBytes());
+    assertNotSame(buffer, pool.acquire(1000));
+  }
+
+  @Test
+  public void keepAtMostMaxBytes() {
+    BufferPool pool = new BufferPool(12288);
+    pool.release(new byte[8192]);
+    pool.release(new byte[8192]);
+    pool.release(new byte[4096]);
+    assertEquals(12288, pool.getPooledBytes());
+  }
+
+  @Test
+  public void sizeClasses() {
+    assertEquals(1, BufferPool.sizeClass(1));
+    assertEquals(8192, BufferPool.sizeClass(8192));
+    assertEquals(8192, BufferPool.sizeClass(5000));
+    assertEquals(16384, BufferPool.sizeClass(8193));
+    assertEquals(Integer.MAX_VALUE, BufferPool.sizeClass(Integer.MAX_VALUE));
+  }
+}
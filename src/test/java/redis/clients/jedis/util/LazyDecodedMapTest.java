@@ -0,0 +1,126 @@
+package redis.clients.jedis.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.Test;
+
+public class LazyDecodedMapTest {
+
+  private final AtomicInteger decoded = new AtomicInteger();
+
+  private final Function<Object, String> decoder = data -> {
+    decoded.incrementAndGet();
+    return SafeEncoder.encode((byte[]) data);
+  };
+
+  private LazyDecodedMap<String> map() {
+    LazyDecodedMap<String> map = new LazyDecodedMap<>(4);
+    map.putLazily("a", SafeEncoder.encode("1"), decoder);
+    map.putLazily("b", SafeEncoder.encode("2"), decoder);
+    map.putLazily("c", null, decoder);
+    return map;
+  }
+
+  private static Object serialize(Object o) throws IOException, ClassNotFoundException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(o);
+    }
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      return in.readObject();
+    }
+  }
+
+  @Test
+  public void valuesAreDecodedOnce() {
+    LazyDecodedMap<String> map = map();
+    assertEquals(3, map.size());
+    assertEquals(0, decoded.get());
+
+    assertEquals("1", map.get("a"));
+    assertEquals("1", map.get("a"));
+    assertNull(map.get("c"));
+    assertTrue(map.containsKey("c"));
+    assertEquals(1, decoded.get());
+  }
+
+  @Test
+  public void dataIsDroppedOnceDecoded() throws InterruptedException {
+    LazyDecodedMap<String> map = new LazyDecodedMap<>(1);
+    byte[] data = SafeEncoder.encode("1");
+    WeakReference<byte[]> reference = new WeakReference<>(data);
+    map.putLazily("a", data, decoder);
+    data = null;
+
+    assertEquals("1", map.get("a"));
+    for (int i = 0; i < 10 && reference.get() != null; i++) {
+      System.gc();
+      Thread.sleep(10);
+    }
+    assertNull(reference.get());
+    assertEquals("1", map.get("a"));
+    assertEquals(1, decoded.get());
+  }
+
+  @Test
+  public void modifyAsHashMap() {
+    LazyDecodedMap<String> map = map();
+    assertEquals("2", map.put("b", "3"));
+    assertEquals("3", map.get("b"));
+    assertEquals("1", map.remove("a"));
+
+    Iterator<Map.Entry<String, String>> it = map.entrySet().iterator();
+    while (it.hasNext()) {
+      Map.Entry<String, String> entry = it.next();
+      if (entry.getKey().equals("c")) {
+        it.remove();
+      } else {
+        entry.setValue("4");
+      }
+    }
+
+    Map<String, String> expected = new HashMap<>();
+    expected.put("b", "4");
+    assertEquals(expected, map);
+    assertEquals(expected.hashCode(), map.hashCode());
+  }
+
+  @Test
+  public void serializeAsHashMap() throws Exception {
+    Object copy = serialize(map());
+    assertEquals(HashMap.class, copy.getClass());
+    assertEquals(map(), copy);
+  }
+
+  @Test
+  public void lazyDecodedList() throws Exception {
+    List<String> list = new LazyDecodedList<>(Arrays.asList(SafeEncoder.encode("1"), null,
+        SafeEncoder.encode("3")), decoder);
+    assertEquals(3, list.size());
+    assertEquals("3", list.get(2));
+    assertNull(list.get(1));
+    assertEquals(1, decoded.get());
+
+    list.add("4");
+    list.remove(1);
+    assertEquals(Arrays.asList("1", "3", "4"), list);
+    assertEquals(ArrayList.class, serialize(list).getClass());
+    assertEquals(list, serialize(list));
+  }
+}